@@ -0,0 +1,73 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.cache;
+
+/**
+ * A near-cache invalidation broadcast between nodes. The shared L2 has
+ * already been updated by the originating node, so receivers only drop
+ * their local L1 copies.
+ *
+ * Encoded as "origin|cache|action|keyType|key" for the Redis channel. Only
+ * Long, Integer and String keys are carried; any other key is broadcast as a
+ * CLEAR of that cache.
+ */
+public record CacheInvalidation(String origin, String cacheName, Action action, String keyType, String key) {
+
+    public enum Action {
+        EVICT, // drop a single key
+        PREFIX, // drop every key whose string form starts with key
+        CLEAR // drop the whole cache
+    }
+
+    private static final String SEPARATOR = "|";
+
+    public static CacheInvalidation evict(String origin, String cacheName, Object key) {
+        if (key instanceof Long) {
+            return new CacheInvalidation(origin, cacheName, Action.EVICT, "L", key.toString());
+        }
+        if (key instanceof Integer) {
+            return new CacheInvalidation(origin, cacheName, Action.EVICT, "I", key.toString());
+        }
+        if (key instanceof String) {
+            return new CacheInvalidation(origin, cacheName, Action.EVICT, "S", (String) key);
+        }
+        return clear(origin, cacheName);
+    }
+
+    public static CacheInvalidation prefix(String origin, String cacheName, String prefix) {
+        return new CacheInvalidation(origin, cacheName, Action.PREFIX, "S", prefix);
+    }
+
+    public static CacheInvalidation clear(String origin, String cacheName) {
+        return new CacheInvalidation(origin, cacheName, Action.CLEAR, "", "");
+    }
+
+    /**
+     * The key in its original type, or null for a CLEAR
+     */
+    public Object typedKey() {
+        return switch (keyType) {
+            case "L" -> Long.valueOf(key);
+            case "I" -> Integer.valueOf(key);
+            case "S" -> key;
+            default -> null;
+        };
+    }
+
+    public String encode() {
+        return String.join(SEPARATOR, origin, cacheName, action.name(), keyType, key);
+    }
+
+    public static CacheInvalidation decode(String message) {
+        // The key is last so it may itself contain the separator
+        String[] parts = message.split("\\|", 5);
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Malformed cache invalidation: " + message);
+        }
+        return new CacheInvalidation(parts[0], parts[1], Action.valueOf(parts[2]), parts[3], parts[4]);
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.cache;
+
+/**
+ * Broadcasts near-cache invalidations to every node. In prod this is a Redis
+ * pub/sub channel (see CacheConfig); tests wire nodes together in memory.
+ */
+@FunctionalInterface
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+}
@@ -0,0 +1,243 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A small in-process Caffeine L1 in front of a shared L2 (Redis in prod).
+ *
+ * Reads try L1, then L2, and promote L2 hits into L1. Every write or
+ * eviction goes to L2 first, then drops the local L1 entry and broadcasts a
+ * CacheInvalidation so other nodes drop theirs. L1 entries also expire on a
+ * short TTL, which bounds staleness if a broadcast is lost.
+ */
+@Slf4j
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final Cache l2;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> l1;
+    private final String nodeId;
+    private final CacheInvalidationBus invalidationBus;
+
+    // Bumped on every L1 invalidation so a read that raced with one does not
+    // promote the value it fetched from L2
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    public TwoTierCache(String name, Cache l2, com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> l1,
+            String nodeId, CacheInvalidationBus invalidationBus) {
+        this.name = name;
+        this.l2 = l2;
+        this.l1 = l1;
+        this.nodeId = nodeId;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The L2 native cache, so provider-specific callers keep working
+     */
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    public Cache getL2() {
+        return l2;
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> getL1() {
+        return l1;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper local = l1.getIfPresent(key);
+        if (local != null) {
+            l1Hits.increment();
+            return local;
+        }
+
+        long epoch = invalidationEpoch.get();
+        ValueWrapper remote = l2.get(key);
+        if (remote == null) {
+            misses.increment();
+            return null;
+        }
+
+        l2Hits.increment();
+        if (invalidationEpoch.get() == epoch) {
+            l1.put(key, new SimpleValueWrapper(remote.get()));
+        }
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        puts.increment();
+        // Other nodes may hold an older copy of this key
+        evictLocal(key);
+        invalidationBus.publish(CacheInvalidation.evict(nodeId, name, key));
+        l1.put(key, new SimpleValueWrapper(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        evictLocal(key);
+        invalidationBus.publish(CacheInvalidation.evict(nodeId, name, key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = l2.evictIfPresent(key);
+        evictLocal(key);
+        invalidationBus.publish(CacheInvalidation.evict(nodeId, name, key));
+        return present;
+    }
+
+    /**
+     * Evict every key whose string form starts with the prefix, in both tiers
+     * and on every node
+     */
+    public void evictByPrefix(String prefix) {
+        if (l2 instanceof RedisCache redisCache) {
+            redisCache.clear(prefix + "*");
+        } else if (l2.getNativeCache() instanceof Map<?, ?> map) {
+            map.keySet().removeIf(key -> key != null && key.toString().startsWith(prefix));
+        } else {
+            log.warn("Cache {} does not support prefix eviction in L2, clearing it", name);
+            l2.clear();
+        }
+        evictLocalByPrefix(prefix);
+        invalidationBus.publish(CacheInvalidation.prefix(nodeId, name, prefix));
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        clearLocal();
+        invalidationBus.publish(CacheInvalidation.clear(nodeId, name));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = l2.invalidate();
+        clearLocal();
+        invalidationBus.publish(CacheInvalidation.clear(nodeId, name));
+        return invalidated;
+    }
+
+    /**
+     * Apply an invalidation broadcast by another node to this node's L1
+     */
+    void applyRemote(CacheInvalidation invalidation) {
+        switch (invalidation.action()) {
+            case EVICT -> evictLocal(invalidation.typedKey());
+            case PREFIX -> evictLocalByPrefix(invalidation.key());
+            case CLEAR -> clearLocal();
+        }
+    }
+
+    private void evictLocal(Object key) {
+        invalidationEpoch.incrementAndGet();
+        l1.invalidate(key);
+    }
+
+    private void evictLocalByPrefix(String prefix) {
+        invalidationEpoch.incrementAndGet();
+        l1.asMap().keySet().removeIf(key -> key != null && key.toString().startsWith(prefix));
+    }
+
+    private void clearLocal() {
+        invalidationEpoch.incrementAndGet();
+        l1.invalidateAll();
+    }
+
+    public long getL1HitCount() {
+        return l1Hits.sum();
+    }
+
+    public long getL2HitCount() {
+        return l2Hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getPutCount() {
+        return puts.sum();
+    }
+
+    /**
+     * Share of all reads answered from L1
+     */
+    public double getL1HitRate() {
+        long l1HitCount = getL1HitCount();
+        long requests = l1HitCount + getL2HitCount() + getMissCount();
+        return requests == 0 ? 1.0 : (double) l1HitCount / requests;
+    }
+
+    /**
+     * Share of the reads that missed L1 and were answered from L2
+     */
+    public double getL2HitRate() {
+        long l2HitCount = getL2HitCount();
+        long requests = l2HitCount + getMissCount();
+        return requests == 0 ? 1.0 : (double) l2HitCount / requests;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps every cache of an L2 CacheManager in a {@link TwoTierCache} with its
+ * own Caffeine L1, and applies invalidations received from other nodes.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager l2CacheManager;
+    private final String l1Spec;
+    private final CacheInvalidationBus invalidationBus;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager l2CacheManager, String l1Spec, CacheInvalidationBus invalidationBus) {
+        this.l2CacheManager = l2CacheManager;
+        this.l1Spec = l1Spec;
+        this.invalidationBus = invalidationBus;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache l2 = l2CacheManager.getCache(name);
+        if (l2 == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> new TwoTierCache(cacheName, l2,
+                Caffeine.from(l1Spec).recordStats().build(), nodeId, invalidationBus));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return l2CacheManager.getCacheNames();
+    }
+
+    /**
+     * Drop L1 entries named by an invalidation from another node. Our own
+     * broadcasts echo back on the channel and are ignored.
+     */
+    public void handleInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(invalidation.cacheName());
+        if (cache != null) {
+            cache.applyRemote(invalidation);
+            log.debug("Applied remote cache invalidation {}", invalidation);
+        }
+    }
+}
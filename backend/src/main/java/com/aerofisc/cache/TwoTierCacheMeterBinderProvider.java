@@ -0,0 +1,73 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+/**
+ * Publishes the standard cache.* metrics for a {@link TwoTierCache} (a hit
+ * from either tier counts as a hit) plus cache.tier.gets, tagged by tier and
+ * result, so L1 and L2 hit ratios can be read separately.
+ */
+public class TwoTierCacheMeterBinderProvider implements CacheMeterBinderProvider<TwoTierCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(TwoTierCache cache, Iterable<Tag> tags) {
+        return new CacheMeterBinder<>(cache, cache.getName(), tags) {
+
+            @Override
+            protected Long size() {
+                return getCache().getL1().estimatedSize();
+            }
+
+            @Override
+            protected long hitCount() {
+                return getCache().getL1HitCount() + getCache().getL2HitCount();
+            }
+
+            @Override
+            protected Long missCount() {
+                return getCache().getMissCount();
+            }
+
+            @Override
+            protected Long evictionCount() {
+                return getCache().getL1().stats().evictionCount();
+            }
+
+            @Override
+            protected long putCount() {
+                return getCache().getPutCount();
+            }
+
+            @Override
+            protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+                TwoTierCache twoTierCache = getCache();
+                tierCounter(registry, twoTierCache, "l1", "hit", TwoTierCache::getL1HitCount);
+                tierCounter(registry, twoTierCache, "l1", "miss",
+                        c -> c.getL2HitCount() + c.getMissCount());
+                tierCounter(registry, twoTierCache, "l2", "hit", TwoTierCache::getL2HitCount);
+                tierCounter(registry, twoTierCache, "l2", "miss", TwoTierCache::getMissCount);
+            }
+
+            private void tierCounter(MeterRegistry registry, TwoTierCache twoTierCache, String tier,
+                    String result, java.util.function.ToDoubleFunction<TwoTierCache> count) {
+                FunctionCounter.builder("cache.tier.gets", twoTierCache, count)
+                        .tags(getTagsWithCacheName())
+                        .tag("tier", tier)
+                        .tag("result", result)
+                        .description("Cache reads answered (hit) or passed on (miss) by each tier")
+                        .register(registry);
+            }
+        };
+    }
+}
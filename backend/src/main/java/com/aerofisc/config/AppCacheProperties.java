@@ -0,0 +1,60 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sizing and expiry for the local (non-prod) caches, bound from app.cache.*.
+ *
+ * Each value is a Caffeine spec string, e.g.
+ * {@code app.cache.specs[dashboard_summary]=maximumSize=5000,expireAfterWrite=5m}.
+ * Statistics are always recorded, so specs must not contain "recordStats".
+ * Caches without an entry fall back to {@code app.cache.default-spec}.
+ * In prod only the cache names are used; the near-cache settings under
+ * {@code app.cache.near} size the L1 kept in front of Redis instead.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class AppCacheProperties {
+
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=10m";
+
+    private Map<String, String> specs = new LinkedHashMap<>(Map.of(
+            "dashboard_summary", "maximumSize=10000,expireAfterWrite=10m",
+            "dashboard_trends", "maximumSize=10000,expireAfterWrite=10m",
+            "dashboard_breakdown", "maximumSize=10000,expireAfterWrite=10m",
+            "monthly_trends", "maximumSize=10000,expireAfterWrite=10m",
+            "category_breakdown", "maximumSize=10000,expireAfterWrite=10m",
+            "categories", "maximumSize=10000,expireAfterWrite=1h",
+            "custom_categories", "maximumSize=10000,expireAfterWrite=1h",
+            "userProfile", "maximumSize=10000,expireAfterWrite=30m",
+            "predictions", "maximumSize=5000,expireAfterWrite=1h"));
+
+    private Near near = new Near();
+
+    @Data
+    public static class Near {
+
+        /**
+         * Put a local L1 in front of the Redis caches in prod
+         */
+        private boolean enabled = true;
+
+        /**
+         * Kept small and short-lived: it bounds how long a node can serve a
+         * value whose invalidation broadcast it missed
+         */
+        private String spec = "maximumSize=500,expireAfterWrite=60s";
+
+        private String channel = "aerofisc:cache:invalidation";
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Runs @Async methods (e.g. EmailService.sendEmail) on Boot's
+ * applicationTaskExecutor. That executor uses virtual threads when
+ * spring.threads.virtual.enabled is set, and a bounded platform pool
+ * otherwise.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -6,20 +6,34 @@
 
 package com.aerofisc.config;
 
+import com.aerofisc.cache.CacheInvalidation;
+import com.aerofisc.cache.TwoTierCacheManager;
+import com.aerofisc.cache.TwoTierCacheMeterBinderProvider;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.charset.StandardCharsets;
+
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(AppCacheProperties.class)
 public class CacheConfig {
 
+    /**
+     * Redis-backed caches for prod. Unless app.cache.near.enabled is false,
+     * each cache gets a small in-process L1 in front of Redis, kept coherent
+     * across nodes by invalidations on a Redis pub/sub channel.
+     */
     @Bean
     @org.springframework.context.annotation.Profile("prod")
     public CacheManager redisCacheManager(
-            org.springframework.data.redis.connection.RedisConnectionFactory connectionFactory) {
+            org.springframework.data.redis.connection.RedisConnectionFactory connectionFactory,
+            AppCacheProperties properties) {
         org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair<Object> jsonSerializer = org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                 .fromSerializer(new org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer());
 
@@ -28,30 +42,69 @@ public class CacheConfig {
                 .entryTtl(java.time.Duration.ofMinutes(10))
                 .serializeValuesWith(jsonSerializer);
 
-        return org.springframework.data.redis.cache.RedisCacheManager
-                .builder(connectionFactory)
+        // SCAN-based batch deletes keep per-user pattern eviction (DashboardCacheEvictor)
+        // from blocking Redis with KEYS. Declaring the cache names up front lets the
+        // actuator bind their statistics at startup.
+        org.springframework.data.redis.cache.RedisCacheManager redisCacheManager = org.springframework.data.redis.cache.RedisCacheManager
+                .builder(org.springframework.data.redis.cache.RedisCacheWriter.nonLockingRedisCacheWriter(
+                        connectionFactory, org.springframework.data.redis.cache.BatchStrategies.scan(1000)))
                 .cacheDefaults(config)
+                .initialCacheNames(properties.getSpecs().keySet())
+                .enableStatistics()
                 .build();
+
+        if (!properties.getNear().isEnabled()) {
+            return redisCacheManager;
+        }
+
+        // Not a bean of its own, so initialise the declared caches by hand
+        redisCacheManager.afterPropertiesSet();
+        org.springframework.data.redis.core.StringRedisTemplate redisTemplate = new org.springframework.data.redis.core.StringRedisTemplate(
+                connectionFactory);
+        String channel = properties.getNear().getChannel();
+        return new TwoTierCacheManager(redisCacheManager, properties.getNear().getSpec(),
+                invalidation -> redisTemplate.convertAndSend(channel, invalidation.encode()));
     }
 
+    /**
+     * Feeds invalidations published by other nodes into the local L1 caches
+     */
+    @Bean
+    @org.springframework.context.annotation.Profile("prod")
+    @org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(name = "app.cache.near.enabled", havingValue = "true", matchIfMissing = true)
+    public org.springframework.data.redis.listener.RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            org.springframework.data.redis.connection.RedisConnectionFactory connectionFactory,
+            CacheManager cacheManager, AppCacheProperties properties) {
+        org.springframework.data.redis.listener.RedisMessageListenerContainer container = new org.springframework.data.redis.listener.RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        if (cacheManager instanceof TwoTierCacheManager twoTierCacheManager) {
+            container.addMessageListener((message, pattern) -> twoTierCacheManager.handleInvalidation(
+                    CacheInvalidation.decode(new String(message.getBody(), StandardCharsets.UTF_8))),
+                    new org.springframework.data.redis.listener.ChannelTopic(properties.getNear().getChannel()));
+        }
+        return container;
+    }
+
+    @Bean
+    public TwoTierCacheMeterBinderProvider twoTierCacheMeterBinderProvider() {
+        return new TwoTierCacheMeterBinderProvider();
+    }
+
+    /**
+     * Bounded local caches for every non-prod profile. Each cache gets its own
+     * maximum size and expire-after-write from {@link AppCacheProperties} and
+     * records hit/miss/eviction statistics, which the actuator publishes as
+     * cache.* metrics and the admin cache endpoint reports per cache.
+     */
     @Bean
     @org.springframework.context.annotation.Profile("!prod")
-    public CacheManager simpleCacheManager() {
-        return new org.springframework.cache.concurrent.ConcurrentMapCacheManager(
-                "dashboard_summary",
-                "dashboard_trends",
-                "monthly_trends",
-                "dashboard_breakdown",
-                "category_breakdown",
-                "categories",
-                "custom_categories",
-                "userProfile",
-                "predictions");
+    public CacheManager caffeineCacheManager(AppCacheProperties properties) {
+        org.springframework.cache.caffeine.CaffeineCacheManager cacheManager = new org.springframework.cache.caffeine.CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(properties.getDefaultSpec()).recordStats());
+        properties.getSpecs().forEach((cacheName, spec) -> cacheManager.registerCustomCache(cacheName,
+                Caffeine.from(spec).recordStats().build()));
+        return cacheManager;
     }
 }
 
-// Note: To use Redis caching, uncomment Redis configuration in
-// application.properties
-// and replace this with RedisCacheManager configuration
-
 
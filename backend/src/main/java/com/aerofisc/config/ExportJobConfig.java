@@ -0,0 +1,21 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers {@link ExportJobProperties}. The worker pool itself is owned by
+ * ExportJobService rather than exposed as an Executor bean, which would
+ * displace Spring Boot's applicationTaskExecutor used for async MVC
+ * requests.
+ */
+@Configuration
+@EnableConfigurationProperties(ExportJobProperties.class)
+public class ExportJobConfig {
+}
@@ -0,0 +1,36 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the background export job queue, bound from app.export.jobs.*.
+ *
+ * Jobs beyond {@code workers} wait in a queue of {@code queue-capacity};
+ * once that is full, or a user already has {@code max-active-per-user}
+ * jobs queued or running, new submissions are refused with 429. Finished
+ * artifacts are kept under {@code directory} (default: a folder in
+ * java.io.tmpdir) for {@code ttl} and then deleted.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.export.jobs")
+public class ExportJobProperties {
+
+    private int workers = 2;
+
+    private int queueCapacity = 50;
+
+    private int maxActivePerUser = 2;
+
+    private Duration ttl = Duration.ofHours(1);
+
+    private String directory;
+}
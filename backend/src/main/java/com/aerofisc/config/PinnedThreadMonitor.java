@@ -0,0 +1,99 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread,
+ * typically inside a synchronized block or native frame (OkHttp's connection
+ * pool, older JDBC drivers). Each pinning longer than
+ * app.threads.pinned-diagnostics.threshold is logged with its stack and
+ * counted in the jvm.threads.virtual.pinned meter.
+ *
+ * Listens to the JDK's jdk.VirtualThreadPinned JFR event in-process, so no
+ * -Djdk.tracePinnedThreads flag or external recording is needed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.threads.pinned-diagnostics.enabled", havingValue = "true")
+public class PinnedThreadMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 12;
+
+    private final RecordingStream stream;
+    private final Counter pinned;
+
+    public PinnedThreadMonitor(MeterRegistry meterRegistry,
+            @Value("${app.threads.pinned-diagnostics.threshold:20ms}") Duration threshold) {
+        this.pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to a carrier thread")
+                .register(meterRegistry);
+
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for longer than {} ms", threshold.toMillis());
+    }
+
+    public double pinnedCount() {
+        return pinned.count();
+    }
+
+    @PreDestroy
+    public void close() {
+        stream.close();
+    }
+
+    private void report(RecordedEvent event) {
+        pinned.increment();
+        log.warn("Virtual thread {} pinned for {} ms{}", threadName(event), event.getDuration().toMillis(),
+                format(event.getStackTrace()));
+    }
+
+    private String threadName(RecordedEvent event) {
+        if (event.getThread() == null) {
+            return "?";
+        }
+        String name = event.getThread().getJavaName();
+        return name == null || name.isEmpty() ? "#" + event.getThread().getJavaThreadId() : name;
+    }
+
+    private String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(frames.size(), MAX_FRAMES); i++) {
+            RecordedFrame frame = frames.get(i);
+            sb.append(System.lineSeparator()).append("\tat ")
+                    .append(frame.getMethod().getType().getName()).append('.')
+                    .append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+        }
+        if (frames.size() > MAX_FRAMES || stackTrace.isTruncated()) {
+            sb.append(System.lineSeparator()).append("\t...");
+        }
+        return sb.toString();
+    }
+}
@@ -6,16 +6,47 @@
 
 package com.aerofisc.config;
 
+import com.aerofisc.websocket.ClusterMessageBus;
+import com.aerofisc.websocket.InMemoryClusterMessageBus;
+import com.aerofisc.websocket.RedisClusterMessageBus;
+import com.aerofisc.websocket.SessionOutboundLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+/**
+ * Each node runs its own in-memory STOMP broker for the clients connected to
+ * it. With app.websocket.broker.mode=redis, WebSocketService and
+ * DashboardUpdateCoalescer also publish every message on a Redis channel,
+ * and each node replays what the others published to its own clients.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
+@EnableConfigurationProperties(WebSocketProperties.class)
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final String BROKER_MODE = "app.websocket.broker.mode";
+
+    private final WebSocketProperties properties;
+    private final SessionOutboundLimiter outboundLimiter;
+
+    public WebSocketConfig(WebSocketProperties properties, SessionOutboundLimiter outboundLimiter) {
+        this.properties = properties;
+        this.outboundLimiter = outboundLimiter;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");
@@ -28,6 +59,43 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
-}
 
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit((int) properties.getSendBufferSizeLimit().toBytes())
+                .setSendTimeLimit((int) properties.getSendTimeLimit().toMillis())
+                .setMessageSizeLimit((int) properties.getMessageSizeLimit().toBytes());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(outboundLimiter);
+    }
+
+    /**
+     * Single node: nothing to fan out to
+     */
+    @Bean
+    @ConditionalOnProperty(name = BROKER_MODE, havingValue = "simple", matchIfMissing = true)
+    public ClusterMessageBus localClusterMessageBus() {
+        return InMemoryClusterMessageBus.standalone();
+    }
 
+    @Bean
+    @ConditionalOnProperty(name = BROKER_MODE, havingValue = "redis")
+    public RedisClusterMessageBus redisClusterMessageBus(RedisConnectionFactory connectionFactory,
+            ObjectMapper objectMapper) {
+        return new RedisClusterMessageBus(new StringRedisTemplate(connectionFactory),
+                properties.getBroker().getChannel(), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = BROKER_MODE, havingValue = "redis")
+    public RedisMessageListenerContainer webSocketListenerContainer(RedisConnectionFactory connectionFactory,
+            RedisClusterMessageBus clusterMessageBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(clusterMessageBus, new ChannelTopic(properties.getBroker().getChannel()));
+        return container;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * WebSocket fan-out and per-session limits, bound from app.websocket.*.
+ *
+ * {@code broker.mode} SIMPLE keeps every message on this node (single
+ * instance, or sticky sessions); REDIS also publishes each message on
+ * {@code broker.channel} so clients connected to any node receive it.
+ *
+ * Each session may have {@code max-pending-per-session} messages waiting in
+ * the outbound channel; beyond that new messages to it are dropped. Below
+ * that, a session whose socket cannot take {@code send-buffer-size-limit}
+ * within {@code send-time-limit} is closed as a slow consumer.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.websocket")
+public class WebSocketProperties {
+
+    public enum BrokerMode {
+        SIMPLE, REDIS
+    }
+
+    private Broker broker = new Broker();
+
+    private int maxPendingPerSession = 100;
+
+    private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(512);
+
+    private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+    private DataSize messageSizeLimit = DataSize.ofKilobytes(64);
+
+    @Data
+    public static class Broker {
+
+        private BrokerMode mode = BrokerMode.SIMPLE;
+
+        private String channel = "aerofisc:websocket";
+    }
+}
@@ -7,10 +7,12 @@
 package com.aerofisc.controller;
 
 import com.aerofisc.dto.AdminStatsDto;
+import com.aerofisc.dto.CacheStatsDto;
 import com.aerofisc.entity.AuditLog;
 import com.aerofisc.entity.User;
 import com.aerofisc.security.UserPrincipal;
 import com.aerofisc.service.AdminService;
+import com.aerofisc.service.CacheAdminService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -25,9 +27,11 @@ import org.springframework.web.bind.annotation.*;
 public class AdminController {
 
         private final AdminService adminService;
+        private final CacheAdminService cacheAdminService;
 
-        public AdminController(AdminService adminService) {
+        public AdminController(AdminService adminService, CacheAdminService cacheAdminService) {
                 this.adminService = adminService;
+                this.cacheAdminService = cacheAdminService;
         }
 
         @GetMapping("/stats")
@@ -128,6 +132,73 @@ public class AdminController {
 
                 return ResponseEntity.ok(profile);
         }
-}
 
+        @PostMapping("/users/{id}/rollups/rebuild")
+        public ResponseEntity<java.util.Map<String, Integer>> rebuildUserRollups(
+                        @PathVariable Long id,
+                        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+                int rows = adminService.rebuildUserRollups(id);
 
+                adminService.logAdminAction(
+                                userPrincipal.getId(),
+                                "ROLLUP_REBUILD",
+                                id,
+                                "UserMonthRollup",
+                                "Rebuilt monthly rollups (" + rows + " rows)",
+                                "127.0.0.1");
+
+                return ResponseEntity.ok(java.util.Map.of("rows", rows));
+        }
+
+        @GetMapping("/caches")
+        public ResponseEntity<java.util.List<CacheStatsDto>> getCacheStats() {
+                return ResponseEntity.ok(cacheAdminService.getCacheStats());
+        }
+
+        @GetMapping("/caches/{name}")
+        public ResponseEntity<CacheStatsDto> getCacheStats(@PathVariable String name) {
+                return ResponseEntity.ok(cacheAdminService.getCacheStats(name));
+        }
+
+        /**
+         * Clear a whole cache, or only one entry when a key is given
+         */
+        @DeleteMapping("/caches/{name}")
+        public ResponseEntity<Void> invalidateCache(
+                        @PathVariable String name,
+                        @RequestParam(required = false) String key,
+                        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+                if (key != null) {
+                        cacheAdminService.evictKey(name, key);
+                } else {
+                        cacheAdminService.clearCache(name);
+                }
+
+                adminService.logAdminAction(
+                                userPrincipal.getId(),
+                                "CACHE_INVALIDATE",
+                                null,
+                                "Cache",
+                                key != null ? "Evicted key " + key + " from cache " + name : "Cleared cache " + name,
+                                "127.0.0.1");
+
+                return ResponseEntity.noContent().build();
+        }
+
+        @DeleteMapping("/caches/users/{id}")
+        public ResponseEntity<Void> invalidateUserCaches(
+                        @PathVariable Long id,
+                        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+                cacheAdminService.evictUser(id);
+
+                adminService.logAdminAction(
+                                userPrincipal.getId(),
+                                "CACHE_INVALIDATE",
+                                id,
+                                "Cache",
+                                "Evicted all cached entries for user",
+                                "127.0.0.1");
+
+                return ResponseEntity.noContent().build();
+        }
+}
@@ -7,7 +7,7 @@
 package com.aerofisc.controller;
 
 import com.aerofisc.security.UserPrincipal;
-import com.aerofisc.service.ExportService;
+import com.aerofisc.service.GdprExportService;
 import com.aerofisc.service.GoogleDriveService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +15,9 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
@@ -23,12 +26,12 @@ import java.util.Map;
 @RequestMapping("/api/backup")
 public class BackupController {
 
-    private final ExportService exportService;
+    private final GdprExportService gdprExportService;
     private final GoogleDriveService googleDriveService;
 
-    public BackupController(ExportService exportService, GoogleDriveService googleDriveService) {
+    public BackupController(GdprExportService gdprExportService, GoogleDriveService googleDriveService) {
         System.out.println("DEBUG: BackupController Initializing...");
-        this.exportService = exportService;
+        this.gdprExportService = gdprExportService;
         this.googleDriveService = googleDriveService;
     }
 
@@ -99,12 +102,20 @@ public class BackupController {
                         .body(Map.of("error", "Google Drive not connected", "action", "connect_google_drive"));
             }
 
-            byte[] data = exportService.exportAllDataJSON(userPrincipal.getId());
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
             String filename = "Aerofisc_backup_" + userPrincipal.getId() + "_" + timestamp + ".json";
 
-            String result = googleDriveService.uploadBackup(data, filename, userId);
-            return ResponseEntity.ok(Map.of("message", result));
+            // Spool the export to disk so the upload never holds it in memory
+            Path spool = Files.createTempFile("aerofisc-backup-", ".json");
+            try {
+                try (OutputStream out = Files.newOutputStream(spool)) {
+                    gdprExportService.writeExport(userPrincipal.getId(), out, false);
+                }
+                String result = googleDriveService.uploadBackup(spool, filename, userId);
+                return ResponseEntity.ok(Map.of("message", result));
+            } finally {
+                Files.deleteIfExists(spool);
+            }
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
         }
@@ -8,9 +8,11 @@ package com.aerofisc.controller;
 
 import com.aerofisc.dto.CategoryBreakdownDto;
 import com.aerofisc.dto.DashboardSummaryDto;
+import com.aerofisc.dto.FullDashboardDto;
 import com.aerofisc.dto.MonthlyTrendDto;
 import com.aerofisc.dto.TransactionDto;
 import com.aerofisc.security.UserPrincipal;
+import com.aerofisc.service.DashboardAggregationService;
 import com.aerofisc.service.DashboardService;
 
 import org.springframework.http.ResponseEntity;
@@ -24,9 +26,25 @@ import java.util.List;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DashboardAggregationService dashboardAggregationService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService,
+            DashboardAggregationService dashboardAggregationService) {
         this.dashboardService = dashboardService;
+        this.dashboardAggregationService = dashboardAggregationService;
+    }
+
+    /**
+     * Summary, trends, breakdown, recent transactions and predictions in one
+     * round trip. Each section carries its own status; a slow prediction
+     * comes back as TIMEOUT instead of holding up the rest.
+     */
+    @GetMapping("/full")
+    public ResponseEntity<FullDashboardDto> getFullDashboard(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(required = false, defaultValue = "6") Integer months,
+            @RequestParam(required = false, defaultValue = "5") Integer limit) {
+        return ResponseEntity.ok(dashboardAggregationService.getFullDashboard(userPrincipal.getId(), months, limit));
     }
 
     @GetMapping("/summary")
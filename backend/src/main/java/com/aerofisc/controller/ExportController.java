@@ -6,17 +6,26 @@
 
 package com.aerofisc.controller;
 
+import com.aerofisc.dto.ExportJobDto;
+import com.aerofisc.dto.ExportJobRequest;
 import com.aerofisc.security.UserPrincipal;
+import com.aerofisc.service.ExportJobService;
 import com.aerofisc.service.ExportService;
 
+import jakarta.validation.Valid;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/export")
@@ -25,18 +34,64 @@ public class ExportController {
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ExportController.class);
 
     private final ExportService exportService;
+    private final ExportJobService exportJobService;
 
-    public ExportController(ExportService exportService) {
+    public ExportController(ExportService exportService, ExportJobService exportJobService) {
         this.exportService = exportService;
+        this.exportJobService = exportJobService;
+    }
+
+    // ========== BACKGROUND EXPORT JOBS ==========
+
+    @PostMapping("/jobs")
+    public ResponseEntity<ExportJobDto> submitExportJob(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @Valid @RequestBody ExportJobRequest request) {
+        ExportJobDto job = exportJobService.submit(userPrincipal.getId(), request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/export/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs")
+    public ResponseEntity<List<ExportJobDto>> getExportJobs(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(exportJobService.getJobs(userPrincipal.getId()));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ExportJobDto> getExportJob(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @PathVariable String jobId) {
+        return ResponseEntity.ok(exportJobService.getJob(userPrincipal.getId(), jobId));
+    }
+
+    /**
+     * Served as a Resource so Spring answers Range requests with 206
+     * partial content, letting clients resume interrupted downloads
+     */
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadExportJob(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @PathVariable String jobId) {
+        ExportJobService.Artifact artifact = exportJobService.getArtifact(userPrincipal.getId(), jobId);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(artifact.contentType()));
+        headers.setContentDispositionFormData("attachment", artifact.filename());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(artifact.path()));
     }
 
     @GetMapping("/transactions")
-    public ResponseEntity<byte[]> exportTransactions(
+    public ResponseEntity<?> exportTransactions(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(defaultValue = "csv") String format) throws java.io.IOException {
 
+        Long userId = userPrincipal.getId();
         byte[] data;
         String filename;
         MediaType mediaType;
@@ -49,16 +104,12 @@ public class ExportController {
                         .parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
                 break;
             case "pdf":
-                data = exportService.exportTransactionsPDF(userPrincipal.getId(), startDate, endDate);
-                filename = "transactions.pdf";
-                mediaType = MediaType.APPLICATION_PDF;
-                break;
+                return streamPdf("transactions.pdf",
+                        out -> exportService.writeTransactionsPDF(userId, startDate, endDate, out));
             case "csv":
             default:
-                data = exportService.exportTransactionsCSV(userPrincipal.getId(), startDate, endDate);
-                filename = "transactions.csv";
-                mediaType = MediaType.parseMediaType("text/csv");
-                break;
+                return streamCsv("transactions.csv",
+                        out -> exportService.writeTransactionsCsv(userId, startDate, endDate, out));
         }
 
         HttpHeaders headers = new HttpHeaders();
@@ -71,10 +122,11 @@ public class ExportController {
     }
 
     @GetMapping("/all-data")
-    public ResponseEntity<byte[]> exportAllData(
+    public ResponseEntity<?> exportAllData(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestParam(defaultValue = "csv") String format) throws java.io.IOException {
 
+        Long userId = userPrincipal.getId();
         byte[] data;
         String filename;
         MediaType mediaType;
@@ -87,16 +139,10 @@ public class ExportController {
                         .parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
                 break;
             case "pdf":
-                data = exportService.exportAllDataPDF(userPrincipal.getId());
-                filename = "Aerofisc-data.pdf";
-                mediaType = MediaType.APPLICATION_PDF;
-                break;
+                return streamPdf("Aerofisc-data.pdf", out -> exportService.writeDashboardPDF(userId, out));
             case "csv":
             default:
-                data = exportService.exportAllDataCSV(userPrincipal.getId());
-                filename = "Aerofisc-data.csv";
-                mediaType = MediaType.parseMediaType("text/csv");
-                break;
+                return streamCsv("Aerofisc-data.csv", out -> exportService.writeAllDataCsv(userId, out));
         }
 
         HttpHeaders headers = new HttpHeaders();
@@ -109,7 +155,7 @@ public class ExportController {
     }
 
     @GetMapping("/dashboard")
-    public ResponseEntity<byte[]> exportDashboard(
+    public ResponseEntity<?> exportDashboard(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestParam(defaultValue = "excel") String format) {
 
@@ -117,6 +163,7 @@ public class ExportController {
                 + (userPrincipal != null ? userPrincipal.getUsername() : "null"));
 
         try {
+            Long userId = userPrincipal.getId();
             byte[] data;
             String filename;
             MediaType mediaType;
@@ -129,13 +176,7 @@ public class ExportController {
                             .parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
                     break;
                 case "pdf":
-                    System.out.println("ExportController: Starting PDF generation...");
-                    data = exportService.exportDashboardPDF(userPrincipal.getId());
-                    System.out.println(
-                            "ExportController: PDF generation successful. Size: " + (data != null ? data.length : 0));
-                    filename = "dashboard.pdf";
-                    mediaType = MediaType.APPLICATION_PDF;
-                    break;
+                    return streamPdf("dashboard.pdf", out -> exportService.writeDashboardPDF(userId, out));
                 default:
                     throw new IllegalArgumentException("Dashboard export only supports Excel and PDF formats");
             }
@@ -154,10 +195,11 @@ public class ExportController {
     }
 
     @GetMapping("/budgets")
-    public ResponseEntity<byte[]> exportBudgets(
+    public ResponseEntity<?> exportBudgets(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestParam(defaultValue = "excel") String format) throws java.io.IOException {
 
+        Long userId = userPrincipal.getId();
         byte[] data;
         String filename;
         MediaType mediaType;
@@ -170,10 +212,7 @@ public class ExportController {
                         .parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
                 break;
             case "pdf":
-                data = exportService.exportBudgetsPDF(userPrincipal.getId());
-                filename = "budgets.pdf";
-                mediaType = MediaType.APPLICATION_PDF;
-                break;
+                return streamPdf("budgets.pdf", out -> exportService.writeDashboardPDF(userId, out));
             default:
                 throw new IllegalArgumentException("Budgets export only supports Excel and PDF formats");
         }
@@ -188,11 +227,12 @@ public class ExportController {
     }
 
     @GetMapping("/analytics")
-    public ResponseEntity<byte[]> exportAnalytics(
+    public ResponseEntity<?> exportAnalytics(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestParam(defaultValue = "3M") String timeRange,
             @RequestParam(defaultValue = "excel") String format) throws java.io.IOException {
 
+        Long userId = userPrincipal.getId();
         byte[] data;
         String filename;
         MediaType mediaType;
@@ -205,10 +245,8 @@ public class ExportController {
                         .parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
                 break;
             case "pdf":
-                data = exportService.exportAnalyticsPDF(userPrincipal.getId(), timeRange);
-                filename = "analytics_" + timeRange + ".pdf";
-                mediaType = MediaType.APPLICATION_PDF;
-                break;
+                return streamPdf("analytics_" + timeRange + ".pdf",
+                        out -> exportService.writeAnalyticsPDF(userId, timeRange, out));
             default:
                 throw new IllegalArgumentException("Analytics export only supports Excel and PDF formats");
         }
@@ -223,10 +261,11 @@ public class ExportController {
     }
 
     @GetMapping("/goals")
-    public ResponseEntity<byte[]> exportGoals(
+    public ResponseEntity<?> exportGoals(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestParam(defaultValue = "excel") String format) throws java.io.IOException {
 
+        Long userId = userPrincipal.getId();
         byte[] data;
         String filename;
         MediaType mediaType;
@@ -239,10 +278,7 @@ public class ExportController {
                         .parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
                 break;
             case "pdf":
-                data = exportService.exportGoalsPDF(userPrincipal.getId());
-                filename = "savings-goals.pdf";
-                mediaType = MediaType.APPLICATION_PDF;
-                break;
+                return streamPdf("savings-goals.pdf", out -> exportService.writeGoalsPDF(userId, out));
             default:
                 throw new IllegalArgumentException("Goals export only supports Excel and PDF formats");
         }
@@ -255,6 +291,28 @@ public class ExportController {
                 .headers(headers)
                 .body(data);
     }
-}
 
+    /**
+     * CSV is written to the response as it is produced instead of being
+     * built up in a byte[] first
+     */
+    private ResponseEntity<StreamingResponseBody> streamCsv(String filename, StreamingResponseBody body) {
+        return stream(filename, MediaType.parseMediaType("text/csv"), body);
+    }
+
+    /**
+     * PDF pages are flushed to the response as soon as they are laid out,
+     * so the download starts before the last page exists
+     */
+    private ResponseEntity<StreamingResponseBody> streamPdf(String filename, StreamingResponseBody body) {
+        return stream(filename, MediaType.APPLICATION_PDF, body);
+    }
 
+    private ResponseEntity<StreamingResponseBody> stream(String filename, MediaType mediaType,
+            StreamingResponseBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(mediaType);
+        headers.setContentDispositionFormData("attachment", filename);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+}
@@ -6,18 +6,19 @@
 
 package com.aerofisc.controller;
 
-import com.aerofisc.service.ExportService;
+import com.aerofisc.service.GdprExportService;
 import com.aerofisc.service.UserService;
 import com.aerofisc.security.UserPrincipal;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
 import java.util.Map;
 
 @RestController
@@ -25,24 +26,27 @@ import java.util.Map;
 @Tag(name = "GDPR Compliance", description = "Endpoints for data export and account deletion")
 public class GdprController {
 
-    private final ExportService exportService;
+    private final GdprExportService gdprExportService;
     private final UserService userService;
 
-    public GdprController(ExportService exportService, UserService userService) {
-        this.exportService = exportService;
+    public GdprController(GdprExportService gdprExportService, UserService userService) {
+        this.gdprExportService = gdprExportService;
         this.userService = userService;
     }
 
     @GetMapping("/export")
     @Operation(summary = "Export all user data", description = "Download all user data in JSON format for GDPR portability")
-    public ResponseEntity<byte[]> exportAllData(@AuthenticationPrincipal UserPrincipal userPrincipal)
-            throws IOException {
-        byte[] data = exportService.exportAllDataJSON(userPrincipal.getId());
+    public ResponseEntity<StreamingResponseBody> exportAllData(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @Parameter(description = "Compress the download as .json.gz") @RequestParam(defaultValue = "false") boolean gzip) {
+        Long userId = userPrincipal.getId();
+        StreamingResponseBody body = out -> gdprExportService.writeExport(userId, out, gzip);
 
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=Aerofisc_data_export.json")
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(data);
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=Aerofisc_data_export.json" + (gzip ? ".gz" : ""))
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     @DeleteMapping("/account")
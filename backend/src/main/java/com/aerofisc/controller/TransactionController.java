@@ -6,9 +6,12 @@
 
 package com.aerofisc.controller;
 
+import com.aerofisc.dto.CursorPageDto;
 import com.aerofisc.dto.TransactionDto;
+import com.aerofisc.dto.TransactionImportResultDto;
 import com.aerofisc.entity.Transaction;
 import com.aerofisc.security.UserPrincipal;
+import com.aerofisc.service.TransactionImportService;
 import com.aerofisc.service.TransactionService;
 import jakarta.validation.Valid;
 
@@ -17,11 +20,17 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 
 @RestController
@@ -29,9 +38,12 @@ import java.time.LocalDate;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+            TransactionImportService transactionImportService) {
         this.transactionService = transactionService;
+        this.transactionImportService = transactionImportService;
     }
 
     @PostMapping
@@ -42,6 +54,46 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * Bulk import from a CSV body (header row required) or a JSON array of
+     * transactions. Invalid rows are skipped and listed in the response.
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE })
+    public ResponseEntity<TransactionImportResultDto> importCsv(
+            InputStream body,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(transactionImportService.importCsv(userPrincipal.getId(),
+                new InputStreamReader(body, StandardCharsets.UTF_8)));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TransactionImportResultDto> importJson(
+            InputStream body,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(transactionImportService.importJson(userPrincipal.getId(), body));
+    }
+
+    /**
+     * Same import as an uploaded file; ".json" files are read as JSON,
+     * anything else as CSV
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<TransactionImportResultDto> importFile(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
+        boolean json = filename.endsWith(".json")
+                || MediaType.APPLICATION_JSON_VALUE.equals(file.getContentType());
+
+        try (InputStream in = file.getInputStream()) {
+            TransactionImportResultDto result = json
+                    ? transactionImportService.importJson(userPrincipal.getId(), in)
+                    : transactionImportService.importCsv(userPrincipal.getId(),
+                            new InputStreamReader(in, StandardCharsets.UTF_8));
+            return ResponseEntity.ok(result);
+        }
+    }
+
     @GetMapping
     public ResponseEntity<Page<TransactionDto>> getTransactions(
             @RequestParam(required = false) Transaction.TransactionType type,
@@ -72,6 +124,30 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
 
+    /**
+     * Cursor-paginated variant of GET /api/transactions. Ordered by
+     * transaction date (then id); pass the returned nextCursor to continue.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDto<TransactionDto>> scrollTransactions(
+            @RequestParam(required = false) Transaction.TransactionType type,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        CursorPageDto<TransactionDto> transactions = transactionService.scrollTransactions(
+                userPrincipal.getId(), type, categoryId, startDate, endDate, minAmount, maxAmount,
+                cursor, size, sortDir.equalsIgnoreCase("ASC"), includeTotal);
+        return ResponseEntity.ok(transactions);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TransactionDto> getTransactionById(
             @PathVariable Long id,
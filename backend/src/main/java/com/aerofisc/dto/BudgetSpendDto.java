@@ -0,0 +1,34 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A budget's limit and spend as stored, read back by a JPQL constructor
+ * expression right after an atomic spend update so the alert check needs no
+ * managed entity (which could still hold the pre-update value).
+ */
+public record BudgetSpendDto(Long budgetId, Long categoryId, BigDecimal amount, BigDecimal spent,
+        BigDecimal alertThreshold) {
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    public BigDecimal percentage() {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0 || spent == null) {
+            return BigDecimal.ZERO;
+        }
+        return spent.divide(amount, 4, RoundingMode.HALF_UP).multiply(HUNDRED);
+    }
+
+    public boolean isOverThreshold() {
+        return amount != null && amount.compareTo(BigDecimal.ZERO) > 0
+                && alertThreshold != null
+                && percentage().compareTo(alertThreshold) >= 0;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Point-in-time statistics for one cache. Fields a backend cannot report
+ * (e.g. size and evictions for Redis) are left null. The l1/l2 fields are
+ * only set for two-tier caches, where hitCount covers both tiers.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+
+    private String name;
+    private String provider;
+    private Long size;
+    private Long maximumSize;
+    private Long expireAfterWriteSeconds;
+    private Long hitCount;
+    private Long missCount;
+    private Double hitRate;
+    private Long putCount;
+    private Long evictionCount;
+    private Long l1HitCount;
+    private Double l1HitRate;
+    private Long l2HitCount;
+    private Double l2HitRate;
+}
@@ -0,0 +1,65 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Pushed to /topic/user/{id}/dashboard after one or more ledger writes.
+ * Carries the figures those writes changed so a client can patch its state
+ * in place: the all-time balance, the current month's income and expenses,
+ * and the month total and active budgets of every category touched.
+ * updates is the number of writes merged into this message.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDeltaDto {
+
+    public static final String TYPE = "dashboard.delta";
+
+    @Builder.Default
+    private String type = TYPE;
+    private String month;
+    private BigDecimal balance;
+    private BigDecimal monthIncome;
+    private BigDecimal monthExpenses;
+    private List<CategoryTotal> categories;
+    private List<BudgetProgress> budgets;
+    private int updates;
+    private long generatedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryTotal {
+        private Long categoryId;
+        private String categoryName;
+        private BigDecimal monthIncome;
+        private BigDecimal monthExpenses;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BudgetProgress {
+        private Long budgetId;
+        private Long categoryId;
+        private BigDecimal amount;
+        private BigDecimal spent;
+        private BigDecimal progressPercentage;
+    }
+}
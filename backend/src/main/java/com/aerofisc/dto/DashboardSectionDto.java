@@ -0,0 +1,31 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One part of the composite dashboard. data is null unless status is OK;
+ * a TIMEOUT part can be fetched again from its own endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSectionDto<T> {
+
+    public static final String OK = "OK";
+    public static final String TIMEOUT = "TIMEOUT";
+    public static final String ERROR = "ERROR";
+
+    private String status;
+    private T data;
+    private String error;
+}
@@ -0,0 +1,38 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status of a background export. progress runs from 0 to 100;
+ * downloadUrl is set once the job has COMPLETED.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobDto {
+
+    private String id;
+    private String type;
+    private String format;
+    private String status;
+    private int progress;
+    private String filename;
+    private Long sizeBytes;
+    private String error;
+    private String downloadUrl;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+}
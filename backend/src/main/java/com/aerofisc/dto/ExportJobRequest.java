@@ -0,0 +1,38 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Body of POST /api/export/jobs. type is one of dashboard, analytics,
+ * transactions, budgets, goals or all-data; format is pdf, excel or (for
+ * transactions and all-data) csv. timeRange applies to analytics and the
+ * date bounds to transactions.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobRequest {
+
+    @NotBlank(message = "Export type is required")
+    private String type;
+
+    @NotBlank(message = "Export format is required")
+    private String format;
+
+    private String timeRange;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
@@ -0,0 +1,33 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything the dashboard page needs in one response (GET
+ * /api/dashboard/full). The summary's nextMonthPrediction and
+ * aiRecommendation are only filled when the predictions section is OK.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FullDashboardDto {
+
+    private DashboardSectionDto<DashboardSummaryDto> summary;
+    private DashboardSectionDto<List<MonthlyTrendDto>> monthlyTrends;
+    private DashboardSectionDto<List<CategoryBreakdownDto>> categoryBreakdown;
+    private DashboardSectionDto<List<TransactionDto>> recentTransactions;
+    private DashboardSectionDto<List<PredictionDto>> predictions;
+    private long elapsedMs;
+}
@@ -0,0 +1,35 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.dto;
+
+import com.aerofisc.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Compact aggregate row: total amount of one transaction type in one calendar
+ * month. Filled directly by JPQL constructor expressions so no entities are
+ * materialised for trend queries.
+ */
+public record MonthlyTotalDto(int year, int month, Transaction.TransactionType type, BigDecimal total) {
+
+    public MonthlyTotalDto(Integer year, Integer month, Transaction.TransactionType type, BigDecimal total) {
+        this(year.intValue(), month.intValue(), type, total != null ? total : BigDecimal.ZERO);
+    }
+
+    public MonthlyTotalDto(String periodMonth, Transaction.TransactionType type, BigDecimal total) {
+        this(YearMonth.parse(periodMonth).getYear(), YearMonth.parse(periodMonth).getMonthValue(), type,
+                total != null ? total : BigDecimal.ZERO);
+    }
+
+    public YearMonth yearMonth() {
+        return YearMonth.of(year, month);
+    }
+}
+
+
@@ -0,0 +1,48 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.dto;
+
+import com.aerofisc.entity.Transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last transaction on a page, in the (transactionDate, id)
+ * order the keyset queries seek on. Clients only ever see the opaque
+ * URL-safe encoding.
+ */
+public record TransactionCursor(LocalDate transactionDate, Long id) {
+
+    /**
+     * Starting positions that sort before/after every stored row
+     */
+    public static final TransactionCursor LATEST = new TransactionCursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+    public static final TransactionCursor EARLIEST = new TransactionCursor(LocalDate.of(1, 1, 1), 0L);
+
+    public static TransactionCursor after(Transaction transaction) {
+        return new TransactionCursor(transaction.getTransactionDate(), transaction.getId());
+    }
+
+    public String encode() {
+        String raw = transactionDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new TransactionCursor(LocalDate.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
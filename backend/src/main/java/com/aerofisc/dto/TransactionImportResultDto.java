@@ -0,0 +1,31 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk transaction import. Valid rows are imported, invalid
+ * ones are skipped and described in errors (capped; see errorsTruncated).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionImportResultDto {
+
+    private long totalRows;
+    private long imported;
+    private long rejected;
+    private List<String> errors;
+    private boolean errorsTruncated;
+}
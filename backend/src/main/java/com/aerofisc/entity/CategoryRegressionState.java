@@ -0,0 +1,77 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted MonthlyRegression of one user's monthly expenses in one
+ * category over the prediction window. Kept up to date by
+ * CategoryRegressionService on every ledger write and rebuilt from the
+ * monthly rollups by the nightly prediction precompute.
+ */
+@Entity
+@Table(name = "category_regression_state", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_regression_user_category", columnNames = { "user_id", "category_id" })
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryRegressionState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    /**
+     * Months with transactions
+     */
+    @Column(name = "month_count", nullable = false)
+    private Integer n;
+
+    @Column(name = "sum_x", nullable = false)
+    private Long sumX;
+
+    @Column(name = "sum_xx", nullable = false)
+    private Long sumXX;
+
+    /**
+     * Σy and Σxy are in cents
+     */
+    @Column(name = "sum_y", nullable = false)
+    private Long sumY;
+
+    @Column(name = "sum_xy", nullable = false)
+    private Long sumXY;
+
+    @Column(name = "sum_yy", nullable = false)
+    private Double sumYY;
+
+    /**
+     * "yyyy-MM:cents:count" per month, ';'-separated, oldest first
+     */
+    @Column(nullable = false, length = 500)
+    private String buckets;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,62 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Next-month expense prediction for one user and category, or the user's
+ * total when categoryId is null. Written by the nightly precompute and by
+ * PredictionService when a user's spending changes significantly; the
+ * dashboard only reads these rows.
+ */
+@Entity
+@Table(name = "expense_predictions", indexes = {
+        @Index(name = "idx_expense_prediction_user", columnList = "user_id"),
+        @Index(name = "idx_expense_prediction_computed", columnList = "computed_at")
+}, uniqueConstraints = {
+        // NULLS NOT DISTINCT on PostgreSQL, see database/20261018_expense_predictions.sql
+        @UniqueConstraint(name = "uk_expense_prediction_user_category", columnNames = { "user_id", "category_id" })
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpensePrediction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category_id")
+    private Long categoryId; // null for the total row
+
+    @Column(name = "predicted_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal predictedAmount;
+
+    @Column(name = "historical_average", nullable = false, precision = 19, scale = 2)
+    private BigDecimal historicalAverage;
+
+    @Column(name = "confidence_score", nullable = false)
+    private Double confidenceScore;
+
+    @Column(nullable = false, length = 20)
+    private String trend;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
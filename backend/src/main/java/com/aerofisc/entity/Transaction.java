@@ -17,7 +17,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "transactions", indexes = {
         @Index(name = "idx_user_date", columnList = "user_id, transaction_date"),
-        @Index(name = "idx_category", columnList = "category_id")
+        @Index(name = "idx_category", columnList = "category_id"),
+        @Index(name = "idx_user_category_date", columnList = "user_id, category_id, transaction_date"),
+        @Index(name = "idx_user_type_date", columnList = "user_id, transaction_type, transaction_date")
 })
 public class Transaction {
 
@@ -0,0 +1,69 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running per-user totals for one calendar month, transaction type and
+ * category. Maintained by MonthlyRollupService on every ledger write so the
+ * dashboard reads O(months) rows instead of the full transaction history.
+ */
+@Entity
+@Table(name = "user_month_rollup", indexes = {
+        @Index(name = "idx_rollup_user_month", columnList = "user_id, period_month")
+}, uniqueConstraints = {
+        // NULLS NOT DISTINCT on PostgreSQL, see database/20261018_user_month_rollup.sql
+        @UniqueConstraint(name = "uk_rollup_bucket",
+                columnNames = { "user_id", "period_month", "transaction_type", "category_id" })
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserMonthRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Calendar month in ISO "yyyy-MM" form so that string order is chronological
+     */
+    @Column(name = "period_month", nullable = false, length = 7)
+    private String periodMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false, length = 20)
+    private Transaction.TransactionType type;
+
+    @Column(name = "category_id")
+    private Long categoryId; // null for uncategorised entries such as goal contributions
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
+
+
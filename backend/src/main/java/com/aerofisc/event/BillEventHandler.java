@@ -0,0 +1,42 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.event;
+
+import com.aerofisc.service.BillService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Marks a pending bill paid when a new transaction in a bill-like category
+ * matches it by name and amount
+ */
+@Component
+@Order(20)
+public class BillEventHandler implements TransactionEventHandler {
+
+    private final BillService billService;
+
+    public BillEventHandler(BillService billService) {
+        this.billService = billService;
+    }
+
+    @Override
+    public void handle(TransactionEvent event) {
+        TransactionEvent.Snapshot after = event.after();
+        if (event.kind() != TransactionEvent.Kind.CREATED || after == null || after.categoryName() == null) {
+            return;
+        }
+
+        String categoryName = after.categoryName().toLowerCase(Locale.ROOT);
+        if (categoryName.contains("bill") || categoryName.contains("emi") ||
+                categoryName.contains("rent") || categoryName.contains("utility")) {
+            billService.syncBillPayment(event.userId(), after.description(), after.amount(), after.date());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.event;
+
+import com.aerofisc.service.BudgetService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves budget spend by the expense delta of each write; over-threshold
+ * alerts are mailed by BudgetService once the delivery commits
+ */
+@Component
+@Order(10)
+public class BudgetEventHandler implements TransactionEventHandler {
+
+    private final BudgetService budgetService;
+
+    public BudgetEventHandler(BudgetService budgetService) {
+        this.budgetService = budgetService;
+    }
+
+    @Override
+    public void handle(TransactionEvent event) {
+        TransactionEvent.Snapshot before = event.before();
+        if (before != null) {
+            budgetService.reverseTransaction(event.userId(), before.date(), before.type(), before.categoryId(),
+                    before.amount());
+        }
+
+        TransactionEvent.Snapshot after = event.after();
+        if (after != null) {
+            budgetService.recordExpense(event.userId(), after.type(), after.categoryId(), after.date(),
+                    after.amount());
+        }
+    }
+}
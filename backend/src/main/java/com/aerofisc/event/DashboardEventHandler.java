@@ -0,0 +1,56 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.event;
+
+import com.aerofisc.service.DashboardUpdateCoalescer;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs last: once the other handlers' changes have committed, queues a delta
+ * push for the categories the write touched. The cached dashboard is already
+ * evicted by the write itself, after its commit.
+ */
+@Component
+@Order(100)
+public class DashboardEventHandler implements TransactionEventHandler {
+
+    private final DashboardUpdateCoalescer dashboardUpdateCoalescer;
+
+    public DashboardEventHandler(DashboardUpdateCoalescer dashboardUpdateCoalescer) {
+        this.dashboardUpdateCoalescer = dashboardUpdateCoalescer;
+    }
+
+    @Override
+    public void handle(TransactionEvent event) {
+        Long userId = event.userId();
+
+        List<Long> categoryIds = new ArrayList<>(2);
+        if (event.before() != null) {
+            categoryIds.add(event.before().categoryId());
+        }
+        if (event.after() != null) {
+            categoryIds.add(event.after().categoryId());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dashboardUpdateCoalescer.requestUpdate(userId, categoryIds);
+                }
+            });
+        } else {
+            dashboardUpdateCoalescer.requestUpdate(userId, categoryIds);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.event;
+
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.service.PredictionService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Recomputes the user's stored predictions when a write moves expenses by
+ * a significant amount. An expense moved to another category or month counts
+ * in full on both sides; smaller edits wait for the nightly precompute.
+ */
+@Component
+@Order(30)
+public class PredictionEventHandler implements TransactionEventHandler {
+
+    private final PredictionService predictionService;
+
+    public PredictionEventHandler(PredictionService predictionService) {
+        this.predictionService = predictionService;
+    }
+
+    @Override
+    public void handle(TransactionEvent event) {
+        predictionService.recomputeIfSignificant(event.userId(), expenseChange(event.before(), event.after()));
+    }
+
+    static BigDecimal expenseChange(TransactionEvent.Snapshot before, TransactionEvent.Snapshot after) {
+        BigDecimal removed = expense(before);
+        BigDecimal added = expense(after);
+        if (before != null && after != null && Objects.equals(before.categoryId(), after.categoryId())
+                && before.date().getYear() == after.date().getYear()
+                && before.date().getMonth() == after.date().getMonth()) {
+            return added.subtract(removed).abs();
+        }
+        return added.add(removed);
+    }
+
+    private static BigDecimal expense(TransactionEvent.Snapshot snapshot) {
+        if (snapshot == null || snapshot.type() != Transaction.TransactionType.EXPENSE || snapshot.amount() == null) {
+            return BigDecimal.ZERO;
+        }
+        return snapshot.amount().abs();
+    }
+}
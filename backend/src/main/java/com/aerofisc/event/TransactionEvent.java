@@ -0,0 +1,64 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.event;
+
+import com.aerofisc.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A ledger write, as stored in the outbox. Carries the transaction as it
+ * looked before (updates and deletes) and after (creates and updates) the
+ * write, so handlers can apply deltas without reading the ledger again.
+ */
+public record TransactionEvent(Kind kind, Long userId, Long transactionId, Snapshot before, Snapshot after) {
+
+    public enum Kind {
+        CREATED("TransactionCreated"),
+        UPDATED("TransactionUpdated"),
+        DELETED("TransactionDeleted");
+
+        private final String eventType;
+
+        Kind(String eventType) {
+            this.eventType = eventType;
+        }
+
+        public String eventType() {
+            return eventType;
+        }
+    }
+
+    /**
+     * The fields of a transaction that side effects depend on. categoryName
+     * is only set when the writer already had it loaded.
+     */
+    public record Snapshot(Transaction.TransactionType type, Long categoryId, String categoryName,
+            BigDecimal amount, LocalDate date, String description) {
+
+        public static Snapshot of(Transaction transaction, String categoryName) {
+            return new Snapshot(transaction.getType(), transaction.getCategoryId(), categoryName,
+                    transaction.getAmount(), transaction.getTransactionDate(), transaction.getDescription());
+        }
+    }
+
+    public static TransactionEvent created(Transaction transaction, String categoryName) {
+        return new TransactionEvent(Kind.CREATED, transaction.getUserId(), transaction.getId(), null,
+                Snapshot.of(transaction, categoryName));
+    }
+
+    public static TransactionEvent updated(Transaction transaction, Snapshot before) {
+        return new TransactionEvent(Kind.UPDATED, transaction.getUserId(), transaction.getId(), before,
+                Snapshot.of(transaction, null));
+    }
+
+    public static TransactionEvent deleted(Transaction transaction) {
+        return new TransactionEvent(Kind.DELETED, transaction.getUserId(), transaction.getId(),
+                Snapshot.of(transaction, null), null);
+    }
+}
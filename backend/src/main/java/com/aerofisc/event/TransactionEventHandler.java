@@ -0,0 +1,19 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.event;
+
+/**
+ * Side effect of a ledger write, run by OutboxDispatcher after the write has
+ * committed. Handlers run in @Order inside one transaction per event, which
+ * also deletes the outbox row, so database work is applied once even when a
+ * delivery is retried. Work deferred until after that commit (mail,
+ * WebSocket pushes, cache eviction) is best effort.
+ */
+public interface TransactionEventHandler {
+
+    void handle(TransactionEvent event);
+}
@@ -6,12 +6,15 @@
 
 package com.aerofisc.repository;
 
+import com.aerofisc.dto.BudgetSpendDto;
 import com.aerofisc.entity.Budget;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +39,52 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    /**
+     * Add an expense delta to every budget of the user and category whose
+     * period contains the date, as one statement so concurrent writes for
+     * the same budget cannot lose an update
+     */
+    @Modifying
+    @Query("UPDATE Budget b SET b.spent = COALESCE(b.spent, 0) + :delta, b.updatedAt = LOCAL DATETIME " +
+            "WHERE b.userId = :userId AND b.categoryId = :categoryId " +
+            "AND b.startDate <= :date AND b.endDate >= :date")
+    int applySpentDelta(
+            @Param("userId") Long userId,
+            @Param("categoryId") Long categoryId,
+            @Param("date") LocalDate date,
+            @Param("delta") BigDecimal delta);
+
+    /**
+     * Spend of the budgets {@link #applySpentDelta} just touched; the rows are
+     * still locked by that update, so this is the value it wrote
+     */
+    @Query("SELECT new com.aerofisc.dto.BudgetSpendDto(b.id, b.categoryId, b.amount, b.spent, b.alertThreshold) " +
+            "FROM Budget b WHERE b.userId = :userId AND b.categoryId = :categoryId " +
+            "AND b.startDate <= :date AND b.endDate >= :date")
+    List<BudgetSpendDto> findSpendCovering(
+            @Param("userId") Long userId,
+            @Param("categoryId") Long categoryId,
+            @Param("date") LocalDate date);
+
+    /**
+     * Reset spent to the ledger total for each of the user's budgets that has
+     * drifted from it. Returns the number of budgets corrected.
+     */
+    @Modifying
+    @Query("UPDATE Budget b SET b.spent = COALESCE((SELECT SUM(t.amount) FROM Transaction t " +
+            "WHERE t.userId = b.userId AND t.categoryId = b.categoryId " +
+            "AND t.type = 'EXPENSE' " +
+            "AND t.transactionDate BETWEEN b.startDate AND b.endDate), 0) " +
+            "WHERE b.userId = :userId AND b.categoryId IS NOT NULL " +
+            "AND COALESCE(b.spent, 0) <> COALESCE((SELECT SUM(t2.amount) FROM Transaction t2 " +
+            "WHERE t2.userId = b.userId AND t2.categoryId = b.categoryId " +
+            "AND t2.type = 'EXPENSE' " +
+            "AND t2.transactionDate BETWEEN b.startDate AND b.endDate), 0)")
+    int reconcileSpent(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT b.userId FROM Budget b")
+    List<Long> findDistinctUserIds();
+
     Optional<Budget> findByIdAndUserId(Long id, Long userId);
 
     Integer countByUserId(Long userId);
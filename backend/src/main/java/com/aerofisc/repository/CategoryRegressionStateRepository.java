@@ -0,0 +1,53 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.repository;
+
+import com.aerofisc.entity.CategoryRegressionState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRegressionStateRepository extends JpaRepository<CategoryRegressionState, Long> {
+
+    List<CategoryRegressionState> findByUserId(Long userId);
+
+    boolean existsByUserId(Long userId);
+
+    /**
+     * The state row, locked until the caller's transaction ends so concurrent
+     * writes to the same category apply one after the other
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CategoryRegressionState s WHERE s.userId = :userId AND s.categoryId = :categoryId")
+    Optional<CategoryRegressionState> lockByUserIdAndCategoryId(
+            @Param("userId") Long userId,
+            @Param("categoryId") Long categoryId);
+
+    /**
+     * State rows of a user id range, locked until the caller's transaction
+     * ends; taken in key order so two rebuilds cannot deadlock each other
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CategoryRegressionState s WHERE s.userId BETWEEN :fromUserId AND :toUserId " +
+            "ORDER BY s.userId, s.categoryId")
+    List<CategoryRegressionState> lockByUserIdBetween(
+            @Param("fromUserId") Long fromUserId,
+            @Param("toUserId") Long toUserId);
+
+    @Modifying
+    @Query("DELETE FROM CategoryRegressionState s WHERE s.userId IN :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<Long> userIds);
+}
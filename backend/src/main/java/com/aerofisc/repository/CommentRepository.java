@@ -7,12 +7,18 @@
 package com.aerofisc.repository;
 
 import com.aerofisc.entity.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -26,6 +32,16 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     void deleteByPostIdIn(List<Long> postIds);
 
     List<Comment> findByUserId(Long userId);
-}
-
 
+    /**
+     * Every comment of the user as a forward-only stream for the data
+     * export; consume inside a read-only transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TransactionRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT c FROM Comment c WHERE c.userId = :userId ORDER BY c.createdAt, c.id")
+    Stream<Comment> streamByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,39 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.repository;
+
+import com.aerofisc.entity.ExpensePrediction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ExpensePredictionRepository extends JpaRepository<ExpensePrediction, Long> {
+
+    /**
+     * Rows are written total first, so insertion order is display order
+     */
+    List<ExpensePrediction> findByUserIdOrderByIdAsc(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM ExpensePrediction p WHERE p.userId IN :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Drop predictions a full precompute run did not rewrite, i.e. of users
+     * with no recent expenses
+     */
+    @Modifying
+    @Query("DELETE FROM ExpensePrediction p WHERE p.computedAt < :before")
+    int deleteComputedBefore(@Param("before") LocalDateTime before);
+}
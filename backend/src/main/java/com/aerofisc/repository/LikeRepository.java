@@ -7,11 +7,17 @@
 package com.aerofisc.repository;
 
 import com.aerofisc.entity.Like;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LikeRepository extends JpaRepository<Like, Long> {
@@ -33,6 +39,16 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     void deleteByPostIdIn(List<Long> postIds);
 
     void deleteByCommentIdIn(List<Long> commentIds);
-}
-
 
+    /**
+     * Every like of the user as a forward-only stream for the data
+     * export; consume inside a read-only transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TransactionRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT l FROM Like l WHERE l.userId = :userId ORDER BY l.createdAt, l.id")
+    Stream<Like> streamByUserId(@Param("userId") Long userId);
+}
@@ -7,10 +7,16 @@
 package com.aerofisc.repository;
 
 import com.aerofisc.entity.Notification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
@@ -19,6 +25,16 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     void deleteByUserId(Long userId);
 
     long countByUserIdAndIsReadFalse(Long userId);
-}
-
 
+    /**
+     * Every notification of the user as a forward-only stream for the data
+     * export; consume inside a read-only transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TransactionRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId ORDER BY n.createdAt, n.id")
+    Stream<Notification> streamByUserId(@Param("userId") Long userId);
+}
@@ -7,14 +7,19 @@
 package com.aerofisc.repository;
 
 import com.aerofisc.entity.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
@@ -31,6 +36,16 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     Page<Post> findTrendingPosts(Pageable pageable);
 
     void deleteByUserId(Long userId);
-}
-
 
+    /**
+     * Every post of the user as a forward-only stream for the data
+     * export; consume inside a read-only transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TransactionRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Post p WHERE p.userId = :userId ORDER BY p.createdAt, p.id")
+    Stream<Post> streamByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,62 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.repository;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Inserts a row keyed by a unique constraint inside a savepoint of the
+ * caller's transaction. When a concurrent writer got there first the insert
+ * is rolled back to the savepoint and reported as not done, so the caller can
+ * fall back to updating the existing row without its transaction being
+ * aborted (PostgreSQL rejects every later statement after a failed one).
+ *
+ * Plain JDBC on purpose: a constraint violation raised through the
+ * EntityManager would mark the whole transaction rollback-only.
+ */
+@Repository
+public class SavepointInsert {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SavepointInsert(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Run {@code sql} with {@code args}; must be called inside a transaction
+     *
+     * @return false if the row already existed
+     */
+    public boolean insertIfAbsent(String sql, Object... args) {
+        Boolean inserted = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                new ArgumentPreparedStatementSetter(args).setValues(statement);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+                connection.rollback(savepoint);
+                return false;
+            }
+            connection.releaseSavepoint(savepoint);
+            return true;
+        });
+        return Boolean.TRUE.equals(inserted);
+    }
+}
@@ -6,20 +6,33 @@
 
 package com.aerofisc.repository;
 
+import com.aerofisc.dto.MonthlyTotalDto;
 import com.aerofisc.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * Filtered searches go through {@link JpaSpecificationExecutor} with the
+ * predicates from {@link TransactionSpecifications}.
+ */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>,
+                JpaSpecificationExecutor<Transaction> {
+
+        String EXPORT_FETCH_SIZE = "1000";
 
         Page<Transaction> findByUserId(Long userId, Pageable pageable);
 
@@ -35,23 +48,6 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
                         @Param("endDate") LocalDate endDate,
                         Pageable pageable);
 
-        @Query("SELECT t FROM Transaction t WHERE t.userId = :userId " +
-                        "AND (:type IS NULL OR t.type = :type) " +
-                        "AND (:categoryId IS NULL OR t.categoryId = :categoryId) " +
-                        "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
-                        "AND (:endDate IS NULL OR t.transactionDate <= :endDate) " +
-                        "AND (:minAmount IS NULL OR t.amount >= :minAmount) " +
-                        "AND (:maxAmount IS NULL OR t.amount <= :maxAmount)")
-        Page<Transaction> findByFilters(
-                        @Param("userId") Long userId,
-                        @Param("type") Transaction.TransactionType type,
-                        @Param("categoryId") Long categoryId,
-                        @Param("startDate") LocalDate startDate,
-                        @Param("endDate") LocalDate endDate,
-                        @Param("minAmount") BigDecimal minAmount,
-                        @Param("maxAmount") BigDecimal maxAmount,
-                        Pageable pageable);
-
         @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.userId = :userId " +
                         "AND t.categoryId = :categoryId " +
                         "AND t.type = 'EXPENSE' " +
@@ -64,10 +60,51 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
         List<Transaction> findByUserIdOrderByCreatedAtDesc(Long userId);
 
+        /**
+         * Whole ledger in date order as a forward-only stream for exports. Must
+         * be consumed (and closed) inside a read-only transaction; rows are
+         * fetched from the cursor in chunks of EXPORT_FETCH_SIZE.
+         */
+        @QueryHints({
+                        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+                        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+        })
+        @Query("SELECT t FROM Transaction t WHERE t.userId = :userId ORDER BY t.transactionDate, t.id")
+        Stream<Transaction> streamByUserId(@Param("userId") Long userId);
+
+        /**
+         * Date-bounded variant of streamByUserId
+         */
+        @QueryHints({
+                        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+                        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+        })
+        @Query("SELECT t FROM Transaction t WHERE t.userId = :userId " +
+                        "AND t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.transactionDate, t.id")
+        Stream<Transaction> streamByUserIdAndDateRange(
+                        @Param("userId") Long userId,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
         List<Transaction> findTop10ByUserIdOrderByTransactionDateDescCreatedAtDesc(Long userId);
 
         List<Transaction> findByUserIdAndTransactionDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
 
+        /**
+         * Income/expense totals per calendar month over a date window in a single
+         * round trip. Months without transactions are absent; callers zero-fill.
+         */
+        @Query("SELECT new com.aerofisc.dto.MonthlyTotalDto(YEAR(t.transactionDate), MONTH(t.transactionDate), " +
+                        "t.type, SUM(t.amount)) FROM Transaction t WHERE t.userId = :userId " +
+                        "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+                        "GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate), t.type")
+        List<MonthlyTotalDto> sumByMonthAndType(
+                        @Param("userId") Long userId,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
         boolean existsByCategoryId(Long categoryId);
 
         @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.type = :type")
@@ -82,6 +119,20 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
                         @Param("endDate") LocalDate endDate);
 
         void deleteByUserId(Long userId);
+
+        boolean existsByUserId(Long userId);
+
+        @Query("SELECT DISTINCT t.userId FROM Transaction t")
+        List<Long> findDistinctUserIds();
+
+        /**
+         * Ledger totals per (year, month, type, category) for one user. Each row is
+         * [year, month, type, categoryId, SUM(amount), COUNT(*)].
+         */
+        @Query("SELECT YEAR(t.transactionDate), MONTH(t.transactionDate), t.type, t.categoryId, " +
+                        "SUM(t.amount), COUNT(t) FROM Transaction t WHERE t.userId = :userId " +
+                        "GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate), t.type, t.categoryId")
+        List<Object[]> aggregateMonthlyByUserId(@Param("userId") Long userId);
 }
 
 
@@ -0,0 +1,124 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.repository;
+
+import com.aerofisc.dto.TransactionCursor;
+import com.aerofisc.entity.Transaction;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Criteria building blocks for transaction searches.
+ *
+ * Only the filters a caller actually supplies become predicates, so each
+ * combination reaches the database as its own narrow statement that the
+ * planner can match to idx_user_date, idx_user_category_date or
+ * idx_user_type_date, rather than one catch-all "(:x IS NULL OR ...)" query
+ * whose generic plan can use none of them selectively.
+ */
+public final class TransactionSpecifications {
+
+    private static final String USER_ID = "userId";
+    private static final String TYPE = "type";
+    private static final String CATEGORY_ID = "categoryId";
+    private static final String TRANSACTION_DATE = "transactionDate";
+    private static final String AMOUNT = "amount";
+    private static final String ID = "id";
+
+    private TransactionSpecifications() {
+    }
+
+    /**
+     * Combine the supplied filters; null arguments are left out of the query
+     */
+    public static Specification<Transaction> filter(
+            Long userId,
+            Transaction.TransactionType type,
+            Long categoryId,
+            LocalDate startDate,
+            LocalDate endDate,
+            BigDecimal minAmount,
+            BigDecimal maxAmount) {
+
+        Specification<Transaction> spec = belongsTo(userId);
+        if (type != null) {
+            spec = spec.and(hasType(type));
+        }
+        if (categoryId != null) {
+            spec = spec.and(inCategory(categoryId));
+        }
+        if (startDate != null) {
+            spec = spec.and(onOrAfter(startDate));
+        }
+        if (endDate != null) {
+            spec = spec.and(onOrBefore(endDate));
+        }
+        if (minAmount != null) {
+            spec = spec.and(amountAtLeast(minAmount));
+        }
+        if (maxAmount != null) {
+            spec = spec.and(amountAtMost(maxAmount));
+        }
+        return spec;
+    }
+
+    public static Specification<Transaction> belongsTo(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get(USER_ID), userId);
+    }
+
+    public static Specification<Transaction> hasType(Transaction.TransactionType type) {
+        return (root, query, cb) -> cb.equal(root.get(TYPE), type);
+    }
+
+    public static Specification<Transaction> inCategory(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.get(CATEGORY_ID), categoryId);
+    }
+
+    public static Specification<Transaction> onOrAfter(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(TRANSACTION_DATE), date);
+    }
+
+    public static Specification<Transaction> onOrBefore(LocalDate date) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get(TRANSACTION_DATE), date);
+    }
+
+    public static Specification<Transaction> amountAtLeast(BigDecimal amount) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(AMOUNT), amount);
+    }
+
+    public static Specification<Transaction> amountAtMost(BigDecimal amount) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get(AMOUNT), amount);
+    }
+
+    /**
+     * Rows strictly past the cursor in (transactionDate, id) order, spelled
+     * out as date &lt; d OR (date = d AND id &lt; i) since row-value
+     * comparison is not portable through JPA
+     */
+    public static Specification<Transaction> after(TransactionCursor cursor, boolean ascending) {
+        return (root, query, cb) -> {
+            var date = root.<LocalDate>get(TRANSACTION_DATE);
+            var id = root.<Long>get(ID);
+            return ascending
+                    ? cb.or(cb.greaterThan(date, cursor.transactionDate()),
+                            cb.and(cb.equal(date, cursor.transactionDate()), cb.greaterThan(id, cursor.id())))
+                    : cb.or(cb.lessThan(date, cursor.transactionDate()),
+                            cb.and(cb.equal(date, cursor.transactionDate()), cb.lessThan(id, cursor.id())));
+        };
+    }
+
+    /**
+     * Keyset order matching {@link #after(TransactionCursor, boolean)}
+     */
+    public static Sort keysetOrder(boolean ascending) {
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, TRANSACTION_DATE).and(Sort.by(direction, ID));
+    }
+}
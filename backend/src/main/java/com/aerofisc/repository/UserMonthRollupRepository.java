@@ -0,0 +1,77 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.repository;
+
+import com.aerofisc.dto.MonthlyTotalDto;
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.entity.UserMonthRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface UserMonthRollupRepository extends JpaRepository<UserMonthRollup, Long> {
+
+    List<UserMonthRollup> findByUserId(Long userId);
+
+    List<UserMonthRollup> findByUserIdAndPeriodMonthBetween(Long userId, String fromMonth, String toMonth);
+
+    boolean existsByUserId(Long userId);
+
+    @Query("SELECT DISTINCT r.userId FROM UserMonthRollup r WHERE r.type = 'EXPENSE' " +
+            "AND r.periodMonth BETWEEN :fromMonth AND :toMonth ORDER BY r.userId")
+    List<Long> findUserIdsWithExpensesBetween(
+            @Param("fromMonth") String fromMonth,
+            @Param("toMonth") String toMonth);
+
+    /**
+     * Categorised expense rollups of a user id range, in user, category and
+     * month order
+     */
+    @Query("SELECT r FROM UserMonthRollup r WHERE r.userId BETWEEN :fromUserId AND :toUserId " +
+            "AND r.type = 'EXPENSE' AND r.categoryId IS NOT NULL AND r.transactionCount > 0 " +
+            "AND r.periodMonth BETWEEN :fromMonth AND :toMonth " +
+            "ORDER BY r.userId, r.categoryId, r.periodMonth")
+    List<UserMonthRollup> findExpenseRollups(
+            @Param("fromUserId") Long fromUserId,
+            @Param("toUserId") Long toUserId,
+            @Param("fromMonth") String fromMonth,
+            @Param("toMonth") String toMonth);
+
+    @Query("SELECT new com.aerofisc.dto.MonthlyTotalDto(r.periodMonth, r.type, SUM(r.totalAmount)) " +
+            "FROM UserMonthRollup r WHERE r.userId = :userId " +
+            "AND r.periodMonth BETWEEN :fromMonth AND :toMonth " +
+            "GROUP BY r.periodMonth, r.type")
+    List<MonthlyTotalDto> sumByMonthAndType(
+            @Param("userId") Long userId,
+            @Param("fromMonth") String fromMonth,
+            @Param("toMonth") String toMonth);
+
+    @Modifying
+    @Query("UPDATE UserMonthRollup r SET r.totalAmount = r.totalAmount + :amount, " +
+            "r.transactionCount = r.transactionCount + :count " +
+            "WHERE r.userId = :userId AND r.periodMonth = :periodMonth AND r.type = :type " +
+            "AND ((:categoryId IS NULL AND r.categoryId IS NULL) OR r.categoryId = :categoryId)")
+    int applyDelta(
+            @Param("userId") Long userId,
+            @Param("periodMonth") String periodMonth,
+            @Param("type") Transaction.TransactionType type,
+            @Param("categoryId") Long categoryId,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count);
+
+    @Modifying
+    @Query("DELETE FROM UserMonthRollup r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
+
+
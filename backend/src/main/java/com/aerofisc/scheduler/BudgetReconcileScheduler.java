@@ -0,0 +1,55 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.scheduler;
+
+import com.aerofisc.repository.BudgetRepository;
+import com.aerofisc.service.BudgetService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Scheduler for reconciling budget spend against the ledger
+ * Runs nightly at 2:45 AM and resets any budget whose spent amount has
+ * drifted from the sum of its expenses, e.g. after a failed or out-of-band
+ * write or a transaction moved outside a budget's period
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BudgetReconcileScheduler {
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetService budgetService;
+
+    /**
+     * Reconcile budgets for every user that has any, one transaction per user
+     */
+    @Scheduled(cron = "0 45 2 * * *")
+    public void reconcileBudgets() {
+        log.info("Starting scheduled budget reconciliation...");
+
+        List<Long> userIds = budgetRepository.findDistinctUserIds();
+        int corrected = 0;
+        for (Long userId : userIds) {
+            try {
+                int drifted = budgetService.reconcileSpent(userId);
+                if (drifted > 0) {
+                    log.warn("Corrected spent on {} budgets for user {}", drifted, userId);
+                }
+                corrected += drifted;
+            } catch (Exception e) {
+                log.error("Failed to reconcile budgets for user {}: {}", userId, e.getMessage(), e);
+            }
+        }
+
+        log.info("Budget reconciliation complete. Corrected {} budgets across {} users", corrected, userIds.size());
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.scheduler;
+
+import com.aerofisc.service.ExportJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler for removing expired export job artifacts
+ * Runs every five minutes and deletes finished jobs past their TTL
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExportJobCleanupScheduler {
+
+    private final ExportJobService exportJobService;
+
+    @Scheduled(fixedDelay = 300000, initialDelay = 60000)
+    public void purgeExpiredExports() {
+        try {
+            int purged = exportJobService.purgeExpired();
+            if (purged > 0) {
+                log.info("Purged {} expired export artifacts", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error purging expired exports: {}", e.getMessage(), e);
+        }
+    }
+}
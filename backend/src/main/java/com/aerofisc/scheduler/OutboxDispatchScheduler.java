@@ -0,0 +1,29 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.scheduler;
+
+import com.aerofisc.service.OutboxDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler for the outbox dispatcher
+ * Writes wake the dispatcher as they commit; this poll picks up events whose
+ * retry backoff has expired and any left behind by a restart
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxDispatchScheduler {
+
+    private final OutboxDispatcher outboxDispatcher;
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:5000}")
+    public void pollOutbox() {
+        outboxDispatcher.signal();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.scheduler;
+
+import com.aerofisc.service.PredictionPrecomputeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler for the nightly expense prediction precompute
+ * Runs at 3:00 AM, after the rollup and budget reconciliation, so every
+ * user's predictions are regressed over corrected monthly totals
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PredictionPrecomputeScheduler {
+
+    private final PredictionPrecomputeService predictionPrecomputeService;
+
+    @Scheduled(cron = "0 0 3 * * *")
+    public void precomputePredictions() {
+        log.info("Starting scheduled prediction precompute...");
+        long started = System.currentTimeMillis();
+
+        PredictionPrecomputeService.Result result = predictionPrecomputeService.precomputeAll();
+
+        log.info("Prediction precompute complete in {} ms. {} users in {} chunks, {} chunks failed, {} stale rows removed",
+                System.currentTimeMillis() - started, result.users(), result.chunks(), result.failedChunks(),
+                result.staleDeleted());
+    }
+}
@@ -9,14 +9,17 @@ package com.aerofisc.scheduler;
 import com.aerofisc.service.RecurringTransactionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 /**
  * Scheduler for processing recurring transactions
- * Runs daily at 1:00 AM to create transactions for due recurring entries
+ * Runs daily at 1:00 AM to create transactions for due recurring entries.
+ * Off unless app.recurring.scheduler.enabled=true, since it posts to users' ledgers.
  */
 @Component
+@ConditionalOnProperty(name = "app.recurring.scheduler.enabled", havingValue = "true")
 @RequiredArgsConstructor
 @Slf4j
 public class RecurringTransactionScheduler {
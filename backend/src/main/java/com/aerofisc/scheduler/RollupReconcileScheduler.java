@@ -0,0 +1,53 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.scheduler;
+
+import com.aerofisc.repository.TransactionRepository;
+import com.aerofisc.service.MonthlyRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Scheduler for reconciling the monthly rollup table against the ledger
+ * Runs nightly at 2:30 AM and regenerates every user's rollups from the raw
+ * transactions, correcting any drift from failed or out-of-band writes
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RollupReconcileScheduler {
+
+    private final TransactionRepository transactionRepository;
+    private final MonthlyRollupService monthlyRollupService;
+
+    /**
+     * Rebuild rollups for every user with transactions, one transaction per user
+     */
+    @Scheduled(cron = "0 30 2 * * *")
+    public void reconcileRollups() {
+        log.info("Starting scheduled rollup reconciliation...");
+
+        List<Long> userIds = transactionRepository.findDistinctUserIds();
+        int rebuilt = 0;
+        for (Long userId : userIds) {
+            try {
+                monthlyRollupService.rebuildForUser(userId);
+                rebuilt++;
+            } catch (Exception e) {
+                log.error("Failed to rebuild rollups for user {}: {}", userId, e.getMessage(), e);
+            }
+        }
+
+        log.info("Rollup reconciliation complete. Rebuilt {} of {} users", rebuilt, userIds.size());
+    }
+}
+
+
@@ -42,6 +42,8 @@ public class AdminService {
     private final DebtRepository debtRepository;
     private final TaxService taxService;
     private final FinancialHealthService financialHealthService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final PredictionService predictionService;
 
     public AdminService(UserRepository userRepository, TransactionRepository transactionRepository,
             CategoryRepository categoryRepository, AuditLogRepository auditLogRepository,
@@ -49,7 +51,8 @@ public class AdminService {
             BillRepository billRepository, InvestmentRepository investmentRepository, PostRepository postRepository,
             CommentRepository commentRepository, LikeRepository likeRepository,
             ScheduledReportRepository scheduledReportRepository, UserProfileRepository userProfileRepository,
-            DebtRepository debtRepository, TaxService taxService, FinancialHealthService financialHealthService) {
+            DebtRepository debtRepository, TaxService taxService, FinancialHealthService financialHealthService,
+            MonthlyRollupService monthlyRollupService, PredictionService predictionService) {
         this.userRepository = userRepository;
         this.transactionRepository = transactionRepository;
         this.categoryRepository = categoryRepository;
@@ -66,6 +69,8 @@ public class AdminService {
         this.debtRepository = debtRepository;
         this.taxService = taxService;
         this.financialHealthService = financialHealthService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.predictionService = predictionService;
     }
 
     public AdminStatsDto getSystemStats() {
@@ -106,6 +111,10 @@ public class AdminService {
         return auditLogRepository.findAllByOrderByEventTimestampDesc(pageable);
     }
 
+    public int rebuildUserRollups(Long userId) {
+        return monthlyRollupService.rebuildForUser(userId);
+    }
+
     public void updateUserStatus(Long userId, Boolean isActive) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -146,6 +155,8 @@ public class AdminService {
 
         // 2. Handle Financial Data
         transactionRepository.deleteByUserId(userId);
+        monthlyRollupService.deleteForUser(userId);
+        predictionService.deleteForUser(userId);
         budgetRepository.deleteByUserId(userId);
         savingsGoalRepository.deleteByUserId(userId);
         billRepository.deleteByUserId(userId);
@@ -9,6 +9,7 @@ package com.aerofisc.service;
 import com.aerofisc.dto.AnomalyDto;
 import com.aerofisc.entity.Transaction;
 import com.aerofisc.repository.TransactionRepository;
+import com.aerofisc.util.MoneyAccumulator;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -65,21 +66,11 @@ public class AnomalyDetectionService {
     private List<AnomalyDto> detectCategoryAnomalies(Long categoryId, List<Transaction> transactions) {
         List<AnomalyDto> anomalies = new ArrayList<>();
 
-        // Calculate mean
-        BigDecimal sum = transactions.stream()
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal mean = sum.divide(BigDecimal.valueOf(transactions.size()), 2, RoundingMode.HALF_UP);
-
-        // Calculate standard deviation
-        double variance = transactions.stream()
-                .mapToDouble(t -> {
-                    double diff = t.getAmount().subtract(mean).doubleValue();
-                    return diff * diff;
-                })
-                .average()
-                .orElse(0.0);
-        BigDecimal stdDev = BigDecimal.valueOf(Math.sqrt(variance)).setScale(2, RoundingMode.HALF_UP);
+        // Mean and standard deviation in a single pass over the amounts
+        MoneyAccumulator stats = transactions.stream()
+                .collect(MoneyAccumulator.summing(Transaction::getAmount));
+        BigDecimal mean = stats.getMean();
+        BigDecimal stdDev = BigDecimal.valueOf(stats.getStandardDeviation()).setScale(2, RoundingMode.HALF_UP);
 
         // Detect anomalies (z-score > 2)
         String categoryName = "Category " + categoryId;
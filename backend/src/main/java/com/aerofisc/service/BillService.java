@@ -13,7 +13,6 @@ import com.aerofisc.exception.ResourceNotFoundException;
 import com.aerofisc.repository.BillRepository;
 import com.aerofisc.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +28,8 @@ public class BillService {
 
     private final BillRepository billRepository;
     private final TransactionRepository transactionRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final DashboardCacheEvictor dashboardCacheEvictor;
 
     @Transactional
     public BillDto createBill(BillDto dto, Long userId) {
@@ -92,7 +93,6 @@ public class BillService {
     }
 
     @Transactional
-    @CacheEvict(value = { "dashboard_summary", "dashboard_trends", "dashboard_breakdown" }, allEntries = true)
     public BillDto markAsPaid(Long id, Long userId) {
         Bill bill = billRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Bill not found"));
@@ -108,6 +108,7 @@ public class BillService {
         transaction.setIsAnomaly(false);
 
         transactionRepository.save(transaction);
+        monthlyRollupService.recordTransaction(transaction);
 
         // Update bill status and calculate next due date
         bill.setStatus(Bill.BillStatus.PAID);
@@ -120,15 +121,16 @@ public class BillService {
         }
 
         Bill updated = billRepository.save(bill);
+        dashboardCacheEvictor.evictUser(userId);
         return mapToDto(updated);
     }
 
     @Transactional
-    @CacheEvict(value = { "dashboard_summary", "dashboard_trends", "dashboard_breakdown" }, allEntries = true)
     public void deleteBill(Long id, Long userId) {
         Bill bill = billRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Bill not found"));
         billRepository.delete(bill);
+        dashboardCacheEvictor.evictUser(userId);
     }
 
     /**
@@ -11,6 +11,7 @@ import com.aerofisc.entity.Transaction;
 import com.aerofisc.entity.UserProfile;
 import com.aerofisc.repository.TransactionRepository;
 import com.aerofisc.repository.UserProfileRepository;
+import com.aerofisc.util.MoneyAccumulator;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -58,15 +59,17 @@ public class BudgetAdvisorService {
         }
 
         // Calculate income and expenses
-        BigDecimal totalIncome = transactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.INCOME)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalExpenses = transactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        MoneyAccumulator incomeTotal = new MoneyAccumulator();
+        MoneyAccumulator expenseTotal = new MoneyAccumulator();
+        for (Transaction t : transactions) {
+            if (t.getType() == Transaction.TransactionType.INCOME) {
+                incomeTotal.add(t.getAmount());
+            } else if (t.getType() == Transaction.TransactionType.EXPENSE) {
+                expenseTotal.add(t.getAmount());
+            }
+        }
+        BigDecimal totalIncome = incomeTotal.getSum();
+        BigDecimal totalExpenses = expenseTotal.getSum();
 
         // Use actual income if available, otherwise use profile income
         BigDecimal effectiveIncome = totalIncome.compareTo(BigDecimal.ZERO) > 0
@@ -79,7 +82,8 @@ public class BudgetAdvisorService {
                 .filter(t -> t.getCategoryId() != null)
                 .collect(Collectors.groupingBy(
                         t -> "Category " + t.getCategoryId(), // In production, fetch category names
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
+                        Collectors.collectingAndThen(MoneyAccumulator.summing(Transaction::getAmount),
+                                MoneyAccumulator::getSum)
                 ));
 
         List<BudgetAdviceDto> advice = new ArrayList<>();
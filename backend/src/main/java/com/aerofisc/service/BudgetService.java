@@ -7,37 +7,76 @@
 package com.aerofisc.service;
 
 import com.aerofisc.dto.BudgetDto;
+import com.aerofisc.dto.BudgetSpendDto;
 import com.aerofisc.entity.Budget;
-import com.aerofisc.entity.Category;
+import com.aerofisc.entity.Transaction;
 import com.aerofisc.exception.ResourceNotFoundException;
 import com.aerofisc.repository.BudgetRepository;
 import com.aerofisc.repository.CategoryRepository;
 import com.aerofisc.repository.TransactionRepository;
+import com.aerofisc.util.MoneyAccumulator;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Budgets and their running spend. Ledger writes report expense deltas via
+ * {@link #recordExpense} and {@link #reverseTransaction}, mostly through
+ * BudgetEventHandler as outbox events are delivered; each delta is
+ * one atomic UPDATE on the budgets whose period contains the transaction
+ * date, so concurrent writes for the same user cannot overwrite each other.
+ * Any drift is corrected by {@link #reconcileSpent}, run nightly.
+ */
 @Service
+@Slf4j
 public class BudgetService {
 
+    /**
+     * Where an expense lands: budgets for this category whose period contains
+     * the date
+     */
+    public record SpendKey(Long categoryId, LocalDate date) {
+
+        public static SpendKey of(Transaction transaction) {
+            return new SpendKey(transaction.getCategoryId(), transaction.getTransactionDate());
+        }
+    }
+
     private final BudgetRepository budgetRepository;
     private final CategoryRepository categoryRepository;
     private final TransactionRepository transactionRepository;
     private final EmailService emailService;
     private final UserService userService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final DashboardCacheEvictor dashboardCacheEvictor;
+    private final CategoryNameResolver categoryNameResolver;
+    private final EntityManager entityManager;
 
     public BudgetService(BudgetRepository budgetRepository, CategoryRepository categoryRepository,
-            TransactionRepository transactionRepository, EmailService emailService, UserService userService) {
+            TransactionRepository transactionRepository, EmailService emailService, UserService userService,
+            MonthlyRollupService monthlyRollupService, DashboardCacheEvictor dashboardCacheEvictor,
+            CategoryNameResolver categoryNameResolver, EntityManager entityManager) {
         this.budgetRepository = budgetRepository;
         this.categoryRepository = categoryRepository;
         this.transactionRepository = transactionRepository;
         this.emailService = emailService;
         this.userService = userService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.dashboardCacheEvictor = dashboardCacheEvictor;
+        this.categoryNameResolver = categoryNameResolver;
+        this.entityManager = entityManager;
     }
 
     @Transactional
@@ -68,26 +107,21 @@ public class BudgetService {
         budget.setStartDate(dto.getStartDate());
         budget.setEndDate(dto.getEndDate());
         budget.setAlertThreshold(dto.getAlertThreshold() != null ? dto.getAlertThreshold() : new BigDecimal("80.00"));
-        budget.setSpent(BigDecimal.ZERO);
+        // Calculate initial spent amount
+        budget.setSpent(calculateSpent(budget));
 
         Budget saved = budgetRepository.save(budget);
+        alertIfOverThreshold(saved);
 
-        // Calculate initial spent amount
-        updateBudgetProgress(userId, saved.getCategoryId());
-
-        return mapToDto(budgetRepository.findById(saved.getId()).orElseThrow());
+        return mapToDto(saved);
     }
 
     public List<BudgetDto> getAllBudgets(Long userId) {
-        return budgetRepository.findByUserId(userId).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return mapAll(userId, budgetRepository.findByUserId(userId));
     }
 
     public List<BudgetDto> getActiveBudgets(Long userId) {
-        return budgetRepository.findActiveBudgets(userId, LocalDate.now()).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return mapAll(userId, budgetRepository.findActiveBudgets(userId, LocalDate.now()));
     }
 
     public BudgetDto getBudgetById(Long id, Long userId) {
@@ -121,10 +155,13 @@ public class BudgetService {
             budget.setAlertThreshold(dto.getAlertThreshold());
         }
 
+        // Category or period may have changed
+        budget.setSpent(calculateSpent(budget));
+
         Budget updated = budgetRepository.save(budget);
-        updateBudgetProgress(userId, updated.getCategoryId());
+        alertIfOverThreshold(updated);
 
-        return mapToDto(budgetRepository.findById(updated.getId()).orElseThrow());
+        return mapToDto(updated);
     }
 
     @Transactional
@@ -173,55 +210,159 @@ public class BudgetService {
         transaction.setIsAnomaly(false);
 
         transactionRepository.save(transaction);
+        monthlyRollupService.recordTransaction(transaction);
+        recordTransaction(transaction);
+        dashboardCacheEvictor.evictUser(userId);
 
-        // Update budget progress
-        updateBudgetProgress(userId, budget.getCategoryId());
+        // The spend update bypassed the managed entity
+        entityManager.refresh(budget);
+        return mapToDto(budget);
+    }
 
-        return mapToDto(budgetRepository.findById(budget.getId()).orElseThrow());
+    /**
+     * Add a newly persisted expense to the budgets covering its date
+     */
+    @Transactional
+    public void recordTransaction(Transaction transaction) {
+        recordExpense(transaction.getUserId(), transaction.getType(), transaction.getCategoryId(),
+                transaction.getTransactionDate(), transaction.getAmount());
     }
 
     @Transactional
-    public void updateBudgetProgress(Long userId, Long categoryId) {
-        if (categoryId == null)
+    public void recordExpense(Long userId, Transaction.TransactionType type, Long categoryId,
+            LocalDate transactionDate, BigDecimal amount) {
+        if (type != Transaction.TransactionType.EXPENSE) {
             return;
+        }
+        Map<Long, BudgetSpendDto> alerts = new LinkedHashMap<>();
+        applyDelta(userId, new SpendKey(categoryId, transactionDate), amount, alerts);
+        sendAlerts(userId, alerts.values());
+    }
 
-        List<Budget> budgets = budgetRepository.findActiveBudgets(userId, LocalDate.now()).stream()
-                .filter(b -> categoryId.equals(b.getCategoryId()))
-                .collect(Collectors.toList());
+    /**
+     * Remove an expense (as it looked before an update or delete) from the
+     * budgets covering its date
+     */
+    @Transactional
+    public void reverseTransaction(Long userId, LocalDate transactionDate, Transaction.TransactionType type,
+            Long categoryId, BigDecimal amount) {
+        if (type != Transaction.TransactionType.EXPENSE || amount == null) {
+            return;
+        }
+        applyDelta(userId, new SpendKey(categoryId, transactionDate), amount.negate(), null);
+    }
+
+    @Transactional
+    public void reverseTransaction(Transaction transaction) {
+        reverseTransaction(transaction.getUserId(), transaction.getTransactionDate(), transaction.getType(),
+                transaction.getCategoryId(), transaction.getAmount());
+    }
+
+    /**
+     * Apply expense totals that a bulk write has already aggregated per
+     * category and date; a budget crossing its threshold is alerted once
+     */
+    @Transactional
+    public void recordExpenses(Long userId, Map<SpendKey, MoneyAccumulator> totals) {
+        Map<Long, BudgetSpendDto> alerts = new LinkedHashMap<>();
+        totals.forEach((key, total) -> applyDelta(userId, key, total.getSum(), alerts));
+        sendAlerts(userId, alerts.values());
+    }
+
+    /**
+     * Reset every budget of the user whose spend has drifted from the ledger.
+     * Returns the number of budgets corrected.
+     */
+    @Transactional
+    public int reconcileSpent(Long userId) {
+        return budgetRepository.reconcileSpent(userId);
+    }
 
-        for (Budget budget : budgets) {
-            BigDecimal spent = transactionRepository.calculateSpentForBudget(
-                    userId, categoryId, budget.getStartDate(), budget.getEndDate());
-            budget.setSpent(spent != null ? spent : BigDecimal.ZERO);
-            budgetRepository.save(budget);
-
-            // Check for alert
-            if (budget.getAmount().compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal percentage = budget.getSpent()
-                        .divide(budget.getAmount(), 4, RoundingMode.HALF_UP)
-                        .multiply(new BigDecimal("100"));
-
-                if (percentage.compareTo(budget.getAlertThreshold()) >= 0) {
-                    // Fetch user email
-                    String email = userService.getUserById(userId).getEmail();
-                    String categoryName = categoryRepository.findById(categoryId).get().getName();
-                    emailService.sendBudgetAlert(email, categoryName, percentage.toString());
+    private void applyDelta(Long userId, SpendKey key, BigDecimal delta, Map<Long, BudgetSpendDto> alerts) {
+        if (userId == null || key.categoryId() == null || key.date() == null || delta == null
+                || delta.signum() == 0) {
+            return;
+        }
+
+        int updated = budgetRepository.applySpentDelta(userId, key.categoryId(), key.date(), delta);
+        if (updated == 0 || alerts == null || delta.signum() < 0) {
+            return;
+        }
+
+        for (BudgetSpendDto spend : budgetRepository.findSpendCovering(userId, key.categoryId(), key.date())) {
+            if (spend.isOverThreshold()) {
+                alerts.put(spend.budgetId(), spend);
+            }
+        }
+    }
+
+    private BigDecimal calculateSpent(Budget budget) {
+        if (budget.getCategoryId() == null) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal spent = transactionRepository.calculateSpentForBudget(
+                budget.getUserId(), budget.getCategoryId(), budget.getStartDate(), budget.getEndDate());
+        return spent != null ? spent : BigDecimal.ZERO;
+    }
+
+    private void alertIfOverThreshold(Budget budget) {
+        BudgetSpendDto spend = new BudgetSpendDto(budget.getId(), budget.getCategoryId(), budget.getAmount(),
+                budget.getSpent(), budget.getAlertThreshold());
+        if (budget.getCategoryId() != null && spend.isOverThreshold()) {
+            sendAlerts(budget.getUserId(), List.of(spend));
+        }
+    }
+
+    /**
+     * Email the alerts once the write commits, so a rolled back expense
+     * never alerts and the mail server is not called with budget rows locked
+     */
+    private void sendAlerts(Long userId, Collection<BudgetSpendDto> alerts) {
+        if (alerts.isEmpty()) {
+            return;
+        }
+        List<BudgetSpendDto> pending = List.copyOf(alerts);
+        Runnable send = () -> {
+            try {
+                String email = userService.getUserById(userId).getEmail();
+                for (BudgetSpendDto spend : pending) {
+                    String categoryName = categoryNameResolver.nameOf(userId, spend.categoryId());
+                    emailService.sendBudgetAlert(email, categoryName, spend.percentage().toString());
                 }
+            } catch (Exception e) {
+                log.error("Failed to send budget alerts to user {}: {}", userId, e.getMessage());
             }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send.run();
+                }
+            });
+        } else {
+            send.run();
         }
     }
 
+    private List<BudgetDto> mapAll(Long userId, List<Budget> budgets) {
+        Map<Long, String> categoryNames = categoryNameResolver.resolve(userId, budgets, Budget::getCategoryId);
+        return budgets.stream()
+                .map(budget -> mapToDto(budget, categoryNames.get(budget.getCategoryId())))
+                .collect(Collectors.toList());
+    }
+
     private BudgetDto mapToDto(Budget budget) {
+        return mapToDto(budget, categoryNameResolver.nameOf(budget.getUserId(), budget.getCategoryId()));
+    }
+
+    private BudgetDto mapToDto(Budget budget, String categoryName) {
         BudgetDto dto = new BudgetDto();
         dto.setId(budget.getId());
         dto.setAmount(budget.getAmount());
         dto.setCategoryId(budget.getCategoryId());
-
-        if (budget.getCategoryId() != null) {
-            dto.setCategoryName(categoryRepository.findById(budget.getCategoryId())
-                    .map(Category::getName)
-                    .orElse(null));
-        }
+        dto.setCategoryName(categoryName);
 
         dto.setPeriod(budget.getPeriod());
         dto.setStartDate(budget.getStartDate());
@@ -0,0 +1,164 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.cache.TwoTierCache;
+import com.aerofisc.dto.CacheStatsDto;
+import com.aerofisc.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inspection and targeted invalidation of the application caches for the
+ * admin console. Works against whichever CacheManager the active profile
+ * provides (Caffeine locally, Redis with or without a local L1 in prod).
+ */
+@Service
+@Slf4j
+public class CacheAdminService {
+
+    /**
+     * Caches keyed directly by user id
+     */
+    private static final String[] USER_KEYED_CACHES = { "categories", "custom_categories", "userProfile",
+            "predictions" };
+
+    private final CacheManager cacheManager;
+    private final DashboardCacheEvictor dashboardCacheEvictor;
+
+    public CacheAdminService(CacheManager cacheManager, DashboardCacheEvictor dashboardCacheEvictor) {
+        this.cacheManager = cacheManager;
+        this.dashboardCacheEvictor = dashboardCacheEvictor;
+    }
+
+    public List<CacheStatsDto> getCacheStats() {
+        List<CacheStatsDto> stats = new ArrayList<>();
+        for (String cacheName : cacheManager.getCacheNames().stream().sorted().toList()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                stats.add(toStats(cacheName, cache));
+            }
+        }
+        return stats;
+    }
+
+    public CacheStatsDto getCacheStats(String cacheName) {
+        return toStats(cacheName, requireCache(cacheName));
+    }
+
+    public void clearCache(String cacheName) {
+        requireCache(cacheName).clear();
+        log.info("Cleared cache {}", cacheName);
+    }
+
+    /**
+     * Evict a single key. Cache keys are mostly user ids stored as Long, so a
+     * numeric key is evicted in both its String and Long form.
+     */
+    public void evictKey(String cacheName, String key) {
+        Cache cache = requireCache(cacheName);
+        cache.evict(key);
+        try {
+            cache.evict(Long.valueOf(key));
+        } catch (NumberFormatException ignored) {
+            // Not a numeric key
+        }
+        log.info("Evicted key {} from cache {}", key, cacheName);
+    }
+
+    /**
+     * Evict every cached entry belonging to one user
+     */
+    public void evictUser(Long userId) {
+        dashboardCacheEvictor.evictUser(userId);
+        for (String cacheName : USER_KEYED_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(userId);
+            }
+        }
+        log.info("Evicted cached entries for user {}", userId);
+    }
+
+    private Cache requireCache(String cacheName) {
+        Cache cache = cacheManager.getCacheNames().contains(cacheName) ? cacheManager.getCache(cacheName) : null;
+        if (cache == null) {
+            throw new ResourceNotFoundException("Cache not found: " + cacheName);
+        }
+        return cache;
+    }
+
+    private CacheStatsDto toStats(String cacheName, Cache cache) {
+        if (cache instanceof TwoTierCache twoTierCache) {
+            long hits = twoTierCache.getL1HitCount() + twoTierCache.getL2HitCount();
+            long requests = hits + twoTierCache.getMissCount();
+            return CacheStatsDto.builder()
+                    .name(cacheName)
+                    .provider("two-tier")
+                    .size(twoTierCache.getL1().estimatedSize())
+                    .hitCount(hits)
+                    .missCount(twoTierCache.getMissCount())
+                    .hitRate(requests == 0 ? 1.0 : (double) hits / requests)
+                    .putCount(twoTierCache.getPutCount())
+                    .evictionCount(twoTierCache.getL1().stats().evictionCount())
+                    .l1HitCount(twoTierCache.getL1HitCount())
+                    .l1HitRate(twoTierCache.getL1HitRate())
+                    .l2HitCount(twoTierCache.getL2HitCount())
+                    .l2HitRate(twoTierCache.getL2HitRate())
+                    .build();
+        }
+
+        if (cache instanceof CaffeineCache caffeineCache) {
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+            CacheStats cacheStats = nativeCache.stats();
+            return CacheStatsDto.builder()
+                    .name(cacheName)
+                    .provider("caffeine")
+                    .size(nativeCache.estimatedSize())
+                    .maximumSize(nativeCache.policy().eviction()
+                            .map(eviction -> eviction.getMaximum())
+                            .orElse(null))
+                    .expireAfterWriteSeconds(nativeCache.policy().expireAfterWrite()
+                            .map(expiration -> expiration.getExpiresAfter(TimeUnit.SECONDS))
+                            .orElse(null))
+                    .hitCount(cacheStats.hitCount())
+                    .missCount(cacheStats.missCount())
+                    .hitRate(cacheStats.hitRate())
+                    .evictionCount(cacheStats.evictionCount())
+                    .build();
+        }
+
+        if (cache instanceof RedisCache redisCache) {
+            CacheStatistics cacheStats = redisCache.getStatistics();
+            long requests = cacheStats.getHits() + cacheStats.getMisses();
+            return CacheStatsDto.builder()
+                    .name(cacheName)
+                    .provider("redis")
+                    .expireAfterWriteSeconds(redisCache.getCacheConfiguration().getTtl().getSeconds())
+                    .hitCount(cacheStats.getHits())
+                    .missCount(cacheStats.getMisses())
+                    .hitRate(requests == 0 ? 1.0 : (double) cacheStats.getHits() / requests)
+                    .putCount(cacheStats.getPuts())
+                    .build();
+        }
+
+        return CacheStatsDto.builder()
+                .name(cacheName)
+                .provider(cache.getClass().getSimpleName())
+                .build();
+    }
+}
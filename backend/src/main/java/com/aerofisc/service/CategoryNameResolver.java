@@ -0,0 +1,102 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.dto.CategoryDto;
+import com.aerofisc.entity.Category;
+import com.aerofisc.repository.CategoryRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resolves category ids to display names for DTO mappers and report
+ * generators without a findById per row.
+ *
+ * The per-user dictionary (system + custom categories) comes from
+ * CategoryService's "categories" cache, which its write methods already
+ * evict, so a page or export normally costs no category query at all. Ids
+ * outside the user's dictionary (a category created since the cache was
+ * filled, or one owned by someone else) are loaded with a single
+ * findAllById per batch.
+ */
+@Component
+public class CategoryNameResolver {
+
+    private final CategoryService categoryService;
+    private final CategoryRepository categoryRepository;
+
+    public CategoryNameResolver(CategoryService categoryService, CategoryRepository categoryRepository) {
+        this.categoryService = categoryService;
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * id -> name for every category the user can see
+     */
+    public Map<Long, String> dictionary(Long userId) {
+        if (userId == null) {
+            return Map.of();
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (CategoryDto category : categoryService.getAllCategoriesForUser(userId)) {
+            names.put(category.getId(), category.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Names for a batch of category ids; unknown or deleted ids are absent
+     */
+    public Map<Long, String> resolve(Long userId, Collection<Long> categoryIds) {
+        Map<Long, String> dictionary = dictionary(userId);
+        Map<Long, String> names = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+
+        for (Long categoryId : categoryIds) {
+            if (categoryId == null) {
+                continue;
+            }
+            String name = dictionary.get(categoryId);
+            if (name != null) {
+                names.put(categoryId, name);
+            } else {
+                missing.add(categoryId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (Category category : categoryRepository.findAllById(missing)) {
+                names.put(category.getId(), category.getName());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Names for the category ids referenced by a batch of rows
+     */
+    public <T> Map<Long, String> resolve(Long userId, Collection<T> rows, Function<T, Long> categoryIdOf) {
+        return resolve(userId, rows.stream().map(categoryIdOf).filter(Objects::nonNull).toList());
+    }
+
+    /**
+     * Name of a single category, or null when it does not exist
+     */
+    public String nameOf(Long userId, Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        return resolve(userId, Set.of(categoryId)).get(categoryId);
+    }
+}
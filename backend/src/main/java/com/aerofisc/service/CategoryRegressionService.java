@@ -0,0 +1,211 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.entity.CategoryRegressionState;
+import com.aerofisc.entity.UserMonthRollup;
+import com.aerofisc.repository.CategoryRegressionStateRepository;
+import com.aerofisc.repository.SavepointInsert;
+import com.aerofisc.repository.UserMonthRollupRepository;
+import com.aerofisc.util.MonthlyRegression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Per-category regression state behind the expense predictions. Every
+ * expense write moves one month of one category's {@link MonthlyRegression}
+ * under the state row's lock, so a prediction reads the sums instead of the
+ * history.
+ *
+ * Only months inside the prediction window are tracked; a future-dated
+ * expense is picked up by the nightly rebuild once its month is current. A
+ * user with no state at all is skipped on write and built from the monthly
+ * rollups on first read, mirroring how the rollups themselves are
+ * backfilled.
+ */
+@Service
+public class CategoryRegressionService {
+
+    private static final String INSERT_STATE_SQL = "INSERT INTO category_regression_state "
+            + "(user_id, category_id, month_count, sum_x, sum_xx, sum_y, sum_xy, sum_yy, buckets, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final CategoryRegressionStateRepository stateRepository;
+    private final UserMonthRollupRepository rollupRepository;
+    private final SavepointInsert savepointInsert;
+
+    public CategoryRegressionService(CategoryRegressionStateRepository stateRepository,
+            UserMonthRollupRepository rollupRepository, SavepointInsert savepointInsert) {
+        this.stateRepository = stateRepository;
+        this.rollupRepository = rollupRepository;
+        this.savepointInsert = savepointInsert;
+    }
+
+    /**
+     * Move a category's month by {@code amount} over {@code count}
+     * transactions; negative values reverse earlier writes
+     */
+    @Transactional
+    public void recordExpense(Long userId, Long categoryId, YearMonth month, BigDecimal amount, long count) {
+        if (userId == null || categoryId == null || month == null || amount == null) {
+            return;
+        }
+        YearMonth[] window = PredictionService.historyWindow();
+        if (month.isBefore(window[0]) || month.isAfter(window[1])) {
+            return;
+        }
+
+        Optional<CategoryRegressionState> locked = stateRepository.lockByUserIdAndCategoryId(userId, categoryId);
+        if (locked.isEmpty()) {
+            if (!stateRepository.existsByUserId(userId)) {
+                return;
+            }
+            // First expense of the category. A concurrent first expense may
+            // win the insert; this one is then applied to its row.
+            if (insertState(userId, categoryId, new MonthlyRegression().add(month, amount, count))) {
+                return;
+            }
+            locked = stateRepository.lockByUserIdAndCategoryId(userId, categoryId);
+            if (locked.isEmpty()) {
+                return;
+            }
+        }
+
+        MonthlyRegression regression = toRegression(locked.get());
+        regression.expireBefore(window[0]).add(month, amount, count);
+        stateRepository.save(write(regression, locked.get()));
+    }
+
+    /**
+     * Regression per category id for the user, building and storing the
+     * state from the rollups if there is none yet
+     */
+    @Transactional
+    public Map<Long, MonthlyRegression> regressionsFor(Long userId) {
+        List<CategoryRegressionState> states = stateRepository.findByUserId(userId);
+        if (states.isEmpty()) {
+            YearMonth[] window = PredictionService.historyWindow();
+            return rebuild(userId, userId, window[0], window[1]).getOrDefault(userId, Map.of());
+        }
+
+        Map<Long, MonthlyRegression> regressions = new LinkedHashMap<>();
+        for (CategoryRegressionState state : states) {
+            regressions.put(state.getCategoryId(), toRegression(state));
+        }
+        return regressions;
+    }
+
+    /**
+     * Rebuild the state of a user id range from its expense rollups between
+     * two months (inclusive), returning the regressions per user id and
+     * category id.
+     *
+     * The range's rows are locked before the rollups are read, so an expense
+     * written meanwhile is either in the rollups read here or applied to the
+     * rebuilt row once this transaction commits. Rows are overwritten in
+     * place; only categories without expenses in the window are deleted.
+     */
+    @Transactional
+    public Map<Long, Map<Long, MonthlyRegression>> rebuild(Long fromUserId, Long toUserId, YearMonth fromMonth,
+            YearMonth toMonth) {
+        List<CategoryRegressionState> existing = stateRepository.lockByUserIdBetween(fromUserId, toUserId);
+        Map<Long, Map<Long, MonthlyRegression>> regressions = fromRollups(rollupRepository.findExpenseRollups(
+                fromUserId, toUserId, fromMonth.toString(), toMonth.toString()));
+
+        Map<Long, Set<Long>> stored = new HashMap<>();
+        List<CategoryRegressionState> rewritten = new ArrayList<>();
+        List<CategoryRegressionState> emptied = new ArrayList<>();
+        for (CategoryRegressionState state : existing) {
+            MonthlyRegression regression = regressions.getOrDefault(state.getUserId(), Map.of())
+                    .get(state.getCategoryId());
+            if (regression == null) {
+                emptied.add(state);
+            } else {
+                rewritten.add(write(regression, state));
+                stored.computeIfAbsent(state.getUserId(), id -> new HashSet<>()).add(state.getCategoryId());
+            }
+        }
+        stateRepository.deleteAll(emptied);
+        stateRepository.saveAll(rewritten);
+
+        regressions.forEach((userId, byCategory) -> byCategory.replaceAll((categoryId, regression) -> {
+            if (stored.getOrDefault(userId, Set.of()).contains(categoryId)
+                    || insertState(userId, categoryId, regression)) {
+                return regression;
+            }
+            // A first expense created the row after the range was locked; its
+            // rollup is committed now, so read the category again under the lock
+            return stateRepository.lockByUserIdAndCategoryId(userId, categoryId)
+                    .map(state -> {
+                        MonthlyRegression current = fromRollups(rollupRepository.findExpenseRollups(userId, userId,
+                                fromMonth.toString(), toMonth.toString()))
+                                .getOrDefault(userId, Map.of())
+                                .getOrDefault(categoryId, new MonthlyRegression());
+                        stateRepository.save(write(current, state));
+                        return current;
+                    })
+                    .orElse(regression);
+        }));
+        return regressions;
+    }
+
+    @Transactional
+    public void deleteForUser(Long userId) {
+        stateRepository.deleteByUserIdIn(List.of(userId));
+    }
+
+    /**
+     * Regressions per user id and category id from categorised expense rollups
+     */
+    private static Map<Long, Map<Long, MonthlyRegression>> fromRollups(List<UserMonthRollup> rollups) {
+        Map<Long, Map<Long, MonthlyRegression>> regressions = new HashMap<>();
+        for (UserMonthRollup rollup : rollups) {
+            regressions.computeIfAbsent(rollup.getUserId(), id -> new LinkedHashMap<>())
+                    .computeIfAbsent(rollup.getCategoryId(), id -> new MonthlyRegression())
+                    .add(YearMonth.parse(rollup.getPeriodMonth()), rollup.getTotalAmount(),
+                            rollup.getTransactionCount());
+        }
+        return regressions;
+    }
+
+    /**
+     * Insert a category's row unless a concurrent writer already has
+     */
+    private boolean insertState(Long userId, Long categoryId, MonthlyRegression regression) {
+        return savepointInsert.insertIfAbsent(INSERT_STATE_SQL, userId, categoryId, regression.getN(),
+                regression.getSumX(), regression.getSumXX(), regression.getSumY(), regression.getSumXY(),
+                regression.getSumYY(), regression.encodeBuckets(), LocalDateTime.now());
+    }
+
+    private static MonthlyRegression toRegression(CategoryRegressionState state) {
+        return new MonthlyRegression(state.getN(), state.getSumX(), state.getSumXX(), state.getSumY(),
+                state.getSumXY(), state.getSumYY(), state.getBuckets());
+    }
+
+    private static CategoryRegressionState write(MonthlyRegression regression, CategoryRegressionState state) {
+        state.setN(regression.getN());
+        state.setSumX(regression.getSumX());
+        state.setSumXX(regression.getSumXX());
+        state.setSumY(regression.getSumY());
+        state.setSumXY(regression.getSumXY());
+        state.setSumYY(regression.getSumYY());
+        state.setBuckets(regression.encodeBuckets());
+        return state;
+    }
+}
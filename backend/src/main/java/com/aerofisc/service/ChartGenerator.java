@@ -15,13 +15,19 @@ import org.knowm.xchart.style.CategoryStyler;
 import org.springframework.stereotype.Service;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
+/**
+ * Report charts built from raw transactions and budgets. Each method
+ * aggregates first and returns the chart as PNG bytes from
+ * {@link ChartRenderCache}, keyed on the aggregated series, so the
+ * expensive Java2D render only happens when the plotted data changes.
+ */
 @Service
 public class ChartGenerator {
 
@@ -31,7 +37,13 @@ public class ChartGenerator {
     private static final Color EXPENSE_COLOR = new Color(192, 57, 43); // Alizarin Red
     private static final Color BG_COLOR = Color.WHITE;
 
-    public BufferedImage createMonthlyTrendsChart(List<Transaction> transactions) {
+    private final ChartRenderCache renderCache;
+
+    public ChartGenerator(ChartRenderCache renderCache) {
+        this.renderCache = renderCache;
+    }
+
+    public byte[] createMonthlyTrendsChart(List<Transaction> transactions) {
         // Aggregate data by month
         Map<String, Double> incomeByMonth = transactions.stream()
                 .filter(t -> t.getType().toString().equals("INCOME"))
@@ -45,6 +57,13 @@ public class ChartGenerator {
                         t -> t.getTransactionDate().format(DateTimeFormatter.ofPattern("MMM yyyy")),
                         Collectors.summingDouble(t -> t.getAmount().doubleValue())));
 
+        ChartRenderCache.Key key = ChartRenderCache.key("monthly-trends", 800, 400, "Matlab")
+                .add(new TreeMap<>(incomeByMonth)).add(new TreeMap<>(expenseByMonth));
+        return renderCache.getOrRender(key, () -> buildMonthlyTrendsChart(incomeByMonth, expenseByMonth));
+    }
+
+    private CategoryChart buildMonthlyTrendsChart(Map<String, Double> incomeByMonth,
+            Map<String, Double> expenseByMonth) {
         // Create Chart
         CategoryChart chart = new CategoryChartBuilder()
                 .width(800)
@@ -82,10 +101,10 @@ public class ChartGenerator {
             chart.addSeries("Expenses", months, expenseData).setFillColor(EXPENSE_COLOR);
         }
 
-        return BitmapEncoder.getBufferedImage(chart);
+        return chart;
     }
 
-    public BufferedImage createCategoryPieChart(List<Transaction> transactions) {
+    public byte[] createCategoryPieChart(List<Transaction> transactions) {
         // Aggregate expenses by category
         Map<Long, Double> expensesByCategory = transactions.stream()
                 .filter(t -> t.getType().toString().equals("EXPENSE"))
@@ -93,6 +112,13 @@ public class ChartGenerator {
                         Transaction::getCategoryId,
                         Collectors.summingDouble(t -> t.getAmount().doubleValue())));
 
+        // Series order follows the map, so it is part of the key
+        ChartRenderCache.Key key = ChartRenderCache.key("category-pie", 800, 500, "GGPlot2");
+        expensesByCategory.forEach((catId, amount) -> key.add(catId).add(amount));
+        return renderCache.getOrRender(key, () -> buildCategoryPieChart(expensesByCategory));
+    }
+
+    private PieChart buildCategoryPieChart(Map<Long, Double> expensesByCategory) {
         // Create Chart
         PieChart chart = new PieChartBuilder()
                 .width(800)
@@ -121,10 +147,18 @@ public class ChartGenerator {
             });
         }
 
-        return BitmapEncoder.getBufferedImage(chart);
+        return chart;
+    }
+
+    public byte[] createBudgetBarChart(List<Budget> budgets) {
+        ChartRenderCache.Key key = ChartRenderCache.key("budget-bar", 800, 400, "XChart");
+        for (Budget budget : budgets) {
+            key.add(budget.getCategoryId()).add(budget.getAmount()).add(budget.getSpent());
+        }
+        return renderCache.getOrRender(key, () -> buildBudgetBarChart(budgets));
     }
 
-    public BufferedImage createBudgetBarChart(List<Budget> budgets) {
+    private CategoryChart buildBudgetBarChart(List<Budget> budgets) {
         // Create Chart
         CategoryChart chart = new CategoryChartBuilder()
                 .width(800)
@@ -155,7 +189,7 @@ public class ChartGenerator {
             chart.addSeries("Spent", categories, spent).setFillColor(EXPENSE_COLOR);
         }
 
-        return BitmapEncoder.getBufferedImage(chart);
+        return chart;
     }
 }
 
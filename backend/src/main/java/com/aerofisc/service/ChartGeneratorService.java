@@ -20,25 +20,71 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Service for generating charts for PDF exports using XChart library
+ * Service for generating charts for PDF exports using XChart library.
+ * The PNG variants go through {@link ChartRenderCache}, so unchanged data
+ * is not redrawn.
  */
 @Service
 public class ChartGeneratorService {
 
     private static final Logger logger = LoggerFactory.getLogger(ChartGeneratorService.class);
 
+    private static final String THEME = "dark";
+
     private static final Color DARK_BACKGROUND = new Color(26, 26, 26);
     private static final Color GRID_COLOR = new Color(51, 51, 51);
     private static final Color TEXT_COLOR = new Color(255, 255, 255);
     private static final Color INCOME_COLOR = new Color(76, 175, 80); // Green
     private static final Color EXPENSE_COLOR = new Color(244, 67, 54); // Red
 
+    private final ChartRenderCache renderCache;
+
+    public ChartGeneratorService(ChartRenderCache renderCache) {
+        this.renderCache = renderCache;
+    }
+
     /**
      * Generate a line chart showing income vs expenses trends
      */
     public BufferedImage generateTrendChart(List<MonthlyTrendDto> data, int width, int height) {
+        return BitmapEncoder.getBufferedImage(buildTrendChart(data, width, height));
+    }
+
+    /**
+     * Trend chart as PNG bytes, rendered on the chart pool unless cached
+     */
+    public CompletableFuture<byte[]> renderTrendChartAsync(List<MonthlyTrendDto> data, int width, int height) {
+        ChartRenderCache.Key key = ChartRenderCache.key("trend", width, height, THEME);
+        for (MonthlyTrendDto trend : data) {
+            key.add(trend.getMonth()).add(trend.getIncome()).add(trend.getExpenses());
+        }
+        return renderCache.getOrRenderAsync(key, () -> buildTrendChart(data, width, height));
+    }
+
+    /**
+     * Generate a pie chart showing category breakdown
+     */
+    public BufferedImage generateCategoryPieChart(List<CategoryBreakdownDto> data, int width, int height) {
+        return BitmapEncoder.getBufferedImage(buildCategoryPieChart(data, width, height));
+    }
+
+    /**
+     * Category pie chart as PNG bytes, rendered on the chart pool unless
+     * cached
+     */
+    public CompletableFuture<byte[]> renderCategoryPieChartAsync(List<CategoryBreakdownDto> data, int width,
+            int height) {
+        ChartRenderCache.Key key = ChartRenderCache.key("category-pie", width, height, THEME);
+        for (CategoryBreakdownDto category : data) {
+            key.add(category.getCategoryName()).add(category.getAmount());
+        }
+        return renderCache.getOrRenderAsync(key, () -> buildCategoryPieChart(data, width, height));
+    }
+
+    private XYChart buildTrendChart(List<MonthlyTrendDto> data, int width, int height) {
         logger.info("Generating trend chart with {} data points", data.size());
 
         // Prepare data for XChart
@@ -84,14 +130,10 @@ public class ChartGeneratorService {
                 .setLineColor(EXPENSE_COLOR)
                 .setLineWidth(3.0f);
 
-        // Convert to BufferedImage
-        return BitmapEncoder.getBufferedImage(chart);
+        return chart;
     }
 
-    /**
-     * Generate a pie chart showing category breakdown
-     */
-    public BufferedImage generateCategoryPieChart(List<CategoryBreakdownDto> data, int width, int height) {
+    private PieChart buildCategoryPieChart(List<CategoryBreakdownDto> data, int width, int height) {
         logger.info("Generating category pie chart with {} categories", data.size());
 
         // Create chart
@@ -135,8 +177,7 @@ public class ChartGeneratorService {
             chart.addSeries(category.getCategoryName(), category.getAmount().doubleValue());
         }
 
-        // Convert to BufferedImage
-        return BitmapEncoder.getBufferedImage(chart);
+        return chart;
     }
 
     /**
@@ -0,0 +1,156 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PreDestroy;
+import org.knowm.xchart.BitmapEncoder;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Rendered chart PNGs keyed by a SHA-256 of the chart kind, size, theme and
+ * plotted series, so a report that redraws the same data skips XChart and
+ * the PNG encoder entirely. The cache is bounded by total encoded bytes
+ * (app.charts.cache-max-bytes).
+ *
+ * Also owns the small pool (app.charts.render-threads) that renders the
+ * independent charts of one report in parallel. Concurrent requests for
+ * the same key render once; the others wait for that result.
+ */
+@Component
+public class ChartRenderCache {
+
+    private final Cache<String, byte[]> cache;
+    private final ExecutorService renderPool;
+
+    public ChartRenderCache(@Value("${app.charts.cache-max-bytes:33554432}") long maxBytes,
+            @Value("${app.charts.render-threads:2}") int renderThreads) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, byte[] png) -> png.length)
+                .recordStats()
+                .build();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.renderPool = Executors.newFixedThreadPool(renderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "chart-render-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start a cache key for one chart; add every plotted value with
+     * {@link Key#add}
+     */
+    public static Key key(String chart, int width, int height, String theme) {
+        return new Key(chart).add(width).add(height).add(theme);
+    }
+
+    /**
+     * Cached PNG for the key, building and encoding the chart on a miss
+     */
+    public byte[] getOrRender(Key key, Supplier<? extends Chart<?, ?>> chart) {
+        return cache.get(key.digest(), k -> encode(chart.get()));
+    }
+
+    /**
+     * {@link #getOrRender} on the render pool; completes immediately on a
+     * cache hit
+     */
+    public CompletableFuture<byte[]> getOrRenderAsync(Key key, Supplier<? extends Chart<?, ?>> chart) {
+        byte[] cached = cache.getIfPresent(key.digest());
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> getOrRender(key, chart), renderPool);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Total encoded bytes currently held
+     */
+    long estimatedBytes() {
+        return cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    private static byte[] encode(Chart<?, ?> chart) {
+        try {
+            return BitmapEncoder.getBitmapBytes(chart, BitmapEncoder.BitmapFormat.PNG);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode chart", e);
+        }
+    }
+
+    /**
+     * Incremental SHA-256 over the chart description. Values are separated
+     * so ("ab", "c") and ("a", "bc") differ; amounts are normalised so 5000
+     * and 5000.00 share an entry.
+     */
+    public static final class Key {
+
+        private final MessageDigest digest;
+        private String hex;
+
+        private Key(String chart) {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+            add(chart);
+        }
+
+        public Key add(Object value) {
+            if (hex != null) {
+                throw new IllegalStateException("Key already digested");
+            }
+            String text = value instanceof BigDecimal decimal
+                    ? decimal.stripTrailingZeros().toPlainString()
+                    : String.valueOf(value);
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0x1f);
+            return this;
+        }
+
+        String digest() {
+            if (hex == null) {
+                hex = HexFormat.of().formatHex(digest.digest());
+            }
+            return hex;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.dto.CategoryBreakdownDto;
+import com.aerofisc.dto.DashboardSectionDto;
+import com.aerofisc.dto.DashboardSummaryDto;
+import com.aerofisc.dto.FullDashboardDto;
+import com.aerofisc.dto.MonthlyTrendDto;
+import com.aerofisc.dto.PredictionDto;
+import com.aerofisc.dto.TransactionDto;
+import com.aerofisc.entity.UserMonthRollup;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the whole dashboard in one call. Summary, trends, breakdown,
+ * recent transactions and the AI prediction run concurrently on virtual
+ * threads, so the response takes as long as the slowest part rather than
+ * the sum of them.
+ *
+ * Summary, trends and breakdown are all derived from a single read of the
+ * user's monthly rollups. Each part is waited for until its deadline
+ * (app.dashboard.part-timeout, or app.dashboard.prediction-timeout for the
+ * prediction), measured from the start of the request. A part that misses
+ * it is reported as TIMEOUT and the rest are returned as normal. A timed
+ * out prediction keeps running, so its cache is warm for the next load.
+ */
+@Slf4j
+@Service
+public class DashboardAggregationService {
+
+    private final DashboardService dashboardService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final PredictionService predictionService;
+    private final Duration partTimeout;
+    private final Duration predictionTimeout;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("dashboard-", 0).factory());
+
+    public DashboardAggregationService(DashboardService dashboardService,
+            MonthlyRollupService monthlyRollupService, PredictionService predictionService,
+            @Value("${app.dashboard.part-timeout:3s}") Duration partTimeout,
+            @Value("${app.dashboard.prediction-timeout:1500ms}") Duration predictionTimeout) {
+        this.dashboardService = dashboardService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.predictionService = predictionService;
+        this.partTimeout = partTimeout;
+        this.predictionTimeout = predictionTimeout;
+    }
+
+    public FullDashboardDto getFullDashboard(Long userId, int months, int limit) {
+        long started = System.nanoTime();
+
+        CompletableFuture<List<UserMonthRollup>> rollups = supply(() -> monthlyRollupService.getAllRollups(userId));
+        CompletableFuture<DashboardSummaryDto> summary = rollups
+                .thenApplyAsync(r -> dashboardService.summarize(userId, r), executor);
+        CompletableFuture<List<MonthlyTrendDto>> trends = rollups
+                .thenApplyAsync(r -> dashboardService.trendsFrom(r, months), executor);
+        CompletableFuture<List<CategoryBreakdownDto>> breakdown = rollups
+                .thenApplyAsync(r -> dashboardService.breakdownFrom(userId, r, months), executor);
+        CompletableFuture<List<TransactionDto>> recent = supply(
+                () -> dashboardService.getRecentTransactions(userId, limit));
+        CompletableFuture<List<PredictionDto>> predictions = supply(
+                () -> predictionService.predictNextMonthExpenses(userId));
+
+        long partDeadline = started + partTimeout.toNanos();
+        long predictionDeadline = started + predictionTimeout.toNanos();
+
+        DashboardSectionDto<DashboardSummaryDto> summarySection = await("summary", userId, summary, partDeadline);
+        DashboardSectionDto<List<PredictionDto>> predictionSection = await("predictions", userId, predictions,
+                predictionDeadline);
+        if (isOk(summarySection) && isOk(predictionSection)) {
+            dashboardService.applyPredictions(summarySection.getData(), predictionSection.getData());
+        }
+
+        return FullDashboardDto.builder()
+                .summary(summarySection)
+                .monthlyTrends(await("monthlyTrends", userId, trends, partDeadline))
+                .categoryBreakdown(await("categoryBreakdown", userId, breakdown, partDeadline))
+                .recentTransactions(await("recentTransactions", userId, recent, partDeadline))
+                .predictions(predictionSection)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> part) {
+        return CompletableFuture.supplyAsync(part, executor);
+    }
+
+    private <T> DashboardSectionDto<T> await(String part, Long userId, CompletableFuture<T> future, long deadline) {
+        try {
+            T data = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return DashboardSectionDto.<T>builder().status(DashboardSectionDto.OK).data(data).build();
+        } catch (TimeoutException e) {
+            log.warn("Dashboard {} for user {} timed out", part, userId);
+            return failed(DashboardSectionDto.TIMEOUT, part + " is taking longer than usual");
+        } catch (ExecutionException e) {
+            log.error("Dashboard {} for user {} failed", part, userId, e.getCause());
+            return failed(DashboardSectionDto.ERROR, "Failed to load " + part);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(DashboardSectionDto.ERROR, "Failed to load " + part);
+        }
+    }
+
+    private <T> DashboardSectionDto<T> failed(String status, String error) {
+        return DashboardSectionDto.<T>builder().status(status).error(error).build();
+    }
+
+    private boolean isOk(DashboardSectionDto<?> section) {
+        return DashboardSectionDto.OK.equals(section.getStatus());
+    }
+}
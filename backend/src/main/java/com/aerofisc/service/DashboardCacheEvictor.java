@@ -0,0 +1,94 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.cache.TwoTierCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Evicts the cached dashboard views of a single user.
+ *
+ * DashboardService caches the summary under "userId" and trends/breakdown
+ * under "userId_months", so a plain @CacheEvict can only clear either one key
+ * or every user's entries. This evicts the exact key plus every
+ * "userId_*" variant, for the local Caffeine or ConcurrentMap caches, Redis
+ * and the prod two-tier caches (which also tell other nodes to drop L1).
+ * When called inside a transaction the eviction is deferred until after
+ * commit so a concurrent read cannot re-cache the pre-write state.
+ */
+@Component
+@Slf4j
+public class DashboardCacheEvictor {
+
+    public static final String[] DASHBOARD_CACHES = { "dashboard_summary", "dashboard_trends",
+            "dashboard_breakdown" };
+
+    private final CacheManager cacheManager;
+
+    public DashboardCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        } else {
+            evictNow(userId);
+        }
+    }
+
+    public void evictUsers(Collection<Long> userIds) {
+        userIds.forEach(this::evictUser);
+    }
+
+    private void evictNow(Long userId) {
+        String keyPrefix = userId + "_";
+        for (String cacheName : DASHBOARD_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                continue;
+            }
+
+            cache.evict(userId);
+
+            Object nativeCache = cache.getNativeCache();
+            if (cache instanceof TwoTierCache twoTierCache) {
+                twoTierCache.evictByPrefix(keyPrefix);
+            } else if (cache instanceof RedisCache redisCache) {
+                redisCache.clear(keyPrefix + "*");
+            } else if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+                caffeineCache.asMap().keySet().removeIf(key -> key != null && key.toString().startsWith(keyPrefix));
+            } else if (nativeCache instanceof Map<?, ?> map) {
+                map.keySet().removeIf(key -> key != null && key.toString().startsWith(keyPrefix));
+            } else {
+                log.warn("Cache {} does not support per-user eviction, clearing it", cacheName);
+                cache.clear();
+            }
+        }
+        log.debug("Evicted dashboard caches for user {}", userId);
+    }
+}
+
+
@@ -6,15 +6,20 @@
 
 package com.aerofisc.service;
 
+import com.aerofisc.dto.DashboardDeltaDto;
 import com.aerofisc.dto.DashboardSummaryDto;
+import com.aerofisc.dto.MonthlyTotalDto;
 import com.aerofisc.dto.MonthlyTrendDto;
 import com.aerofisc.dto.CategoryBreakdownDto;
 import com.aerofisc.dto.TransactionDto;
+import com.aerofisc.entity.Budget;
 import com.aerofisc.entity.Transaction;
+import com.aerofisc.entity.UserMonthRollup;
 import com.aerofisc.repository.BudgetRepository;
 import com.aerofisc.repository.SavingsGoalRepository;
 import com.aerofisc.repository.TransactionRepository;
 import com.aerofisc.service.PredictionService;
+import com.aerofisc.util.MoneyAccumulator;
 import com.aerofisc.dto.PredictionDto;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
@@ -25,6 +30,8 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -35,56 +42,71 @@ public class DashboardService {
         private final TransactionRepository transactionRepository;
         private final BudgetRepository budgetRepository;
         private final SavingsGoalRepository savingsGoalRepository;
-        private final com.aerofisc.repository.CategoryRepository categoryRepository;
+        private final CategoryNameResolver categoryNameResolver;
         private final PredictionService predictionService;
+        private final MonthlyRollupService monthlyRollupService;
 
         public DashboardService(TransactionRepository transactionRepository, BudgetRepository budgetRepository,
                         SavingsGoalRepository savingsGoalRepository,
-                        com.aerofisc.repository.CategoryRepository categoryRepository,
-                        PredictionService predictionService) {
+                        CategoryNameResolver categoryNameResolver,
+                        PredictionService predictionService, MonthlyRollupService monthlyRollupService) {
                 this.transactionRepository = transactionRepository;
                 this.budgetRepository = budgetRepository;
                 this.savingsGoalRepository = savingsGoalRepository;
-                this.categoryRepository = categoryRepository;
+                this.categoryNameResolver = categoryNameResolver;
                 this.predictionService = predictionService;
+                this.monthlyRollupService = monthlyRollupService;
         }
 
         @Cacheable(value = "dashboard_summary", key = "#userId")
         public DashboardSummaryDto getDashboardSummary(Long userId) {
+                DashboardSummaryDto summary = summarize(userId, monthlyRollupService.getAllRollups(userId));
 
-                List<Transaction> allTransactions = transactionRepository.findByUserIdOrderByCreatedAtDesc(userId);
-
-                // Calculate Balance (All Time)
-                BigDecimal allTimeIncome = allTransactions.stream()
-                                .filter(t -> t.getType() == Transaction.TransactionType.INCOME)
-                                .map(Transaction::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal allTimeExpenses = allTransactions.stream()
-                                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                                .map(Transaction::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal balance = allTimeIncome.subtract(allTimeExpenses);
-
-                // Calculate Income/Expense (Current Month Only)
-                YearMonth currentMonth = YearMonth.now();
-                List<Transaction> currentMonthTransactions = allTransactions.stream()
-                                .filter(t -> {
-                                        LocalDate date = t.getTransactionDate();
-                                        return date != null && YearMonth.from(date).equals(currentMonth);
-                                })
-                                .collect(Collectors.toList());
+                // Get AI Prediction for Next Month; the defaults stand if it fails
+                applyPredictions(summary, List.of());
+                try {
+                        applyPredictions(summary, predictionService.predictNextMonthExpenses(userId));
+                } catch (Throwable e) {
+                        System.err.println(
+                                        "CRITICAL ERROR: Failed to get AI prediction for dashboard: " + e.getMessage());
+                        e.printStackTrace();
+                }
+                return summary;
+        }
 
-                BigDecimal monthlyIncome = currentMonthTransactions.stream()
-                                .filter(t -> t.getType() == Transaction.TransactionType.INCOME)
-                                .map(Transaction::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        /**
+         * Summary figures without the AI prediction, from the user's full set of
+         * rollup rows. Balance is all time; income and expenses are the current
+         * month, so this reads O(months) rows regardless of ledger size.
+         */
+        public DashboardSummaryDto summarize(Long userId, List<UserMonthRollup> rollups) {
+                String currentMonth = YearMonth.now().toString();
+                MoneyAccumulator allTimeIncome = new MoneyAccumulator();
+                MoneyAccumulator allTimeExpenses = new MoneyAccumulator();
+                MoneyAccumulator currentMonthIncome = new MoneyAccumulator();
+                MoneyAccumulator currentMonthExpenses = new MoneyAccumulator();
+                long transactionCount = 0;
+
+                for (UserMonthRollup rollup : rollups) {
+                        boolean isCurrentMonth = currentMonth.equals(rollup.getPeriodMonth());
+                        if (rollup.getType() == Transaction.TransactionType.INCOME) {
+                                allTimeIncome.add(rollup.getTotalAmount());
+                                if (isCurrentMonth) {
+                                        currentMonthIncome.add(rollup.getTotalAmount());
+                                }
+                        } else if (rollup.getType() == Transaction.TransactionType.EXPENSE) {
+                                allTimeExpenses.add(rollup.getTotalAmount());
+                                if (isCurrentMonth) {
+                                        currentMonthExpenses.add(rollup.getTotalAmount());
+                                }
+                        }
+                        transactionCount += rollup.getTransactionCount();
+                }
 
-                BigDecimal monthlyExpenses = currentMonthTransactions.stream()
-                                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                                .map(Transaction::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                BigDecimal balance = MoneyAccumulator.fromCents(
+                                Math.subtractExact(allTimeIncome.getSumCents(), allTimeExpenses.getSumCents()));
+                BigDecimal monthlyIncome = currentMonthIncome.getSum();
+                BigDecimal monthlyExpenses = currentMonthExpenses.getSum();
 
                 Double savingsRate = monthlyIncome.compareTo(BigDecimal.ZERO) > 0
                                 ? monthlyIncome.subtract(monthlyExpenses).divide(monthlyIncome, 4, RoundingMode.HALF_UP)
@@ -95,112 +117,127 @@ public class DashboardService {
                 Integer budgetCount = budgetRepository.countByUserId(userId);
                 Integer totalGoals = savingsGoalRepository.countByUserId(userId);
 
-                // Get AI Prediction for Next Month
+                return DashboardSummaryDto.builder()
+                                .totalIncome(monthlyIncome)
+                                .totalExpenses(monthlyExpenses)
+                                .balance(balance)
+                                .savingsRate(savingsRate)
+                                .transactionCount((int) transactionCount)
+                                .budgetCount(budgetCount)
+                                .goalCount(totalGoals)
+                                .build();
+        }
+
+        /**
+         * Fill the next-month prediction and recommendation from the
+         * PredictionService output (index 0 is the total)
+         */
+        public void applyPredictions(DashboardSummaryDto summary, List<PredictionDto> predictions) {
                 BigDecimal nextMonthPrediction = BigDecimal.ZERO;
                 String aiRecommendation = "Keep up the good work!";
 
-                try {
-                        List<PredictionDto> predictions = predictionService.predictNextMonthExpenses(userId);
-                        if (!predictions.isEmpty()) {
-                                // Index 0 is the total prediction
-                                nextMonthPrediction = predictions.get(0).getPredictedAmount();
-
-                                // Generate Recommendation
-                                PredictionDto topConcern = null;
-                                for (int i = 1; i < predictions.size(); i++) { // Skip total at index 0
+                if (!predictions.isEmpty()) {
+                        // Index 0 is the total prediction
+                        nextMonthPrediction = predictions.get(0).getPredictedAmount();
+
+                        // Generate Recommendation
+                        PredictionDto topConcern = null;
+                        for (int i = 1; i < predictions.size(); i++) { // Skip total at index 0
+                                PredictionDto p = predictions.get(i);
+                                String catName = p.getCategoryName().toLowerCase();
+                                // Filter out non-expense categories or positive financial habits
+                                if (catName.contains("saving") || catName.contains("investment")
+                                                || catName.contains("income")) {
+                                        continue;
+                                }
+
+                                if ("INCREASING".equals(p.getTrend())) {
+                                        if (topConcern == null || p.getPredictedAmount()
+                                                        .compareTo(topConcern.getPredictedAmount()) > 0) {
+                                                topConcern = p;
+                                        }
+                                }
+                        }
+
+                        if (topConcern == null && predictions.size() > 1) {
+                                // Fallback: Find highest predicted expense that isn't savings/investment
+                                for (int i = 1; i < predictions.size(); i++) {
                                         PredictionDto p = predictions.get(i);
                                         String catName = p.getCategoryName().toLowerCase();
-                                        // Filter out non-expense categories or positive financial habits
                                         if (catName.contains("saving") || catName.contains("investment")
                                                         || catName.contains("income")) {
                                                 continue;
                                         }
 
-                                        if ("INCREASING".equals(p.getTrend())) {
-                                                if (topConcern == null || p.getPredictedAmount()
-                                                                .compareTo(topConcern.getPredictedAmount()) > 0) {
-                                                        topConcern = p;
-                                                }
-                                        }
-                                }
-
-                                if (topConcern == null && predictions.size() > 1) {
-                                        // Fallback: Find highest predicted expense that isn't savings/investment
-                                        for (int i = 1; i < predictions.size(); i++) {
-                                                PredictionDto p = predictions.get(i);
-                                                String catName = p.getCategoryName().toLowerCase();
-                                                if (catName.contains("saving") || catName.contains("investment")
-                                                                || catName.contains("income")) {
-                                                        continue;
-                                                }
-
-                                                if (topConcern == null || p.getPredictedAmount()
-                                                                .compareTo(topConcern.getPredictedAmount()) > 0) {
-                                                        topConcern = p;
-                                                }
+                                        if (topConcern == null || p.getPredictedAmount()
+                                                        .compareTo(topConcern.getPredictedAmount()) > 0) {
+                                                topConcern = p;
                                         }
                                 }
+                        }
 
-                                if (topConcern != null) {
-                                        if ("INCREASING".equals(topConcern.getTrend())) {
-                                                aiRecommendation = "Alert: Spending on " + topConcern.getCategoryName()
-                                                                + " is trending up. Try to reduce it.";
-                                        } else {
-                                                aiRecommendation = "Tip: Your highest projected expense is "
-                                                                + topConcern.getCategoryName()
-                                                                + ". Look for savings here.";
-                                        }
+                        if (topConcern != null) {
+                                if ("INCREASING".equals(topConcern.getTrend())) {
+                                        aiRecommendation = "Alert: Spending on " + topConcern.getCategoryName()
+                                                        + " is trending up. Try to reduce it.";
+                                } else {
+                                        aiRecommendation = "Tip: Your highest projected expense is "
+                                                        + topConcern.getCategoryName()
+                                                        + ". Look for savings here.";
                                 }
                         }
-                } catch (Throwable e) {
-                        System.err.println(
-                                        "CRITICAL ERROR: Failed to get AI prediction for dashboard: " + e.getMessage());
-                        e.printStackTrace();
                 }
 
-                return DashboardSummaryDto.builder()
-                                .totalIncome(monthlyIncome)
-                                .totalExpenses(monthlyExpenses)
-                                .balance(balance)
-                                .savingsRate(savingsRate)
-                                .transactionCount(allTransactions.size())
-                                .budgetCount(budgetCount)
-                                .goalCount(totalGoals)
-                                .nextMonthPrediction(nextMonthPrediction)
-                                .aiRecommendation(aiRecommendation)
-                                .build();
+                summary.setNextMonthPrediction(nextMonthPrediction);
+                summary.setAiRecommendation(aiRecommendation);
         }
 
         @Cacheable(value = "dashboard_trends", key = "#userId + '_' + #months")
         public List<MonthlyTrendDto> getMonthlyTrends(Long userId, Integer months) {
-                if (months == null || months <= 0) {
-                        months = 6;
+                months = normaliseMonths(months);
+                YearMonth endMonth = YearMonth.now();
+                YearMonth startMonth = endMonth.minusMonths(months - 1);
+                return toTrends(monthlyRollupService.getMonthlyTotals(userId, startMonth, endMonth), startMonth,
+                                endMonth);
+        }
+
+        /**
+         * getMonthlyTrends computed from an already loaded set of rollup rows
+         */
+        public List<MonthlyTrendDto> trendsFrom(List<UserMonthRollup> rollups, Integer months) {
+                months = normaliseMonths(months);
+                YearMonth endMonth = YearMonth.now();
+                YearMonth startMonth = endMonth.minusMonths(months - 1);
+
+                List<MonthlyTotalDto> totals = new ArrayList<>();
+                for (UserMonthRollup rollup : inWindow(rollups, startMonth, endMonth)) {
+                        totals.add(new MonthlyTotalDto(rollup.getPeriodMonth(), rollup.getType(),
+                                        rollup.getTotalAmount()));
                 }
+                return toTrends(totals, startMonth, endMonth);
+        }
 
+        private List<MonthlyTrendDto> toTrends(List<MonthlyTotalDto> totals, YearMonth startMonth,
+                        YearMonth endMonth) {
                 List<MonthlyTrendDto> trends = new ArrayList<>();
-                LocalDate endDate = LocalDate.now();
                 DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM yyyy");
 
-                for (int i = months - 1; i >= 0; i--) {
-                        YearMonth yearMonth = YearMonth.from(endDate.minusMonths(i));
-                        LocalDate startOfMonth = yearMonth.atDay(1);
-                        LocalDate endOfMonth = yearMonth.atEndOfMonth();
-
-                        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(
-                                        userId, startOfMonth, endOfMonth);
-
-                        BigDecimal income = transactions.stream()
-                                        .filter(t -> t.getType() == Transaction.TransactionType.INCOME)
-                                        .map(Transaction::getAmount)
-                                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+                Map<YearMonth, BigDecimal> incomeByMonth = new HashMap<>();
+                Map<YearMonth, BigDecimal> expensesByMonth = new HashMap<>();
+                for (MonthlyTotalDto total : totals) {
+                        Map<YearMonth, BigDecimal> target = total.type() == Transaction.TransactionType.INCOME
+                                        ? incomeByMonth
+                                        : expensesByMonth;
+                        target.merge(total.yearMonth(), total.total(), BigDecimal::add);
+                }
 
-                        BigDecimal expenses = transactions.stream()
-                                        .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                                        .map(Transaction::getAmount)
-                                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+                // Zero-fill months without activity so the chart keeps a continuous axis
+                for (YearMonth yearMonth = startMonth; !yearMonth.isAfter(endMonth); yearMonth = yearMonth.plusMonths(1)) {
+                        BigDecimal income = incomeByMonth.getOrDefault(yearMonth, BigDecimal.ZERO);
+                        BigDecimal expenses = expensesByMonth.getOrDefault(yearMonth, BigDecimal.ZERO);
 
                         trends.add(MonthlyTrendDto.builder()
-                                        .month(startOfMonth.format(formatter))
+                                        .month(yearMonth.atDay(1).format(formatter))
                                         .income(income)
                                         .expenses(expenses)
                                         .netSavings(income.subtract(expenses))
@@ -212,44 +249,48 @@ public class DashboardService {
 
         @Cacheable(value = "dashboard_breakdown", key = "#userId + '_' + #months")
         public List<CategoryBreakdownDto> getCategoryBreakdown(Long userId, Integer months) {
-                if (months == null || months <= 0) {
-                        months = 6;
-                }
-
-                LocalDate endDate = LocalDate.now();
-                LocalDate startDate = endDate.minusMonths(months).withDayOfMonth(1);
-
-                List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(
-                                userId, startDate, endDate);
-
-                // Filter only expenses for category breakdown
-                List<Transaction> expenses = transactions.stream()
-                                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                                .collect(Collectors.toList());
+                months = normaliseMonths(months);
+                YearMonth endMonth = YearMonth.now();
+                YearMonth startMonth = endMonth.minusMonths(months);
+                return toBreakdown(userId, monthlyRollupService.getRollups(userId, startMonth, endMonth));
+        }
 
-                BigDecimal totalExpenses = expenses.stream()
-                                .map(Transaction::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        /**
+         * getCategoryBreakdown computed from an already loaded set of rollup rows
+         */
+        public List<CategoryBreakdownDto> breakdownFrom(Long userId, List<UserMonthRollup> rollups, Integer months) {
+                months = normaliseMonths(months);
+                YearMonth endMonth = YearMonth.now();
+                YearMonth startMonth = endMonth.minusMonths(months);
+                return toBreakdown(userId, inWindow(rollups, startMonth, endMonth));
+        }
 
-                // Group by category
-                Map<Long, List<Transaction>> groupedByCategory = expenses.stream()
-                                .filter(t -> t.getCategoryId() != null)
-                                .collect(Collectors.groupingBy(Transaction::getCategoryId));
+        private List<CategoryBreakdownDto> toBreakdown(Long userId, List<UserMonthRollup> rollups) {
+                // Only expenses feed the category breakdown
+                BigDecimal totalExpenses = BigDecimal.ZERO;
+                Map<Long, BigDecimal> amountByCategory = new HashMap<>();
+                Map<Long, Long> countByCategory = new HashMap<>();
+                for (UserMonthRollup rollup : rollups) {
+                        if (rollup.getType() != Transaction.TransactionType.EXPENSE
+                                        || rollup.getTransactionCount() <= 0) {
+                                continue;
+                        }
+                        totalExpenses = totalExpenses.add(rollup.getTotalAmount());
+                        if (rollup.getCategoryId() != null) {
+                                amountByCategory.merge(rollup.getCategoryId(), rollup.getTotalAmount(), BigDecimal::add);
+                                countByCategory.merge(rollup.getCategoryId(), rollup.getTransactionCount(), Long::sum);
+                        }
+                }
 
-                // Fetch all categories for name mapping
-                Map<Long, String> categoryNames = categoryRepository.findAll().stream()
-                                .collect(Collectors.toMap(com.aerofisc.entity.Category::getId,
-                                                com.aerofisc.entity.Category::getName));
+                // Only the user's categories, not the whole table
+                Map<Long, String> categoryNames = categoryNameResolver.resolve(userId, amountByCategory.keySet());
 
                 List<CategoryBreakdownDto> breakdown = new ArrayList<>();
 
-                groupedByCategory.forEach((categoryId, categoryTransactions) -> {
-                        BigDecimal categoryAmount = categoryTransactions.stream()
-                                        .map(Transaction::getAmount)
-                                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                        Double percentage = totalExpenses.compareTo(BigDecimal.ZERO) > 0
-                                        ? categoryAmount.divide(totalExpenses, 4, RoundingMode.HALF_UP)
+                final BigDecimal expenseTotal = totalExpenses;
+                amountByCategory.forEach((categoryId, categoryAmount) -> {
+                        Double percentage = expenseTotal.compareTo(BigDecimal.ZERO) > 0
+                                        ? categoryAmount.divide(expenseTotal, 4, RoundingMode.HALF_UP)
                                                         .multiply(BigDecimal.valueOf(100))
                                                         .doubleValue()
                                         : 0.0;
@@ -262,7 +303,7 @@ public class DashboardService {
                                         .categoryName(categoryName)
                                         .amount(categoryAmount)
                                         .percentage(percentage)
-                                        .transactionCount(categoryTransactions.size())
+                                        .transactionCount(countByCategory.get(categoryId).intValue())
                                         .build());
                 });
 
@@ -272,6 +313,23 @@ public class DashboardService {
                 return breakdown;
         }
 
+        private int normaliseMonths(Integer months) {
+                return months == null || months <= 0 ? 6 : months;
+        }
+
+        /**
+         * Rows whose month lies between two months (inclusive); periodMonth is
+         * yyyy-MM so string order is calendar order
+         */
+        private List<UserMonthRollup> inWindow(List<UserMonthRollup> rollups, YearMonth from, YearMonth to) {
+                String start = from.toString();
+                String end = to.toString();
+                return rollups.stream()
+                                .filter(r -> r.getPeriodMonth().compareTo(start) >= 0
+                                                && r.getPeriodMonth().compareTo(end) <= 0)
+                                .toList();
+        }
+
         public List<TransactionDto> getRecentTransactions(Long userId, Integer limit) {
                 if (limit == null || limit <= 0) {
                         limit = 10;
@@ -286,6 +344,79 @@ public class DashboardService {
                                 .collect(Collectors.toList());
         }
 
+        /**
+         * The dashboard figures that ledger writes in the given categories can
+         * have changed, for a WebSocket push. Reads the user's rollups once plus
+         * their active budgets; no transaction rows.
+         */
+        public DashboardDeltaDto dashboardDelta(Long userId, Collection<Long> categoryIds, int updates) {
+                String currentMonth = YearMonth.now().toString();
+                MoneyAccumulator income = new MoneyAccumulator();
+                MoneyAccumulator expenses = new MoneyAccumulator();
+                MoneyAccumulator monthIncome = new MoneyAccumulator();
+                MoneyAccumulator monthExpenses = new MoneyAccumulator();
+                Map<Long, MoneyAccumulator[]> categoryTotals = new HashMap<>();
+                categoryIds.forEach(id -> categoryTotals.put(id,
+                                new MoneyAccumulator[] { new MoneyAccumulator(), new MoneyAccumulator() }));
+
+                for (UserMonthRollup rollup : monthlyRollupService.getAllRollups(userId)) {
+                        boolean isIncome = rollup.getType() == Transaction.TransactionType.INCOME;
+                        (isIncome ? income : expenses).add(rollup.getTotalAmount());
+                        if (!currentMonth.equals(rollup.getPeriodMonth())) {
+                                continue;
+                        }
+                        (isIncome ? monthIncome : monthExpenses).add(rollup.getTotalAmount());
+                        MoneyAccumulator[] category = categoryTotals.get(rollup.getCategoryId());
+                        if (category != null) {
+                                category[isIncome ? 0 : 1].add(rollup.getTotalAmount());
+                        }
+                }
+
+                Map<Long, String> categoryNames = categoryNameResolver.resolve(userId, categoryIds);
+                List<DashboardDeltaDto.CategoryTotal> categories = categoryTotals.entrySet().stream()
+                                .map(entry -> DashboardDeltaDto.CategoryTotal.builder()
+                                                .categoryId(entry.getKey())
+                                                .categoryName(categoryNames.get(entry.getKey()))
+                                                .monthIncome(entry.getValue()[0].getSum())
+                                                .monthExpenses(entry.getValue()[1].getSum())
+                                                .build())
+                                .collect(Collectors.toList());
+
+                List<DashboardDeltaDto.BudgetProgress> budgets = budgetRepository
+                                .findActiveBudgets(userId, LocalDate.now()).stream()
+                                .filter(budget -> categoryTotals.containsKey(budget.getCategoryId()))
+                                .map(this::toBudgetProgress)
+                                .collect(Collectors.toList());
+
+                return DashboardDeltaDto.builder()
+                                .month(currentMonth)
+                                .balance(MoneyAccumulator.fromCents(
+                                                Math.subtractExact(income.getSumCents(), expenses.getSumCents())))
+                                .monthIncome(monthIncome.getSum())
+                                .monthExpenses(monthExpenses.getSum())
+                                .categories(categories)
+                                .budgets(budgets)
+                                .updates(updates)
+                                .generatedAt(System.currentTimeMillis())
+                                .build();
+        }
+
+        private DashboardDeltaDto.BudgetProgress toBudgetProgress(Budget budget) {
+                BigDecimal spent = budget.getSpent() != null ? budget.getSpent() : BigDecimal.ZERO;
+                BigDecimal progress = budget.getAmount().compareTo(BigDecimal.ZERO) > 0
+                                ? spent.divide(budget.getAmount(), 4, RoundingMode.HALF_UP)
+                                                .multiply(BigDecimal.valueOf(100))
+                                                .setScale(2, RoundingMode.HALF_UP)
+                                : BigDecimal.ZERO;
+                return DashboardDeltaDto.BudgetProgress.builder()
+                                .budgetId(budget.getId())
+                                .categoryId(budget.getCategoryId())
+                                .amount(budget.getAmount())
+                                .spent(spent)
+                                .progressPercentage(progress)
+                                .build();
+        }
+
         private TransactionDto convertToDto(Transaction transaction) {
                 return TransactionDto.builder()
                                 .id(transaction.getId())
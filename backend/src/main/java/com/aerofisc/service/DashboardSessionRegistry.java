@@ -0,0 +1,87 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tracks which users have a STOMP session subscribed to their dashboard
+ * topic on this node, so dashboard pushes are only computed for users who
+ * will receive them.
+ */
+@Component
+public class DashboardSessionRegistry {
+
+    private static final Pattern DASHBOARD_TOPIC = Pattern.compile("^/topic/user/(\\d+)/dashboard$");
+
+    // sessionId -> subscriptionId -> userId
+    private final Map<String, Map<String, Long>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> subscribers = new ConcurrentHashMap<>();
+
+    public boolean hasLiveSession(Long userId) {
+        return userId != null && subscribers.containsKey(userId);
+    }
+
+    public int liveUserCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = headers.getDestination();
+        if (destination == null || headers.getSessionId() == null || headers.getSubscriptionId() == null) {
+            return;
+        }
+        Matcher matcher = DASHBOARD_TOPIC.matcher(destination);
+        if (!matcher.matches()) {
+            return;
+        }
+
+        Long userId = Long.valueOf(matcher.group(1));
+        Long previous = subscriptions.computeIfAbsent(headers.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(headers.getSubscriptionId(), userId);
+        if (previous == null) {
+            subscribers.merge(userId, 1, Integer::sum);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Long> session = headers.getSessionId() != null
+                ? subscriptions.get(headers.getSessionId())
+                : null;
+        if (session != null && headers.getSubscriptionId() != null) {
+            release(session.remove(headers.getSubscriptionId()));
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Long> session = subscriptions.remove(event.getSessionId());
+        if (session != null) {
+            session.values().forEach(this::release);
+        }
+    }
+
+    private void release(Long userId) {
+        if (userId != null) {
+            subscribers.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+}
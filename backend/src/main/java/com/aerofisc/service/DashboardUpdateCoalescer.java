@@ -0,0 +1,136 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.dto.DashboardDeltaDto;
+import com.aerofisc.websocket.ClusterMessage;
+import com.aerofisc.websocket.ClusterMessageBus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges dashboard updates per user. The first write for a user opens a
+ * window (app.websocket.dashboard-debounce); every write inside it only adds
+ * its categories, and when it closes one {@link DashboardDeltaDto} covering
+ * all of them is computed and pushed. A 500-row import therefore costs one
+ * message instead of 500 dashboard reloads.
+ *
+ * Each request is also published on the {@link ClusterMessageBus}, and
+ * requests from other nodes are merged in the same way. Users without a
+ * dashboard subscription on this node are skipped before anything is queued
+ * or computed, so only the node holding the session reads the dashboard.
+ */
+@Slf4j
+@Service
+public class DashboardUpdateCoalescer {
+
+    private final DashboardSessionRegistry sessionRegistry;
+    private final DashboardService dashboardService;
+    private final WebSocketService webSocketService;
+    private final ClusterMessageBus clusterMessageBus;
+    private final long windowMillis;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-push");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DashboardUpdateCoalescer(DashboardSessionRegistry sessionRegistry, DashboardService dashboardService,
+            WebSocketService webSocketService, ClusterMessageBus clusterMessageBus,
+            @Value("${app.websocket.dashboard-debounce:500ms}") Duration window) {
+        this.sessionRegistry = sessionRegistry;
+        this.dashboardService = dashboardService;
+        this.webSocketService = webSocketService;
+        this.clusterMessageBus = clusterMessageBus;
+        this.windowMillis = window.toMillis();
+        clusterMessageBus.subscribe(message -> {
+            if (message.kind() == ClusterMessage.Kind.DASHBOARD_UPDATE) {
+                enqueue(message.userId(), message.categoryIds());
+            }
+        });
+    }
+
+    /**
+     * Note that a write touching these categories has committed for the user
+     */
+    public void requestUpdate(Long userId, Collection<Long> categoryIds) {
+        clusterMessageBus.publish(ClusterMessage.dashboardUpdate(userId,
+                categoryIds.stream().filter(Objects::nonNull).toList()));
+        enqueue(userId, categoryIds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void enqueue(Long userId, Collection<Long> categoryIds) {
+        if (!sessionRegistry.hasLiveSession(userId)) {
+            return;
+        }
+
+        boolean[] opened = new boolean[1];
+        pending.compute(userId, (id, current) -> {
+            Pending merged = current != null ? current : new Pending();
+            opened[0] = current == null;
+            merged.add(categoryIds);
+            return merged;
+        });
+
+        if (opened[0]) {
+            try {
+                scheduler.schedule(() -> flush(userId), windowMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                pending.remove(userId);
+            }
+        }
+    }
+
+    private void flush(Long userId) {
+        Pending updates = pending.remove(userId);
+        if (updates == null || !sessionRegistry.hasLiveSession(userId)) {
+            return;
+        }
+
+        try {
+            DashboardDeltaDto delta = dashboardService.dashboardDelta(userId, updates.categoryIds, updates.count);
+            webSocketService.sendDashboardUpdate(userId, delta);
+        } catch (RuntimeException e) {
+            log.warn("Failed to push dashboard update to user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Only touched inside ConcurrentHashMap.compute and after removal, so
+     * never by two threads at once
+     */
+    private static final class Pending {
+
+        private final Set<Long> categoryIds = new HashSet<>();
+        private int count;
+
+        void add(Collection<Long> ids) {
+            ids.stream().filter(Objects::nonNull).forEach(categoryIds::add);
+            count++;
+        }
+    }
+}
@@ -12,7 +12,6 @@ import com.aerofisc.dto.DebtSummaryDto;
 import com.aerofisc.entity.Debt;
 import com.aerofisc.exception.ResourceNotFoundException;
 import com.aerofisc.repository.DebtRepository;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,9 +26,11 @@ import java.util.stream.Collectors;
 public class DebtService {
 
     private final DebtRepository debtRepository;
+    private final DashboardCacheEvictor dashboardCacheEvictor;
 
-    public DebtService(DebtRepository debtRepository) {
+    public DebtService(DebtRepository debtRepository, DashboardCacheEvictor dashboardCacheEvictor) {
         this.debtRepository = debtRepository;
+        this.dashboardCacheEvictor = dashboardCacheEvictor;
     }
 
     @Transactional
@@ -80,11 +81,11 @@ public class DebtService {
     }
 
     @Transactional
-    @CacheEvict(value = { "dashboard_summary", "dashboard_trends", "dashboard_breakdown" }, allEntries = true)
     public void deleteDebt(Long id, Long userId) {
         Debt debt = debtRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Debt not found"));
         debtRepository.delete(debt);
+        dashboardCacheEvictor.evictUser(userId);
     }
 
     public DebtSummaryDto getDebtSummary(Long userId) {
@@ -53,6 +53,7 @@ public class EmailService {
         }
     }
 
+    @Async
     public void sendBudgetAlert(String to, String budgetName, String threshold) {
         String subject = "Budget Alert: " + budgetName;
         String content = String.format(
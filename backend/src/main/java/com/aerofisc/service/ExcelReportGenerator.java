@@ -9,23 +9,54 @@ package com.aerofisc.service;
 import com.aerofisc.entity.Budget;
 import com.aerofisc.entity.SavingsGoal;
 import com.aerofisc.entity.Transaction;
-import com.aerofisc.repository.CategoryRepository;
+import com.aerofisc.util.TransactionSummary;
 import org.apache.poi.ss.usermodel.*;
 
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.List;
-
+import java.util.Map;
+
+/**
+ * Builds the Excel exports. Summary, budget and goal sheets (and the native
+ * chart) are always built in memory with XSSF. The transactions sheet
+ * switches to SXSSF once it has more rows than
+ * {@code app.export.excel.streaming-threshold}: only a window of rows is
+ * kept on heap and the rest is flushed to a compressed temp file, so a
+ * large ledger no longer costs hundreds of MB of cell objects.
+ *
+ * Transaction column widths are estimated from a sample of rows rather
+ * than autoSizeColumn, which measures every cell with AWT font metrics and
+ * cannot see rows SXSSF has already flushed.
+ */
 @Service
 public class ExcelReportGenerator {
 
-    private final CategoryRepository categoryRepository;
+    /**
+     * Rows of a streamed sheet kept in memory before flushing to disk
+     */
+    private static final int ROW_ACCESS_WINDOW = 500;
+
+    /**
+     * Transactions looked at when estimating column widths
+     */
+    private static final int WIDTH_SAMPLE_SIZE = 500;
+
+    private static final int MAX_COLUMN_CHARS = 60;
+
+    private final CategoryNameResolver categoryNameResolver;
+    private final int streamingThreshold;
 
-    public ExcelReportGenerator(CategoryRepository categoryRepository) {
-        this.categoryRepository = categoryRepository;
+    public ExcelReportGenerator(CategoryNameResolver categoryNameResolver,
+            @Value("${app.export.excel.streaming-threshold:10000}") int streamingThreshold) {
+        this.categoryNameResolver = categoryNameResolver;
+        this.streamingThreshold = streamingThreshold;
     }
 
     public byte[] generateDashboardExcel(Long userId, List<Transaction> transactions, List<Budget> budgets,
@@ -36,23 +67,19 @@ public class ExcelReportGenerator {
 
             // Summary Sheet
             XSSFSheet summarySheet = workbook.createSheet("Dashboard Summary");
-            createSummarySheet(summarySheet, transactions, headerStyle, currencyStyle);
-
-            // Transactions Sheet
-            XSSFSheet transSheet = workbook.createSheet("Transactions");
-            createTransactionsSheet(transSheet, transactions, headerStyle, currencyStyle);
+            createSummarySheet(summarySheet, TransactionSummary.of(transactions), headerStyle, currencyStyle);
 
             // Budgets Sheet
             XSSFSheet budgetSheet = workbook.createSheet("Budgets");
-            createBudgetsSheet(budgetSheet, budgets, headerStyle, currencyStyle);
+            createBudgetsSheet(budgetSheet, userId, budgets, headerStyle, currencyStyle);
 
             // Goals Sheet
             XSSFSheet goalSheet = workbook.createSheet("Savings Goals");
             createGoalsSheet(goalSheet, goals, headerStyle, currencyStyle);
 
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
+            // Transactions Sheet, second in the workbook
+            return writeWithTransactionsSheet(workbook, "Transactions", 1, userId, transactions, headerStyle,
+                    currencyStyle);
         }
     }
 
@@ -64,42 +91,69 @@ public class ExcelReportGenerator {
 
             // Summary Sheet
             XSSFSheet summarySheet = workbook.createSheet("Analytics Summary");
-            createSummarySheet(summarySheet, transactions, headerStyle, currencyStyle);
-
-            // Detailed Data
-            XSSFSheet dataSheet = workbook.createSheet("Detailed Data");
-            createTransactionsSheet(dataSheet, transactions, headerStyle, currencyStyle);
+            createSummarySheet(summarySheet, TransactionSummary.of(transactions), headerStyle, currencyStyle);
 
             // Add Native Charts (Simplified for this version, can be expanded)
             createNativePieChart(summarySheet, transactions);
 
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            // Detailed Data
+            return writeWithTransactionsSheet(workbook, "Detailed Data", 1, userId, transactions, headerStyle,
+                    currencyStyle);
+        }
+    }
+
+    /**
+     * Add the transactions sheet at {@code position} and serialise the
+     * workbook, streaming that sheet through SXSSF when it is large. Styles
+     * come from the in-memory workbook, which SXSSF shares.
+     */
+    private byte[] writeWithTransactionsSheet(XSSFWorkbook workbook, String sheetName, int position, Long userId,
+            List<Transaction> transactions, CellStyle headerStyle, CellStyle currencyStyle) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        if (transactions.size() <= streamingThreshold) {
+            XSSFSheet sheet = workbook.createSheet(sheetName);
+            workbook.setSheetOrder(sheetName, position);
+            createTransactionsSheet(sheet, userId, transactions, headerStyle, currencyStyle);
             workbook.write(outputStream);
             return outputStream.toByteArray();
         }
+
+        SXSSFWorkbook streaming = new SXSSFWorkbook(workbook, ROW_ACCESS_WINDOW);
+        try {
+            streaming.setCompressTempFiles(true);
+            Sheet sheet = streaming.createSheet(sheetName);
+            streaming.setSheetOrder(sheetName, position);
+            createTransactionsSheet(sheet, userId, transactions, headerStyle, currencyStyle);
+            streaming.write(outputStream);
+        } finally {
+            streaming.dispose();
+        }
+        return outputStream.toByteArray();
     }
 
-    private void createSummarySheet(XSSFSheet sheet, List<Transaction> transactions, CellStyle headerStyle,
+    private void createSummarySheet(XSSFSheet sheet, TransactionSummary summary, CellStyle headerStyle,
             CellStyle currencyStyle) {
         Row header = sheet.createRow(0);
         createCell(header, 0, "Metric", headerStyle);
         createCell(header, 1, "Value", headerStyle);
 
-        double income = transactions.stream().filter(t -> t.getType().toString().equals("INCOME"))
-                .mapToDouble(t -> t.getAmount().doubleValue()).sum();
-        double expense = transactions.stream().filter(t -> t.getType().toString().equals("EXPENSE"))
-                .mapToDouble(t -> t.getAmount().doubleValue()).sum();
+        BigDecimal income = summary.getTotal(Transaction.TransactionType.INCOME);
+        BigDecimal expense = summary.getTotal(Transaction.TransactionType.EXPENSE);
 
-        addRow(sheet, 1, "Total Income", income, currencyStyle);
-        addRow(sheet, 2, "Total Expenses", expense, currencyStyle);
-        addRow(sheet, 3, "Net Savings", income - expense, currencyStyle);
+        // Summed exactly in cents; only the cell values are doubles
+        addRow(sheet, 1, "Total Income", income.doubleValue(), currencyStyle);
+        addRow(sheet, 2, "Total Expenses", expense.doubleValue(), currencyStyle);
+        addRow(sheet, 3, "Net Savings", income.subtract(expense).doubleValue(), currencyStyle);
 
         sheet.autoSizeColumn(0);
         sheet.autoSizeColumn(1);
     }
 
-    private void createTransactionsSheet(XSSFSheet sheet, List<Transaction> transactions, CellStyle headerStyle,
-            CellStyle currencyStyle) {
+    private void createTransactionsSheet(Sheet sheet, Long userId, List<Transaction> transactions,
+            CellStyle headerStyle, CellStyle currencyStyle) {
+        Map<Long, String> categoryNames = categoryNameResolver.resolve(userId, transactions,
+                Transaction::getCategoryId);
         Row header = sheet.createRow(0);
         String[] headers = { "Date", "Type", "Category", "Description", "Amount" };
         for (int i = 0; i < headers.length; i++) {
@@ -111,20 +165,50 @@ public class ExcelReportGenerator {
             Row row = sheet.createRow(rowNum++);
             row.createCell(0).setCellValue(t.getTransactionDate().toString());
             row.createCell(1).setCellValue(t.getType().toString());
-            row.createCell(2).setCellValue(getCategoryName(t.getCategoryId()));
+            row.createCell(2).setCellValue(categoryName(categoryNames, t.getCategoryId()));
             row.createCell(3).setCellValue(t.getDescription());
             Cell amountCell = row.createCell(4);
             amountCell.setCellValue(t.getAmount().doubleValue());
             amountCell.setCellStyle(currencyStyle);
         }
 
-        for (int i = 0; i < 5; i++)
-            sheet.autoSizeColumn(i);
+        int[] widths = sampleColumnWidths(headers, transactions, categoryNames);
+        for (int i = 0; i < widths.length; i++)
+            sheet.setColumnWidth(i, widths[i] * 256);
         sheet.createFreezePane(0, 1);
     }
 
-    private void createBudgetsSheet(XSSFSheet sheet, List<Budget> budgets, CellStyle headerStyle,
+    /**
+     * Column widths in characters from the header and an evenly spaced
+     * sample of rows, padded by two and capped at MAX_COLUMN_CHARS
+     */
+    private int[] sampleColumnWidths(String[] headers, List<Transaction> transactions,
+            Map<Long, String> categoryNames) {
+        int[] widths = new int[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            widths[i] = headers[i].length();
+        }
+
+        int step = Math.max(1, transactions.size() / WIDTH_SAMPLE_SIZE);
+        for (int r = 0; r < transactions.size(); r += step) {
+            Transaction t = transactions.get(r);
+            widths[0] = Math.max(widths[0], t.getTransactionDate().toString().length());
+            widths[1] = Math.max(widths[1], t.getType().toString().length());
+            widths[2] = Math.max(widths[2], categoryName(categoryNames, t.getCategoryId()).length());
+            widths[3] = Math.max(widths[3], t.getDescription() != null ? t.getDescription().length() : 0);
+            // Currency symbol plus grouping separators
+            widths[4] = Math.max(widths[4], String.format("%,.2f", t.getAmount()).length() + 1);
+        }
+
+        for (int i = 0; i < widths.length; i++) {
+            widths[i] = Math.min(widths[i] + 2, MAX_COLUMN_CHARS);
+        }
+        return widths;
+    }
+
+    private void createBudgetsSheet(XSSFSheet sheet, Long userId, List<Budget> budgets, CellStyle headerStyle,
             CellStyle currencyStyle) {
+        Map<Long, String> categoryNames = categoryNameResolver.resolve(userId, budgets, Budget::getCategoryId);
         Row header = sheet.createRow(0);
         String[] headers = { "Category", "Limit", "Spent", "Remaining" };
         for (int i = 0; i < headers.length; i++) {
@@ -134,7 +218,7 @@ public class ExcelReportGenerator {
         int rowNum = 1;
         for (Budget b : budgets) {
             Row row = sheet.createRow(rowNum++);
-            row.createCell(0).setCellValue(getCategoryName(b.getCategoryId()));
+            row.createCell(0).setCellValue(categoryName(categoryNames, b.getCategoryId()));
             createNumericCell(row, 1, b.getAmount().doubleValue(), currencyStyle);
             createNumericCell(row, 2, b.getSpent().doubleValue(), currencyStyle);
             createNumericCell(row, 3, b.getAmount().subtract(b.getSpent()).doubleValue(), currencyStyle);
@@ -266,10 +350,10 @@ public class ExcelReportGenerator {
         cell.setCellStyle(style);
     }
 
-    private String getCategoryName(Long categoryId) {
+    private String categoryName(Map<Long, String> categoryNames, Long categoryId) {
         if (categoryId == null)
             return "Uncategorized";
-        return categoryRepository.findById(categoryId).map(c -> c.getName()).orElse("Uncategorized");
+        return categoryNames.getOrDefault(categoryId, "Uncategorized");
     }
 }
 
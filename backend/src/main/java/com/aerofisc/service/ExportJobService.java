@@ -0,0 +1,398 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.config.ExportJobProperties;
+import com.aerofisc.dto.ExportJobDto;
+import com.aerofisc.dto.ExportJobRequest;
+import com.aerofisc.exception.ExportLimitExceededException;
+import com.aerofisc.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Background export jobs. A submission returns a job id straight away; a
+ * bounded worker pool renders the document to a file under the export
+ * directory and the client polls the status and then downloads the file.
+ *
+ * - Identical requests (same user, type, format and parameters) that are
+ *   still queued or running share one job.
+ * - Each user may have max-active-per-user jobs outstanding, and the pool
+ *   queue is bounded; both limits surface as 429.
+ * - Finished artifacts, and failed jobs, are dropped after the configured
+ *   TTL by {@link #purgeExpired()}.
+ *
+ * The registry is in memory, so a job is only visible on the instance that
+ * accepted it; behind a load balancer the export endpoints need sticky
+ * sessions.
+ */
+@Slf4j
+@Service
+public class ExportJobService {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /**
+     * A finished export ready to be streamed to the client
+     */
+    public record Artifact(Path path, String filename, String contentType) {
+    }
+
+    private static final Set<String> TYPES = Set.of("dashboard", "analytics", "transactions", "budgets", "goals",
+            "all-data");
+    private static final Set<String> CSV_TYPES = Set.of("transactions", "all-data");
+
+    private static final String XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private final ExportService exportService;
+    private final ExportJobProperties properties;
+    private final Path directory;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Queued or running jobs by dedup key; guarded by {@code this}
+     */
+    private final Map<String, Job> outstanding = new HashMap<>();
+
+    public ExportJobService(ExportService exportService, ExportJobProperties properties) throws IOException {
+        this.exportService = exportService;
+        this.properties = properties;
+        this.directory = properties.getDirectory() != null && !properties.getDirectory().isBlank()
+                ? Path.of(properties.getDirectory())
+                : Path.of(System.getProperty("java.io.tmpdir"), "aerofisc-exports");
+        Files.createDirectories(directory);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "export-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queue an export, or return the outstanding job for an identical request
+     */
+    public ExportJobDto submit(Long userId, ExportJobRequest request) {
+        String type = normalise(request.getType());
+        String format = normalise(request.getFormat());
+        if ("xlsx".equals(format)) {
+            format = "excel";
+        }
+        validate(type, format);
+
+        String timeRange = "analytics".equals(type)
+                ? (request.getTimeRange() != null ? request.getTimeRange() : "3M")
+                : null;
+        LocalDate startDate = "transactions".equals(type) ? request.getStartDate() : null;
+        LocalDate endDate = "transactions".equals(type) ? request.getEndDate() : null;
+        String dedupKey = String.join("|", String.valueOf(userId), type, format, String.valueOf(timeRange),
+                String.valueOf(startDate), String.valueOf(endDate));
+
+        synchronized (this) {
+            Job existing = outstanding.get(dedupKey);
+            if (existing != null) {
+                return toDto(existing);
+            }
+
+            long active = outstanding.values().stream().filter(j -> j.userId.equals(userId)).count();
+            if (active >= properties.getMaxActivePerUser()) {
+                throw new ExportLimitExceededException(
+                        "You already have " + active + " exports in progress. Please wait for them to finish.");
+            }
+
+            Job job = new Job(UUID.randomUUID().toString(), userId, type, format, timeRange, startDate, endDate,
+                    dedupKey);
+            jobs.put(job.id, job);
+            outstanding.put(dedupKey, job);
+            try {
+                executor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                jobs.remove(job.id);
+                outstanding.remove(dedupKey);
+                throw new ExportLimitExceededException("The export queue is full. Please try again shortly.");
+            }
+
+            log.info("Queued {} {} export {} for user {}", type, format, job.id, userId);
+            return toDto(job);
+        }
+    }
+
+    public ExportJobDto getJob(Long userId, String jobId) {
+        return toDto(findJob(userId, jobId));
+    }
+
+    public List<ExportJobDto> getJobs(Long userId) {
+        return jobs.values().stream()
+                .filter(j -> j.userId.equals(userId))
+                .sorted(Comparator.comparing((Job j) -> j.createdAt).reversed())
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * The rendered file of a completed job
+     */
+    public Artifact getArtifact(Long userId, String jobId) {
+        Job job = findJob(userId, jobId);
+        if (job.status != Status.COMPLETED) {
+            throw new IllegalStateException("Export is not ready yet (status " + job.status + ")");
+        }
+        if (!Files.exists(job.file)) {
+            throw new ResourceNotFoundException("Export file has expired");
+        }
+        return new Artifact(job.file, job.filename(), job.contentType());
+    }
+
+    /**
+     * Drop finished jobs older than the TTL together with their files, plus
+     * any leftover files from a previous run
+     */
+    public int purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getTtl());
+        int purged = 0;
+
+        for (Job job : jobs.values()) {
+            LocalDateTime completedAt = job.completedAt;
+            if (completedAt != null && completedAt.isBefore(cutoff) && jobs.remove(job.id, job)) {
+                deleteQuietly(job.file);
+                purged++;
+            }
+        }
+
+        long cutoffMillis = cutoff.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                boolean tracked = jobs.values().stream().anyMatch(j -> file.equals(j.file));
+                if (!tracked && Files.getLastModifiedTime(file).toMillis() < cutoffMillis) {
+                    deleteQuietly(file);
+                    purged++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not sweep export directory {}: {}", directory, e.getMessage());
+        }
+        return purged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        jobs.values().forEach(job -> deleteQuietly(job.file));
+    }
+
+    private void run(Job job) {
+        job.progress = 10;
+        job.status = Status.RUNNING;
+        try {
+            render(job);
+            job.sizeBytes = Files.size(job.file);
+            job.progress = 100;
+            job.completedAt = LocalDateTime.now();
+            job.status = Status.COMPLETED;
+            log.info("Export {} for user {} completed ({} bytes)", job.id, job.userId, job.sizeBytes);
+        } catch (Exception e) {
+            log.error("Export {} for user {} failed", job.id, job.userId, e);
+            deleteQuietly(job.file);
+            job.error = "Export failed. Please try again.";
+            job.completedAt = LocalDateTime.now();
+            job.status = Status.FAILED;
+        } finally {
+            synchronized (this) {
+                outstanding.remove(job.dedupKey, job);
+            }
+        }
+    }
+
+    private void render(Job job) throws IOException {
+        if ("csv".equals(job.format)) {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(job.file))) {
+                if ("transactions".equals(job.type)) {
+                    exportService.writeTransactionsCsv(job.userId, job.startDate, job.endDate, out);
+                } else {
+                    exportService.writeAllDataCsv(job.userId, out);
+                }
+            }
+            return;
+        }
+        if ("pdf".equals(job.format) && "transactions".equals(job.type)) {
+            // Pages are flushed to the file as the ledger cursor advances
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(job.file))) {
+                exportService.writeTransactionsPDF(job.userId, job.startDate, job.endDate, out);
+            }
+            return;
+        }
+
+        byte[] data = renderDocument(job, "pdf".equals(job.format));
+        job.progress = 80;
+        Files.write(job.file, data);
+    }
+
+    private byte[] renderDocument(Job job, boolean pdf) throws IOException {
+        Long userId = job.userId;
+        return switch (job.type) {
+            case "dashboard" -> pdf ? exportService.exportDashboardPDF(userId)
+                    : exportService.exportDashboardExcel(userId);
+            case "analytics" -> pdf ? exportService.exportAnalyticsPDF(userId, job.timeRange)
+                    : exportService.exportAnalyticsExcel(userId, job.timeRange);
+            case "transactions" -> exportService.exportTransactionsExcel(userId, job.startDate, job.endDate);
+            case "budgets" -> pdf ? exportService.exportBudgetsPDF(userId) : exportService.exportBudgetsExcel(userId);
+            case "goals" -> pdf ? exportService.exportGoalsPDF(userId) : exportService.exportGoalsExcel(userId);
+            case "all-data" -> pdf ? exportService.exportAllDataPDF(userId)
+                    : exportService.exportAllDataExcel(userId);
+            default -> throw new IllegalStateException("Unhandled export type " + job.type);
+        };
+    }
+
+    private Job findJob(Long userId, String jobId) {
+        Job job = jobId != null ? jobs.get(jobId) : null;
+        if (job == null || !job.userId.equals(userId)) {
+            throw new ResourceNotFoundException("Export job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private void validate(String type, String format) {
+        if (!TYPES.contains(type)) {
+            throw new IllegalArgumentException("Unsupported export type: " + type);
+        }
+        if ("csv".equals(format)) {
+            if (!CSV_TYPES.contains(type)) {
+                throw new IllegalArgumentException("CSV is only available for transactions and all-data exports");
+            }
+        } else if (!"pdf".equals(format) && !"excel".equals(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+
+    private String normalise(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private ExportJobDto toDto(Job job) {
+        Status status = job.status;
+        LocalDateTime completedAt = job.completedAt;
+        return ExportJobDto.builder()
+                .id(job.id)
+                .type(job.type)
+                .format(job.format)
+                .status(status.name())
+                .progress(job.progress)
+                .filename(job.filename())
+                .sizeBytes(status == Status.COMPLETED ? job.sizeBytes : null)
+                .error(job.error)
+                .downloadUrl(status == Status.COMPLETED ? "/api/export/jobs/" + job.id + "/download" : null)
+                .createdAt(job.createdAt)
+                .completedAt(completedAt)
+                .expiresAt(completedAt != null ? completedAt.plus(properties.getTtl()) : null)
+                .build();
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Mutable job state; written by its worker thread, read by status polls
+     */
+    private final class Job {
+
+        private final String id;
+        private final Long userId;
+        private final String type;
+        private final String format;
+        private final String timeRange;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final String dedupKey;
+        private final Path file;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        private volatile Status status = Status.QUEUED;
+        private volatile int progress = 0;
+        private volatile long sizeBytes;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+
+        private Job(String id, Long userId, String type, String format, String timeRange, LocalDate startDate,
+                LocalDate endDate, String dedupKey) {
+            this.id = id;
+            this.userId = Objects.requireNonNull(userId);
+            this.type = type;
+            this.format = format;
+            this.timeRange = timeRange;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.dedupKey = dedupKey;
+            this.file = directory.resolve(id + "." + extension());
+        }
+
+        private String extension() {
+            return switch (format) {
+                case "pdf" -> "pdf";
+                case "csv" -> "csv";
+                default -> "xlsx";
+            };
+        }
+
+        private String filename() {
+            String base = switch (type) {
+                case "analytics" -> "analytics_" + timeRange;
+                case "goals" -> "savings-goals";
+                case "all-data" -> "Aerofisc-data";
+                default -> type;
+            };
+            return base + "." + extension();
+        }
+
+        private String contentType() {
+            return switch (format) {
+                case "pdf" -> "application/pdf";
+                case "csv" -> "text/csv";
+                default -> XLSX;
+            };
+        }
+    }
+}
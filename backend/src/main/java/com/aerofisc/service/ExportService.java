@@ -12,11 +12,19 @@ import com.aerofisc.entity.Transaction;
 import com.aerofisc.repository.BudgetRepository;
 import com.aerofisc.repository.SavingsGoalRepository;
 import com.aerofisc.repository.TransactionRepository;
+import com.aerofisc.util.CsvWriter;
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 public class ExportService {
@@ -27,33 +35,21 @@ public class ExportService {
     private final PdfReportGenerator pdfReportGenerator;
     private final ExcelReportGenerator excelReportGenerator;
     private final PredictionService predictionService;
-    private final com.fasterxml.jackson.databind.ObjectMapper objectMapper;
+    private final CategoryNameResolver categoryNameResolver;
+    private final EntityManager entityManager;
 
     public ExportService(TransactionRepository transactionRepository, BudgetRepository budgetRepository,
             SavingsGoalRepository savingsGoalRepository, PdfReportGenerator pdfReportGenerator,
             ExcelReportGenerator excelReportGenerator, PredictionService predictionService,
-            com.fasterxml.jackson.databind.ObjectMapper objectMapper) {
+            CategoryNameResolver categoryNameResolver, EntityManager entityManager) {
         this.transactionRepository = transactionRepository;
         this.budgetRepository = budgetRepository;
         this.savingsGoalRepository = savingsGoalRepository;
         this.pdfReportGenerator = pdfReportGenerator;
         this.excelReportGenerator = excelReportGenerator;
         this.predictionService = predictionService;
-        this.objectMapper = objectMapper;
-    }
-
-    // ========== JSON EXPORTS (GDPR) ==========
-
-    public byte[] exportAllDataJSON(Long userId) throws IOException {
-        java.util.Map<String, Object> allData = new java.util.HashMap<>();
-
-        allData.put("transactions", transactionRepository.findByUserIdOrderByCreatedAtDesc(userId));
-        allData.put("budgets", budgetRepository.findByUserId(userId));
-        allData.put("savingsGoals", savingsGoalRepository.findByUserId(userId));
-        allData.put("exportDate", java.time.LocalDateTime.now().toString());
-        allData.put("userId", userId);
-
-        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(allData);
+        this.categoryNameResolver = categoryNameResolver;
+        this.entityManager = entityManager;
     }
 
     // ========== PDF EXPORTS ==========
@@ -110,6 +106,49 @@ public class ExportService {
         return excelReportGenerator.generateGoalsExcel(userId, goals);
     }
 
+    // ========== PDF EXPORTS (streamed) ==========
+
+    public void writeDashboardPDF(Long userId, OutputStream out) {
+        List<Transaction> transactions = transactionRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        List<Budget> budgets = budgetRepository.findByUserId(userId);
+        List<SavingsGoal> goals = savingsGoalRepository.findByUserId(userId);
+
+        pdfReportGenerator.writeDashboardPdf(userId, transactions, budgets, goals, out);
+    }
+
+    public void writeAnalyticsPDF(Long userId, String timeRange, OutputStream out) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = calculateStartDate(timeRange, endDate);
+        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(userId, startDate,
+                endDate);
+        List<com.aerofisc.dto.PredictionDto> predictions = predictionService.predictNextMonthExpenses(userId);
+
+        pdfReportGenerator.writeAnalyticsPdf(userId, transactions, timeRange, predictions, out);
+    }
+
+    /**
+     * Transactions PDF fed from the same database cursor as the CSV export:
+     * each row is detached as it is handed to the table, and finished pages
+     * go straight to the response
+     */
+    @Transactional(readOnly = true)
+    public void writeTransactionsPDF(Long userId, LocalDate startDate, LocalDate endDate, OutputStream out) {
+        String dateRange = startDate != null && endDate != null
+                ? startDate + " to " + endDate
+                : "All Time";
+
+        try (Stream<Transaction> rows = startDate != null && endDate != null
+                ? transactionRepository.streamByUserIdAndDateRange(userId, startDate, endDate)
+                : transactionRepository.streamByUserId(userId)) {
+            Iterator<Transaction> it = rows.peek(entityManager::detach).iterator();
+            pdfReportGenerator.writeTransactionsPdf(userId, it, dateRange, out);
+        }
+    }
+
+    public void writeGoalsPDF(Long userId, OutputStream out) {
+        pdfReportGenerator.writeGoalsPdf(userId, savingsGoalRepository.findByUserId(userId), out);
+    }
+
     // ========== EXCEL EXPORTS ==========
 
     public byte[] exportDashboardExcel(Long userId) throws IOException {
@@ -151,15 +190,73 @@ public class ExportService {
         return exportDashboardPDF(userId);
     }
 
-    // ========== CSV EXPORTS (Legacy/Simple) ==========
+    // ========== CSV EXPORTS (streamed) ==========
+
+    /**
+     * Write the ledger (optionally date-bounded) as CSV straight to the
+     * response. Rows come from a database cursor and are detached once
+     * written, so memory use does not depend on the size of the ledger. The
+     * columns match what POST /api/transactions/import accepts.
+     */
+    @Transactional(readOnly = true)
+    public void writeTransactionsCsv(Long userId, LocalDate startDate, LocalDate endDate, OutputStream out)
+            throws IOException {
+        CsvWriter csv = CsvWriter.utf8(out);
+        writeTransactionRows(csv, userId, startDate, endDate);
+        csv.flush();
+    }
 
-    public byte[] exportTransactionsCSV(Long userId, LocalDate startDate, LocalDate endDate) {
-        // Keep existing simple CSV logic or refactor later
-        return new byte[0]; // Placeholder for brevity in this refactor
+    /**
+     * Full ledger followed by budgets and savings goals, each as its own
+     * titled table separated by a blank line
+     */
+    @Transactional(readOnly = true)
+    public void writeAllDataCsv(Long userId, OutputStream out) throws IOException {
+        CsvWriter csv = CsvWriter.utf8(out);
+
+        csv.writeRecord("Transactions");
+        writeTransactionRows(csv, userId, null, null);
+
+        List<Budget> budgets = budgetRepository.findByUserId(userId);
+        Map<Long, String> categoryNames = categoryNameResolver.resolve(userId, budgets, Budget::getCategoryId);
+        csv.writeBlankLine();
+        csv.writeRecord("Budgets");
+        csv.writeRecord("Category", "Period", "Start Date", "End Date", "Limit", "Spent", "Alert Threshold");
+        for (Budget budget : budgets) {
+            csv.writeRecord(categoryNames.getOrDefault(budget.getCategoryId(), "Uncategorized"),
+                    budget.getPeriod(), budget.getStartDate(), budget.getEndDate(), budget.getAmount(),
+                    budget.getSpent(), budget.getAlertThreshold());
+        }
+
+        csv.writeBlankLine();
+        csv.writeRecord("Savings Goals");
+        csv.writeRecord("Name", "Target Amount", "Current Amount", "Deadline", "Status");
+        for (SavingsGoal goal : savingsGoalRepository.findByUserId(userId)) {
+            csv.writeRecord(goal.getName(), goal.getTargetAmount(), goal.getCurrentAmount(), goal.getDeadline(),
+                    goal.getStatus());
+        }
+
+        csv.flush();
     }
 
-    public byte[] exportAllDataCSV(Long userId) {
-        return new byte[0]; // Placeholder
+    private void writeTransactionRows(CsvWriter csv, Long userId, LocalDate startDate, LocalDate endDate)
+            throws IOException {
+        Map<Long, String> categoryNames = new HashMap<>(categoryNameResolver.dictionary(userId));
+        csv.writeRecord("Date", "Type", "Amount", "Category", "Description");
+
+        try (Stream<Transaction> rows = startDate != null && endDate != null
+                ? transactionRepository.streamByUserIdAndDateRange(userId, startDate, endDate)
+                : transactionRepository.streamByUserId(userId)) {
+            Iterator<Transaction> it = rows.iterator();
+            while (it.hasNext()) {
+                Transaction t = it.next();
+                String category = t.getCategoryId() == null ? null
+                        : categoryNames.computeIfAbsent(t.getCategoryId(),
+                                id -> categoryNameResolver.nameOf(userId, id));
+                csv.writeRecord(t.getTransactionDate(), t.getType(), t.getAmount(), category, t.getDescription());
+                entityManager.detach(t);
+            }
+        }
     }
 
     // ========== HELPERS ==========
@@ -0,0 +1,230 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.entity.Category;
+import com.aerofisc.entity.User;
+import com.aerofisc.entity.UserProfile;
+import com.aerofisc.exception.ResourceNotFoundException;
+import com.aerofisc.repository.BankAccountRepository;
+import com.aerofisc.repository.BillRepository;
+import com.aerofisc.repository.BudgetRepository;
+import com.aerofisc.repository.CategoryRepository;
+import com.aerofisc.repository.CommentRepository;
+import com.aerofisc.repository.DebtRepository;
+import com.aerofisc.repository.InvestmentRepository;
+import com.aerofisc.repository.LikeRepository;
+import com.aerofisc.repository.NotificationRepository;
+import com.aerofisc.repository.PostRepository;
+import com.aerofisc.repository.RecurringTransactionRepository;
+import com.aerofisc.repository.RetirementAccountRepository;
+import com.aerofisc.repository.SavingsGoalRepository;
+import com.aerofisc.repository.TransactionRepository;
+import com.aerofisc.repository.UserProfileRepository;
+import com.aerofisc.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the GDPR / backup export of everything a user owns as one JSON
+ * document, section by section, straight to an output stream.
+ *
+ * The document is produced with a {@link JsonGenerator} rather than by
+ * building a map of entity lists and serialising it in one go: the
+ * unbounded tables (transactions, notifications, forum activity) are read
+ * through database cursors and every entity is detached once written, so
+ * heap use stays flat however large the account is. The remaining sections
+ * are small per-user lists.
+ */
+@Service
+public class GdprExportService {
+
+    private final UserRepository userRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionRepository transactionRepository;
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final SavingsGoalRepository savingsGoalRepository;
+    private final BillRepository billRepository;
+    private final DebtRepository debtRepository;
+    private final InvestmentRepository investmentRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final RetirementAccountRepository retirementAccountRepository;
+    private final NotificationRepository notificationRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final LikeRepository likeRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public GdprExportService(UserRepository userRepository, UserProfileRepository userProfileRepository,
+            CategoryRepository categoryRepository, TransactionRepository transactionRepository,
+            RecurringTransactionRepository recurringTransactionRepository, BudgetRepository budgetRepository,
+            SavingsGoalRepository savingsGoalRepository, BillRepository billRepository,
+            DebtRepository debtRepository, InvestmentRepository investmentRepository,
+            BankAccountRepository bankAccountRepository, RetirementAccountRepository retirementAccountRepository,
+            NotificationRepository notificationRepository, PostRepository postRepository,
+            CommentRepository commentRepository, LikeRepository likeRepository, ObjectMapper objectMapper,
+            EntityManager entityManager) {
+        this.userRepository = userRepository;
+        this.userProfileRepository = userProfileRepository;
+        this.categoryRepository = categoryRepository;
+        this.transactionRepository = transactionRepository;
+        this.recurringTransactionRepository = recurringTransactionRepository;
+        this.budgetRepository = budgetRepository;
+        this.savingsGoalRepository = savingsGoalRepository;
+        this.billRepository = billRepository;
+        this.debtRepository = debtRepository;
+        this.investmentRepository = investmentRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.retirementAccountRepository = retirementAccountRepository;
+        this.notificationRepository = notificationRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.likeRepository = likeRepository;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Write the full export to {@code out}, gzip-compressed on the fly when
+     * requested. The stream is flushed but left open for the caller.
+     */
+    @Transactional(readOnly = true)
+    public void writeExport(Long userId, OutputStream out, boolean gzip) throws IOException {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, 8192) : null;
+        ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        JsonGenerator gen = objectMapper.getFactory()
+                .createGenerator(compressed != null ? compressed : out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .useDefaultPrettyPrinter();
+
+        gen.writeStartObject();
+        gen.writeStringField("exportDate", LocalDateTime.now().toString());
+        gen.writeNumberField("userId", userId);
+
+        gen.writeFieldName("account");
+        rowWriter.writeValue(gen, account(user));
+        gen.writeFieldName("profile");
+        rowWriter.writeValue(gen, userProfileRepository.findByUserId(userId).map(this::profile).orElse(null));
+
+        gen.writeArrayFieldStart("categories");
+        for (Category category : categoryRepository.findByUserId(userId)) {
+            rowWriter.writeValue(gen, category(category));
+            entityManager.detach(category);
+        }
+        gen.writeEndArray();
+
+        writeArray(gen, rowWriter, "transactions", transactionRepository.streamByUserId(userId));
+        writeArray(gen, rowWriter, "recurringTransactions",
+                recurringTransactionRepository.findByUserIdOrderByNextOccurrenceAsc(userId).stream());
+        writeArray(gen, rowWriter, "budgets", budgetRepository.findByUserId(userId).stream());
+        writeArray(gen, rowWriter, "savingsGoals", savingsGoalRepository.findByUserId(userId).stream());
+        writeArray(gen, rowWriter, "bills", billRepository.findByUserIdOrderByNextDueDateAsc(userId).stream());
+        writeArray(gen, rowWriter, "debts", debtRepository.findByUserIdOrderByInterestRateDesc(userId).stream());
+        writeArray(gen, rowWriter, "investments",
+                investmentRepository.findByUserIdOrderByPurchaseDateDesc(userId).stream());
+        writeArray(gen, rowWriter, "bankAccounts", bankAccountRepository.findByUserId(userId).stream());
+        writeArray(gen, rowWriter, "retirementAccounts", retirementAccountRepository.findByUserId(userId).stream());
+        writeArray(gen, rowWriter, "notifications", notificationRepository.streamByUserId(userId));
+        writeArray(gen, rowWriter, "forumPosts", postRepository.streamByUserId(userId));
+        writeArray(gen, rowWriter, "forumComments", commentRepository.streamByUserId(userId));
+        writeArray(gen, rowWriter, "forumLikes", likeRepository.streamByUserId(userId));
+
+        gen.writeEndObject();
+        gen.close();
+
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+    }
+
+    /**
+     * One top-level array, written row by row; each entity is detached as
+     * soon as it has been serialised
+     */
+    private void writeArray(JsonGenerator gen, ObjectWriter rowWriter, String name, Stream<?> rows)
+            throws IOException {
+        gen.writeArrayFieldStart(name);
+        try (rows) {
+            Iterator<?> it = rows.iterator();
+            while (it.hasNext()) {
+                Object row = it.next();
+                rowWriter.writeValue(gen, row);
+                entityManager.detach(row);
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    // The account, profile and category entities hold references (password
+    // hash, MFA secret, the owning User) that must not be serialised as is.
+
+    private Map<String, Object> account(User user) {
+        Map<String, Object> account = new LinkedHashMap<>();
+        account.put("id", user.getId());
+        account.put("username", user.getUsername());
+        account.put("email", user.getEmail());
+        account.put("role", user.getRole());
+        account.put("isActive", user.getIsActive());
+        account.put("isMfaEnabled", user.getIsMfaEnabled());
+        account.put("createdAt", user.getCreatedAt());
+        account.put("updatedAt", user.getUpdatedAt());
+        return account;
+    }
+
+    private Map<String, Object> profile(UserProfile profile) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("firstName", profile.getFirstName());
+        fields.put("lastName", profile.getLastName());
+        fields.put("monthlyIncome", profile.getMonthlyIncome());
+        fields.put("savingsTarget", profile.getSavingsTarget());
+        fields.put("currency", profile.getCurrency());
+        fields.put("timezone", profile.getTimezone());
+        fields.put("language", profile.getLanguage());
+        fields.put("theme", profile.getTheme());
+        fields.put("dateFormat", profile.getDateFormat());
+        fields.put("notificationEmail", profile.getNotificationEmail());
+        fields.put("notificationPush", profile.getNotificationPush());
+        fields.put("avatar", profile.getAvatar());
+        fields.put("createdAt", profile.getCreatedAt());
+        fields.put("updatedAt", profile.getUpdatedAt());
+        return fields;
+    }
+
+    private Map<String, Object> category(Category category) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("id", category.getId());
+        fields.put("name", category.getName());
+        fields.put("type", category.getType());
+        fields.put("icon", category.getIcon());
+        fields.put("color", category.getColor());
+        fields.put("createdAt", category.getCreatedAt());
+        return fields;
+    }
+}
@@ -21,9 +21,12 @@ public class GeminiService {
     @Value("${gemini.api.key}")
     private String apiKey;
 
+    @Value("${gemini.api.url}")
+    private String apiUrl;
+
     private final OkHttpClient client;
     private final ObjectMapper objectMapper;
-    private static final String API_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash:generateContent";
+    private static final String MODEL_PATH = "/models/gemini-1.5-flash:generateContent";
 
     public GeminiService(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -48,7 +51,7 @@ public class GeminiService {
             RequestBody body = RequestBody.create(jsonBody, MediaType.parse("application/json"));
 
             Request request = new Request.Builder()
-                    .url(API_URL + "?key=" + apiKey)
+                    .url(apiUrl + MODEL_PATH + "?key=" + apiKey)
                     .post(body)
                     .build();
 
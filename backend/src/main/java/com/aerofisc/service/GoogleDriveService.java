@@ -13,7 +13,6 @@ import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
 import com.google.api.client.googleapis.auth.oauth2.GoogleTokenResponse;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
 import com.google.api.client.http.FileContent;
-import com.google.api.client.http.InputStreamContent;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.gson.GsonFactory;
@@ -25,8 +24,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.security.GeneralSecurityException;
 import java.util.Collections;
 import java.util.List;
@@ -83,7 +82,7 @@ public class GoogleDriveService {
         getFlow().createAndStoreCredential(response, userId);
     }
 
-    public String uploadBackup(byte[] data, String filename, String userId) throws IOException {
+    public String uploadBackup(Path data, String filename, String userId) throws IOException {
         Credential credential = getFlow().loadCredential(userId);
         if (credential == null) {
             throw new IOException("User not authenticated with Google Drive");
@@ -101,7 +100,7 @@ public class GoogleDriveService {
         File fileMetadata = new File();
         fileMetadata.setName(filename);
 
-        InputStreamContent mediaContent = new InputStreamContent("application/json", new ByteArrayInputStream(data));
+        FileContent mediaContent = new FileContent("application/json", data.toFile());
 
         File file = service.files().create(fileMetadata, mediaContent)
                 .setFields("id, webViewLink")
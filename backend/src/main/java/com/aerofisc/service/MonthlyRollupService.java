@@ -0,0 +1,200 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.dto.MonthlyTotalDto;
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.entity.UserMonthRollup;
+import com.aerofisc.repository.SavepointInsert;
+import com.aerofisc.repository.TransactionRepository;
+import com.aerofisc.repository.UserMonthRollupRepository;
+import com.aerofisc.repository.UserRepository;
+import com.aerofisc.util.MoneyAccumulator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the user_month_rollup table. Every service that writes to the
+ * ledger calls into here inside its own transaction, so the rollups commit or
+ * roll back together with the transaction rows they summarise.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyRollupService {
+
+    private static final String INSERT_BUCKET_SQL = "INSERT INTO user_month_rollup "
+            + "(user_id, period_month, transaction_type, category_id, total_amount, transaction_count, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * One rollup row's identity within a user's ledger
+     */
+    public record Bucket(YearMonth month, Transaction.TransactionType type, Long categoryId) {
+
+        public static Bucket of(Transaction transaction) {
+            return new Bucket(YearMonth.from(transaction.getTransactionDate()), transaction.getType(),
+                    transaction.getCategoryId());
+        }
+    }
+
+    private final UserMonthRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final SavepointInsert savepointInsert;
+    private final CategoryRegressionService categoryRegressionService;
+
+    /**
+     * Add a newly persisted transaction to its month bucket
+     */
+    @Transactional
+    public void recordTransaction(Transaction transaction) {
+        applyDelta(transaction.getUserId(), transaction.getTransactionDate(), transaction.getType(),
+                transaction.getCategoryId(), transaction.getAmount(), 1);
+    }
+
+    /**
+     * Remove a transaction (as it looked before an update or delete) from its
+     * month bucket
+     */
+    @Transactional
+    public void reverseTransaction(Long userId, LocalDate transactionDate, Transaction.TransactionType type,
+            Long categoryId, BigDecimal amount) {
+        if (amount == null) {
+            return;
+        }
+        applyDelta(userId, transactionDate, type, categoryId, amount.negate(), -1);
+    }
+
+    /**
+     * Apply totals that a bulk write has already aggregated per bucket, so an
+     * import of N rows costs one statement per month/type/category rather
+     * than one per row
+     */
+    @Transactional
+    public void recordBuckets(Long userId, Map<Bucket, MoneyAccumulator> totals) {
+        totals.forEach((bucket, total) -> applyDelta(userId, bucket.month().atDay(1), bucket.type(),
+                bucket.categoryId(), total.getSum(), total.getCount()));
+    }
+
+    @Transactional
+    public void reverseTransaction(Transaction transaction) {
+        reverseTransaction(transaction.getUserId(), transaction.getTransactionDate(), transaction.getType(),
+                transaction.getCategoryId(), transaction.getAmount());
+    }
+
+    /**
+     * Rollup rows for a user between two months (inclusive). Users whose ledger
+     * predates the rollup table are backfilled on first access.
+     */
+    @Transactional
+    public List<UserMonthRollup> getRollups(Long userId, YearMonth from, YearMonth to) {
+        ensureRollups(userId);
+        return rollupRepository.findByUserIdAndPeriodMonthBetween(userId, from.toString(), to.toString());
+    }
+
+    /**
+     * Income/expense totals per month between two months (inclusive), summed
+     * across categories by the database
+     */
+    @Transactional
+    public List<MonthlyTotalDto> getMonthlyTotals(Long userId, YearMonth from, YearMonth to) {
+        ensureRollups(userId);
+        return rollupRepository.sumByMonthAndType(userId, from.toString(), to.toString());
+    }
+
+    /**
+     * All rollup rows for a user, backfilling them if necessary
+     */
+    @Transactional
+    public List<UserMonthRollup> getAllRollups(Long userId) {
+        ensureRollups(userId);
+        return rollupRepository.findByUserId(userId);
+    }
+
+    /**
+     * Regenerate a user's rollups from the raw ledger, discarding any drift.
+     * Holds the user row's lock so two rebuilds of one user cannot both
+     * insert the same buckets.
+     */
+    @Transactional
+    public int rebuildForUser(Long userId) {
+        userRepository.lockById(userId);
+        rollupRepository.deleteByUserId(userId);
+
+        List<UserMonthRollup> rollups = new ArrayList<>();
+        for (Object[] row : transactionRepository.aggregateMonthlyByUserId(userId)) {
+            YearMonth month = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            rollups.add(UserMonthRollup.builder()
+                    .userId(userId)
+                    .periodMonth(month.toString())
+                    .type((Transaction.TransactionType) row[2])
+                    .categoryId((Long) row[3])
+                    .totalAmount(row[4] != null ? (BigDecimal) row[4] : BigDecimal.ZERO)
+                    .transactionCount(((Number) row[5]).longValue())
+                    .build());
+        }
+
+        rollupRepository.saveAll(rollups);
+        log.debug("Rebuilt {} rollup rows for user {}", rollups.size(), userId);
+        return rollups.size();
+    }
+
+    @Transactional
+    public void deleteForUser(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+    }
+
+    private void ensureRollups(Long userId) {
+        if (rollupRepository.existsByUserId(userId) || !transactionRepository.existsByUserId(userId)) {
+            return;
+        }
+        // The dashboard's first load asks for several parts at once; only the
+        // first to take the lock backfills, the others find its rows
+        userRepository.lockById(userId);
+        if (!rollupRepository.existsByUserId(userId)) {
+            log.info("No rollups found for user {}, rebuilding from ledger", userId);
+            rebuildForUser(userId);
+        }
+    }
+
+    private void applyDelta(Long userId, LocalDate transactionDate, Transaction.TransactionType type,
+            Long categoryId, BigDecimal amount, long count) {
+        if (userId == null || transactionDate == null || type == null || amount == null) {
+            return;
+        }
+
+        String periodMonth = YearMonth.from(transactionDate).toString();
+        int updated = rollupRepository.applyDelta(userId, periodMonth, type, categoryId, amount, count);
+
+        // A user with no rollups yet is backfilled from the ledger on the next
+        // read, which will already include this write. Two first writes to a
+        // bucket race on uk_rollup_bucket; the loser adds to the winner's row.
+        if (updated == 0 && rollupRepository.existsByUserId(userId)
+                && !savepointInsert.insertIfAbsent(INSERT_BUCKET_SQL, userId, periodMonth, type.name(), categoryId,
+                        amount, count, LocalDateTime.now())) {
+            rollupRepository.applyDelta(userId, periodMonth, type, categoryId, amount, count);
+        }
+
+        if (type == Transaction.TransactionType.EXPENSE) {
+            categoryRegressionService.recordExpense(userId, categoryId, YearMonth.from(transactionDate), amount,
+                    count);
+        }
+    }
+}
+
+
@@ -0,0 +1,191 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.entity.OutboxEvent;
+import com.aerofisc.event.TransactionEvent;
+import com.aerofisc.event.TransactionEventHandler;
+import com.aerofisc.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers outbox events to every {@link TransactionEventHandler}, in @Order,
+ * on a single background thread.
+ *
+ * - Woken after each committing ledger write, and polled by
+ *   OutboxDispatchScheduler as a backstop for events left behind by a crash.
+ * - Ready events are drained oldest first in batches of batch-size. Each
+ *   event is locked with SKIP LOCKED, handled and deleted in its own
+ *   transaction, so several nodes can drain the same table and a failing
+ *   event never holds up the rest.
+ * - A failed delivery rolls back its handlers' changes and is retried after
+ *   an exponential backoff (capped at max-backoff); after max-attempts it is
+ *   marked FAILED and left in the table.
+ */
+@Slf4j
+@Service
+public class OutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<TransactionEventHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration maxBackoff;
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, List<TransactionEventHandler> handlers,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.max-backoff:5m}") Duration maxBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Queue a drain on the dispatcher thread unless one is already waiting
+     * to start
+     */
+    public void signal() {
+        if (!drainQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                drainQueued.set(false);
+                try {
+                    drain();
+                } catch (RuntimeException e) {
+                    log.error("Outbox drain failed: {}", e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            drainQueued.set(false);
+            log.debug("Outbox dispatcher is shut down, leaving events for the next start");
+        }
+    }
+
+    /**
+     * Deliver every event that is due. Returns the number delivered.
+     */
+    public int drain() {
+        int delivered = 0;
+        while (true) {
+            List<Long> ids = outboxEventRepository.findReadyIds(LocalDateTime.now(), PageRequest.of(0, batchSize));
+            int batchDelivered = 0;
+            for (Long id : ids) {
+                if (deliver(id)) {
+                    batchDelivered++;
+                }
+            }
+            delivered += batchDelivered;
+
+            // A short batch means the table is drained; a batch with no
+            // progress is held by another node or waiting on backoff
+            if (ids.size() < batchSize || batchDelivered == 0) {
+                return delivered;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean deliver(Long id) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                Optional<OutboxEvent> locked = outboxEventRepository.lockById(id);
+                if (locked.isEmpty() || locked.get().getStatus() != OutboxEvent.Status.PENDING) {
+                    return false;
+                }
+
+                OutboxEvent event = locked.get();
+                TransactionEvent payload = read(event);
+                for (TransactionEventHandler handler : handlers) {
+                    handler.handle(payload);
+                }
+                outboxEventRepository.delete(event);
+                return true;
+            }));
+        } catch (RuntimeException e) {
+            recordFailure(id, e);
+            return false;
+        }
+    }
+
+    private void recordFailure(Long id, RuntimeException cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findById(id).ifPresent(event -> {
+                int attempts = event.getAttempts() + 1;
+                event.setAttempts(attempts);
+                event.setLastError(truncate(cause.getClass().getSimpleName() + ": " + cause.getMessage()));
+                if (attempts >= maxAttempts) {
+                    event.setStatus(OutboxEvent.Status.FAILED);
+                    log.error("Outbox event {} ({}) failed {} times, giving up", id, event.getEventType(),
+                            attempts, cause);
+                } else {
+                    event.setAvailableAt(LocalDateTime.now().plus(backoff(attempts)));
+                    log.warn("Outbox event {} ({}) failed on attempt {}: {}", id, event.getEventType(), attempts,
+                            cause.getMessage());
+                }
+                outboxEventRepository.save(event);
+            }));
+        } catch (RuntimeException e) {
+            log.error("Failed to record outbox failure for event {}: {}", id, e.getMessage());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private TransactionEvent read(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), TransactionEvent.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable outbox payload for event " + event.getId(), e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.itextpdf.kernel.events.Event;
+import com.itextpdf.kernel.events.IEventHandler;
+import com.itextpdf.kernel.events.PdfDocumentEvent;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.Canvas;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.properties.TextAlignment;
+
+/**
+ * "Page X of N" footer for documents whose pages are flushed as they are
+ * finished. Each page is stamped on END_PAGE with a reference to a shared
+ * form XObject; the total is drawn into that XObject once, just before the
+ * document is closed, so no page has to be kept open until the end.
+ */
+class PageNumberFooter implements IEventHandler {
+
+    private static final float RIGHT_EDGE = 559;
+    private static final float BASELINE = 20;
+    private static final float FONT_SIZE = 12;
+    private static final float TOTAL_WIDTH = 30;
+    private static final float DESCENT = 3;
+
+    private final PdfFont font;
+    private final PdfFormXObject total = new PdfFormXObject(new Rectangle(0, 0, TOTAL_WIDTH, FONT_SIZE + DESCENT));
+
+    PageNumberFooter(PdfFont font) {
+        this.font = font;
+    }
+
+    @Override
+    public void handleEvent(Event event) {
+        PdfDocumentEvent documentEvent = (PdfDocumentEvent) event;
+        PdfDocument pdf = documentEvent.getDocument();
+        PdfPage page = documentEvent.getPage();
+        int pageNumber = pdf.getPageNumber(page);
+
+        PdfCanvas pdfCanvas = new PdfCanvas(page);
+        float labelEdge = RIGHT_EDGE - TOTAL_WIDTH;
+        try (Canvas canvas = new Canvas(pdfCanvas, page.getPageSize())) {
+            canvas.setFont(font).setFontSize(FONT_SIZE);
+            canvas.showTextAligned(new Paragraph("Page " + pageNumber + " of"), labelEdge, BASELINE,
+                    TextAlignment.RIGHT);
+        }
+        pdfCanvas.addXObjectAt(total, labelEdge + 3, BASELINE - DESCENT);
+        pdfCanvas.release();
+    }
+
+    /**
+     * Draw the final page count; call once all content has been added and
+     * before the document is closed
+     */
+    void writeTotal(PdfDocument pdf) {
+        try (Canvas canvas = new Canvas(total, pdf)) {
+            canvas.setFont(font).setFontSize(FONT_SIZE);
+            canvas.showTextAligned(String.valueOf(pdf.getNumberOfPages()), 0, DESCENT, TextAlignment.LEFT);
+        }
+    }
+}
@@ -10,91 +10,105 @@ import com.aerofisc.dto.PredictionDto;
 import com.aerofisc.entity.Budget;
 import com.aerofisc.entity.SavingsGoal;
 import com.aerofisc.entity.Transaction;
-import com.aerofisc.repository.CategoryRepository;
+import com.aerofisc.util.TransactionSummary;
 import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.events.PdfDocumentEvent;
+import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
-import com.itextpdf.layout.borders.Border;
-import com.itextpdf.layout.borders.SolidBorder;
 import com.itextpdf.layout.element.*;
 import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
-import com.itextpdf.layout.properties.VerticalAlignment;
 import org.springframework.stereotype.Service;
 
-import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @Service
 public class PdfReportGenerator {
 
+    private static final int TABLE_FLUSH_ROWS = 100;
+
     private final ChartGeneratorService chartGenerator;
     private final DashboardService dashboardService;
-    private final CategoryRepository categoryRepository;
+    private final CategoryNameResolver categoryNameResolver;
 
     public PdfReportGenerator(ChartGeneratorService chartGenerator, DashboardService dashboardService,
-            CategoryRepository categoryRepository) {
+            CategoryNameResolver categoryNameResolver) {
         this.chartGenerator = chartGenerator;
         this.dashboardService = dashboardService;
-        this.categoryRepository = categoryRepository;
+        this.categoryNameResolver = categoryNameResolver;
     }
 
     public byte[] generateDashboardPdf(Long userId, List<Transaction> transactions, List<Budget> budgets,
             List<SavingsGoal> goals) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeDashboardPdf(userId, transactions, budgets, goals, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    public byte[] generateAnalyticsPdf(Long userId, List<Transaction> transactions, String timeRange,
+            List<PredictionDto> predictions) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeAnalyticsPdf(userId, transactions, timeRange, predictions, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    public byte[] generateTransactionsPdf(Long userId, List<Transaction> transactions, String dateRange) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeTransactionsPdf(userId, transactions.iterator(), dateRange, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    public byte[] generateGoalsPdf(Long userId, List<SavingsGoal> goals) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeGoalsPdf(userId, goals, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    public void writeDashboardPdf(Long userId, List<Transaction> transactions, List<Budget> budgets,
+            List<SavingsGoal> goals, OutputStream out) {
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(outputStream);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf, PageSize.A4, false);
-            document.setMargins(40, 40, 40, 40);
+            // Both charts render in parallel while the text pages are laid out
+            CompletableFuture<byte[]> trendChart = renderTrendChart(userId, 6);
+            CompletableFuture<byte[]> pieChart = renderCategoryChart(userId, 6);
+
+            ReportDocument report = openDocument(out);
+            Document document = report.document();
 
             addCoverPage(document, "Dashboard Report");
             document.add(new AreaBreak());
 
             addSectionHeader(document, "Executive Summary");
-            addSummaryTable(document, transactions);
+            addSummaryTable(document, TransactionSummary.of(transactions));
 
             addSectionHeader(document, "Financial Trends");
-            try {
-                var monthlyTrends = dashboardService.getMonthlyTrends(userId, 6);
-                if (!monthlyTrends.isEmpty()) {
-                    BufferedImage trendChart = chartGenerator.generateTrendChart(monthlyTrends, 800, 400);
-                    addChartImage(document, trendChart);
-                }
-            } catch (Exception e) {
-                System.err.println("Error generating trend chart: " + e.getMessage());
-            }
+            addChartImage(document, trendChart, "trend");
 
             addSectionHeader(document, "Expense Breakdown");
-            try {
-                var categoryBreakdown = dashboardService.getCategoryBreakdown(userId, 6);
-                if (!categoryBreakdown.isEmpty()) {
-                    BufferedImage pieChart = chartGenerator.generateCategoryPieChart(categoryBreakdown, 600, 400);
-                    addChartImage(document, pieChart);
-                }
-            } catch (Exception e) {
-                System.err.println("Error generating category chart: " + e.getMessage());
-            }
+            addChartImage(document, pieChart, "category");
 
             addSectionHeader(document, "Budget Performance");
-            addBudgetsTable(document, budgets);
+            addBudgetsTable(document, userId, budgets);
 
             addSectionHeader(document, "Savings Goals");
             addGoalsTable(document, goals);
 
             addSectionHeader(document, "Recent Transactions (Last 10)");
-            addTransactionsTable(document, transactions.stream().limit(10).toList());
+            addTransactionsTable(document, userId, transactions.stream().limit(10).toList());
 
-            addFooter(document, pdf);
-            document.close();
-            return outputStream.toByteArray();
+            report.close();
         } catch (Exception e) {
             System.err.println("ERROR generating Dashboard PDF: " + e.getMessage());
             e.printStackTrace();
@@ -102,51 +116,32 @@ public class PdfReportGenerator {
         }
     }
 
-    public byte[] generateAnalyticsPdf(Long userId, List<Transaction> transactions, String timeRange,
-            List<PredictionDto> predictions) {
+    public void writeAnalyticsPdf(Long userId, List<Transaction> transactions, String timeRange,
+            List<PredictionDto> predictions, OutputStream out) {
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(outputStream);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf, PageSize.A4, false);
-            document.setMargins(40, 40, 40, 40);
+            int months = parseTimeRangeToMonths(timeRange);
+            CompletableFuture<byte[]> trendChart = renderTrendChart(userId, months);
+            CompletableFuture<byte[]> pieChart = renderCategoryChart(userId, months);
+
+            ReportDocument report = openDocument(out);
+            Document document = report.document();
 
             addCoverPage(document, "Analytics Report (" + timeRange + ")");
             document.add(new AreaBreak());
 
-            int months = parseTimeRangeToMonths(timeRange);
-
             addSectionHeader(document, "Trend Analysis");
-            try {
-                var monthlyTrends = dashboardService.getMonthlyTrends(userId, months);
-                if (!monthlyTrends.isEmpty()) {
-                    BufferedImage trendChart = chartGenerator.generateTrendChart(monthlyTrends, 800, 400);
-                    addChartImage(document, trendChart);
-                }
-            } catch (Exception e) {
-                System.err.println("Error generating trend chart: " + e.getMessage());
-            }
+            addChartImage(document, trendChart, "trend");
 
             addSectionHeader(document, "Category Breakdown");
-            try {
-                var categoryBreakdown = dashboardService.getCategoryBreakdown(userId, months);
-                if (!categoryBreakdown.isEmpty()) {
-                    BufferedImage pieChart = chartGenerator.generateCategoryPieChart(categoryBreakdown, 600, 400);
-                    addChartImage(document, pieChart);
-                }
-            } catch (Exception e) {
-                System.err.println("Error generating category chart: " + e.getMessage());
-            }
+            addChartImage(document, pieChart, "category");
 
             addSectionHeader(document, "AI Expense Predictions (Next Month)");
             addPredictionsTable(document, predictions);
 
             addSectionHeader(document, "Detailed Transactions");
-            addTransactionsTable(document, transactions);
+            addTransactionsTable(document, userId, transactions);
 
-            addFooter(document, pdf);
-            document.close();
-            return outputStream.toByteArray();
+            report.close();
         } catch (Exception e) {
             System.err.println("ERROR generating Analytics PDF: " + e.getMessage());
             e.printStackTrace();
@@ -154,13 +149,16 @@ public class PdfReportGenerator {
         }
     }
 
-    public byte[] generateTransactionsPdf(Long userId, List<Transaction> transactions, String dateRange) {
+    /**
+     * Transactions report written as the rows arrive. Pages are flushed to
+     * the stream as soon as they are laid out, so a caller passing a
+     * database cursor gets constant memory whatever the ledger size.
+     */
+    public void writeTransactionsPdf(Long userId, Iterator<Transaction> transactions, String dateRange,
+            OutputStream out) {
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(outputStream);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf, PageSize.A4, false);
-            document.setMargins(40, 40, 40, 40);
+            ReportDocument report = openDocument(out);
+            Document document = report.document();
 
             addCoverPage(document, "Transactions Report");
             document.add(new Paragraph("Date Range: " + dateRange)
@@ -170,11 +168,12 @@ public class PdfReportGenerator {
             document.add(new AreaBreak());
 
             addSectionHeader(document, "Transactions List");
-            addTransactionsTable(document, transactions);
+            Map<Long, String> categoryNames = new HashMap<>(categoryNameResolver.dictionary(userId));
+            addTransactionsTable(document, transactions, t -> t.getCategoryId() == null ? null
+                    : categoryNames.computeIfAbsent(t.getCategoryId(),
+                            id -> categoryNameResolver.nameOf(userId, id)));
 
-            addFooter(document, pdf);
-            document.close();
-            return outputStream.toByteArray();
+            report.close();
         } catch (Exception e) {
             System.err.println("ERROR generating Transactions PDF: " + e.getMessage());
             e.printStackTrace();
@@ -182,13 +181,10 @@ public class PdfReportGenerator {
         }
     }
 
-    public byte[] generateGoalsPdf(Long userId, List<SavingsGoal> goals) {
+    public void writeGoalsPdf(Long userId, List<SavingsGoal> goals, OutputStream out) {
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(outputStream);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf, PageSize.A4, false);
-            document.setMargins(40, 40, 40, 40);
+            ReportDocument report = openDocument(out);
+            Document document = report.document();
 
             addCoverPage(document, "Savings Goals Report");
             document.add(new AreaBreak());
@@ -215,9 +211,7 @@ public class PdfReportGenerator {
             summaryTable.addCell(createCell(String.format("%.1f%%", overallProgress), false));
             document.add(summaryTable);
 
-            addFooter(document, pdf);
-            document.close();
-            return outputStream.toByteArray();
+            report.close();
         } catch (Exception e) {
             System.err.println("ERROR generating Goals PDF: " + e.getMessage());
             e.printStackTrace();
@@ -225,6 +219,33 @@ public class PdfReportGenerator {
         }
     }
 
+    /**
+     * A4 document with immediate flush: finished pages leave for the output
+     * stream while later ones are still being laid out. The caller's stream
+     * is left open.
+     */
+    private ReportDocument openDocument(OutputStream out) {
+        PdfWriter writer = new PdfWriter(out);
+        writer.setCloseStream(false);
+        PdfDocument pdf = new PdfDocument(writer);
+        PdfFont font = ReportStyle.bodyFont();
+        PageNumberFooter footer = new PageNumberFooter(font);
+        pdf.addEventHandler(PdfDocumentEvent.END_PAGE, footer);
+
+        Document document = new Document(pdf, PageSize.A4, true);
+        document.setMargins(40, 40, 40, 40);
+        document.setFont(font);
+        return new ReportDocument(document, footer);
+    }
+
+    private record ReportDocument(Document document, PageNumberFooter footer) {
+
+        void close() {
+            footer.writeTotal(document.getPdfDocument());
+            document.close();
+        }
+    }
+
     private void addCoverPage(Document document, String title) {
         document.add(new Paragraph("\n\n\n\n"));
         Paragraph titlePara = new Paragraph(title)
@@ -257,15 +278,13 @@ public class PdfReportGenerator {
                 .setFontColor(ReportStyle.PRIMARY_COLOR)
                 .setMarginTop(20)
                 .setMarginBottom(10)
-                .setBorderBottom(new SolidBorder(ReportStyle.PRIMARY_COLOR, 1f));
+                .setBorderBottom(ReportStyle.SECTION_RULE);
         document.add(p);
     }
 
-    private void addSummaryTable(Document document, List<Transaction> transactions) {
-        double income = transactions.stream().filter(t -> t.getType().toString().equals("INCOME"))
-                .mapToDouble(t -> t.getAmount().doubleValue()).sum();
-        double expense = transactions.stream().filter(t -> t.getType().toString().equals("EXPENSE"))
-                .mapToDouble(t -> t.getAmount().doubleValue()).sum();
+    private void addSummaryTable(Document document, TransactionSummary summary) {
+        double income = summary.getTotal(Transaction.TransactionType.INCOME).doubleValue();
+        double expense = summary.getTotal(Transaction.TransactionType.EXPENSE).doubleValue();
 
         Table table = new Table(UnitValue.createPercentArray(new float[] { 1, 1 })).useAllAvailableWidth();
         table.addCell(createCell("Total Income", true));
@@ -278,25 +297,46 @@ public class PdfReportGenerator {
         document.add(table);
     }
 
-    private void addTransactionsTable(Document document, List<Transaction> transactions) {
-        Table table = new Table(UnitValue.createPercentArray(new float[] { 2, 2, 2, 3 })).useAllAvailableWidth();
+    private void addTransactionsTable(Document document, Long userId, List<Transaction> transactions) {
+        Map<Long, String> categoryNames = categoryNameResolver.resolve(userId, transactions,
+                Transaction::getCategoryId);
+        addTransactionsTable(document, transactions.iterator(), t -> categoryNames.get(t.getCategoryId()));
+    }
+
+    /**
+     * Transactions in iText's large-table mode: the table is placed first
+     * and every TABLE_FLUSH_ROWS rows are laid out and released, so only the
+     * current chunk of cells is ever held in memory
+     */
+    private void addTransactionsTable(Document document, Iterator<Transaction> transactions,
+            Function<Transaction, String> categoryOf) {
+        Table table = new Table(UnitValue.createPercentArray(new float[] { 2, 2, 2, 3 }), true)
+                .useAllAvailableWidth();
         addHeaderCell(table, "Date");
         addHeaderCell(table, "Type");
         addHeaderCell(table, "Amount");
         addHeaderCell(table, "Category");
+        document.add(table);
 
         boolean isOdd = true;
-        for (Transaction t : transactions) {
+        int rows = 0;
+        while (transactions.hasNext()) {
+            Transaction t = transactions.next();
+            String category = categoryOf.apply(t);
             addBodyCell(table, t.getTransactionDate().toString(), isOdd);
             addBodyCell(table, t.getType().toString(), isOdd);
             addBodyCell(table, String.format("â‚¹%.2f", t.getAmount()), isOdd);
-            addBodyCell(table, getCategoryName(t.getCategoryId()), isOdd);
+            addBodyCell(table, category != null ? category : "Uncategorized", isOdd);
             isOdd = !isOdd;
+            if (++rows % TABLE_FLUSH_ROWS == 0) {
+                table.flush();
+            }
         }
-        document.add(table);
+        table.complete();
     }
 
-    private void addBudgetsTable(Document document, List<Budget> budgets) {
+    private void addBudgetsTable(Document document, Long userId, List<Budget> budgets) {
+        Map<Long, String> categoryNames = categoryNameResolver.resolve(userId, budgets, Budget::getCategoryId);
         Table table = new Table(UnitValue.createPercentArray(new float[] { 3, 2, 2, 2 })).useAllAvailableWidth();
         addHeaderCell(table, "Category");
         addHeaderCell(table, "Limit");
@@ -305,7 +345,7 @@ public class PdfReportGenerator {
 
         boolean isOdd = true;
         for (Budget b : budgets) {
-            addBodyCell(table, getCategoryName(b.getCategoryId()), isOdd);
+            addBodyCell(table, categoryName(categoryNames, b.getCategoryId()), isOdd);
             addBodyCell(table, String.format("â‚¹%.2f", b.getAmount()), isOdd);
             addBodyCell(table, String.format("â‚¹%.2f", b.getSpent()), isOdd);
             addBodyCell(table, String.format("â‚¹%.2f", b.getAmount().subtract(b.getSpent())), isOdd);
@@ -365,18 +405,14 @@ public class PdfReportGenerator {
     }
 
     private void addHeaderCell(Table table, String text) {
-        Cell cell = new Cell().add(new Paragraph(text).setBold().setFontColor(ReportStyle.WHITE));
-        cell.setBackgroundColor(ReportStyle.PRIMARY_COLOR);
-        cell.setPadding(5);
-        cell.setTextAlignment(TextAlignment.CENTER);
+        Cell cell = new Cell().add(new Paragraph(text).setBold());
+        cell.addStyle(ReportStyle.HEADER_CELL);
         table.addHeaderCell(cell);
     }
 
     private void addBodyCell(Table table, String text, boolean isOdd) {
-        Cell cell = new Cell().add(new Paragraph(text).setFontSize(ReportStyle.FONT_SIZE_BODY));
-        cell.setBackgroundColor(isOdd ? ReportStyle.LIGHT_BG_COLOR : ReportStyle.WHITE);
-        cell.setPadding(5);
-        cell.setBorder(Border.NO_BORDER);
+        Cell cell = new Cell().add(new Paragraph(text));
+        cell.addStyle(isOdd ? ReportStyle.BODY_CELL_ODD : ReportStyle.BODY_CELL_EVEN);
         table.addCell(cell);
     }
 
@@ -392,32 +428,65 @@ public class PdfReportGenerator {
         return cell;
     }
 
-    private void addFooter(Document document, PdfDocument pdf) {
-        int n = pdf.getNumberOfPages();
-        for (int i = 1; i <= n; i++) {
-            document.showTextAligned(new Paragraph(String.format("Page %d of %d", i, n)),
-                    559, 20, i, TextAlignment.RIGHT, VerticalAlignment.BOTTOM, 0);
+    private String categoryName(Map<Long, String> categoryNames, Long categoryId) {
+        if (categoryId == null)
+            return "Uncategorized";
+        return categoryNames.getOrDefault(categoryId, "Uncategorized");
+    }
+
+    /**
+     * Start rendering the income/expense trend chart; completes with null
+     * when there is nothing to plot
+     */
+    private CompletableFuture<byte[]> renderTrendChart(Long userId, int months) {
+        try {
+            var monthlyTrends = dashboardService.getMonthlyTrends(userId, months);
+            if (!monthlyTrends.isEmpty()) {
+                return chartGenerator.renderTrendChartAsync(monthlyTrends, 800, 400);
+            }
+        } catch (Exception e) {
+            System.err.println("Error generating trend chart: " + e.getMessage());
         }
+        return CompletableFuture.completedFuture(null);
     }
 
-    private String getCategoryName(Long categoryId) {
-        if (categoryId == null)
-            return "Uncategorized";
-        return categoryRepository.findById(categoryId).map(c -> c.getName()).orElse("Uncategorized");
+    /**
+     * Start rendering the category pie chart; completes with null when
+     * there is nothing to plot
+     */
+    private CompletableFuture<byte[]> renderCategoryChart(Long userId, int months) {
+        try {
+            var categoryBreakdown = dashboardService.getCategoryBreakdown(userId, months);
+            if (!categoryBreakdown.isEmpty()) {
+                return chartGenerator.renderCategoryPieChartAsync(categoryBreakdown, 600, 400);
+            }
+        } catch (Exception e) {
+            System.err.println("Error generating category chart: " + e.getMessage());
+        }
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
-     * Add a BufferedImage chart to the PDF document
+     * Wait for a chart render and add it to the PDF document
      */
-    private void addChartImage(Document document, BufferedImage chartImage) {
+    private void addChartImage(Document document, CompletableFuture<byte[]> chart, String name) {
+        byte[] png;
         try {
-            if (chartImage == null)
-                return;
+            png = chart.join();
+        } catch (Exception e) {
+            System.err.println("Error generating " + name + " chart: " + e.getMessage());
+            return;
+        }
+        addChartImage(document, png);
+    }
 
-            // Convert BufferedImage to byte array
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            javax.imageio.ImageIO.write(chartImage, "PNG", baos);
-            byte[] imageBytes = baos.toByteArray();
+    /**
+     * Add a PNG chart to the PDF document
+     */
+    private void addChartImage(Document document, byte[] imageBytes) {
+        try {
+            if (imageBytes == null)
+                return;
 
             // Create iText Image from bytes
             Image pdfImage = new Image(ImageDataFactory.create(imageBytes));
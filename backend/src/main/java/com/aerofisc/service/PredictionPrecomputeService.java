@@ -0,0 +1,136 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.entity.ExpensePrediction;
+import com.aerofisc.repository.ExpensePredictionRepository;
+import com.aerofisc.repository.UserMonthRollupRepository;
+import com.aerofisc.repository.UserRepository;
+import com.aerofisc.util.MonthlyRegression;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recomputes the stored predictions of every user with expenses in the
+ * history window. Users are split into chunks of consecutive ids
+ * (app.predictions.precompute.chunk-size); each chunk, in one transaction,
+ * rebuilds its users' regression state from their rollups (rolling the window
+ * forward and discarding any drift, see CategoryRegressionService#rebuild)
+ * and replaces their predictions.
+ * Chunks run on a small pool (app.predictions.precompute.parallelism), which
+ * also bounds the connections the job holds.
+ *
+ * Once every chunk has succeeded, predictions the run did not rewrite belong
+ * to users with no recent expenses and are deleted.
+ */
+@Slf4j
+@Service
+public class PredictionPrecomputeService {
+
+    public record Result(int users, int chunks, int failedChunks, int staleDeleted) {
+    }
+
+    private final UserMonthRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final ExpensePredictionRepository predictionRepository;
+    private final PredictionService predictionService;
+    private final CategoryRegressionService categoryRegressionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    public PredictionPrecomputeService(UserMonthRollupRepository rollupRepository, UserRepository userRepository,
+            ExpensePredictionRepository predictionRepository, PredictionService predictionService,
+            CategoryRegressionService categoryRegressionService, PlatformTransactionManager transactionManager,
+            @Value("${app.predictions.precompute.chunk-size:200}") int chunkSize,
+            @Value("${app.predictions.precompute.parallelism:4}") int parallelism) {
+        this.rollupRepository = rollupRepository;
+        this.userRepository = userRepository;
+        this.predictionRepository = predictionRepository;
+        this.predictionService = predictionService;
+        this.categoryRegressionService = categoryRegressionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "prediction-precompute-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Result precomputeAll() {
+        // Truncated so the stored computed_at of this run's rows is not rounded
+        // below the stale cutoff by the column's precision
+        LocalDateTime started = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        YearMonth[] window = PredictionService.historyWindow();
+        List<Long> userIds = rollupRepository.findUserIdsWithExpensesBetween(window[0].toString(),
+                window[1].toString());
+        List<CompletableFuture<Boolean>> chunks = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += chunkSize) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + chunkSize, userIds.size()));
+            chunks.add(CompletableFuture
+                    .supplyAsync(() -> precomputeChunk(chunk, window, started), executor)
+                    .exceptionally(e -> {
+                        log.error("Prediction precompute failed for users {}..{}", chunk.get(0),
+                                chunk.get(chunk.size() - 1), e);
+                        return false;
+                    }));
+        }
+
+        int failed = (int) chunks.stream().map(CompletableFuture::join).filter(ok -> !ok).count();
+        int staleDeleted = 0;
+        if (failed == 0) {
+            staleDeleted = transactionTemplate.execute(status -> predictionRepository.deleteComputedBefore(started));
+        }
+        return new Result(userIds.size(), chunks.size(), failed, staleDeleted);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean precomputeChunk(List<Long> userIds, YearMonth[] window, LocalDateTime computedAt) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // The users' rows before their regression state, as
+            // PredictionService's single-user replace takes them
+            userRepository.lockByIdIn(userIds);
+            // Ids are sorted, so the range holds exactly this chunk's users
+            // among those with recent expenses
+            Map<Long, Map<Long, MonthlyRegression>> regressions = categoryRegressionService.rebuild(userIds.get(0),
+                    userIds.get(userIds.size() - 1), window[0], window[1]);
+
+            List<ExpensePrediction> predictions = new ArrayList<>();
+            for (Long userId : userIds) {
+                predictions.addAll(predictionService.predict(userId, regressions.getOrDefault(userId, Map.of()),
+                        computedAt));
+            }
+
+            predictionRepository.deleteByUserIdIn(userIds);
+            predictionRepository.saveAll(predictions);
+            predictionService.evictCached(userIds);
+        });
+        return true;
+    }
+}
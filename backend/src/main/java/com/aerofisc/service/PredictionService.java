@@ -7,94 +7,227 @@
 package com.aerofisc.service;
 
 import com.aerofisc.dto.PredictionDto;
-import com.aerofisc.entity.Transaction;
-import com.aerofisc.entity.Category;
-import com.aerofisc.repository.TransactionRepository;
-import com.aerofisc.repository.CategoryRepository;
-import org.apache.commons.math3.stat.regression.SimpleRegression;
+import com.aerofisc.entity.ExpensePrediction;
+import com.aerofisc.repository.ExpensePredictionRepository;
+import com.aerofisc.repository.UserRepository;
+import com.aerofisc.util.MoneyAccumulator;
+import com.aerofisc.util.MonthlyRegression;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+/**
+ * Next-month expense predictions, regressed per category over the monthly
+ * expenses of the last six months. The regressions are the incrementally
+ * maintained sufficient statistics of CategoryRegressionService, so a
+ * category's prediction, R² confidence and trend cost O(1).
+ *
+ * Predictions are precomputed: PredictionPrecomputeService rewrites every
+ * active user's rows nightly, and a single user's rows are recomputed once a
+ * write moves their expenses by at least app.predictions.recompute-min-amount.
+ * The dashboard only reads the stored rows; a user without any (new, or
+ * inactive at the last run) is computed on first read. Every path that
+ * replaces a user's rows holds the user row's lock, so the read, the
+ * recompute and the nightly chunk cannot both insert a set.
+ */
+@Slf4j
 @Service
 public class PredictionService {
 
-    private final TransactionRepository transactionRepository;
-    private final CategoryRepository categoryRepository;
-
-    public PredictionService(TransactionRepository transactionRepository, CategoryRepository categoryRepository) {
-        this.transactionRepository = transactionRepository;
-        this.categoryRepository = categoryRepository;
+    static final int HISTORY_MONTHS = 6;
+    private static final String CACHE_NAME = "predictions";
+    private static final String TOTAL_NAME = "Total Monthly Expenses";
+
+    private final CategoryRegressionService categoryRegressionService;
+    private final ExpensePredictionRepository predictionRepository;
+    private final UserRepository userRepository;
+    private final CategoryNameResolver categoryNameResolver;
+    private final CacheManager cacheManager;
+    private final BigDecimal recomputeMinAmount;
+
+    public PredictionService(CategoryRegressionService categoryRegressionService,
+            ExpensePredictionRepository predictionRepository, UserRepository userRepository,
+            CategoryNameResolver categoryNameResolver, CacheManager cacheManager,
+            @Value("${app.predictions.recompute-min-amount:100}") BigDecimal recomputeMinAmount) {
+        this.categoryRegressionService = categoryRegressionService;
+        this.predictionRepository = predictionRepository;
+        this.userRepository = userRepository;
+        this.categoryNameResolver = categoryNameResolver;
+        this.cacheManager = cacheManager;
+        this.recomputeMinAmount = recomputeMinAmount;
     }
 
-    @Cacheable(value = "predictions", key = "#userId")
+    /**
+     * Stored predictions, total first
+     */
+    @Cacheable(value = CACHE_NAME, key = "#userId", sync = true)
+    @Transactional
     public List<PredictionDto> predictNextMonthExpenses(Long userId) {
-        // Get last 6 months of data
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusMonths(6);
-
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(
-                userId, startDate, endDate);
-
-        // Filter expenses only
-        List<Transaction> expenses = transactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                .collect(Collectors.toList());
+        List<ExpensePrediction> predictions = predictionRepository.findByUserIdOrderByIdAsc(userId);
+        if (predictions.isEmpty()) {
+            predictions = replace(userId, true);
+        }
+        return toDtos(userId, predictions);
+    }
 
-        if (expenses.isEmpty()) {
-            return new ArrayList<>();
+    /**
+     * Recompute the user's predictions if a write moved their expenses by at
+     * least app.predictions.recompute-min-amount; smaller changes wait for the
+     * nightly precompute
+     */
+    @Transactional
+    public boolean recomputeIfSignificant(Long userId, BigDecimal expenseChange) {
+        if (expenseChange == null || expenseChange.abs().compareTo(recomputeMinAmount) < 0) {
+            return false;
         }
+        replace(userId, false);
+        return true;
+    }
 
-        // Group by category
-        Map<Long, List<Transaction>> byCategory = expenses.stream()
-                .filter(t -> t.getCategoryId() != null)
-                .collect(Collectors.groupingBy(Transaction::getCategoryId));
-
-        List<PredictionDto> predictions = new ArrayList<>();
-
-        byCategory.forEach((categoryId, categoryTransactions) -> {
-            // Changed from 3 to 1 to show all categories with any spending
-            if (categoryTransactions.size() >= 1) {
-                try {
-                    PredictionDto prediction = predictForCategory(categoryId, categoryTransactions);
-                    if (prediction != null) {
-                        predictions.add(prediction);
-                    }
-                } catch (Exception e) {
-                    // Skip this category if prediction fails
-                    System.err.println("Failed to predict for category " + categoryId + ": " + e.getMessage());
-                }
+    /**
+     * Oldest and newest month the predictions regress over
+     */
+    public static YearMonth[] historyWindow() {
+        YearMonth now = YearMonth.now();
+        return new YearMonth[] { now.minusMonths(HISTORY_MONTHS), now };
+    }
+
+    /**
+     * Predictions for next month from the user's per-category regressions;
+     * the total row first, none without expenses in the window
+     */
+    public List<ExpensePrediction> predict(Long userId, Map<Long, MonthlyRegression> regressions,
+            LocalDateTime computedAt) {
+        YearMonth[] window = historyWindow();
+        YearMonth nextMonth = window[1].plusMonths(1);
+
+        List<ExpensePrediction> predictions = new ArrayList<>();
+        regressions.forEach((categoryId, regression) -> {
+            // State last written in an earlier month may still hold months that have left the window
+            regression.expireBefore(window[0]);
+            if (regression.isEmpty()) {
+                return;
+            }
+            try {
+                predictions.add(predictForCategory(userId, categoryId, regression, nextMonth, computedAt));
+            } catch (ArithmeticException e) {
+                // Skip this category if prediction fails
+                log.warn("Failed to predict for category {}: {}", categoryId, e.getMessage());
             }
         });
 
         // Add total prediction summary
         if (!predictions.isEmpty()) {
-            PredictionDto totalPrediction = calculateTotalPrediction(predictions);
-            predictions.add(0, totalPrediction); // Add at beginning
+            predictions.add(0, calculateTotalPrediction(userId, predictions, computedAt));
         }
 
         return predictions;
     }
 
-    private PredictionDto calculateTotalPrediction(List<PredictionDto> categoryPredictions) {
+    /**
+     * Remove a deleted user's predictions and regression state
+     */
+    @Transactional
+    public void deleteForUser(Long userId) {
+        predictionRepository.deleteByUserIdIn(List.of(userId));
+        categoryRegressionService.deleteForUser(userId);
+        evictCached(List.of(userId));
+    }
+
+    /**
+     * Drop cached reads for these users once the current transaction commits
+     */
+    public void evictCached(Collection<Long> userIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userIds);
+                }
+            });
+        } else {
+            evictNow(userIds);
+        }
+    }
+
+    /**
+     * Recompute and store the user's predictions; with {@code onlyIfMissing},
+     * rows another transaction stored meanwhile are kept and returned instead
+     */
+    private List<ExpensePrediction> replace(Long userId, boolean onlyIfMissing) {
+        // Before the regression state, as the nightly chunk and imports take them
+        userRepository.lockById(userId);
+        if (onlyIfMissing) {
+            List<ExpensePrediction> stored = predictionRepository.findByUserIdOrderByIdAsc(userId);
+            if (!stored.isEmpty()) {
+                return stored;
+            }
+        }
+
+        List<ExpensePrediction> predictions = predict(userId, categoryRegressionService.regressionsFor(userId),
+                LocalDateTime.now());
+        predictionRepository.deleteByUserIdIn(List.of(userId));
+        predictionRepository.saveAll(predictions);
+        evictCached(List.of(userId));
+        return predictions;
+    }
+
+    private void evictNow(Collection<Long> userIds) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            userIds.forEach(cache::evict);
+        }
+    }
+
+    private List<PredictionDto> toDtos(Long userId, List<ExpensePrediction> predictions) {
+        Map<Long, String> categoryNames = categoryNameResolver.resolve(userId,
+                predictions.stream().map(ExpensePrediction::getCategoryId).toList());
+
+        List<PredictionDto> dtos = new ArrayList<>();
+        for (ExpensePrediction prediction : predictions) {
+            Long categoryId = prediction.getCategoryId();
+            dtos.add(PredictionDto.builder()
+                    .categoryId(categoryId)
+                    .categoryName(categoryId == null
+                            ? TOTAL_NAME
+                            : categoryNames.getOrDefault(categoryId, "Category " + categoryId))
+                    .predictedAmount(prediction.getPredictedAmount())
+                    .historicalAverage(prediction.getHistoricalAverage())
+                    .confidenceScore(prediction.getConfidenceScore())
+                    .trend(prediction.getTrend())
+                    .build());
+        }
+        return dtos;
+    }
+
+    private ExpensePrediction calculateTotalPrediction(Long userId, List<ExpensePrediction> categoryPredictions,
+            LocalDateTime computedAt) {
         BigDecimal totalPredicted = categoryPredictions.stream()
-                .map(PredictionDto::getPredictedAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                .collect(MoneyAccumulator.summing(ExpensePrediction::getPredictedAmount))
+                .getSum();
 
         BigDecimal totalHistorical = categoryPredictions.stream()
-                .map(PredictionDto::getHistoricalAverage)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                .collect(MoneyAccumulator.summing(ExpensePrediction::getHistoricalAverage))
+                .getSum();
 
         // Average confidence across all categories
         Double avgConfidence = categoryPredictions.stream()
-                .mapToDouble(PredictionDto::getConfidenceScore)
+                .mapToDouble(ExpensePrediction::getConfidenceScore)
                 .average()
                 .orElse(0.5);
 
@@ -108,43 +241,27 @@ public class PredictionService {
             overallTrend = "STABLE";
         }
 
-        return PredictionDto.builder()
+        return ExpensePrediction.builder()
+                .userId(userId)
                 .categoryId(null)
-                .categoryName("Total Monthly Expenses")
                 .predictedAmount(totalPredicted)
                 .historicalAverage(totalHistorical)
                 .confidenceScore(avgConfidence)
                 .trend(overallTrend)
+                .computedAt(computedAt)
                 .build();
     }
 
-    private PredictionDto predictForCategory(Long categoryId, List<Transaction> transactions) {
-        // Fetch actual category name from database
-        String categoryName = categoryRepository.findById(categoryId)
-                .map(Category::getName)
-                .orElse("Category " + categoryId);
-
-        // Calculate monthly averages
-        Map<String, BigDecimal> monthlyTotals = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getTransactionDate().getYear() + "-" + t.getTransactionDate().getMonthValue(),
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)));
-
-        // Prepare data for regression
-        SimpleRegression regression = new SimpleRegression();
-        List<BigDecimal> amounts = new ArrayList<>(monthlyTotals.values());
-
-        for (int i = 0; i < amounts.size(); i++) {
-            regression.addData(i, amounts.get(i).doubleValue());
-        }
+    private ExpensePrediction predictForCategory(Long userId, Long categoryId, MonthlyRegression regression,
+            YearMonth nextMonth, LocalDateTime computedAt) {
+        // Monthly totals of the window, oldest month first
+        List<BigDecimal> amounts = regression.amounts();
 
         // Calculate historical average (always needed as fallback)
-        BigDecimal historicalAverage = amounts.stream()
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(BigDecimal.valueOf(amounts.size()), 2, RoundingMode.HALF_UP);
+        BigDecimal historicalAverage = regression.mean();
 
-        // Predict next month (next index)
-        double predictedValue = regression.predict(amounts.size());
+        // Predict next calendar month; months without spending are gaps on the x axis
+        double predictedValue = regression.predict(nextMonth);
         BigDecimal predictedAmount;
         Double confidenceScore;
 
@@ -177,7 +294,7 @@ public class PredictionService {
                     .setScale(2, RoundingMode.HALF_UP);
 
             // Calculate confidence score based on R-squared (0-1 range)
-            double rSquared = regression.getRSquare();
+            double rSquared = regression.rSquare();
             if (Double.isNaN(rSquared) || Double.isInfinite(rSquared) || rSquared < 0) {
                 confidenceScore = 0.50; // 50% when displayed
             } else {
@@ -189,13 +306,14 @@ public class PredictionService {
         // Determine trend
         String trend = determineTrend(amounts);
 
-        return PredictionDto.builder()
+        return ExpensePrediction.builder()
+                .userId(userId)
                 .categoryId(categoryId)
-                .categoryName(categoryName)
                 .predictedAmount(predictedAmount)
                 .historicalAverage(historicalAverage)
                 .confidenceScore(confidenceScore)
                 .trend(trend)
+                .computedAt(computedAt)
                 .build();
     }
 
@@ -7,21 +7,23 @@
 package com.aerofisc.service;
 
 import com.aerofisc.dto.RecurringTransactionDto;
-import com.aerofisc.entity.Category;
 import com.aerofisc.entity.RecurringTransaction;
 import com.aerofisc.entity.Transaction;
+import com.aerofisc.event.TransactionEvent;
 import com.aerofisc.exception.ResourceNotFoundException;
 import com.aerofisc.repository.CategoryRepository;
 import com.aerofisc.repository.RecurringTransactionRepository;
 import com.aerofisc.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,27 +34,24 @@ public class RecurringTransactionService {
     private final RecurringTransactionRepository recurringTransactionRepository;
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
-    private final BudgetService budgetService;
     private final TransactionService transactionService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final OutboxService outboxService;
+    private final DashboardCacheEvictor dashboardCacheEvictor;
+    private final CategoryNameResolver categoryNameResolver;
 
     /**
      * Get all recurring transactions for a user
      */
     public List<RecurringTransactionDto> getAllForUser(Long userId) {
-        return recurringTransactionRepository.findByUserIdOrderByNextOccurrenceAsc(userId)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return toDtos(userId, recurringTransactionRepository.findByUserIdOrderByNextOccurrenceAsc(userId));
     }
 
     /**
      * Get active recurring transactions for a user
      */
     public List<RecurringTransactionDto> getActiveForUser(Long userId) {
-        return recurringTransactionRepository.findByUserIdAndIsActiveTrueOrderByNextOccurrenceAsc(userId)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return toDtos(userId, recurringTransactionRepository.findByUserIdAndIsActiveTrueOrderByNextOccurrenceAsc(userId));
     }
 
     /**
@@ -167,12 +166,12 @@ public class RecurringTransactionService {
      * Process all due recurring transactions (called by scheduler)
      */
     @Transactional
-    @CacheEvict(value = { "dashboard_summary", "dashboard_trends", "dashboard_breakdown" }, allEntries = true)
     public int processDueRecurringTransactions() {
         List<RecurringTransaction> dueTransactions = recurringTransactionRepository
                 .findDueRecurringTransactions(LocalDate.now());
 
         int processed = 0;
+        Set<Long> affectedUsers = new HashSet<>();
         for (RecurringTransaction rt : dueTransactions) {
             try {
                 // Create the actual transaction
@@ -190,11 +189,8 @@ public class RecurringTransactionService {
                 transaction.setIsAnomaly(false);
 
                 transactionRepository.save(transaction);
-
-                // Update budget progress if expense
-                if (rt.getType() == RecurringTransaction.TransactionType.EXPENSE) {
-                    budgetService.updateBudgetProgress(rt.getUserId(), rt.getCategoryId());
-                }
+                monthlyRollupService.recordTransaction(transaction);
+                outboxService.publish(TransactionEvent.created(transaction, null));
 
                 // Update recurring transaction
                 rt.setNextOccurrence(rt.calculateNextOccurrence());
@@ -206,6 +202,7 @@ public class RecurringTransactionService {
                 }
 
                 recurringTransactionRepository.save(rt);
+                affectedUsers.add(rt.getUserId());
                 processed++;
 
                 log.info("Processed recurring transaction {} - created transaction for user {}",
@@ -216,6 +213,8 @@ public class RecurringTransactionService {
             }
         }
 
+        dashboardCacheEvictor.evictUsers(affectedUsers);
+
         log.info("Processed {} recurring transactions", processed);
         return processed;
     }
@@ -266,15 +265,27 @@ public class RecurringTransactionService {
      * Convert entity to DTO with category name
      */
     private RecurringTransactionDto toDto(RecurringTransaction entity) {
-        RecurringTransactionDto dto = RecurringTransactionDto.fromEntity(entity);
-
-        // Add category name
-        categoryRepository.findById(entity.getCategoryId())
-                .map(Category::getName)
-                .ifPresent(dto::setCategoryName);
+        return toDto(entity, categoryNameResolver.nameOf(entity.getUserId(), entity.getCategoryId()));
+    }
 
+    private RecurringTransactionDto toDto(RecurringTransaction entity, String categoryName) {
+        RecurringTransactionDto dto = RecurringTransactionDto.fromEntity(entity);
+        if (categoryName != null) {
+            dto.setCategoryName(categoryName);
+        }
         return dto;
     }
+
+    /**
+     * Convert a list, resolving every category name in one batch
+     */
+    private List<RecurringTransactionDto> toDtos(Long userId, List<RecurringTransaction> entities) {
+        Map<Long, String> categoryNames = categoryNameResolver.resolve(userId, entities,
+                RecurringTransaction::getCategoryId);
+        return entities.stream()
+                .map(entity -> toDto(entity, categoryNames.get(entity.getCategoryId())))
+                .collect(Collectors.toList());
+    }
 }
 
 
@@ -11,12 +11,12 @@ import com.aerofisc.entity.ScheduledReport;
 import com.aerofisc.entity.Transaction;
 import com.aerofisc.entity.Budget;
 import com.aerofisc.entity.SavingsGoal;
-import com.aerofisc.entity.Category;
 import com.aerofisc.repository.BudgetRepository;
-import com.aerofisc.repository.CategoryRepository;
 import com.aerofisc.repository.SavingsGoalRepository;
 import com.aerofisc.repository.ScheduledReportRepository;
 import com.aerofisc.repository.TransactionRepository;
+import com.aerofisc.util.MoneyAccumulator;
+import com.aerofisc.util.TransactionSummary;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +25,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -36,16 +37,16 @@ public class ReportService {
     private final BudgetRepository budgetRepository;
     private final SavingsGoalRepository savingsGoalRepository;
     private final ScheduledReportRepository scheduledReportRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryNameResolver categoryNameResolver;
 
     public ReportService(TransactionRepository transactionRepository, BudgetRepository budgetRepository,
             SavingsGoalRepository savingsGoalRepository, ScheduledReportRepository scheduledReportRepository,
-            CategoryRepository categoryRepository) {
+            CategoryNameResolver categoryNameResolver) {
         this.transactionRepository = transactionRepository;
         this.budgetRepository = budgetRepository;
         this.savingsGoalRepository = savingsGoalRepository;
         this.scheduledReportRepository = scheduledReportRepository;
-        this.categoryRepository = categoryRepository;
+        this.categoryNameResolver = categoryNameResolver;
     }
 
     @Transactional(readOnly = true)
@@ -89,14 +90,21 @@ public class ReportService {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = calculateStartDate(config.getDateRange(), endDate);
 
-        if (config.getMetrics().getOrDefault("income", false)) {
-            generateIncomeSection(report, userId, startDate, endDate);
-        }
-        if (config.getMetrics().getOrDefault("expenses", false)) {
-            generateExpenseSection(report, userId, startDate, endDate);
-        }
-        if (config.getMetrics().getOrDefault("savings", false)) {
-            generateSavingsSection(report, userId, startDate, endDate);
+        // One range query feeds every transaction-based section
+        boolean income = config.getMetrics().getOrDefault("income", false);
+        boolean expenses = config.getMetrics().getOrDefault("expenses", false);
+        boolean savings = config.getMetrics().getOrDefault("savings", false);
+        if (income || expenses || savings) {
+            TransactionSummary summary = summarize(userId, startDate, endDate);
+            if (income) {
+                generateIncomeSection(report, userId, summary);
+            }
+            if (expenses) {
+                generateExpenseSection(report, userId, summary);
+            }
+            if (savings) {
+                generateSavingsSection(report, summary);
+            }
         }
         if (config.getMetrics().getOrDefault("budgets", false)) {
             generateBudgetSection(report, userId);
@@ -111,12 +119,17 @@ public class ReportService {
 
     // --- Helper Methods for Report Generation ---
 
+    private TransactionSummary summarize(Long userId, LocalDate start, LocalDate end) {
+        return TransactionSummary.of(transactionRepository.findByUserIdAndTransactionDateBetween(userId, start, end));
+    }
+
     private void generateMonthlySummary(StringBuilder report, Long userId, LocalDate start, LocalDate end) {
         report.append("MONTHLY SUMMARY (").append(start.getMonth()).append(" ").append(start.getYear()).append(")\n");
         report.append("-------------------------------------------\n");
-        generateIncomeSection(report, userId, start, end);
-        generateExpenseSection(report, userId, start, end);
-        generateSavingsSection(report, userId, start, end);
+        TransactionSummary summary = summarize(userId, start, end);
+        generateIncomeSection(report, userId, summary);
+        generateExpenseSection(report, userId, summary);
+        generateSavingsSection(report, summary);
     }
 
     private void generateTaxReport(StringBuilder report, Long userId, LocalDate start, LocalDate end) {
@@ -124,12 +137,7 @@ public class ReportService {
         report.append("Period: ").append(start).append(" to ").append(end).append("\n");
         report.append("-------------------------------------------\n");
 
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(userId, start,
-                end);
-        BigDecimal totalIncome = transactions.stream()
-                .filter(t -> Transaction.TransactionType.INCOME.equals(t.getType()))
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalIncome = summarize(userId, start, end).getTotal(Transaction.TransactionType.INCOME);
 
         report.append("Total Taxable Income: ").append(formatCurrency(totalIncome)).append("\n\n");
         report.append("Deductible Expenses:\n");
@@ -139,7 +147,7 @@ public class ReportService {
     private void generateExpenseAnalysis(StringBuilder report, Long userId, LocalDate start, LocalDate end) {
         report.append("EXPENSE ANALYSIS\n");
         report.append("-------------------------------------------\n");
-        generateExpenseSection(report, userId, start, end);
+        generateExpenseSection(report, userId, summarize(userId, start, end));
     }
 
     private void generateInvestmentReport(StringBuilder report, Long userId) {
@@ -149,62 +157,33 @@ public class ReportService {
         report.append("Please connect your investment accounts.\n");
     }
 
-    private void generateIncomeSection(StringBuilder report, Long userId, LocalDate start, LocalDate end) {
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(userId, start,
-                end);
-        BigDecimal totalIncome = transactions.stream()
-                .filter(t -> Transaction.TransactionType.INCOME.equals(t.getType()))
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private void generateIncomeSection(StringBuilder report, Long userId, TransactionSummary summary) {
+        BigDecimal totalIncome = summary.getTotal(Transaction.TransactionType.INCOME);
 
         report.append("INCOME SUMMARY\n");
         report.append("Total Income:           ").append(formatCurrency(totalIncome)).append("\n");
 
-        Map<String, BigDecimal> byCategory = transactions.stream()
-                .filter(t -> Transaction.TransactionType.INCOME.equals(t.getType()))
-                .collect(Collectors.groupingBy(
-                        t -> getCategoryName(t.getCategoryId()),
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)));
-
-        byCategory.forEach((cat, amount) -> report.append("  - ").append(String.format("%-20s", cat))
-                .append(formatCurrency(amount)).append("\n"));
+        totalsByCategoryName(userId, summary, Transaction.TransactionType.INCOME)
+                .forEach((cat, amount) -> report.append("  - ").append(String.format("%-20s", cat))
+                        .append(formatCurrency(amount)).append("\n"));
         report.append("\n");
     }
 
-    private void generateExpenseSection(StringBuilder report, Long userId, LocalDate start, LocalDate end) {
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(userId, start,
-                end);
-        BigDecimal totalExpense = transactions.stream()
-                .filter(t -> Transaction.TransactionType.EXPENSE.equals(t.getType()))
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private void generateExpenseSection(StringBuilder report, Long userId, TransactionSummary summary) {
+        BigDecimal totalExpense = summary.getTotal(Transaction.TransactionType.EXPENSE);
 
         report.append("EXPENSE SUMMARY\n");
         report.append("Total Expenses:         ").append(formatCurrency(totalExpense.abs())).append("\n");
 
-        Map<String, BigDecimal> byCategory = transactions.stream()
-                .filter(t -> Transaction.TransactionType.EXPENSE.equals(t.getType()))
-                .collect(Collectors.groupingBy(
-                        t -> getCategoryName(t.getCategoryId()),
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)));
-
-        byCategory.forEach((cat, amount) -> report.append("  - ").append(String.format("%-20s", cat))
-                .append(formatCurrency(amount.abs())).append("\n"));
+        totalsByCategoryName(userId, summary, Transaction.TransactionType.EXPENSE)
+                .forEach((cat, amount) -> report.append("  - ").append(String.format("%-20s", cat))
+                        .append(formatCurrency(amount.abs())).append("\n"));
         report.append("\n");
     }
 
-    private void generateSavingsSection(StringBuilder report, Long userId, LocalDate start, LocalDate end) {
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(userId, start,
-                end);
-        BigDecimal income = transactions.stream()
-                .filter(t -> Transaction.TransactionType.INCOME.equals(t.getType()))
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal expense = transactions.stream()
-                .filter(t -> Transaction.TransactionType.EXPENSE.equals(t.getType()))
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add).abs();
+    private void generateSavingsSection(StringBuilder report, TransactionSummary summary) {
+        BigDecimal income = summary.getTotal(Transaction.TransactionType.INCOME);
+        BigDecimal expense = summary.getTotal(Transaction.TransactionType.EXPENSE).abs();
 
         BigDecimal savings = income.subtract(expense);
         double savingsRate = income.compareTo(BigDecimal.ZERO) > 0
@@ -216,11 +195,31 @@ public class ReportService {
         report.append("Savings Rate:           ").append(String.format("%.2f%%", savingsRate)).append("\n\n");
     }
 
+    /**
+     * Category totals keyed by display name, with every name resolved in one
+     * batch
+     */
+    private Map<String, BigDecimal> totalsByCategoryName(Long userId, TransactionSummary summary,
+            Transaction.TransactionType type) {
+        Map<Long, MoneyAccumulator> byCategory = summary.byCategory(type);
+        Map<Long, String> categoryNames = categoryNameResolver.resolve(userId, byCategory.keySet());
+
+        Map<String, MoneyAccumulator> byName = new HashMap<>();
+        byCategory.forEach((categoryId, amount) -> byName
+                .computeIfAbsent(categoryName(categoryNames, categoryId), name -> new MoneyAccumulator())
+                .merge(amount));
+
+        Map<String, BigDecimal> totals = new HashMap<>();
+        byName.forEach((name, amount) -> totals.put(name, amount.getSum()));
+        return totals;
+    }
+
     private void generateBudgetSection(StringBuilder report, Long userId) {
         List<Budget> budgets = budgetRepository.findByUserId(userId);
+        Map<Long, String> categoryNames = categoryNameResolver.resolve(userId, budgets, Budget::getCategoryId);
         report.append("BUDGET PERFORMANCE\n");
         for (Budget b : budgets) {
-            report.append("  - ").append(String.format("%-20s", getCategoryName(b.getCategoryId())))
+            report.append("  - ").append(String.format("%-20s", categoryName(categoryNames, b.getCategoryId())))
                     .append("Limit: ").append(formatCurrency(b.getAmount()))
                     .append(" | Spent: ").append(formatCurrency(b.getSpent()))
                     .append("\n");
@@ -240,12 +239,10 @@ public class ReportService {
         report.append("\n");
     }
 
-    private String getCategoryName(Long categoryId) {
+    private String categoryName(Map<Long, String> categoryNames, Long categoryId) {
         if (categoryId == null)
             return "Uncategorized";
-        return categoryRepository.findById(categoryId)
-                .map(Category::getName)
-                .orElse("Uncategorized");
+        return categoryNames.getOrDefault(categoryId, "Uncategorized");
     }
 
     private void appendHeader(StringBuilder report, String title) {
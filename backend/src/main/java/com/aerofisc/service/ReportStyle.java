@@ -6,9 +6,22 @@
 
 package com.aerofisc.service;
 
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.layout.Style;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.borders.SolidBorder;
+import com.itextpdf.layout.properties.TextAlignment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 public class ReportStyle {
     // Brand Colors
@@ -34,6 +47,40 @@ public class ReportStyle {
     public static final float FONT_SIZE_SUBHEADER = 14f;
     public static final float FONT_SIZE_BODY = 10f;
     public static final float FONT_SIZE_SMALL = 8f;
+
+    // Shared layout styles; never mutate these after class initialisation
+    public static final SolidBorder SECTION_RULE = new SolidBorder(PRIMARY_COLOR, 1f);
+    public static final Style HEADER_CELL = new Style()
+            .setFontColor(WHITE)
+            .setBackgroundColor(PRIMARY_COLOR)
+            .setPadding(5)
+            .setTextAlignment(TextAlignment.CENTER);
+    public static final Style BODY_CELL_ODD = bodyCell(LIGHT_BG_COLOR);
+    public static final Style BODY_CELL_EVEN = bodyCell(WHITE);
+
+    // Parsed once per JVM. A PdfFont belongs to a single PdfDocument, so
+    // each report wraps the shared program in its own font via bodyFont().
+    private static final FontProgram BODY_FONT_PROGRAM = loadFont(StandardFonts.HELVETICA);
+
+    public static PdfFont bodyFont() {
+        return PdfFontFactory.createFont(BODY_FONT_PROGRAM, PdfEncodings.WINANSI);
+    }
+
+    private static Style bodyCell(Color background) {
+        return new Style()
+                .setFontSize(FONT_SIZE_BODY)
+                .setBackgroundColor(background)
+                .setPadding(5)
+                .setBorder(Border.NO_BORDER);
+    }
+
+    private static FontProgram loadFont(String name) {
+        try {
+            return FontProgramFactory.createFont(name);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load font " + name, e);
+        }
+    }
 }
 
 
@@ -11,7 +11,6 @@ import com.aerofisc.dto.SavingsGoalDto;
 import com.aerofisc.entity.SavingsGoal;
 import com.aerofisc.exception.ResourceNotFoundException;
 import com.aerofisc.repository.SavingsGoalRepository;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,11 +26,16 @@ public class SavingsGoalService {
 
     private final SavingsGoalRepository savingsGoalRepository;
     private final com.aerofisc.repository.TransactionRepository transactionRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final DashboardCacheEvictor dashboardCacheEvictor;
 
     public SavingsGoalService(SavingsGoalRepository savingsGoalRepository,
-            com.aerofisc.repository.TransactionRepository transactionRepository) {
+            com.aerofisc.repository.TransactionRepository transactionRepository,
+            MonthlyRollupService monthlyRollupService, DashboardCacheEvictor dashboardCacheEvictor) {
         this.savingsGoalRepository = savingsGoalRepository;
         this.transactionRepository = transactionRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.dashboardCacheEvictor = dashboardCacheEvictor;
     }
 
     @Transactional
@@ -98,7 +102,6 @@ public class SavingsGoalService {
     }
 
     @Transactional
-    @CacheEvict(value = { "dashboard_summary", "dashboard_trends", "dashboard_breakdown" }, allEntries = true)
     public SavingsGoalDto addContribution(Long id, ContributionRequest request, Long userId) {
         SavingsGoal goal = savingsGoalRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Savings goal not found"));
@@ -128,12 +131,13 @@ public class SavingsGoalService {
         transaction.setIsAnomaly(false);
 
         transactionRepository.save(transaction);
+        monthlyRollupService.recordTransaction(transaction);
+        dashboardCacheEvictor.evictUser(userId);
 
         return mapToDto(updated);
     }
 
     @Transactional
-    @CacheEvict(value = { "dashboard_summary", "dashboard_trends", "dashboard_breakdown" }, allEntries = true)
     public SavingsGoalDto withdraw(Long id, ContributionRequest request, Long userId) {
         SavingsGoal goal = savingsGoalRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Savings goal not found"));
@@ -163,12 +167,13 @@ public class SavingsGoalService {
         transaction.setIsAnomaly(false);
 
         transactionRepository.save(transaction);
+        monthlyRollupService.recordTransaction(transaction);
+        dashboardCacheEvictor.evictUser(userId);
 
         return mapToDto(updated);
     }
 
     @Transactional
-    @CacheEvict(value = { "dashboard_summary", "dashboard_trends", "dashboard_breakdown" }, allEntries = true)
     public void deleteGoal(Long id, Long userId) {
         SavingsGoal goal = savingsGoalRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Savings goal not found"));
@@ -183,12 +188,15 @@ public class SavingsGoalService {
 
         for (com.aerofisc.entity.Transaction transaction : relatedTransactions) {
             // Convert EXPENSE to INCOME (money returned)
+            monthlyRollupService.reverseTransaction(transaction);
             transaction.setType(com.aerofisc.entity.Transaction.TransactionType.INCOME);
             transaction.setDescription("Savings Goal Deleted: " + goal.getName() + " (Returned)");
             transactionRepository.save(transaction);
+            monthlyRollupService.recordTransaction(transaction);
         }
 
         savingsGoalRepository.delete(goal);
+        dashboardCacheEvictor.evictUser(userId);
     }
 
     private SavingsGoalDto mapToDto(SavingsGoal goal) {
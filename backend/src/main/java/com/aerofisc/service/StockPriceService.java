@@ -47,7 +47,8 @@ public class StockPriceService {
         }
 
         // AlphaVantage Global Quote Endpoint
-        String url = "https://www.alphavantage.co/query?function=GLOBAL_QUOTE&symbol=" + symbol + "&apikey=" + apiKey;
+        String url = apiConfig.getAlphaVantageApiUrl() + "?function=GLOBAL_QUOTE&symbol=" + symbol + "&apikey="
+                + apiKey;
 
         Request request = new Request.Builder()
                 .url(url)
@@ -0,0 +1,391 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.dto.CategoryDto;
+import com.aerofisc.dto.TransactionImportResultDto;
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.repository.UserRepository;
+import com.aerofisc.util.CsvReader;
+import com.aerofisc.util.MoneyAccumulator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of transactions from CSV or a JSON array.
+ *
+ * The input is parsed as a stream and rows are inserted with JDBC batches,
+ * bypassing the per-row work of TransactionService.createTransaction. The
+ * derived state is brought up to date once at the end: rollups get one
+ * delta per month/type/category, budgets are recomputed once per affected
+ * expense category, and the user gets a single dashboard refresh after
+ * commit. Bills are not synced, since historical rows should not mark
+ * current bills as paid.
+ *
+ * Rows that fail validation are skipped and reported; the rest are
+ * imported in the same transaction.
+ */
+@Service
+@Slf4j
+public class TransactionImportService {
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_ROWS = 250_000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+    // transactions.amount is NUMERIC(15, 2)
+    private static final int MAX_AMOUNT_INTEGER_DIGITS = 13;
+
+    private static final String INSERT_SQL = "INSERT INTO transactions "
+            + "(user_id, category_id, transaction_type, amount, description, transaction_date, is_anomaly, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Accepted spellings of each column, compared after normalize()
+    private static final Map<String, String> FIELD_ALIASES = Map.ofEntries(
+            Map.entry("date", "date"),
+            Map.entry("transactiondate", "date"),
+            Map.entry("type", "type"),
+            Map.entry("transactiontype", "type"),
+            Map.entry("amount", "amount"),
+            Map.entry("category", "category"),
+            Map.entry("categoryid", "category"),
+            Map.entry("categoryname", "category"),
+            Map.entry("description", "description"),
+            Map.entry("note", "description"),
+            Map.entry("memo", "description"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final CategoryService categoryService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final BudgetService budgetService;
+    private final DashboardCacheEvictor dashboardCacheEvictor;
+    private final DashboardUpdateCoalescer dashboardUpdateCoalescer;
+    private final PredictionService predictionService;
+    private final UserRepository userRepository;
+
+    public TransactionImportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            CategoryService categoryService, MonthlyRollupService monthlyRollupService, BudgetService budgetService,
+            DashboardCacheEvictor dashboardCacheEvictor, DashboardUpdateCoalescer dashboardUpdateCoalescer,
+            PredictionService predictionService, UserRepository userRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.categoryService = categoryService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.budgetService = budgetService;
+        this.dashboardCacheEvictor = dashboardCacheEvictor;
+        this.dashboardUpdateCoalescer = dashboardUpdateCoalescer;
+        this.predictionService = predictionService;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Import CSV with a header row naming the columns date, type, amount,
+     * category (id or name) and description, in any order
+     */
+    @Transactional
+    public TransactionImportResultDto importCsv(Long userId, Reader input) {
+        ImportSession session = new ImportSession(userId);
+
+        try (CsvReader csv = new CsvReader(input)) {
+            List<String> header = csv.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            String[] fields = header.stream().map(TransactionImportService::fieldFor).toArray(String[]::new);
+
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < fields.length && i < record.size(); i++) {
+                    if (fields[i] != null) {
+                        row.put(fields[i], record.get(i));
+                    }
+                }
+                session.accept("line " + csv.getLineNumber(), row);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read CSV: " + e.getMessage(), e);
+        }
+
+        return session.finish();
+    }
+
+    /**
+     * Import a JSON array of objects using the TransactionDto field names
+     * (transactionDate, type, amount, categoryId or categoryName, description)
+     */
+    @Transactional
+    public TransactionImportResultDto importJson(Long userId, InputStream input) {
+        ImportSession session = new ImportSession(userId);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of transactions");
+            }
+
+            long index = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Expected a JSON object at element " + index);
+                }
+                Map<String, String> row = new HashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = fieldFor(parser.currentName());
+                    JsonToken value = parser.nextToken();
+                    if (value.isStructStart()) {
+                        parser.skipChildren();
+                    } else if (field != null && value != JsonToken.VALUE_NULL) {
+                        // getText keeps the literal, so amounts never pass through double
+                        row.put(field, parser.getText());
+                    }
+                }
+                session.accept("element " + index++, row);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read JSON: " + e.getMessage(), e);
+        }
+
+        return session.finish();
+    }
+
+    private static String fieldFor(String column) {
+        if (column == null) {
+            return null;
+        }
+        String normalized = column.trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+        return FIELD_ALIASES.get(normalized);
+    }
+
+    /**
+     * State of one import: the category dictionary, the pending JDBC batch
+     * and the aggregates applied once at the end
+     */
+    private final class ImportSession {
+
+        private final Long userId;
+        private final Map<Long, CategoryDto> categoriesById = new HashMap<>();
+        private final Map<String, CategoryDto> categoriesByName = new HashMap<>();
+        private final LocalDate today = LocalDate.now();
+        private final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        private final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        private final Map<MonthlyRollupService.Bucket, MoneyAccumulator> buckets = new HashMap<>();
+        private final Map<BudgetService.SpendKey, MoneyAccumulator> expenses = new HashMap<>();
+        private final List<String> errors = new ArrayList<>();
+
+        private long totalRows;
+        private long imported;
+        private long rejected;
+
+        ImportSession(Long userId) {
+            this.userId = userId;
+            for (CategoryDto category : categoryService.getAllCategoriesForUser(userId)) {
+                categoriesById.put(category.getId(), category);
+                // Prefer the user's own category when a name also exists as a system one
+                String key = nameKey(category.getType().name(), category.getName());
+                if (!Boolean.TRUE.equals(category.getIsSystem()) || !categoriesByName.containsKey(key)) {
+                    categoriesByName.put(key, category);
+                }
+            }
+        }
+
+        void accept(String position, Map<String, String> row) {
+            if (++totalRows > MAX_ROWS) {
+                throw new IllegalArgumentException("Import is limited to " + MAX_ROWS + " rows");
+            }
+
+            Transaction transaction;
+            try {
+                transaction = parse(row);
+            } catch (IllegalArgumentException e) {
+                reject(position, e.getMessage());
+                return;
+            }
+
+            batch.add(new Object[] {
+                    userId,
+                    transaction.getCategoryId(),
+                    transaction.getType().name(),
+                    transaction.getAmount(),
+                    transaction.getDescription(),
+                    Date.valueOf(transaction.getTransactionDate()),
+                    false,
+                    now,
+                    now });
+            buckets.computeIfAbsent(MonthlyRollupService.Bucket.of(transaction), b -> new MoneyAccumulator())
+                    .add(transaction.getAmount());
+            if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
+                expenses.computeIfAbsent(BudgetService.SpendKey.of(transaction), k -> new MoneyAccumulator())
+                        .add(transaction.getAmount());
+            }
+
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        TransactionImportResultDto finish() {
+            flush();
+
+            if (imported > 0) {
+                // The derived tables below are locked user row first, as the
+                // rollup and prediction rebuilds take them
+                userRepository.lockById(userId);
+                monthlyRollupService.recordBuckets(userId, buckets);
+                budgetService.recordExpenses(userId, expenses);
+                predictionService.recomputeIfSignificant(userId, expenses.values().stream()
+                        .map(MoneyAccumulator::getSum)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add));
+                dashboardCacheEvictor.evictUser(userId);
+                Set<Long> categoryIds = buckets.keySet().stream()
+                        .map(MonthlyRollupService.Bucket::categoryId)
+                        .collect(Collectors.toSet());
+                afterCommit(() -> dashboardUpdateCoalescer.requestUpdate(userId, categoryIds));
+            }
+
+            log.info("Imported {} of {} transactions for user {} ({} rejected)", imported, totalRows, userId,
+                    rejected);
+            return TransactionImportResultDto.builder()
+                    .totalRows(totalRows)
+                    .imported(imported)
+                    .rejected(rejected)
+                    .errors(errors)
+                    .errorsTruncated(rejected > errors.size())
+                    .build();
+        }
+
+        private Transaction parse(Map<String, String> row) {
+            Transaction transaction = new Transaction();
+            transaction.setUserId(userId);
+
+            String type = required(row, "type");
+            try {
+                transaction.setType(Transaction.TransactionType.valueOf(type.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown type '" + type + "'");
+            }
+
+            String date = required(row, "date");
+            try {
+                transaction.setTransactionDate(LocalDate.parse(date));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date '" + date + "', expected yyyy-MM-dd");
+            }
+            if (transaction.getTransactionDate().isAfter(today)) {
+                throw new IllegalArgumentException("Transaction date cannot be in the future");
+            }
+
+            String amount = required(row, "amount");
+            try {
+                transaction.setAmount(new BigDecimal(amount).setScale(2, RoundingMode.UNNECESSARY));
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw new IllegalArgumentException("Invalid amount '" + amount + "'");
+            }
+            if (transaction.getAmount().signum() <= 0) {
+                throw new IllegalArgumentException("Amount must be greater than 0");
+            }
+            if (transaction.getAmount().precision() - transaction.getAmount().scale() > MAX_AMOUNT_INTEGER_DIGITS) {
+                throw new IllegalArgumentException(
+                        "Amount cannot exceed " + MAX_AMOUNT_INTEGER_DIGITS + " digits before the decimal point");
+            }
+
+            transaction.setCategoryId(resolveCategory(required(row, "category"), transaction.getType()));
+
+            String description = row.get("description");
+            if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+                throw new IllegalArgumentException("Description cannot exceed 500 characters");
+            }
+            transaction.setDescription(description == null || description.isBlank() ? null : description);
+            return transaction;
+        }
+
+        private Long resolveCategory(String category, Transaction.TransactionType type) {
+            if (category.chars().allMatch(Character::isDigit)) {
+                Long categoryId = Long.valueOf(category);
+                if (!categoriesById.containsKey(categoryId)) {
+                    throw new IllegalArgumentException("Unknown category " + categoryId);
+                }
+                return categoryId;
+            }
+
+            CategoryDto match = categoriesByName.get(nameKey(type.name(), category));
+            if (match == null) {
+                throw new IllegalArgumentException("Unknown " + type.name().toLowerCase(Locale.ROOT)
+                        + " category '" + category + "'");
+            }
+            return match.getId();
+        }
+
+        private String required(Map<String, String> row, String field) {
+            String value = row.get(field);
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException("Missing " + field);
+            }
+            return value.trim();
+        }
+
+        private void reject(String position, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(position + ": " + reason);
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            imported += batch.size();
+            batch.clear();
+        }
+
+        private String nameKey(String type, String name) {
+            return type + ":" + name.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
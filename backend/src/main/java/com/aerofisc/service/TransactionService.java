@@ -6,41 +6,50 @@
 
 package com.aerofisc.service;
 
+import com.aerofisc.dto.CursorPageDto;
+import com.aerofisc.dto.TransactionCursor;
 import com.aerofisc.dto.TransactionDto;
 import com.aerofisc.entity.Category;
 import com.aerofisc.entity.Transaction;
+import com.aerofisc.event.TransactionEvent;
 import com.aerofisc.exception.ResourceNotFoundException;
 import com.aerofisc.repository.CategoryRepository;
 import com.aerofisc.repository.TransactionRepository;
-import org.springframework.cache.annotation.CacheEvict;
+import com.aerofisc.repository.TransactionSpecifications;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class TransactionService {
 
+    private static final int MAX_SCROLL_PAGE_SIZE = 100;
+
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
-    private final BudgetService budgetService;
-    private final WebSocketService webSocketService;
-    private final BillService billService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final OutboxService outboxService;
+    private final DashboardCacheEvictor dashboardCacheEvictor;
+    private final CategoryNameResolver categoryNameResolver;
 
-    public TransactionService(TransactionRepository transactionRepository, CategoryRepository categoryRepository, BudgetService budgetService, WebSocketService webSocketService, BillService billService) {
+    public TransactionService(TransactionRepository transactionRepository, CategoryRepository categoryRepository, MonthlyRollupService monthlyRollupService, OutboxService outboxService, DashboardCacheEvictor dashboardCacheEvictor, CategoryNameResolver categoryNameResolver) {
         this.transactionRepository = transactionRepository;
         this.categoryRepository = categoryRepository;
-        this.budgetService = budgetService;
-        this.webSocketService = webSocketService;
-        this.billService = billService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.outboxService = outboxService;
+        this.dashboardCacheEvictor = dashboardCacheEvictor;
+        this.categoryNameResolver = categoryNameResolver;
    }
 
     @Transactional
-    @CacheEvict(value = { "dashboard_summary", "dashboard_trends", "dashboard_breakdown" }, allEntries = true)
     public TransactionDto createTransaction(TransactionDto dto, Long userId) {
         // Validate category exists
         Category category = categoryRepository.findById(dto.getCategoryId())
@@ -56,29 +65,18 @@ public class TransactionService {
         transaction.setIsAnomaly(false);
 
         Transaction saved = transactionRepository.save(transaction);
+        // Rollups and the cache eviction stay in the write so dashboard totals
+        // read back immediately; budgets, bills and WebSocket follow from the outbox
+        monthlyRollupService.recordTransaction(transaction);
+        outboxService.publish(TransactionEvent.created(saved, category.getName()));
 
-        // Update budget progress if expense
-        if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
-            budgetService.updateBudgetProgress(userId, transaction.getCategoryId());
-        }
-
-        // Sync with Bills if category matches
-        String categoryName = category.getName().toLowerCase();
-        if (categoryName.contains("bill") || categoryName.contains("emi") ||
-                categoryName.contains("rent") || categoryName.contains("utility")) {
-            billService.syncBillPayment(userId, transaction.getDescription(),
-                    transaction.getAmount(), transaction.getTransactionDate());
-        }
-
-        // Send WebSocket notification
-        webSocketService.sendDashboardUpdate(userId);
+        dashboardCacheEvictor.evictUser(userId);
 
         return mapToDto(saved, category.getName());
     }
 
     public Page<TransactionDto> getTransactions(Long userId, Pageable pageable) {
-        return transactionRepository.findByUserId(userId, pageable)
-                .map(this::mapToDto);
+        return mapPage(userId, transactionRepository.findByUserId(userId, pageable));
     }
 
     public Page<TransactionDto> getTransactionsByFilters(
@@ -91,8 +89,9 @@ public class TransactionService {
             BigDecimal maxAmount,
             Pageable pageable) {
 
-        return transactionRepository.findByFilters(
-                userId, type, categoryId, startDate, endDate, minAmount, maxAmount, pageable).map(this::mapToDto);
+        Specification<Transaction> spec = TransactionSpecifications.filter(
+                userId, type, categoryId, startDate, endDate, minAmount, maxAmount);
+        return mapPage(userId, transactionRepository.findAll(spec, pageable));
     }
 
     public TransactionDto getTransactionById(Long id, Long userId) {
@@ -107,7 +106,6 @@ public class TransactionService {
     }
 
     @Transactional
-    @CacheEvict(value = { "dashboard_summary", "dashboard_trends", "dashboard_breakdown" }, allEntries = true)
     public TransactionDto updateTransaction(Long id, TransactionDto dto, Long userId) {
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
@@ -128,8 +126,7 @@ public class TransactionService {
                     .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
         }
 
-        Transaction.TransactionType oldType = transaction.getType();
-        Long oldCategoryId = transaction.getCategoryId();
+        TransactionEvent.Snapshot before = TransactionEvent.Snapshot.of(transaction, null);
 
         transaction.setType(dto.getType());
         transaction.setAmount(dto.getAmount());
@@ -138,20 +135,17 @@ public class TransactionService {
         transaction.setTransactionDate(dto.getTransactionDate());
 
         Transaction updated = transactionRepository.save(transaction);
+        monthlyRollupService.reverseTransaction(userId, before.date(), before.type(), before.categoryId(),
+                before.amount());
+        monthlyRollupService.recordTransaction(transaction);
+        outboxService.publish(TransactionEvent.updated(updated, before));
 
-        // Update budget progress
-        if (oldType == Transaction.TransactionType.EXPENSE) {
-            budgetService.updateBudgetProgress(userId, oldCategoryId);
-        }
-        if (updated.getType() == Transaction.TransactionType.EXPENSE) {
-            budgetService.updateBudgetProgress(userId, updated.getCategoryId());
-        }
+        dashboardCacheEvictor.evictUser(userId);
 
         return mapToDto(updated);
     }
 
     @Transactional
-    @CacheEvict(value = { "dashboard_summary", "dashboard_trends", "dashboard_breakdown" }, allEntries = true)
     public void deleteTransaction(Long id, Long userId) {
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
@@ -160,25 +154,74 @@ public class TransactionService {
             throw new ResourceNotFoundException("Transaction not found");
         }
 
-        Transaction.TransactionType type = transaction.getType();
-        Long categoryId = transaction.getCategoryId();
-
         transactionRepository.delete(transaction);
+        monthlyRollupService.reverseTransaction(transaction);
+        outboxService.publish(TransactionEvent.deleted(transaction));
 
-        // Update budget progress
-        if (type == Transaction.TransactionType.EXPENSE) {
-            budgetService.updateBudgetProgress(userId, categoryId);
-        }
+        dashboardCacheEvictor.evictUser(userId);
+    }
+
+    /**
+     * Keyset-paginated listing ordered by (transactionDate, id). Each page
+     * seeks from the cursor, so page cost does not grow with depth, and the
+     * total is only counted when asked for.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<TransactionDto> scrollTransactions(
+            Long userId,
+            Transaction.TransactionType type,
+            Long categoryId,
+            LocalDate startDate,
+            LocalDate endDate,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            String cursor,
+            int size,
+            boolean ascending,
+            boolean includeTotal) {
+
+        int pageSize = Math.max(1, Math.min(size, MAX_SCROLL_PAGE_SIZE));
+        TransactionCursor position = cursor != null && !cursor.isBlank()
+                ? TransactionCursor.decode(cursor)
+                : (ascending ? TransactionCursor.EARLIEST : TransactionCursor.LATEST);
+
+        Specification<Transaction> filters = TransactionSpecifications.filter(
+                userId, type, categoryId, startDate, endDate, minAmount, maxAmount);
+
+        // Fetch one extra row to learn whether another page follows
+        List<Transaction> rows = transactionRepository.findBy(
+                filters.and(TransactionSpecifications.after(position, ascending)),
+                query -> query.sortBy(TransactionSpecifications.keysetOrder(ascending))
+                        .limit(pageSize + 1)
+                        .all());
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Transaction> page = hasNext ? rows.subList(0, pageSize) : rows;
+        Map<Long, String> categoryNames = categoryNameResolver.resolve(userId, page, Transaction::getCategoryId);
+
+        return CursorPageDto.<TransactionDto>builder()
+                .content(page.stream()
+                        .map(t -> mapToDto(t, categoryNames.get(t.getCategoryId())))
+                        .toList())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? TransactionCursor.after(page.get(page.size() - 1)).encode() : null)
+                .size(page.size())
+                .totalElements(includeTotal ? transactionRepository.count(filters) : null)
+                .build();
+    }
+
+    /**
+     * Map a page resolving all of its category names in one batch
+     */
+    private Page<TransactionDto> mapPage(Long userId, Page<Transaction> page) {
+        Map<Long, String> categoryNames = categoryNameResolver.resolve(userId, page.getContent(),
+                Transaction::getCategoryId);
+        return page.map(t -> mapToDto(t, categoryNames.get(t.getCategoryId())));
     }
 
     private TransactionDto mapToDto(Transaction transaction) {
-        String categoryName = null;
-        if (transaction.getCategoryId() != null) {
-            categoryName = categoryRepository.findById(transaction.getCategoryId())
-                    .map(Category::getName)
-                    .orElse(null);
-        }
-        return mapToDto(transaction, categoryName);
+        return mapToDto(transaction,
+                categoryNameResolver.nameOf(transaction.getUserId(), transaction.getCategoryId()));
     }
 
     private TransactionDto mapToDto(Transaction transaction, String categoryName) {
@@ -6,29 +6,93 @@
 
 package com.aerofisc.service;
 
+import com.aerofisc.dto.DashboardDeltaDto;
+import com.aerofisc.websocket.ClusterMessage;
+import com.aerofisc.websocket.ClusterMessageBus;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
 
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends to this node's clients and publishes the same encoded frame on the
+ * {@link ClusterMessageBus}, so clients of the user connected to other nodes
+ * receive it too. Frames published by other nodes are delivered here as-is.
+ */
 @Service
 public class WebSocketService {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final ClusterMessageBus clusterMessageBus;
 
-    public WebSocketService(SimpMessagingTemplate messagingTemplate) {
+    public WebSocketService(SimpMessagingTemplate messagingTemplate, ClusterMessageBus clusterMessageBus) {
         this.messagingTemplate = messagingTemplate;
-   }
+        this.clusterMessageBus = clusterMessageBus;
+        clusterMessageBus.subscribe(message -> {
+            if (message.kind() == ClusterMessage.Kind.TOPIC) {
+                deliver(message.destination(), message.body().getBytes(StandardCharsets.UTF_8),
+                        MimeType.valueOf(message.contentType()));
+            }
+        });
+    }
 
-    public void sendDashboardUpdate(Long userId) {
-        messagingTemplate.convertAndSend("/topic/user/" + userId + "/dashboard", "refresh");
+    /**
+     * Push changed dashboard figures; normally called by
+     * DashboardUpdateCoalescer rather than per write
+     */
+    public void sendDashboardUpdate(Long userId, DashboardDeltaDto delta) {
+        // Only the node holding the dashboard session computes the delta, so it stays local
+        Message<?> encoded = encode(delta);
+        deliver("/topic/user/" + userId + "/dashboard", body(encoded), contentType(encoded));
     }
 
     public void sendBudgetAlert(Long userId, String message) {
-        messagingTemplate.convertAndSend("/topic/user/" + userId + "/alerts", message);
+        send("/topic/user/" + userId + "/alerts", message);
     }
 
     public void sendNotification(Long userId, String notification) {
-        messagingTemplate.convertAndSend("/topic/user/" + userId + "/notifications", notification);
+        send("/topic/user/" + userId + "/notifications", notification);
+    }
+
+    private void send(String destination, Object payload) {
+        Message<?> encoded = encode(payload);
+        byte[] body = body(encoded);
+        MimeType contentType = contentType(encoded);
+        deliver(destination, body, contentType);
+        clusterMessageBus.publish(ClusterMessage.topic(destination, contentType.toString(),
+                new String(body, StandardCharsets.UTF_8)));
+    }
+
+    private Message<?> encode(Object payload) {
+        Message<?> encoded = messagingTemplate.getMessageConverter().toMessage(payload, null);
+        if (encoded == null) {
+            throw new IllegalStateException("No converter for " + payload.getClass().getName());
+        }
+        return encoded;
+    }
+
+    private void deliver(String destination, byte[] body, MimeType contentType) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setContentType(contentType);
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(body, headers.getMessageHeaders()));
     }
-}
 
+    private static byte[] body(Message<?> encoded) {
+        Object payload = encoded.getPayload();
+        return payload instanceof byte[] bytes ? bytes : payload.toString().getBytes(StandardCharsets.UTF_8);
+    }
 
+    private static MimeType contentType(Message<?> encoded) {
+        Object contentType = encoded.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+        if (contentType instanceof MimeType mimeType) {
+            return mimeType;
+        }
+        return contentType != null ? MimeType.valueOf(contentType.toString()) : MimeType.valueOf("text/plain");
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Allocation-free running statistics over money amounts, kept as long minor
+ * units (cents) to match the precision = 15, scale = 2 of Transaction.amount.
+ *
+ * Sums, minimum and maximum are exact; any overflow of the long range throws
+ * ArithmeticException instead of wrapping. Variance is tracked in double, as
+ * a sum of squares shifted by the first value so it stays numerically stable
+ * without a division per element; it only feeds statistics such as z-scores.
+ * Callers convert back to BigDecimal with the getters only when building
+ * their DTOs.
+ *
+ * Not thread-safe; combine per-thread instances with {@link #merge}.
+ */
+public final class MoneyAccumulator {
+
+    public static final int SCALE = 2;
+
+    private long count;
+    private long sumCents;
+    private long minCents = Long.MAX_VALUE;
+    private long maxCents = Long.MIN_VALUE;
+
+    // Sum of squared deviations from the first value seen, in cents
+    private long shiftCents;
+    private double shiftedSquares;
+
+    /**
+     * Convert an amount to cents, rounding half-up beyond two decimal places.
+     * Throws ArithmeticException if it does not fit in a long.
+     */
+    public static long toCents(BigDecimal amount) {
+        if (amount.scale() == SCALE) {
+            // Common case: no rounding, and longValueExact on a compact scale-0
+            // value returns the unscaled long directly
+            return amount.movePointRight(SCALE).longValueExact();
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Collects the amounts extracted from each element
+     */
+    public static <T> Collector<T, MoneyAccumulator, MoneyAccumulator> summing(Function<T, BigDecimal> amount) {
+        return Collector.of(MoneyAccumulator::new,
+                (accumulator, element) -> accumulator.add(amount.apply(element)),
+                MoneyAccumulator::merge,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    public static MoneyAccumulator of(Iterable<BigDecimal> amounts) {
+        MoneyAccumulator accumulator = new MoneyAccumulator();
+        for (BigDecimal amount : amounts) {
+            accumulator.add(amount);
+        }
+        return accumulator;
+    }
+
+    /**
+     * Add an amount; null amounts are ignored
+     */
+    public MoneyAccumulator add(BigDecimal amount) {
+        if (amount != null) {
+            addCents(toCents(amount));
+        }
+        return this;
+    }
+
+    public MoneyAccumulator addCents(long cents) {
+        if (count == 0) {
+            shiftCents = cents;
+        }
+        sumCents = Math.addExact(sumCents, cents);
+        count++;
+        minCents = Math.min(minCents, cents);
+        maxCents = Math.max(maxCents, cents);
+
+        double deviation = (double) cents - shiftCents;
+        shiftedSquares += deviation * deviation;
+        return this;
+    }
+
+    /**
+     * Fold another accumulator into this one
+     */
+    public MoneyAccumulator merge(MoneyAccumulator other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            sumCents = other.sumCents;
+            minCents = other.minCents;
+            maxCents = other.maxCents;
+            shiftCents = other.shiftCents;
+            shiftedSquares = other.shiftedSquares;
+            return this;
+        }
+
+        // Re-centre the other side's squares on our shift:
+        // sum((x - a)^2) = sum((x - b)^2) + 2(b - a) * sum(x - b) + n(b - a)^2
+        double shiftDelta = (double) other.shiftCents - shiftCents;
+        double otherShiftedSum = (double) other.sumCents - (double) other.count * other.shiftCents;
+        shiftedSquares += other.shiftedSquares + 2 * shiftDelta * otherShiftedSum
+                + other.count * shiftDelta * shiftDelta;
+        count = Math.addExact(count, other.count);
+        sumCents = Math.addExact(sumCents, other.sumCents);
+        minCents = Math.min(minCents, other.minCents);
+        maxCents = Math.max(maxCents, other.maxCents);
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public long getSumCents() {
+        return sumCents;
+    }
+
+    public BigDecimal getSum() {
+        return fromCents(sumCents);
+    }
+
+    /**
+     * Smallest amount added, or zero when empty
+     */
+    public BigDecimal getMin() {
+        return count == 0 ? BigDecimal.ZERO.setScale(SCALE) : fromCents(minCents);
+    }
+
+    /**
+     * Largest amount added, or zero when empty
+     */
+    public BigDecimal getMax() {
+        return count == 0 ? BigDecimal.ZERO.setScale(SCALE) : fromCents(maxCents);
+    }
+
+    /**
+     * Exact mean rounded half-up to cents, or zero when empty
+     */
+    public BigDecimal getMean() {
+        if (count == 0) {
+            return BigDecimal.ZERO.setScale(SCALE);
+        }
+        return getSum().divide(BigDecimal.valueOf(count), SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Population variance in currency units squared
+     */
+    public double getVariance() {
+        if (count == 0) {
+            return 0.0;
+        }
+        double shiftedSum = (double) sumCents - (double) count * shiftCents;
+        double varianceCents = (shiftedSquares - shiftedSum * shiftedSum / count) / count;
+        return Math.max(0.0, varianceCents) / 10_000.0;
+    }
+
+    /**
+     * Population standard deviation in currency units
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+}
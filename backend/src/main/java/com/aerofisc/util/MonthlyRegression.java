@@ -0,0 +1,231 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Least-squares line through monthly totals, kept as sufficient statistics
+ * so a change to one month is an O(1) update and a prediction never revisits
+ * the history.
+ *
+ * x is the month number since 2000-01, so months stay in calendar order
+ * and gaps count; y is the month's total in cents. n, Σx, Σx², Σy and Σxy
+ * are exact longs; only Σy², which feeds R², is a double. The buckets
+ * (month, total, transaction count) are what let a month be replaced or
+ * expired: a month's old contribution is taken out of the sums before its
+ * new one goes in, and a month whose count drops to zero leaves entirely.
+ *
+ * Not thread-safe; callers hold the row lock of the persisted state.
+ */
+public final class MonthlyRegression {
+
+    private static final YearMonth EPOCH = YearMonth.of(2000, 1);
+
+    private final TreeMap<YearMonth, Bucket> buckets;
+    private int n;
+    private long sumX;
+    private long sumXX;
+    private long sumY;
+    private long sumXY;
+    private double sumYY;
+
+    private record Bucket(long cents, long count) {
+    }
+
+    public MonthlyRegression() {
+        this.buckets = new TreeMap<>();
+    }
+
+    /**
+     * Restore persisted statistics; {@code buckets} is the {@link #encodeBuckets} form
+     */
+    public MonthlyRegression(int n, long sumX, long sumXX, long sumY, long sumXY, double sumYY, String buckets) {
+        this.buckets = decodeBuckets(buckets);
+        this.n = n;
+        this.sumX = sumX;
+        this.sumXX = sumXX;
+        this.sumY = sumY;
+        this.sumXY = sumXY;
+        this.sumYY = sumYY;
+    }
+
+    /**
+     * Move a month's total by {@code amount} over {@code count} transactions;
+     * negative values reverse earlier writes
+     */
+    public MonthlyRegression add(YearMonth month, BigDecimal amount, long count) {
+        Bucket current = buckets.get(month);
+        long cents = MoneyAccumulator.toCents(amount);
+        Bucket updated = current == null
+                ? new Bucket(cents, count)
+                : new Bucket(Math.addExact(current.cents(), cents), current.count() + count);
+
+        if (current != null) {
+            remove(month, current);
+        }
+        if (updated.count() > 0) {
+            include(month, updated);
+        }
+        return this;
+    }
+
+    /**
+     * Drop every month before {@code oldest}
+     */
+    public MonthlyRegression expireBefore(YearMonth oldest) {
+        while (!buckets.isEmpty() && buckets.firstKey().isBefore(oldest)) {
+            Map.Entry<YearMonth, Bucket> expired = buckets.firstEntry();
+            remove(expired.getKey(), expired.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * Number of months with transactions
+     */
+    public int size() {
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * Fitted total for a month, or NaN with fewer than two months
+     */
+    public double predict(YearMonth month) {
+        double ssxx = (double) n * sumXX - (double) sumX * sumX;
+        if (n < 2 || ssxx == 0) {
+            return Double.NaN;
+        }
+        double slope = ((double) n * sumXY - (double) sumX * sumY) / ssxx;
+        double intercept = (sumY - slope * sumX) / n;
+        return (intercept + slope * x(month)) / 100.0;
+    }
+
+    /**
+     * Coefficient of determination, or NaN with fewer than two months or
+     * identical totals
+     */
+    public double rSquare() {
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double ssxx = (double) n * sumXX - (double) sumX * sumX;
+        double ssyy = n * sumYY - (double) sumY * sumY;
+        double ssxy = (double) n * sumXY - (double) sumX * sumY;
+        if (ssxx == 0 || ssyy <= 0) {
+            return Double.NaN;
+        }
+        return Math.min(1.0, ssxy * ssxy / (ssxx * ssyy));
+    }
+
+    /**
+     * Exact mean of the monthly totals rounded to cents, or zero when empty
+     */
+    public BigDecimal mean() {
+        if (n == 0) {
+            return BigDecimal.ZERO.setScale(MoneyAccumulator.SCALE);
+        }
+        return MoneyAccumulator.fromCents(sumY).divide(BigDecimal.valueOf(n), MoneyAccumulator.SCALE,
+                RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Monthly totals, oldest month first
+     */
+    public List<BigDecimal> amounts() {
+        List<BigDecimal> amounts = new ArrayList<>(buckets.size());
+        buckets.values().forEach(bucket -> amounts.add(MoneyAccumulator.fromCents(bucket.cents())));
+        return amounts;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public long getSumX() {
+        return sumX;
+    }
+
+    public long getSumXX() {
+        return sumXX;
+    }
+
+    public long getSumY() {
+        return sumY;
+    }
+
+    public long getSumXY() {
+        return sumXY;
+    }
+
+    public double getSumYY() {
+        return sumYY;
+    }
+
+    /**
+     * Buckets as "yyyy-MM:cents:count" joined by ';', oldest first
+     */
+    public String encodeBuckets() {
+        StringBuilder encoded = new StringBuilder();
+        buckets.forEach((month, bucket) -> {
+            if (!encoded.isEmpty()) {
+                encoded.append(';');
+            }
+            encoded.append(month).append(':').append(bucket.cents()).append(':').append(bucket.count());
+        });
+        return encoded.toString();
+    }
+
+    private static TreeMap<YearMonth, Bucket> decodeBuckets(String encoded) {
+        TreeMap<YearMonth, Bucket> buckets = new TreeMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return buckets;
+        }
+        for (String entry : encoded.split(";")) {
+            String[] parts = entry.split(":");
+            buckets.put(YearMonth.parse(parts[0]), new Bucket(Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+        }
+        return buckets;
+    }
+
+    private void include(YearMonth month, Bucket bucket) {
+        long x = x(month);
+        n++;
+        sumX += x;
+        sumXX += x * x;
+        sumY = Math.addExact(sumY, bucket.cents());
+        sumXY = Math.addExact(sumXY, Math.multiplyExact(x, bucket.cents()));
+        sumYY += (double) bucket.cents() * bucket.cents();
+        buckets.put(month, bucket);
+    }
+
+    private void remove(YearMonth month, Bucket bucket) {
+        long x = x(month);
+        n--;
+        sumX -= x;
+        sumXX -= x * x;
+        sumY = Math.subtractExact(sumY, bucket.cents());
+        sumXY = Math.subtractExact(sumXY, Math.multiplyExact(x, bucket.cents()));
+        // Reset rather than leave rounding residue once the last month leaves
+        sumYY = n == 0 ? 0 : sumYY - (double) bucket.cents() * bucket.cents();
+        buckets.remove(month);
+    }
+
+    private static long x(YearMonth month) {
+        return (month.getYear() - EPOCH.getYear()) * 12L + month.getMonthValue() - EPOCH.getMonthValue();
+    }
+}
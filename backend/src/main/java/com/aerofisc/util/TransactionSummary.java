@@ -0,0 +1,158 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.util;
+
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Every per-type aggregate a report section needs, filled in one pass over a
+ * list or stream of transactions: totals and amount statistics by type, by
+ * category, by month and by day, plus the slice for the current month.
+ *
+ * Build it once from a single user/date-range query and hand the same
+ * instance to each section instead of re-querying or re-streaming per
+ * metric. Amounts are accumulated with {@link MoneyAccumulator}.
+ */
+public final class TransactionSummary implements Consumer<Transaction> {
+
+    private final YearMonth currentMonth;
+    private long count;
+
+    private final Map<TransactionType, MoneyAccumulator> byType = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, MoneyAccumulator> currentMonthByType = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Map<Long, MoneyAccumulator>> byCategory = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, SortedMap<YearMonth, MoneyAccumulator>> byMonth = new EnumMap<>(
+            TransactionType.class);
+    private final Map<TransactionType, SortedMap<LocalDate, MoneyAccumulator>> byDay = new EnumMap<>(
+            TransactionType.class);
+
+    public TransactionSummary() {
+        this(YearMonth.now());
+    }
+
+    /**
+     * @param currentMonth the month reported by the current-month getters
+     */
+    public TransactionSummary(YearMonth currentMonth) {
+        this.currentMonth = currentMonth;
+    }
+
+    public static TransactionSummary of(Iterable<Transaction> transactions) {
+        TransactionSummary summary = new TransactionSummary();
+        transactions.forEach(summary);
+        return summary;
+    }
+
+    /**
+     * Drain a (possibly database-backed) stream; the caller still owns closing it
+     */
+    public static TransactionSummary of(Stream<Transaction> transactions) {
+        TransactionSummary summary = new TransactionSummary();
+        transactions.forEachOrdered(summary);
+        return summary;
+    }
+
+    @Override
+    public void accept(Transaction transaction) {
+        TransactionType type = transaction.getType();
+        if (type == null || transaction.getAmount() == null) {
+            return;
+        }
+
+        long cents = MoneyAccumulator.toCents(transaction.getAmount());
+        count++;
+        byType.computeIfAbsent(type, t -> new MoneyAccumulator()).addCents(cents);
+        byCategory.computeIfAbsent(type, t -> new HashMap<>())
+                .computeIfAbsent(transaction.getCategoryId(), c -> new MoneyAccumulator())
+                .addCents(cents);
+
+        LocalDate date = transaction.getTransactionDate();
+        if (date != null) {
+            YearMonth month = YearMonth.from(date);
+            byMonth.computeIfAbsent(type, t -> new TreeMap<>())
+                    .computeIfAbsent(month, m -> new MoneyAccumulator())
+                    .addCents(cents);
+            byDay.computeIfAbsent(type, t -> new TreeMap<>())
+                    .computeIfAbsent(date, d -> new MoneyAccumulator())
+                    .addCents(cents);
+            if (month.equals(currentMonth)) {
+                currentMonthByType.computeIfAbsent(type, t -> new MoneyAccumulator()).addCents(cents);
+            }
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getCount(TransactionType type) {
+        return stats(type).getCount();
+    }
+
+    public BigDecimal getTotal(TransactionType type) {
+        return stats(type).getSum();
+    }
+
+    /**
+     * Income minus expenses
+     */
+    public BigDecimal getNet() {
+        return MoneyAccumulator.fromCents(Math.subtractExact(
+                stats(TransactionType.INCOME).getSumCents(), stats(TransactionType.EXPENSE).getSumCents()));
+    }
+
+    /**
+     * Count, min, max, mean and variance of one type's amounts
+     */
+    public MoneyAccumulator stats(TransactionType type) {
+        MoneyAccumulator accumulator = byType.get(type);
+        return accumulator != null ? accumulator : new MoneyAccumulator();
+    }
+
+    public BigDecimal getCurrentMonthTotal(TransactionType type) {
+        MoneyAccumulator accumulator = currentMonthByType.get(type);
+        return accumulator != null ? accumulator.getSum() : BigDecimal.ZERO.setScale(MoneyAccumulator.SCALE);
+    }
+
+    public YearMonth getCurrentMonth() {
+        return currentMonth;
+    }
+
+    /**
+     * Amounts per category id; uncategorised transactions are under the null key
+     */
+    public Map<Long, MoneyAccumulator> byCategory(TransactionType type) {
+        return Collections.unmodifiableMap(byCategory.getOrDefault(type, Map.of()));
+    }
+
+    /**
+     * Amounts per calendar month, in chronological order
+     */
+    public SortedMap<YearMonth, MoneyAccumulator> byMonth(TransactionType type) {
+        return Collections.unmodifiableSortedMap(byMonth.getOrDefault(type, new TreeMap<>()));
+    }
+
+    /**
+     * Amounts per day, in chronological order
+     */
+    public SortedMap<LocalDate, MoneyAccumulator> byDay(TransactionType type) {
+        return Collections.unmodifiableSortedMap(byDay.getOrDefault(type, new TreeMap<>()));
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.websocket;
+
+import java.util.List;
+
+/**
+ * A WebSocket message shared between nodes. TOPIC carries an encoded STOMP
+ * payload for a destination; DASHBOARD_UPDATE carries a pending dashboard
+ * push, which only the nodes holding a session for that user compute.
+ */
+public record ClusterMessage(String origin, Kind kind, String destination, String contentType, String body,
+        Long userId, List<Long> categoryIds) {
+
+    public enum Kind {
+        TOPIC,
+        DASHBOARD_UPDATE
+    }
+
+    public static ClusterMessage topic(String destination, String contentType, String body) {
+        return new ClusterMessage(null, Kind.TOPIC, destination, contentType, body, null, null);
+    }
+
+    public static ClusterMessage dashboardUpdate(Long userId, List<Long> categoryIds) {
+        return new ClusterMessage(null, Kind.DASHBOARD_UPDATE, null, null, null, userId, categoryIds);
+    }
+
+    public ClusterMessage withOrigin(String nodeId) {
+        return new ClusterMessage(nodeId, kind, destination, contentType, body, userId, categoryIds);
+    }
+}
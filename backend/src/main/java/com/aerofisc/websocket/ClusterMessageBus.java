@@ -0,0 +1,27 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.websocket;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries WebSocket messages to the other nodes. In REDIS broker mode this is
+ * a Redis pub/sub channel; otherwise, and in tests, an in-process
+ * {@link InMemoryClusterMessageBus}.
+ */
+public interface ClusterMessageBus {
+
+    /**
+     * Send to every other node; the local node delivers its own copy itself
+     */
+    void publish(ClusterMessage message);
+
+    /**
+     * Receive messages published by other nodes
+     */
+    void subscribe(Consumer<ClusterMessage> listener);
+}
@@ -0,0 +1,58 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.websocket;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Stand-in for the Redis channel: every bus created from one {@link Hub}
+ * is a node, and a message published on one is delivered synchronously to
+ * all the others. A lone node (SIMPLE broker mode) publishes to nobody.
+ */
+public class InMemoryClusterMessageBus implements ClusterMessageBus {
+
+    private final Hub hub;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<ClusterMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    private InMemoryClusterMessageBus(Hub hub) {
+        this.hub = hub;
+    }
+
+    public static InMemoryClusterMessageBus standalone() {
+        return new Hub().node();
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        ClusterMessage stamped = message.withOrigin(nodeId);
+        for (InMemoryClusterMessageBus node : hub.nodes) {
+            if (node != this) {
+                node.listeners.forEach(listener -> listener.accept(stamped));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> listener) {
+        listeners.add(listener);
+    }
+
+    public static class Hub {
+
+        private final List<InMemoryClusterMessageBus> nodes = new CopyOnWriteArrayList<>();
+
+        public InMemoryClusterMessageBus node() {
+            InMemoryClusterMessageBus node = new InMemoryClusterMessageBus(this);
+            nodes.add(node);
+            return node;
+        }
+    }
+}
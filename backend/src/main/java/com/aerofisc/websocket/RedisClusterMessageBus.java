@@ -0,0 +1,75 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Fans WebSocket messages out through one Redis pub/sub channel as JSON.
+ * Every node publishes and subscribes; a node ignores its own messages,
+ * which it has already delivered locally.
+ */
+@Slf4j
+public class RedisClusterMessageBus implements ClusterMessageBus, MessageListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<ClusterMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisClusterMessageBus(StringRedisTemplate redisTemplate, String channel, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(message.withOrigin(nodeId)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode WebSocket message", e);
+        } catch (RuntimeException e) {
+            // Local sessions already have the message; remote ones miss it
+            log.warn("Failed to publish WebSocket message to {}: {}", channel, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        ClusterMessage received;
+        try {
+            received = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8),
+                    ClusterMessage.class);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable WebSocket message on {}: {}", channel, e.getMessage());
+            return;
+        }
+
+        if (!nodeId.equals(received.origin())) {
+            listeners.forEach(listener -> listener.accept(received));
+        }
+    }
+}
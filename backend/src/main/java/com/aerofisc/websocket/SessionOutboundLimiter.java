@@ -0,0 +1,127 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.websocket;
+
+import com.aerofisc.config.WebSocketProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many messages may wait in the client outbound channel for one
+ * session (app.websocket.max-pending-per-session). A slow client then loses
+ * its newest broadcasts instead of growing the queue for everyone; CONNECTED,
+ * ERROR and other control frames are never dropped.
+ *
+ * Publishes websocket.messages.outbound (result=sent|dropped) and
+ * websocket.sessions, the sessions connected to this node.
+ */
+@Slf4j
+@Component
+public class SessionOutboundLimiter implements ExecutorChannelInterceptor {
+
+    private final int maxPending;
+    private final Map<String, AtomicInteger> pending = new ConcurrentHashMap<>();
+    private final Counter sent;
+    private final Counter dropped;
+
+    public SessionOutboundLimiter(WebSocketProperties properties, MeterRegistry meterRegistry) {
+        this.maxPending = properties.getMaxPendingPerSession();
+        this.sent = Counter.builder("websocket.messages.outbound")
+                .description("Messages written to WebSocket sessions on this node")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("websocket.messages.outbound")
+                .description("Messages written to WebSocket sessions on this node")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("websocket.sessions", List.of(), pending);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return message;
+        }
+
+        // Sessions are tracked from SessionConnectedEvent until SessionDisconnectEvent
+        AtomicInteger queued = pending.get(sessionId);
+        if (queued == null) {
+            return message;
+        }
+        if (queued.incrementAndGet() > maxPending
+                && SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+            queued.decrementAndGet();
+            dropped.increment();
+            log.debug("Dropped message for slow WebSocket session {}", sessionId);
+            return null;
+        }
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sendResult, Exception ex) {
+        // Not queued after all (e.g. the executor rejected it), so nothing will be handled
+        if (!sendResult && ex != null) {
+            release(message);
+        }
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+            Exception ex) {
+        if (release(message) && ex == null) {
+            sent.increment();
+        }
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            pending.computeIfAbsent(sessionId, id -> new AtomicInteger());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        pending.remove(event.getSessionId());
+    }
+
+    int pendingFor(String sessionId) {
+        AtomicInteger queued = pending.get(sessionId);
+        return queued != null ? queued.get() : 0;
+    }
+
+    private boolean release(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return false;
+        }
+        AtomicInteger queued = pending.get(sessionId);
+        if (queued != null) {
+            queued.updateAndGet(count -> Math.max(0, count - 1));
+        }
+        return true;
+    }
+}
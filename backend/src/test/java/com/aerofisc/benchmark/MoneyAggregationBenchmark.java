@@ -0,0 +1,119 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.benchmark;
+
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.util.MoneyAccumulator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal reduce versus MoneyAccumulator over a ledger of transaction
+ * amounts: a plain sum, and the mean + standard deviation pass used by
+ * AnomalyDetectionService.
+ *
+ * Run with: mvn test -Dtest=MoneyAggregationBenchmark -Dbenchmark=true
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyAggregationBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    private List<Transaction> transactions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setType(Transaction.TransactionType.EXPENSE);
+            transaction.setTransactionDate(LocalDate.of(2026, 1, 1).plusDays(i % 365));
+            transaction.setAmount(BigDecimal.valueOf(100 + random.nextInt(5_000_000), 2));
+            transactions.add(transaction);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimalReduce() {
+        return transactions.stream()
+                .map(Transaction::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal sumMoneyAccumulator() {
+        MoneyAccumulator accumulator = new MoneyAccumulator();
+        for (Transaction transaction : transactions) {
+            accumulator.add(transaction.getAmount());
+        }
+        return accumulator.getSum();
+    }
+
+    @Benchmark
+    public BigDecimal meanStdDevBigDecimal() {
+        // The two-pass computation AnomalyDetectionService used before
+        BigDecimal sum = transactions.stream()
+                .map(Transaction::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal mean = sum.divide(BigDecimal.valueOf(transactions.size()), 2, RoundingMode.HALF_UP);
+        double variance = transactions.stream()
+                .mapToDouble(t -> {
+                    double diff = t.getAmount().subtract(mean).doubleValue();
+                    return diff * diff;
+                })
+                .average()
+                .orElse(0.0);
+        return BigDecimal.valueOf(Math.sqrt(variance)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public BigDecimal meanStdDevMoneyAccumulator() {
+        MoneyAccumulator stats = transactions.stream()
+                .collect(MoneyAccumulator.summing(Transaction::getAmount));
+        stats.getMean();
+        return BigDecimal.valueOf(stats.getStandardDeviation()).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void runBenchmarks() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(MoneyAggregationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
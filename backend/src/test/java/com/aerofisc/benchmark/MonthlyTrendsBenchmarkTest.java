@@ -0,0 +1,148 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.benchmark;
+
+import com.aerofisc.dto.MonthlyTotalDto;
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.repository.TransactionRepository;
+import com.aerofisc.service.MonthlyRollupService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the old one-query-per-month trend loop with the single GROUP BY
+ * projections on a seeded ledger of 100k transactions for one user.
+ *
+ * Run with: mvn test -Dtest=MonthlyTrendsBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class MonthlyTrendsBenchmarkTest {
+
+    private static final long USER_ID = 900_001L;
+    private static final int TRANSACTIONS = 100_000;
+    private static final int MONTHS = 24;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seed() {
+        if (transactionRepository.existsByUserId(USER_ID)) {
+            return;
+        }
+
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>(TRANSACTIONS);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            LocalDate date = today.minusDays(random.nextInt(MONTHS * 30));
+            boolean income = random.nextInt(5) == 0;
+            rows.add(new Object[] {
+                    USER_ID,
+                    (long) (1 + random.nextInt(16)),
+                    income ? "INCOME" : "EXPENSE",
+                    BigDecimal.valueOf(100 + random.nextInt(900_000), 2),
+                    "Seeded benchmark transaction #" + i,
+                    Date.valueOf(date),
+                    false,
+                    Timestamp.valueOf(LocalDateTime.now())
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (user_id, category_id, transaction_type, amount, " +
+                "description, transaction_date, is_anomaly, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        monthlyRollupService.rebuildForUser(USER_ID);
+    }
+
+    @Test
+    void compareTrendQueries() {
+        YearMonth end = YearMonth.now();
+        YearMonth start = end.minusMonths(MONTHS - 1);
+
+        BigDecimal perMonth = measure("per-month loop (before)", () -> {
+            BigDecimal total = BigDecimal.ZERO;
+            for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+                for (Transaction t : transactionRepository.findByUserIdAndTransactionDateBetween(USER_ID,
+                        month.atDay(1), month.atEndOfMonth())) {
+                    total = total.add(t.getAmount());
+                }
+            }
+            return total;
+        });
+
+        BigDecimal ledgerGroupBy = measure("ledger GROUP BY", () -> sum(transactionRepository
+                .sumByMonthAndType(USER_ID, start.atDay(1), end.atEndOfMonth())));
+
+        BigDecimal rollupGroupBy = measure("rollup GROUP BY (after)", () -> sum(monthlyRollupService
+                .getMonthlyTotals(USER_ID, start, end)));
+
+        assertEquals(0, perMonth.compareTo(ledgerGroupBy));
+        assertEquals(0, perMonth.compareTo(rollupGroupBy));
+    }
+
+    private BigDecimal measure(String label, Supplier<BigDecimal> query) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        query.get(); // warm up
+
+        statistics.clear();
+        long started = System.nanoTime();
+        BigDecimal result = null;
+        for (int i = 0; i < ROUNDS; i++) {
+            result = query.get();
+        }
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000 / ROUNDS;
+
+        System.out.printf("[benchmark] %-26s %4d queries/call %6d ms/call %8d entities loaded/call%n", label,
+                statistics.getPrepareStatementCount() / ROUNDS, elapsedMs,
+                statistics.getEntityLoadCount() / ROUNDS);
+        return result;
+    }
+
+    private BigDecimal sum(List<MonthlyTotalDto> totals) {
+        return totals.stream().map(MonthlyTotalDto::total).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
+
+
@@ -0,0 +1,125 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.cache;
+
+import com.aerofisc.service.DashboardCacheEvictor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two nodes sharing one L2, with a ConcurrentMap standing in for Redis and an
+ * in-memory bus standing in for the pub/sub channel.
+ */
+class TwoTierCacheTest {
+
+    private static final String L1_SPEC = "maximumSize=100,expireAfterWrite=60s";
+
+    private ConcurrentMapCacheManager sharedL2;
+    private TwoTierCacheManager nodeA;
+    private TwoTierCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        sharedL2 = new ConcurrentMapCacheManager(DashboardCacheEvictor.DASHBOARD_CACHES);
+        List<TwoTierCacheManager> nodes = new CopyOnWriteArrayList<>();
+        // Round-trip through the wire format, as the Redis channel does
+        CacheInvalidationBus bus = invalidation -> nodes.forEach(
+                node -> node.handleInvalidation(CacheInvalidation.decode(invalidation.encode())));
+        nodeA = new TwoTierCacheManager(sharedL2, L1_SPEC, bus);
+        nodeB = new TwoTierCacheManager(sharedL2, L1_SPEC, bus);
+        nodes.add(nodeA);
+        nodes.add(nodeB);
+    }
+
+    @Test
+    void get_ServesFromL2ThenL1AndCountsTiersSeparately() {
+        nodeA.getCache("dashboard_summary").put(1L, "summary-1");
+
+        TwoTierCache cacheB = (TwoTierCache) nodeB.getCache("dashboard_summary");
+        assertEquals("summary-1", cacheB.get(1L).get()); // L2 hit, promoted
+        assertEquals("summary-1", cacheB.get(1L).get()); // L1 hit
+        assertNull(cacheB.get(2L)); // miss in both
+
+        assertEquals(1, cacheB.getL1HitCount());
+        assertEquals(1, cacheB.getL2HitCount());
+        assertEquals(1, cacheB.getMissCount());
+        assertEquals(1.0 / 3, cacheB.getL1HitRate(), 1e-9);
+        assertEquals(0.5, cacheB.getL2HitRate(), 1e-9);
+    }
+
+    @Test
+    void evict_DropsL1CopyOnOtherNodes() {
+        Cache cacheA = nodeA.getCache("dashboard_summary");
+        Cache cacheB = nodeB.getCache("dashboard_summary");
+        cacheA.put(1L, "stale");
+        cacheB.get(1L);
+        assertNotNull(((TwoTierCache) cacheB).getL1().getIfPresent(1L));
+
+        cacheA.evict(1L);
+
+        assertNull(((TwoTierCache) cacheB).getL1().getIfPresent(1L));
+        assertNull(cacheB.get(1L));
+    }
+
+    @Test
+    void put_ReplacesStaleL1CopyOnOtherNodes() {
+        Cache cacheA = nodeA.getCache("dashboard_summary");
+        Cache cacheB = nodeB.getCache("dashboard_summary");
+        cacheA.put(1L, "v1");
+        cacheB.get(1L);
+
+        cacheA.put(1L, "v2");
+
+        assertEquals("v2", cacheB.get(1L).get());
+    }
+
+    @Test
+    void dashboardEvictor_DropsUserPrefixOnEveryNode() {
+        Cache trendsA = nodeA.getCache("dashboard_trends");
+        Cache trendsB = nodeB.getCache("dashboard_trends");
+        trendsA.put("1_6", "trends-1");
+        trendsA.put("11_6", "trends-11");
+        trendsB.get("1_6");
+        trendsB.get("11_6");
+
+        new DashboardCacheEvictor(nodeA).evictUser(1L);
+
+        assertNull(trendsB.get("1_6"));
+        assertEquals("trends-11", trendsB.get("11_6").get());
+        assertNull(sharedL2.getCache("dashboard_trends").get("1_6"));
+    }
+
+    @Test
+    void clear_EmptiesEveryTier() {
+        Cache cacheA = nodeA.getCache("dashboard_breakdown");
+        Cache cacheB = nodeB.getCache("dashboard_breakdown");
+        cacheA.put("1_3", "breakdown");
+        cacheB.get("1_3");
+
+        cacheA.clear();
+
+        assertEquals(0, ((TwoTierCache) cacheB).getL1().estimatedSize());
+        assertNull(cacheB.get("1_3"));
+    }
+
+    @Test
+    void invalidation_KeepsKeyTypeOnTheWire() {
+        CacheInvalidation decoded = CacheInvalidation
+                .decode(CacheInvalidation.evict("node", "predictions", 42L).encode());
+
+        assertEquals(42L, decoded.typedKey());
+        assertEquals("a|b", CacheInvalidation.decode(
+                CacheInvalidation.evict("node", "predictions", "a|b").encode()).typedKey());
+    }
+}
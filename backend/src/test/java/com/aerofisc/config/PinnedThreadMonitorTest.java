@@ -0,0 +1,48 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PinnedThreadMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void shouldCountVirtualThreadBlockedInsideSynchronized() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PinnedThreadMonitor monitor = new PinnedThreadMonitor(registry, Duration.ofMillis(5));
+        try {
+            Thread pinned = Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            pinned.join();
+
+            // JFR streams events in periodic chunks
+            long deadline = System.currentTimeMillis() + 15_000;
+            while (monitor.pinnedCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+
+            assertTrue(monitor.pinnedCount() >= 1);
+            assertEquals(monitor.pinnedCount(), registry.get("jvm.threads.virtual.pinned").counter().count());
+        } finally {
+            monitor.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.controller;
+
+import com.aerofisc.dto.AuthResponse;
+import com.aerofisc.dto.ExportJobDto;
+import com.aerofisc.dto.ExportJobRequest;
+import com.aerofisc.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class ExportJobControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = java.util.UUID.randomUUID().toString().substring(0, 8);
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setUsername("exportUser" + suffix);
+        registerRequest.setEmail("export" + suffix + "@example.com");
+        registerRequest.setPassword("Password123@");
+        registerRequest.setFirstName("Export");
+        registerRequest.setLastName("User");
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        accessToken = objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class)
+                .getAccessToken();
+    }
+
+    @Test
+    public void shouldRunExportJobAndServeRangeRequests() throws Exception {
+        ExportJobRequest request = ExportJobRequest.builder().type("transactions").format("csv").build();
+
+        MvcResult submitted = mockMvc.perform(post("/api/export/jobs")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("$.id").exists())
+                .andReturn();
+        String jobId = objectMapper.readValue(submitted.getResponse().getContentAsString(), ExportJobDto.class)
+                .getId();
+
+        ExportJobDto job = null;
+        for (int i = 0; i < 200; i++) {
+            MvcResult polled = mockMvc.perform(get("/api/export/jobs/" + jobId)
+                    .header("Authorization", "Bearer " + accessToken))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            job = objectMapper.readValue(polled.getResponse().getContentAsString(), ExportJobDto.class);
+            if (!"QUEUED".equals(job.getStatus()) && !"RUNNING".equals(job.getStatus())) {
+                break;
+            }
+            Thread.sleep(25);
+        }
+        assertEquals("COMPLETED", job.getStatus());
+
+        mockMvc.perform(get(job.getDownloadUrl())
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().string("Date,Type,Amount,Category,Description\r\n"));
+
+        mockMvc.perform(get(job.getDownloadUrl())
+                .header("Authorization", "Bearer " + accessToken)
+                .header(HttpHeaders.RANGE, "bytes=5-8"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("Type"));
+    }
+
+    @Test
+    public void shouldRejectUnsupportedExportJob() throws Exception {
+        ExportJobRequest request = ExportJobRequest.builder().type("dashboard").format("csv").build();
+
+        mockMvc.perform(post("/api/export/jobs")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/export/jobs/does-not-exist")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -48,10 +48,11 @@ public class TransactionControllerIntegrationTest {
 
     @BeforeEach
     void setUp() throws Exception {
-        // Register a user to get a token
+        // Register a fresh user per test to get a token
+        String suffix = java.util.UUID.randomUUID().toString().substring(0, 8);
         RegisterRequest registerRequest = new RegisterRequest();
-        registerRequest.setUsername("txUser");
-        registerRequest.setEmail("tx@example.com");
+        registerRequest.setUsername("txUser" + suffix);
+        registerRequest.setEmail("tx" + suffix + "@example.com");
         registerRequest.setPassword("Password123@");
         registerRequest.setFirstName("Tx");
         registerRequest.setLastName("User");
@@ -104,6 +105,120 @@ public class TransactionControllerIntegrationTest {
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content[0].description").value("Groceries"));
     }
-}
 
+    @Test
+    public void shouldScrollTransactionsByCursor() throws Exception {
+        LocalDate today = LocalDate.now();
+        LocalDate[] dates = { today, today.minusDays(1), today.minusDays(1), today.minusDays(2), today.minusDays(3) };
+        for (int i = 0; i < dates.length; i++) {
+            TransactionDto transactionDto = new TransactionDto();
+            transactionDto.setAmount(new BigDecimal("10.00").add(BigDecimal.valueOf(i)));
+            transactionDto.setType(Transaction.TransactionType.EXPENSE);
+            transactionDto.setDescription("Scroll " + i);
+            transactionDto.setTransactionDate(dates[i]);
+            transactionDto.setCategoryId(1L);
+            mockMvc.perform(post("/api/transactions")
+                    .header("Authorization", "Bearer " + accessToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(transactionDto)))
+                    .andExpect(status().isCreated());
+        }
+
+        // Newest first; the two same-day rows are ordered by id, highest first
+        String[] expected = { "Scroll 0", "Scroll 2", "Scroll 1", "Scroll 3", "Scroll 4" };
+        java.util.List<String> seen = new java.util.ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/api/transactions/scroll")
+                    .header("Authorization", "Bearer " + accessToken)
+                    .param("size", "2")
+                    .param("includeTotal", String.valueOf(cursor == null));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult page = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            com.fasterxml.jackson.databind.JsonNode body = objectMapper
+                    .readTree(page.getResponse().getContentAsString());
+            if (pages == 0) {
+                org.junit.jupiter.api.Assertions.assertEquals(5, body.get("totalElements").asInt());
+            }
+            body.get("content").forEach(row -> seen.add(row.get("description").asText()));
+            cursor = body.get("nextCursor").isNull() ? null : body.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        org.junit.jupiter.api.Assertions.assertEquals(3, pages);
+        org.junit.jupiter.api.Assertions.assertEquals(java.util.List.of(expected), seen);
+
+        mockMvc.perform(get("/api/transactions/scroll")
+                .header("Authorization", "Bearer " + accessToken)
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void shouldBulkImportCsvAndJson() throws Exception {
+        String today = LocalDate.now().toString();
+        String csv = "Date,Type,Amount,Category,Description\n"
+                + today + ",EXPENSE,12.50,1,Coffee\n"
+                + today + ",expense,40.00,Groceries,\"Weekly, shop\"\n"
+                + today + ",INCOME,abc,Salary,Broken amount\n"
+                + today + ",EXPENSE,5.00,No Such Category,Unknown\n";
+
+        mockMvc.perform(post("/api/transactions/import")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(4))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.errors[0]").value(org.hamcrest.Matchers.startsWith("line 4")));
+
+        String json = "[{\"transactionDate\":\"" + today + "\",\"type\":\"INCOME\",\"amount\":1000.10,"
+                + "\"categoryName\":\"Salary\",\"description\":\"Pay\"}]";
+
+        mockMvc.perform(post("/api/transactions/import")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(0));
+
+        mockMvc.perform(get("/api/transactions/scroll")
+                .header("Authorization", "Bearer " + accessToken)
+                .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.content[?(@.description == 'Weekly, shop')].categoryName")
+                        .value("Groceries"));
+
+        mockMvc.perform(post("/api/transactions/import")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"not\":\"an array\"}"))
+                .andExpect(status().isBadRequest());
+    }
 
+    @Test
+    public void shouldRejectOversizedImportAmountPerRow() throws Exception {
+        String today = LocalDate.now().toString();
+        String csv = "Date,Type,Amount,Category,Description\n"
+                + today + ",EXPENSE,99999999999999.00,1,Too large\n"
+                + today + ",EXPENSE,9999999999999.99,1,Largest allowed\n";
+
+        mockMvc.perform(post("/api/transactions/import")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0]").value(org.hamcrest.Matchers.startsWith("line 2")));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.repository;
+
+import com.aerofisc.dto.BudgetSpendDto;
+import com.aerofisc.entity.Budget;
+import com.aerofisc.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the budget spend statements against the database: the atomic delta
+ * update must only touch budgets of the same user and category whose
+ * period contains the date, and reconciliation must only rewrite drifted
+ * budgets.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class BudgetSpendUpdateTest {
+
+    private static final long USER_ID = 7L;
+    private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void applySpentDelta_ShouldOnlyTouchBudgetsCoveringTheDate() {
+        Budget march = budget(USER_ID, 3L, MARCH, MARCH.plusMonths(1).minusDays(1), "100.00");
+        Budget april = budget(USER_ID, 3L, MARCH.plusMonths(1), MARCH.plusMonths(2).minusDays(1), "0.00");
+        Budget otherCategory = budget(USER_ID, 4L, MARCH, MARCH.plusMonths(1).minusDays(1), "0.00");
+        Budget otherUser = budget(8L, 3L, MARCH, MARCH.plusMonths(1).minusDays(1), "0.00");
+
+        int updated = budgetRepository.applySpentDelta(USER_ID, 3L, MARCH.plusDays(30), new BigDecimal("25.50"));
+        budgetRepository.applySpentDelta(USER_ID, 3L, MARCH.plusDays(10), new BigDecimal("-5.50"));
+
+        assertEquals(1, updated);
+        assertSpent("120.00", march);
+        assertSpent("0.00", april);
+        assertSpent("0.00", otherCategory);
+        assertSpent("0.00", otherUser);
+    }
+
+    @Test
+    void findSpendCovering_ShouldSeeTheUpdatedValue() {
+        Budget march = budget(USER_ID, 3L, MARCH, MARCH.plusMonths(1).minusDays(1), "700.00");
+
+        budgetRepository.applySpentDelta(USER_ID, 3L, MARCH.plusDays(3), new BigDecimal("150.00"));
+        List<BudgetSpendDto> spend = budgetRepository.findSpendCovering(USER_ID, 3L, MARCH.plusDays(3));
+
+        assertEquals(1, spend.size());
+        assertEquals(march.getId(), spend.get(0).budgetId());
+        assertEquals(0, new BigDecimal("850.00").compareTo(spend.get(0).spent()));
+        assertTrue(spend.get(0).isOverThreshold());
+    }
+
+    @Test
+    void reconcileSpent_ShouldOnlyRewriteDriftedBudgets() {
+        expense(3L, MARCH.plusDays(2), "40.00");
+        expense(3L, MARCH.plusDays(20), "60.00");
+        expense(3L, MARCH.minusDays(1), "999.00");
+        Budget drifted = budget(USER_ID, 3L, MARCH, MARCH.plusMonths(1).minusDays(1), "35.00");
+        Budget correct = budget(USER_ID, 4L, MARCH, MARCH.plusMonths(1).minusDays(1), "0.00");
+        Budget empty = budget(USER_ID, 5L, MARCH, MARCH.plusMonths(1).minusDays(1), "12.00");
+
+        int corrected = budgetRepository.reconcileSpent(USER_ID);
+
+        assertEquals(2, corrected);
+        assertSpent("100.00", drifted);
+        assertSpent("0.00", correct);
+        assertSpent("0.00", empty);
+        assertEquals(0, budgetRepository.reconcileSpent(USER_ID));
+    }
+
+    private Budget budget(Long userId, Long categoryId, LocalDate start, LocalDate end, String spent) {
+        Budget budget = new Budget();
+        budget.setUserId(userId);
+        budget.setCategoryId(categoryId);
+        budget.setAmount(new BigDecimal("1000.00"));
+        budget.setStartDate(start);
+        budget.setEndDate(end);
+        budget.setSpent(new BigDecimal(spent));
+        return budgetRepository.saveAndFlush(budget);
+    }
+
+    private void expense(Long categoryId, LocalDate date, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setUserId(USER_ID);
+        transaction.setCategoryId(categoryId);
+        transaction.setType(Transaction.TransactionType.EXPENSE);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTransactionDate(date);
+        transaction.setIsAnomaly(false);
+        transactionRepository.saveAndFlush(transaction);
+    }
+
+    private void assertSpent(String expected, Budget budget) {
+        entityManager.refresh(budget);
+        assertEquals(0, new BigDecimal(expected).compareTo(budget.getSpent()),
+                "budget " + budget.getId() + " spent " + budget.getSpent());
+    }
+}
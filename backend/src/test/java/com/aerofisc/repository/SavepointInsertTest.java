@@ -0,0 +1,62 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.repository;
+
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.entity.UserMonthRollup;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the savepoint insert against the database: a duplicate bucket must be
+ * reported instead of thrown, and leave the surrounding transaction usable.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class SavepointInsertTest {
+
+    private static final String INSERT_SQL = "INSERT INTO user_month_rollup "
+            + "(user_id, period_month, transaction_type, category_id, total_amount, transaction_count, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserMonthRollupRepository rollupRepository;
+
+    @Test
+    void insertIfAbsent_ShouldReportDuplicateAndKeepTransactionUsable() {
+        SavepointInsert savepointInsert = new SavepointInsert(jdbcTemplate);
+
+        assertTrue(savepointInsert.insertIfAbsent(INSERT_SQL, 5L, "2026-03", "EXPENSE", 3L,
+                new BigDecimal("10.00"), 1L, LocalDateTime.now()));
+        assertFalse(savepointInsert.insertIfAbsent(INSERT_SQL, 5L, "2026-03", "EXPENSE", 3L,
+                new BigDecimal("20.00"), 1L, LocalDateTime.now()));
+        int updated = rollupRepository.applyDelta(5L, "2026-03", Transaction.TransactionType.EXPENSE, 3L,
+                new BigDecimal("20.00"), 1L);
+
+        List<UserMonthRollup> rollups = rollupRepository.findByUserId(5L);
+        assertEquals(1, updated);
+        assertEquals(1, rollups.size());
+        assertEquals(0, new BigDecimal("30.00").compareTo(rollups.get(0).getTotalAmount()));
+        assertEquals(2L, rollups.get(0).getTransactionCount());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.repository;
+
+import com.aerofisc.entity.Transaction;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query-plan regression test for the Specification based transaction search:
+ * each filter combination must reach the database without "IS NULL" guards
+ * and be planned on the matching composite index.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.aerofisc.repository.TransactionSearchPlanTest$CapturingInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class TransactionSearchPlanTest {
+
+    private static final long USER_ID = 7L;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long user = 1; user <= 10; user++) {
+            for (int i = 0; i < 500; i++) {
+                rows.add(new Object[] {
+                        user,
+                        (long) (i % 20) + 1,
+                        i % 4 == 0 ? "INCOME" : "EXPENSE",
+                        BigDecimal.valueOf(i % 300 + 1),
+                        Date.valueOf(START.plusDays(i % 365)),
+                        false });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transactions "
+                + "(user_id, category_id, transaction_type, amount, transaction_date, is_anomaly) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void categoryFilterUsesUserCategoryDateIndex() {
+        String plan = explain(TransactionSpecifications.filter(USER_ID, null, 3L,
+                START, START.plusDays(90), null, null), USER_ID, 3L, Date.valueOf(START),
+                Date.valueOf(START.plusDays(90)));
+
+        assertTrue(plan.contains("IDX_USER_CATEGORY_DATE"), plan);
+    }
+
+    @Test
+    void typeFilterUsesUserTypeDateIndex() {
+        String plan = explain(TransactionSpecifications.filter(USER_ID, Transaction.TransactionType.INCOME, null,
+                START, null, null, null), USER_ID, "INCOME", Date.valueOf(START));
+
+        assertTrue(plan.contains("IDX_USER_TYPE_DATE"), plan);
+    }
+
+    @Test
+    void dateOnlyFilterUsesUserDateIndex() {
+        String plan = explain(TransactionSpecifications.filter(USER_ID, null, null,
+                START.plusDays(30), START.plusDays(60), null, null), USER_ID,
+                Date.valueOf(START.plusDays(30)), Date.valueOf(START.plusDays(60)));
+
+        assertTrue(plan.contains("IDX_USER_DATE"), plan);
+    }
+
+    @Test
+    void specificationAppliesEverySuppliedFilter() {
+        List<Transaction> found = transactionRepository.findAll(TransactionSpecifications.filter(USER_ID,
+                Transaction.TransactionType.EXPENSE, 6L, null, null, new BigDecimal("50"), null));
+
+        assertFalse(found.isEmpty());
+        assertTrue(found.stream().allMatch(t -> t.getUserId() == USER_ID
+                && t.getType() == Transaction.TransactionType.EXPENSE
+                && t.getCategoryId() == 6L
+                && t.getAmount().compareTo(new BigDecimal("50")) >= 0));
+    }
+
+    /**
+     * Run the specification, then EXPLAIN the exact SQL Hibernate emitted with
+     * the bind values in predicate order
+     */
+    private String explain(Specification<Transaction> spec, Object... binds) {
+        transactionRepository.findAll(spec);
+
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(s -> s.toLowerCase().contains("from transactions"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No transaction query captured"));
+        assertFalse(sql.toLowerCase().contains(" is null"), sql);
+        assertEquals(binds.length, sql.chars().filter(c -> c == '?').count(), sql);
+
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, binds).toUpperCase();
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
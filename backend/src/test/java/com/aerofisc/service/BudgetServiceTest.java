@@ -7,12 +7,16 @@
 package com.aerofisc.service;
 
 import com.aerofisc.dto.BudgetDto;
+import com.aerofisc.dto.BudgetSpendDto;
 import com.aerofisc.entity.Budget;
 import com.aerofisc.entity.Category;
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.entity.User;
 import com.aerofisc.exception.ResourceNotFoundException;
 import com.aerofisc.repository.BudgetRepository;
 import com.aerofisc.repository.CategoryRepository;
 import com.aerofisc.repository.TransactionRepository;
+import com.aerofisc.util.MoneyAccumulator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,10 +27,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,9 +45,18 @@ class BudgetServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CategoryNameResolver categoryNameResolver;
+
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private UserService userService;
+
     @InjectMocks
     private BudgetService budgetService;
 
@@ -78,7 +94,6 @@ class BudgetServiceTest {
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
         when(budgetRepository.findOverlappingBudgets(any(), any(), any(), any())).thenReturn(Collections.emptyList());
         when(budgetRepository.save(any(Budget.class))).thenReturn(budget);
-        when(budgetRepository.findById(1L)).thenReturn(Optional.of(budget));
 
         BudgetDto result = budgetService.createBudget(budgetDto, userId);
 
@@ -104,11 +119,12 @@ class BudgetServiceTest {
     @Test
     void getBudgetById_Success() {
         when(budgetRepository.findByIdAndUserId(1L, userId)).thenReturn(Optional.of(budget));
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryNameResolver.nameOf(any(), eq(1L))).thenReturn(category.getName());
 
         BudgetDto result = budgetService.getBudgetById(1L, userId);
 
         assertNotNull(result);
+        assertEquals(category.getName(), result.getCategoryName());
         assertEquals(budget.getId(), result.getId());
     }
 
@@ -116,7 +132,6 @@ class BudgetServiceTest {
     void updateBudget_Success() {
         when(budgetRepository.findByIdAndUserId(1L, userId)).thenReturn(Optional.of(budget));
         when(budgetRepository.save(any(Budget.class))).thenReturn(budget);
-        when(budgetRepository.findById(1L)).thenReturn(Optional.of(budget));
 
         budgetDto.setAmount(new BigDecimal("2000.00"));
         BudgetDto result = budgetService.updateBudget(1L, budgetDto, userId);
@@ -133,6 +148,93 @@ class BudgetServiceTest {
 
         verify(budgetRepository).delete(budget);
     }
-}
 
+    @Test
+    void recordTransaction_AlertsFromUpdatedSpend() {
+        LocalDate date = LocalDate.now();
+        when(budgetRepository.applySpentDelta(userId, 1L, date, new BigDecimal("100.00"))).thenReturn(1);
+        when(budgetRepository.findSpendCovering(userId, 1L, date)).thenReturn(List.of(
+                new BudgetSpendDto(1L, 1L, new BigDecimal("1000.00"), new BigDecimal("850.00"),
+                        new BigDecimal("80.00"))));
+        User user = new User();
+        user.setEmail("user@example.com");
+        when(userService.getUserById(userId)).thenReturn(user);
+        when(categoryNameResolver.nameOf(userId, 1L)).thenReturn("Food");
+
+        budgetService.recordTransaction(expense(date, "100.00"));
+
+        verify(emailService).sendBudgetAlert("user@example.com", "Food", "85.0000");
+        verify(budgetRepository, never()).findActiveBudgets(any(), any());
+        verify(transactionRepository, never()).calculateSpentForBudget(any(), any(), any(), any());
+    }
+
+    @Test
+    void recordTransaction_DoesNotAlertBelowThreshold() {
+        LocalDate date = LocalDate.now();
+        when(budgetRepository.applySpentDelta(userId, 1L, date, new BigDecimal("100.00"))).thenReturn(1);
+        when(budgetRepository.findSpendCovering(userId, 1L, date)).thenReturn(List.of(
+                new BudgetSpendDto(1L, 1L, new BigDecimal("1000.00"), new BigDecimal("300.00"),
+                        new BigDecimal("80.00"))));
+
+        budgetService.recordTransaction(expense(date, "100.00"));
+
+        verifyNoInteractions(emailService, userService);
+    }
+
+    @Test
+    void recordTransaction_IgnoresIncome() {
+        Transaction income = expense(LocalDate.now(), "100.00");
+        income.setType(Transaction.TransactionType.INCOME);
+
+        budgetService.recordTransaction(income);
+
+        verifyNoInteractions(budgetRepository);
+    }
+
+    @Test
+    void reverseTransaction_AppliesNegativeDeltaWithoutReading() {
+        LocalDate date = LocalDate.now().minusDays(3);
+        when(budgetRepository.applySpentDelta(userId, 1L, date, new BigDecimal("-100.00"))).thenReturn(1);
+
+        budgetService.reverseTransaction(expense(date, "100.00"));
 
+        verify(budgetRepository).applySpentDelta(userId, 1L, date, new BigDecimal("-100.00"));
+        verify(budgetRepository, never()).findSpendCovering(any(), any(), any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void recordExpenses_AlertsEachBudgetOnce() {
+        LocalDate first = LocalDate.now();
+        LocalDate second = first.plusDays(1);
+        MoneyAccumulator firstTotal = new MoneyAccumulator();
+        firstTotal.add(new BigDecimal("500.00"));
+        MoneyAccumulator secondTotal = new MoneyAccumulator();
+        secondTotal.add(new BigDecimal("400.00"));
+        BudgetSpendDto over = new BudgetSpendDto(1L, 1L, new BigDecimal("1000.00"), new BigDecimal("900.00"),
+                new BigDecimal("80.00"));
+        when(budgetRepository.applySpentDelta(eq(userId), eq(1L), any(), any())).thenReturn(1);
+        when(budgetRepository.findSpendCovering(eq(userId), eq(1L), any())).thenReturn(List.of(over));
+        User user = new User();
+        user.setEmail("user@example.com");
+        when(userService.getUserById(userId)).thenReturn(user);
+        when(categoryNameResolver.nameOf(userId, 1L)).thenReturn("Food");
+
+        budgetService.recordExpenses(userId, Map.of(
+                new BudgetService.SpendKey(1L, first), firstTotal,
+                new BudgetService.SpendKey(1L, second), secondTotal));
+
+        verify(budgetRepository, times(2)).applySpentDelta(eq(userId), eq(1L), any(), any());
+        verify(emailService, times(1)).sendBudgetAlert(any(), any(), any());
+    }
+
+    private Transaction expense(LocalDate date, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setUserId(userId);
+        transaction.setCategoryId(1L);
+        transaction.setType(Transaction.TransactionType.EXPENSE);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.config.AppCacheProperties;
+import com.aerofisc.config.CacheConfig;
+import com.aerofisc.dto.CacheStatsDto;
+import com.aerofisc.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheAdminServiceTest {
+
+    private CacheManager cacheManager;
+    private CacheAdminService cacheAdminService;
+
+    @BeforeEach
+    void setUp() {
+        AppCacheProperties properties = new AppCacheProperties();
+        properties.getSpecs().put("predictions", "maximumSize=2,expireAfterWrite=5m");
+        cacheManager = new CacheConfig().caffeineCacheManager(properties);
+        cacheAdminService = new CacheAdminService(cacheManager, new DashboardCacheEvictor(cacheManager));
+    }
+
+    @Test
+    void getCacheStats_ReportsConfiguredLimitsAndHitRatio() {
+        Cache predictions = cacheManager.getCache("predictions");
+        predictions.put(1L, "p1");
+        predictions.get(1L);
+        predictions.get(2L);
+
+        CacheStatsDto stats = cacheAdminService.getCacheStats("predictions");
+
+        assertEquals("caffeine", stats.getProvider());
+        assertEquals(2L, stats.getMaximumSize());
+        assertEquals(300L, stats.getExpireAfterWriteSeconds());
+        assertEquals(1L, stats.getHitCount());
+        assertEquals(1L, stats.getMissCount());
+        assertEquals(0.5, stats.getHitRate());
+
+        List<CacheStatsDto> all = cacheAdminService.getCacheStats();
+        assertTrue(all.stream().anyMatch(s -> s.getName().equals("dashboard_summary")));
+    }
+
+    @Test
+    void evictKey_MatchesNumericUserIdKeys() {
+        cacheManager.getCache("userProfile").put(7L, "profile-7");
+        cacheManager.getCache("userProfile").put(8L, "profile-8");
+
+        cacheAdminService.evictKey("userProfile", "7");
+
+        assertNull(cacheManager.getCache("userProfile").get(7L));
+        assertNotNull(cacheManager.getCache("userProfile").get(8L));
+    }
+
+    @Test
+    void evictUser_ClearsDashboardAndUserKeyedEntries() {
+        cacheManager.getCache("dashboard_trends").put("7_6", "trends");
+        cacheManager.getCache("predictions").put(7L, "predictions");
+        cacheManager.getCache("predictions").put(8L, "other");
+
+        cacheAdminService.evictUser(7L);
+
+        assertNull(cacheManager.getCache("dashboard_trends").get("7_6"));
+        assertNull(cacheManager.getCache("predictions").get(7L));
+        assertNotNull(cacheManager.getCache("predictions").get(8L));
+    }
+
+    @Test
+    void unknownCache_Throws() {
+        assertThrows(ResourceNotFoundException.class, () -> cacheAdminService.clearCache("no_such_cache"));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.dto.CategoryDto;
+import com.aerofisc.entity.Category;
+import com.aerofisc.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryNameResolverTest {
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @InjectMocks
+    private CategoryNameResolver resolver;
+
+    private CategoryDto dto(Long id, String name) {
+        CategoryDto dto = new CategoryDto();
+        dto.setId(id);
+        dto.setName(name);
+        return dto;
+    }
+
+    @Test
+    void resolve_UsesCachedDictionaryWithoutQueryingCategories() {
+        when(categoryService.getAllCategoriesForUser(1L)).thenReturn(List.of(dto(1L, "Food"), dto(2L, "Rent")));
+
+        Map<Long, String> names = resolver.resolve(1L, Arrays.asList(1L, 2L, 1L, null));
+
+        assertEquals(Map.of(1L, "Food", 2L, "Rent"), names);
+        verifyNoInteractions(categoryRepository);
+    }
+
+    @Test
+    void resolve_LoadsIdsOutsideTheDictionaryInOneQuery() {
+        Category travel = new Category("Travel", Category.CategoryType.EXPENSE, false);
+        travel.setId(7L);
+        when(categoryService.getAllCategoriesForUser(1L)).thenReturn(List.of(dto(1L, "Food")));
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(travel));
+
+        Map<Long, String> names = resolver.resolve(1L, List.of(1L, 7L, 8L));
+
+        assertEquals(Map.of(1L, "Food", 7L, "Travel"), names);
+        verify(categoryRepository, times(1)).findAllById(Set.of(7L, 8L));
+    }
+
+    @Test
+    void nameOf_ReturnsNullForMissingCategory() {
+        when(categoryService.getAllCategoriesForUser(1L)).thenReturn(List.of());
+        when(categoryRepository.findAllById(any())).thenReturn(List.of());
+
+        assertNull(resolver.nameOf(1L, 99L));
+        assertNull(resolver.nameOf(1L, null));
+    }
+}
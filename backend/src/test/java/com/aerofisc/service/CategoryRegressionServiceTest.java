@@ -0,0 +1,212 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.entity.CategoryRegressionState;
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.entity.UserMonthRollup;
+import com.aerofisc.repository.CategoryRegressionStateRepository;
+import com.aerofisc.repository.SavepointInsert;
+import com.aerofisc.repository.TransactionRepository;
+import com.aerofisc.repository.UserMonthRollupRepository;
+import com.aerofisc.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs expenses through MonthlyRollupService against the database and checks
+ * that the incrementally maintained regression state always matches a
+ * rebuild of the same rollups.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class CategoryRegressionServiceTest {
+
+    private static final long USER_ID = 51L;
+
+    @Autowired
+    private UserMonthRollupRepository rollupRepository;
+
+    @Autowired
+    private CategoryRegressionStateRepository stateRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private CategoryRegressionService categoryRegressionService;
+    private MonthlyRollupService monthlyRollupService;
+
+    @BeforeEach
+    void setUp() {
+        SavepointInsert savepointInsert = new SavepointInsert(jdbcTemplate);
+        categoryRegressionService = new CategoryRegressionService(stateRepository, rollupRepository,
+                savepointInsert);
+        monthlyRollupService = new MonthlyRollupService(rollupRepository, transactionRepository, userRepository,
+                savepointInsert, categoryRegressionService);
+
+        // The user already has rollups, so expense writes create their buckets
+        rollupRepository.save(UserMonthRollup.builder()
+                .userId(USER_ID)
+                .periodMonth(YearMonth.now().toString())
+                .type(Transaction.TransactionType.INCOME)
+                .totalAmount(new BigDecimal("1000.00"))
+                .transactionCount(1L)
+                .build());
+    }
+
+    @Test
+    void recordExpense_ShouldSkipUserWithoutState() {
+        monthlyRollupService.recordTransaction(expense(3L, 1, "40.00"));
+
+        assertTrue(stateRepository.findByUserId(USER_ID).isEmpty());
+        assertEquals(1, categoryRegressionService.regressionsFor(USER_ID).get(3L).getN());
+    }
+
+    @Test
+    void recordExpense_ShouldMatchRebuildAfterCreates() {
+        monthlyRollupService.recordTransaction(expense(3L, 3, "100.00"));
+        categoryRegressionService.regressionsFor(USER_ID);
+
+        monthlyRollupService.recordTransaction(expense(3L, 2, "120.50"));
+        monthlyRollupService.recordTransaction(expense(3L, 2, "9.50"));
+        monthlyRollupService.recordTransaction(expense(3L, 0, "75.25"));
+        // A category the user has not spent in yet gets its own row
+        monthlyRollupService.recordTransaction(expense(4L, 1, "30.00"));
+
+        Map<Long, String> stored = storedState();
+        assertEquals(2, stored.size());
+        assertEquals(stored, rebuiltState());
+        assertEquals(3, stateRepository.lockByUserIdAndCategoryId(USER_ID, 3L).orElseThrow().getN());
+    }
+
+    @Test
+    void recordExpense_ShouldIgnoreMonthsOutsideTheWindow() {
+        monthlyRollupService.recordTransaction(expense(3L, 1, "100.00"));
+        categoryRegressionService.regressionsFor(USER_ID);
+        Map<Long, String> before = storedState();
+
+        monthlyRollupService.recordTransaction(expense(3L, PredictionService.HISTORY_MONTHS + 1, "500.00"));
+        monthlyRollupService.recordTransaction(expense(3L, -1, "500.00"));
+
+        assertEquals(before, storedState());
+        assertEquals(before, rebuiltState());
+    }
+
+    @Test
+    void recordExpense_ShouldReplaceMonthOnUpdateAndDelete() {
+        Transaction older = expense(3L, 2, "100.00");
+        Transaction recent = expense(3L, 1, "60.00");
+        monthlyRollupService.recordTransaction(older);
+        monthlyRollupService.recordTransaction(recent);
+        categoryRegressionService.regressionsFor(USER_ID);
+
+        // Update: the old amount leaves its month and the new one is added
+        monthlyRollupService.reverseTransaction(recent);
+        recent.setAmount(new BigDecimal("85.00"));
+        monthlyRollupService.recordTransaction(recent);
+        assertEquals(storedState(), rebuiltState());
+
+        // Moving an expense to another category and month
+        monthlyRollupService.reverseTransaction(older);
+        older.setCategoryId(4L);
+        older.setTransactionDate(LocalDate.now().withDayOfMonth(1));
+        monthlyRollupService.recordTransaction(older);
+        assertEquals(storedState(), rebuiltState());
+
+        // Delete: the month's count drops to zero and it leaves the statistics
+        monthlyRollupService.reverseTransaction(recent);
+        CategoryRegressionState emptied = stateRepository.lockByUserIdAndCategoryId(USER_ID, 3L).orElseThrow();
+        assertEquals(0, emptied.getN());
+        assertEquals(0L, emptied.getSumY());
+        assertEquals(0.0, emptied.getSumYY());
+        assertEquals("", emptied.getBuckets());
+        assertEquals(1, stateRepository.lockByUserIdAndCategoryId(USER_ID, 4L).orElseThrow().getN());
+    }
+
+    @Test
+    void rebuild_ShouldOverwriteRowsInPlaceAndDropEmptiedCategories() {
+        monthlyRollupService.recordTransaction(expense(3L, 1, "100.00"));
+        monthlyRollupService.recordTransaction(expense(4L, 1, "50.00"));
+        categoryRegressionService.regressionsFor(USER_ID);
+        Long groceriesId = stateRepository.lockByUserIdAndCategoryId(USER_ID, 3L).orElseThrow().getId();
+
+        // Rollups changed behind the state's back, e.g. by the nightly reconcile
+        rollupRepository.applyDelta(USER_ID, YearMonth.now().minusMonths(1).toString(),
+                Transaction.TransactionType.EXPENSE, 3L, new BigDecimal("25.00"), 1L);
+        rollupRepository.applyDelta(USER_ID, YearMonth.now().minusMonths(1).toString(),
+                Transaction.TransactionType.EXPENSE, 4L, new BigDecimal("-50.00"), -1L);
+
+        rebuiltState();
+        List<CategoryRegressionState> states = stateRepository.findByUserId(USER_ID);
+        assertEquals(1, states.size());
+        assertEquals(groceriesId, states.get(0).getId());
+        assertEquals(12500L, states.get(0).getSumY());
+    }
+
+    private Transaction expense(Long categoryId, int monthsAgo, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setUserId(USER_ID);
+        transaction.setCategoryId(categoryId);
+        transaction.setType(Transaction.TransactionType.EXPENSE);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTransactionDate(LocalDate.now().minusMonths(monthsAgo).withDayOfMonth(1));
+        return transaction;
+    }
+
+    /**
+     * Stored statistics per category, in a comparable form
+     */
+    private Map<Long, String> storedState() {
+        entityManager.flush();
+        entityManager.clear();
+        Map<Long, String> state = new TreeMap<>();
+        for (CategoryRegressionState row : stateRepository.findByUserId(USER_ID)) {
+            state.put(row.getCategoryId(), row.getN() + "|" + row.getSumX() + "|" + row.getSumXX() + "|"
+                    + row.getSumY() + "|" + row.getSumXY() + "|" + row.getSumYY() + "|" + row.getBuckets());
+        }
+        return state;
+    }
+
+    /**
+     * Statistics after rebuilding the state from the rollups alone
+     */
+    private Map<Long, String> rebuiltState() {
+        // A fresh persistence context, as in the nightly run's own transaction
+        entityManager.flush();
+        entityManager.clear();
+        YearMonth[] window = PredictionService.historyWindow();
+        categoryRegressionService.rebuild(USER_ID, USER_ID, window[0], window[1]);
+        return storedState();
+    }
+}
@@ -10,10 +10,13 @@ import com.aerofisc.dto.CategoryBreakdownDto;
 import com.aerofisc.dto.MonthlyTrendDto;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,7 +24,7 @@ public class ChartGeneratorServiceTest {
 
     @Test
     void generateTrendChart_ShouldReturnImage() {
-        ChartGeneratorService service = new ChartGeneratorService();
+        ChartGeneratorService service = new ChartGeneratorService(new ChartRenderCache(1 << 20, 1));
         // Arrange
         MonthlyTrendDto trend1 = new MonthlyTrendDto("Jan", new BigDecimal("5000"), new BigDecimal("2000"),
                 new BigDecimal("3000"));
@@ -40,7 +43,7 @@ public class ChartGeneratorServiceTest {
 
     @Test
     void generateCategoryPieChart_ShouldReturnImage() {
-        ChartGeneratorService service = new ChartGeneratorService();
+        ChartGeneratorService service = new ChartGeneratorService(new ChartRenderCache(1 << 20, 1));
         // Arrange
         CategoryBreakdownDto cat1 = CategoryBreakdownDto.builder()
                 .categoryId(1L)
@@ -68,6 +71,27 @@ public class ChartGeneratorServiceTest {
         assertEquals(600, image.getWidth());
         assertEquals(400, image.getHeight());
     }
+
+    @Test
+    void renderTrendChartAsync_ShouldServeRepeatFromCache() throws Exception {
+        ChartRenderCache cache = new ChartRenderCache(1 << 20, 1);
+        ChartGeneratorService service = new ChartGeneratorService(cache);
+        List<MonthlyTrendDto> data = List.of(
+                new MonthlyTrendDto("Jan", new BigDecimal("5000"), new BigDecimal("2000"), new BigDecimal("3000")));
+        // Same series with a different scale must hit the same entry
+        List<MonthlyTrendDto> rescaled = List.of(
+                new MonthlyTrendDto("Jan", new BigDecimal("5000.00"), new BigDecimal("2000.0"),
+                        new BigDecimal("3000")));
+
+        byte[] first = service.renderTrendChartAsync(data, 800, 400).get(5, TimeUnit.SECONDS);
+        byte[] second = service.renderTrendChartAsync(rescaled, 800, 400).get(5, TimeUnit.SECONDS);
+
+        assertSame(first, second);
+        assertEquals(1, cache.stats().hitCount());
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(first));
+        assertEquals(800, image.getWidth());
+        cache.shutdown();
+    }
 }
 
 
@@ -0,0 +1,102 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.PieChart;
+import org.knowm.xchart.PieChartBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChartRenderCacheTest {
+
+    private ChartRenderCache cache = new ChartRenderCache(1 << 20, 2);
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void getOrRender_ShouldRenderOncePerKey() {
+        byte[] first = cache.getOrRender(key(200, 100, "42.50"), this::chart);
+        byte[] second = cache.getOrRender(key(200, 100, "42.5"), this::chart);
+
+        assertSame(first, second);
+        assertEquals(1, renders.get());
+        // PNG signature
+        assertEquals((byte) 0x89, first[0]);
+        assertEquals('P', first[1]);
+    }
+
+    @Test
+    void getOrRender_ShouldKeySizeAndSeriesSeparately() {
+        cache.getOrRender(key(200, 100, "42.50"), this::chart);
+        cache.getOrRender(key(201, 100, "42.50"), this::chart);
+        cache.getOrRender(key(200, 100, "42.51"), this::chart);
+        cache.getOrRender(ChartRenderCache.key("pie", 200, 100, "light").add("Food").add(new BigDecimal("42.50")),
+                this::chart);
+
+        assertEquals(4, renders.get());
+    }
+
+    @Test
+    void key_ShouldSeparateAdjacentValues() {
+        String joined = ChartRenderCache.key("pie", 1, 1, "dark").add("ab").add("c").digest();
+        String split = ChartRenderCache.key("pie", 1, 1, "dark").add("a").add("bc").digest();
+
+        assertNotEquals(joined, split);
+    }
+
+    @Test
+    void cache_ShouldStayWithinByteBudget() {
+        int pngSize = cache.getOrRender(key(200, 100, "0"), this::chart).length;
+        cache.shutdown();
+        cache = new ChartRenderCache(pngSize * 3L, 1);
+
+        for (int i = 0; i < 20; i++) {
+            cache.getOrRender(key(200, 100, String.valueOf(i)), this::chart);
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.stats().evictionWeight() > 0);
+        assertTrue(cache.estimatedBytes() <= pngSize * 3L + 512,
+                "cache holds " + cache.estimatedBytes() + " bytes");
+    }
+
+    @Test
+    void getOrRenderAsync_ShouldRenderOnDedicatedPool() throws Exception {
+        AtomicReference<String> thread = new AtomicReference<>();
+
+        byte[] png = cache.getOrRenderAsync(key(200, 100, "7"), () -> {
+            thread.set(Thread.currentThread().getName());
+            return chart();
+        }).get(5, TimeUnit.SECONDS);
+
+        assertTrue(thread.get().startsWith("chart-render-"), thread.get());
+        assertTrue(cache.getOrRenderAsync(key(200, 100, "7"), this::chart).isDone());
+        assertSame(png, cache.getOrRenderAsync(key(200, 100, "7"), this::chart).get());
+    }
+
+    private ChartRenderCache.Key key(int width, int height, String amount) {
+        return ChartRenderCache.key("pie", width, height, "dark").add("Food").add(new BigDecimal(amount));
+    }
+
+    private PieChart chart() {
+        renders.incrementAndGet();
+        PieChart chart = new PieChartBuilder().width(200).height(100).build();
+        chart.addSeries("Food", 42.5);
+        return chart;
+    }
+}
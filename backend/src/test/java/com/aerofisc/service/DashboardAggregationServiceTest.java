@@ -0,0 +1,164 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.dto.DashboardSectionDto;
+import com.aerofisc.dto.FullDashboardDto;
+import com.aerofisc.dto.PredictionDto;
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.entity.UserMonthRollup;
+import com.aerofisc.repository.BudgetRepository;
+import com.aerofisc.repository.SavingsGoalRepository;
+import com.aerofisc.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class DashboardAggregationServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private BudgetRepository budgetRepository;
+    @Mock
+    private SavingsGoalRepository savingsGoalRepository;
+    @Mock
+    private CategoryNameResolver categoryNameResolver;
+    @Mock
+    private PredictionService predictionService;
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    private DashboardService dashboardService;
+    private DashboardAggregationService aggregationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        dashboardService = new DashboardService(transactionRepository, budgetRepository, savingsGoalRepository,
+                categoryNameResolver, predictionService, monthlyRollupService);
+
+        String thisMonth = YearMonth.now().toString();
+        String lastYear = YearMonth.now().minusMonths(12).toString();
+        when(monthlyRollupService.getAllRollups(USER_ID)).thenReturn(List.of(
+                rollup(thisMonth, Transaction.TransactionType.INCOME, null, "1000.00"),
+                rollup(thisMonth, Transaction.TransactionType.EXPENSE, 3L, "400.00"),
+                rollup(lastYear, Transaction.TransactionType.EXPENSE, 4L, "50.00")));
+        when(budgetRepository.countByUserId(USER_ID)).thenReturn(2);
+        when(savingsGoalRepository.countByUserId(USER_ID)).thenReturn(1);
+        when(categoryNameResolver.resolve(eq(USER_ID), anyCollection())).thenReturn(Map.of(3L, "Groceries"));
+        when(transactionRepository.findTop10ByUserIdOrderByTransactionDateDescCreatedAtDesc(USER_ID))
+                .thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (aggregationService != null) {
+            aggregationService.shutdown();
+        }
+    }
+
+    @Test
+    void getFullDashboard_ShouldDeriveAllPartsFromOneRollupRead() {
+        aggregationService = service(Duration.ofSeconds(5));
+        when(predictionService.predictNextMonthExpenses(USER_ID)).thenReturn(List.of(prediction("Total", "900")));
+
+        FullDashboardDto dashboard = aggregationService.getFullDashboard(USER_ID, 6, 5);
+
+        assertEquals(DashboardSectionDto.OK, dashboard.getSummary().getStatus());
+        // Balance is all time, so the year-old expense counts
+        assertEquals(0, new BigDecimal("550").compareTo(dashboard.getSummary().getData().getBalance()));
+        assertEquals(0, new BigDecimal("1000").compareTo(dashboard.getSummary().getData().getTotalIncome()));
+        assertEquals(2, dashboard.getSummary().getData().getBudgetCount());
+        assertEquals(0, new BigDecimal("900").compareTo(dashboard.getSummary().getData().getNextMonthPrediction()));
+
+        assertEquals(6, dashboard.getMonthlyTrends().getData().size());
+        // The year-old expense is outside the six month window
+        assertEquals(1, dashboard.getCategoryBreakdown().getData().size());
+        assertEquals("Groceries", dashboard.getCategoryBreakdown().getData().get(0).getCategoryName());
+        assertEquals(DashboardSectionDto.OK, dashboard.getRecentTransactions().getStatus());
+        assertEquals(DashboardSectionDto.OK, dashboard.getPredictions().getStatus());
+
+        verify(monthlyRollupService, times(1)).getAllRollups(USER_ID);
+        verify(monthlyRollupService, never()).getMonthlyTotals(anyLong(), any(), any());
+        verify(monthlyRollupService, never()).getRollups(anyLong(), any(), any());
+    }
+
+    @Test
+    void getFullDashboard_ShouldReturnPartialResultWhenPredictionIsSlow() {
+        aggregationService = service(Duration.ofMillis(100));
+        when(predictionService.predictNextMonthExpenses(USER_ID)).thenAnswer(inv -> {
+            Thread.sleep(2000);
+            return List.of(prediction("Total", "900"));
+        });
+
+        long started = System.currentTimeMillis();
+        FullDashboardDto dashboard = aggregationService.getFullDashboard(USER_ID, 6, 5);
+        long elapsed = System.currentTimeMillis() - started;
+
+        assertTrue(elapsed < 1500, "waited " + elapsed + " ms for a slow prediction");
+        assertEquals(DashboardSectionDto.TIMEOUT, dashboard.getPredictions().getStatus());
+        assertNull(dashboard.getPredictions().getData());
+        assertEquals(DashboardSectionDto.OK, dashboard.getSummary().getStatus());
+        assertNull(dashboard.getSummary().getData().getNextMonthPrediction());
+        assertEquals(DashboardSectionDto.OK, dashboard.getMonthlyTrends().getStatus());
+        assertEquals(DashboardSectionDto.OK, dashboard.getCategoryBreakdown().getStatus());
+    }
+
+    @Test
+    void getFullDashboard_ShouldIsolateAFailingPart() {
+        aggregationService = service(Duration.ofSeconds(5));
+        when(predictionService.predictNextMonthExpenses(USER_ID)).thenReturn(List.of());
+        when(transactionRepository.findTop10ByUserIdOrderByTransactionDateDescCreatedAtDesc(USER_ID))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        FullDashboardDto dashboard = aggregationService.getFullDashboard(USER_ID, 6, 5);
+
+        assertEquals(DashboardSectionDto.ERROR, dashboard.getRecentTransactions().getStatus());
+        assertNotNull(dashboard.getRecentTransactions().getError());
+        assertEquals(DashboardSectionDto.OK, dashboard.getSummary().getStatus());
+        assertEquals("Keep up the good work!", dashboard.getSummary().getData().getAiRecommendation());
+    }
+
+    private DashboardAggregationService service(Duration predictionTimeout) {
+        return new DashboardAggregationService(dashboardService, monthlyRollupService, predictionService,
+                Duration.ofSeconds(5), predictionTimeout);
+    }
+
+    private UserMonthRollup rollup(String month, Transaction.TransactionType type, Long categoryId, String amount) {
+        UserMonthRollup rollup = new UserMonthRollup();
+        rollup.setUserId(USER_ID);
+        rollup.setPeriodMonth(month);
+        rollup.setType(type);
+        rollup.setCategoryId(categoryId);
+        rollup.setTotalAmount(new BigDecimal(amount));
+        rollup.setTransactionCount(1L);
+        return rollup;
+    }
+
+    private PredictionDto prediction(String category, String amount) {
+        PredictionDto prediction = new PredictionDto();
+        prediction.setCategoryName(category);
+        prediction.setPredictedAmount(new BigDecimal(amount));
+        prediction.setTrend("STABLE");
+        return prediction;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardCacheEvictorTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private DashboardCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(DashboardCacheEvictor.DASHBOARD_CACHES);
+        evictor = new DashboardCacheEvictor(cacheManager);
+
+        cacheManager.getCache("dashboard_summary").put(1L, "summary-1");
+        cacheManager.getCache("dashboard_summary").put(2L, "summary-2");
+        cacheManager.getCache("dashboard_trends").put("1_6", "trends-1-6");
+        cacheManager.getCache("dashboard_trends").put("1_12", "trends-1-12");
+        cacheManager.getCache("dashboard_trends").put("11_6", "trends-11-6");
+        cacheManager.getCache("dashboard_breakdown").put("1_3", "breakdown-1-3");
+        cacheManager.getCache("dashboard_breakdown").put("2_3", "breakdown-2-3");
+    }
+
+    @Test
+    void evictUser_RemovesOnlyThatUsersEntries() {
+        evictor.evictUser(1L);
+
+        Cache summary = cacheManager.getCache("dashboard_summary");
+        Cache trends = cacheManager.getCache("dashboard_trends");
+        Cache breakdown = cacheManager.getCache("dashboard_breakdown");
+
+        assertNull(summary.get(1L));
+        assertNull(trends.get("1_6"));
+        assertNull(trends.get("1_12"));
+        assertNull(breakdown.get("1_3"));
+
+        assertNotNull(summary.get(2L));
+        assertNotNull(trends.get("11_6"));
+        assertNotNull(breakdown.get("2_3"));
+    }
+
+    @Test
+    void evictUser_NullIsIgnored() {
+        evictor.evictUser(null);
+
+        assertNotNull(cacheManager.getCache("dashboard_summary").get(1L));
+    }
+}
+
+
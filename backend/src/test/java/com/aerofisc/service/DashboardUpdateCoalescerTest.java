@@ -0,0 +1,188 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.dto.DashboardDeltaDto;
+import com.aerofisc.entity.Budget;
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.entity.UserMonthRollup;
+import com.aerofisc.repository.BudgetRepository;
+import com.aerofisc.repository.SavingsGoalRepository;
+import com.aerofisc.repository.TransactionRepository;
+import com.aerofisc.websocket.InMemoryClusterMessageBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class DashboardUpdateCoalescerTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private BudgetRepository budgetRepository;
+    @Mock
+    private SavingsGoalRepository savingsGoalRepository;
+    @Mock
+    private CategoryNameResolver categoryNameResolver;
+    @Mock
+    private PredictionService predictionService;
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+    @Mock
+    private WebSocketService webSocketService;
+
+    private final DashboardSessionRegistry sessionRegistry = new DashboardSessionRegistry();
+    private DashboardUpdateCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        DashboardService dashboardService = new DashboardService(transactionRepository, budgetRepository,
+                savingsGoalRepository, categoryNameResolver, predictionService, monthlyRollupService);
+        coalescer = new DashboardUpdateCoalescer(sessionRegistry, dashboardService, webSocketService,
+                InMemoryClusterMessageBus.standalone(), Duration.ofMillis(100));
+
+        String thisMonth = YearMonth.now().toString();
+        when(monthlyRollupService.getAllRollups(USER_ID)).thenReturn(List.of(
+                rollup(thisMonth, Transaction.TransactionType.INCOME, 2L, "1000.00"),
+                rollup(thisMonth, Transaction.TransactionType.EXPENSE, 3L, "400.00"),
+                rollup(thisMonth, Transaction.TransactionType.EXPENSE, 4L, "25.00"),
+                rollup(YearMonth.now().minusMonths(1).toString(), Transaction.TransactionType.EXPENSE, 3L,
+                        "75.00")));
+        when(categoryNameResolver.resolve(eq(USER_ID), anyCollection())).thenReturn(Map.of(3L, "Groceries"));
+        when(budgetRepository.findActiveBudgets(eq(USER_ID), any())).thenReturn(List.of(
+                budget(10L, 3L, "500.00", "400.00"),
+                budget(11L, 4L, "100.00", "25.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    void requestUpdate_ShouldMergeBurstIntoOneDeltaMessage() throws Exception {
+        subscribe("session-1", "sub-0", "/topic/user/1/dashboard");
+
+        for (int i = 0; i < 500; i++) {
+            coalescer.requestUpdate(USER_ID, List.of(3L));
+        }
+
+        ArgumentCaptor<DashboardDeltaDto> delta = ArgumentCaptor.forClass(DashboardDeltaDto.class);
+        verify(webSocketService, timeout(2000)).sendDashboardUpdate(eq(USER_ID), delta.capture());
+        Thread.sleep(300);
+        verify(webSocketService, times(1)).sendDashboardUpdate(anyLong(), any());
+        verify(monthlyRollupService, times(1)).getAllRollups(USER_ID);
+
+        DashboardDeltaDto message = delta.getValue();
+        assertEquals(DashboardDeltaDto.TYPE, message.getType());
+        assertEquals(500, message.getUpdates());
+        assertEquals(0, new BigDecimal("500.00").compareTo(message.getBalance()));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(message.getMonthIncome()));
+        assertEquals(0, new BigDecimal("425.00").compareTo(message.getMonthExpenses()));
+
+        assertEquals(1, message.getCategories().size());
+        DashboardDeltaDto.CategoryTotal groceries = message.getCategories().get(0);
+        assertEquals("Groceries", groceries.getCategoryName());
+        assertEquals(0, new BigDecimal("400.00").compareTo(groceries.getMonthExpenses()));
+
+        // Only the budget of the touched category
+        assertEquals(1, message.getBudgets().size());
+        assertEquals(10L, message.getBudgets().get(0).getBudgetId());
+        assertEquals(0, new BigDecimal("80.00").compareTo(message.getBudgets().get(0).getProgressPercentage()));
+    }
+
+    @Test
+    void requestUpdate_ShouldSkipUsersWithoutLiveSession() throws Exception {
+        subscribe("session-1", "sub-0", "/topic/user/2/dashboard");
+        subscribe("session-1", "sub-1", "/topic/user/1/alerts");
+
+        coalescer.requestUpdate(USER_ID, List.of(3L));
+        Thread.sleep(300);
+
+        verifyNoInteractions(webSocketService, monthlyRollupService);
+    }
+
+    @Test
+    void requestUpdate_ShouldStopAfterDisconnect() throws Exception {
+        subscribe("session-1", "sub-0", "/topic/user/1/dashboard");
+        subscribe("session-2", "sub-0", "/topic/user/1/dashboard");
+        assertTrue(sessionRegistry.hasLiveSession(USER_ID));
+
+        disconnect("session-1");
+        assertTrue(sessionRegistry.hasLiveSession(USER_ID));
+        disconnect("session-2");
+        assertFalse(sessionRegistry.hasLiveSession(USER_ID));
+        assertEquals(0, sessionRegistry.liveUserCount());
+
+        coalescer.requestUpdate(USER_ID, List.of(3L));
+        Thread.sleep(300);
+        verifyNoInteractions(webSocketService);
+    }
+
+    private void subscribe(String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        headers.setSessionId(sessionId);
+        headers.setSubscriptionId(subscriptionId);
+        headers.setDestination(destination);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+        sessionRegistry.onSubscribe(new SessionSubscribeEvent(this, message));
+    }
+
+    private void disconnect(String sessionId) {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        headers.setSessionId(sessionId);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+        sessionRegistry.onDisconnect(new SessionDisconnectEvent(this, message, sessionId, CloseStatus.NORMAL));
+    }
+
+    private UserMonthRollup rollup(String month, Transaction.TransactionType type, Long categoryId, String amount) {
+        UserMonthRollup rollup = new UserMonthRollup();
+        rollup.setUserId(USER_ID);
+        rollup.setPeriodMonth(month);
+        rollup.setType(type);
+        rollup.setCategoryId(categoryId);
+        rollup.setTotalAmount(new BigDecimal(amount));
+        rollup.setTransactionCount(1L);
+        return rollup;
+    }
+
+    private Budget budget(Long id, Long categoryId, String amount, String spent) {
+        Budget budget = new Budget();
+        budget.setId(id);
+        budget.setUserId(USER_ID);
+        budget.setCategoryId(categoryId);
+        budget.setAmount(new BigDecimal(amount));
+        budget.setSpent(new BigDecimal(spent));
+        budget.setStartDate(LocalDate.now().withDayOfMonth(1));
+        budget.setEndDate(LocalDate.now().withDayOfMonth(1).plusMonths(1).minusDays(1));
+        return budget;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.entity.Budget;
+import com.aerofisc.entity.SavingsGoal;
+import com.aerofisc.entity.Transaction;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+public class ExcelReportGeneratorTest {
+
+    private static final int STREAMING_THRESHOLD = 50;
+
+    @Mock
+    private CategoryNameResolver categoryNameResolver;
+
+    private ExcelReportGenerator excelReportGenerator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        excelReportGenerator = new ExcelReportGenerator(categoryNameResolver, STREAMING_THRESHOLD);
+        when(categoryNameResolver.resolve(anyLong(), anyCollection(), any())).thenReturn(Map.of(1L, "Groceries"));
+    }
+
+    @Test
+    void generateDashboardExcel_SmallLedgerStaysInMemory() throws IOException {
+        byte[] data = excelReportGenerator.generateDashboardExcel(1L, transactions(10), List.of(budget()),
+                List.of(goal()));
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(data))) {
+            assertSheetOrder(workbook, "Dashboard Summary", "Transactions", "Budgets", "Savings Goals");
+            assertEquals(10, workbook.getSheet("Transactions").getLastRowNum());
+            assertEquals(1, workbook.getSheet("Budgets").getLastRowNum());
+        }
+    }
+
+    @Test
+    void generateDashboardExcel_LargeLedgerIsStreamed() throws IOException {
+        byte[] data = excelReportGenerator.generateDashboardExcel(1L, transactions(1200), List.of(budget()),
+                List.of(goal()));
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(data))) {
+            assertSheetOrder(workbook, "Dashboard Summary", "Transactions", "Budgets", "Savings Goals");
+            Sheet sheet = workbook.getSheet("Transactions");
+            assertEquals(1200, sheet.getLastRowNum());
+            assertEquals("Groceries", sheet.getRow(1200).getCell(2).getStringCellValue());
+            assertEquals(1199.0, sheet.getRow(1200).getCell(4).getNumericCellValue(), 0.001);
+            assertEquals("Total Income", workbook.getSheet("Dashboard Summary").getRow(1).getCell(0)
+                    .getStringCellValue());
+        }
+    }
+
+    @Test
+    void generateAnalyticsExcel_UsesSampledColumnWidths() throws IOException {
+        List<Transaction> transactions = transactions(200);
+        transactions.get(100).setDescription("A considerably longer description than the rest");
+
+        byte[] data = excelReportGenerator.generateAnalyticsExcel(1L, transactions, "6M");
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(data))) {
+            assertSheetOrder(workbook, "Analytics Summary", "Detailed Data");
+            Sheet sheet = workbook.getSheet("Detailed Data");
+            // "2024-01-01" plus padding
+            assertEquals(12 * 256, sheet.getColumnWidth(0));
+            assertEquals(("A considerably longer description than the rest".length() + 2) * 256,
+                    sheet.getColumnWidth(3));
+            assertEquals(1, sheet.getPaneInformation().getHorizontalSplitPosition());
+        }
+    }
+
+    private void assertSheetOrder(XSSFWorkbook workbook, String... names) {
+        assertEquals(names.length, workbook.getNumberOfSheets());
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], workbook.getSheetName(i));
+        }
+    }
+
+    private List<Transaction> transactions(int count) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Transaction t = new Transaction();
+            t.setTransactionDate(LocalDate.of(2024, 1, 1).plusDays(i % 28));
+            t.setType(i % 2 == 0 ? Transaction.TransactionType.EXPENSE : Transaction.TransactionType.INCOME);
+            t.setCategoryId(1L);
+            t.setDescription("Row " + i);
+            t.setAmount(BigDecimal.valueOf(i));
+            transactions.add(t);
+        }
+        return transactions;
+    }
+
+    private Budget budget() {
+        Budget budget = new Budget();
+        budget.setCategoryId(1L);
+        budget.setAmount(new BigDecimal("500.00"));
+        budget.setSpent(new BigDecimal("120.00"));
+        return budget;
+    }
+
+    private SavingsGoal goal() {
+        SavingsGoal goal = new SavingsGoal();
+        goal.setName("Car");
+        goal.setTargetAmount(new BigDecimal("10000.00"));
+        goal.setCurrentAmount(new BigDecimal("2500.00"));
+        goal.setDeadline(LocalDate.of(2026, 12, 31));
+        return goal;
+    }
+}
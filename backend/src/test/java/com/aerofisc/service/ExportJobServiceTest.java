@@ -0,0 +1,205 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.config.ExportJobProperties;
+import com.aerofisc.dto.ExportJobDto;
+import com.aerofisc.dto.ExportJobRequest;
+import com.aerofisc.exception.ExportLimitExceededException;
+import com.aerofisc.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ExportJobServiceTest {
+
+    @Mock
+    private ExportService exportService;
+
+    @TempDir
+    Path exportDir;
+
+    private ExportJobProperties properties;
+    private ExportJobService exportJobService;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        properties = new ExportJobProperties();
+        properties.setDirectory(exportDir.toString());
+        properties.setWorkers(2);
+        properties.setMaxActivePerUser(2);
+        exportJobService = new ExportJobService(exportService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        exportJobService.shutdown();
+    }
+
+    @Test
+    void submit_ShouldRenderToFileAndExposeDownload() throws Exception {
+        when(exportService.exportDashboardPDF(1L)).thenReturn(new byte[] { 1, 2, 3 });
+
+        ExportJobDto submitted = exportJobService.submit(1L, request("dashboard", "pdf"));
+        ExportJobDto done = awaitFinished(1L, submitted.getId());
+
+        assertEquals("COMPLETED", done.getStatus());
+        assertEquals(100, done.getProgress());
+        assertEquals(3L, done.getSizeBytes());
+        assertEquals("/api/export/jobs/" + submitted.getId() + "/download", done.getDownloadUrl());
+        assertNotNull(done.getExpiresAt());
+
+        ExportJobService.Artifact artifact = exportJobService.getArtifact(1L, submitted.getId());
+        assertEquals("dashboard.pdf", artifact.filename());
+        assertEquals("application/pdf", artifact.contentType());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, Files.readAllBytes(artifact.path()));
+    }
+
+    @Test
+    void submit_ShouldStreamCsvStraightToFile() throws Exception {
+        doAnswer(inv -> {
+            inv.getArgument(3, OutputStream.class).write("Date,Type\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).writeTransactionsCsv(eq(1L), any(), any(), any(OutputStream.class));
+
+        ExportJobDto submitted = exportJobService.submit(1L, request("transactions", "CSV"));
+        awaitFinished(1L, submitted.getId());
+
+        ExportJobService.Artifact artifact = exportJobService.getArtifact(1L, submitted.getId());
+        assertEquals("transactions.csv", artifact.filename());
+        assertEquals("Date,Type\r\n", Files.readString(artifact.path()));
+    }
+
+    @Test
+    void submit_ShouldShareOutstandingJobForIdenticalRequest() throws Exception {
+        blockDashboardExcel();
+
+        ExportJobDto first = exportJobService.submit(1L, request("dashboard", "excel"));
+        ExportJobDto second = exportJobService.submit(1L, request("dashboard", "xlsx"));
+        ExportJobDto otherUser = exportJobService.submit(2L, request("dashboard", "excel"));
+
+        assertEquals(first.getId(), second.getId());
+        assertNotEquals(first.getId(), otherUser.getId());
+
+        release.countDown();
+        awaitFinished(1L, first.getId());
+        verify(exportService, times(2)).exportDashboardExcel(anyLong());
+
+        // Once finished, a repeat request renders afresh
+        ExportJobDto third = exportJobService.submit(1L, request("dashboard", "excel"));
+        assertNotEquals(first.getId(), third.getId());
+    }
+
+    @Test
+    void submit_ShouldEnforcePerUserLimit() throws Exception {
+        properties.setMaxActivePerUser(1);
+        blockDashboardExcel();
+        when(exportService.exportBudgetsExcel(anyLong())).thenReturn(new byte[] { 1 });
+
+        exportJobService.submit(1L, request("dashboard", "excel"));
+
+        assertThrows(ExportLimitExceededException.class,
+                () -> exportJobService.submit(1L, request("budgets", "excel")));
+        assertDoesNotThrow(() -> exportJobService.submit(2L, request("budgets", "excel")));
+    }
+
+    @Test
+    void submit_ShouldRejectUnsupportedCombinations() {
+        assertThrows(IllegalArgumentException.class,
+                () -> exportJobService.submit(1L, request("dashboard", "csv")));
+        assertThrows(IllegalArgumentException.class,
+                () -> exportJobService.submit(1L, request("everything", "pdf")));
+        assertThrows(IllegalArgumentException.class,
+                () -> exportJobService.submit(1L, request("budgets", "docx")));
+    }
+
+    @Test
+    void failedJob_ShouldReportErrorAndLeaveNoFile() throws Exception {
+        when(exportService.exportGoalsPDF(1L)).thenThrow(new IllegalStateException("boom"));
+
+        ExportJobDto submitted = exportJobService.submit(1L, request("goals", "pdf"));
+        ExportJobDto done = awaitFinished(1L, submitted.getId());
+
+        assertEquals("FAILED", done.getStatus());
+        assertNotNull(done.getError());
+        assertNull(done.getDownloadUrl());
+        assertThrows(IllegalStateException.class, () -> exportJobService.getArtifact(1L, submitted.getId()));
+        try (var files = Files.list(exportDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void jobs_ShouldOnlyBeVisibleToTheirOwner() throws Exception {
+        when(exportService.exportDashboardPDF(1L)).thenReturn(new byte[] { 1 });
+        ExportJobDto submitted = exportJobService.submit(1L, request("dashboard", "pdf"));
+        awaitFinished(1L, submitted.getId());
+
+        assertThrows(ResourceNotFoundException.class, () -> exportJobService.getJob(2L, submitted.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> exportJobService.getArtifact(2L, submitted.getId()));
+        assertEquals(1, exportJobService.getJobs(1L).size());
+        assertTrue(exportJobService.getJobs(2L).isEmpty());
+    }
+
+    @Test
+    void purgeExpired_ShouldDeleteFinishedJobsPastTtl() throws Exception {
+        when(exportService.exportDashboardPDF(1L)).thenReturn(new byte[] { 1 });
+        ExportJobDto submitted = exportJobService.submit(1L, request("dashboard", "pdf"));
+        awaitFinished(1L, submitted.getId());
+        Path file = exportJobService.getArtifact(1L, submitted.getId()).path();
+
+        assertEquals(0, exportJobService.purgeExpired());
+
+        properties.setTtl(Duration.ZERO);
+        Thread.sleep(5);
+        assertEquals(1, exportJobService.purgeExpired());
+        assertFalse(Files.exists(file));
+        assertThrows(ResourceNotFoundException.class, () -> exportJobService.getJob(1L, submitted.getId()));
+    }
+
+    private void blockDashboardExcel() throws Exception {
+        when(exportService.exportDashboardExcel(anyLong())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new byte[] { 9 };
+        });
+    }
+
+    private ExportJobDto awaitFinished(Long userId, String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            ExportJobDto job = exportJobService.getJob(userId, jobId);
+            if ("COMPLETED".equals(job.getStatus()) || "FAILED".equals(job.getStatus())) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        fail("Export job " + jobId + " did not finish");
+        return null;
+    }
+
+    private ExportJobRequest request(String type, String format) {
+        return ExportJobRequest.builder().type(type).format(format).build();
+    }
+}
@@ -13,18 +13,22 @@ import com.aerofisc.entity.Transaction;
 import com.aerofisc.repository.BudgetRepository;
 import com.aerofisc.repository.SavingsGoalRepository;
 import com.aerofisc.repository.TransactionRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -51,10 +55,10 @@ public class ExportServiceTest {
     private PredictionService predictionService;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private CategoryNameResolver categoryNameResolver;
 
     @Mock
-    private ObjectWriter objectWriter;
+    private EntityManager entityManager;
 
     private ExportService exportService;
 
@@ -62,27 +66,8 @@ public class ExportServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         exportService = new ExportService(transactionRepository, budgetRepository, savingsGoalRepository,
-                pdfReportGenerator, excelReportGenerator, predictionService, objectMapper);
-    }
-
-    @Test
-    void exportAllDataJSON_ShouldReturnByteArray() throws IOException {
-        // Arrange
-        Long userId = 1L;
-        when(transactionRepository.findByUserIdOrderByCreatedAtDesc(userId)).thenReturn(Collections.emptyList());
-        when(budgetRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
-        when(savingsGoalRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
-
-        when(objectMapper.writerWithDefaultPrettyPrinter()).thenReturn(objectWriter);
-        when(objectWriter.writeValueAsBytes(anyMap())).thenReturn(new byte[] { 1, 2, 3 });
-
-        // Act
-        byte[] result = exportService.exportAllDataJSON(userId);
-
-        // Assert
-        assertNotNull(result);
-        assertTrue(result.length > 0);
-        verify(transactionRepository).findByUserIdOrderByCreatedAtDesc(userId);
+                pdfReportGenerator, excelReportGenerator, predictionService,
+                categoryNameResolver, entityManager);
     }
 
     @Test
@@ -104,6 +89,31 @@ public class ExportServiceTest {
         verify(pdfReportGenerator).generateDashboardPdf(eq(userId), anyList(), anyList(), anyList());
     }
 
+    @Test
+    void writeTransactionsPDF_ShouldFeedGeneratorFromCursorAndDetachRows() {
+        Long userId = 1L;
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+        Transaction first = new Transaction();
+        Transaction second = new Transaction();
+        when(transactionRepository.streamByUserIdAndDateRange(userId, start, end))
+                .thenReturn(Stream.of(first, second));
+        doAnswer(inv -> {
+            Iterator<Transaction> rows = inv.getArgument(1);
+            rows.forEachRemaining(t -> {
+            });
+            return null;
+        }).when(pdfReportGenerator).writeTransactionsPdf(eq(userId), any(), anyString(), any(OutputStream.class));
+
+        exportService.writeTransactionsPDF(userId, start, end, new ByteArrayOutputStream());
+
+        verify(pdfReportGenerator).writeTransactionsPdf(eq(userId), any(), eq("2024-01-01 to 2024-01-31"),
+                any(OutputStream.class));
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+        verify(transactionRepository, never()).findByUserIdAndTransactionDateBetween(anyLong(), any(), any());
+    }
+
     @Test
     void exportAnalyticsPDF_ShouldReturnByteArray() {
         // Arrange
@@ -124,6 +134,57 @@ public class ExportServiceTest {
         assertTrue(result.length > 0);
         verify(pdfReportGenerator).generateAnalyticsPdf(eq(userId), anyList(), eq(timeRange), anyList());
     }
-}
 
+    @Test
+    void writeTransactionsCsv_ShouldStreamRowsInImportFormat() throws IOException {
+        // Arrange
+        Long userId = 1L;
+        Transaction salary = transaction(10L, Transaction.TransactionType.INCOME, "2500.00", 1L, "Salary, June");
+        Transaction formula = transaction(11L, Transaction.TransactionType.EXPENSE, "12.50", 2L, "=HYPERLINK(\"x\")");
+        when(categoryNameResolver.dictionary(userId)).thenReturn(Map.of(1L, "Salary"));
+        when(categoryNameResolver.nameOf(userId, 2L)).thenReturn("Food");
+        when(transactionRepository.streamByUserId(userId)).thenReturn(Stream.of(salary, formula));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.writeTransactionsCsv(userId, null, null, out);
 
+        // Assert
+        assertEquals("Date,Type,Amount,Category,Description\r\n"
+                + "2024-06-01,INCOME,2500.00,Salary,\"Salary, June\"\r\n"
+                + "2024-06-01,EXPENSE,12.50,Food,\"'=HYPERLINK(\"\"x\"\")\"\r\n", out.toString());
+        verify(entityManager).detach(salary);
+        verify(entityManager).detach(formula);
+        verify(transactionRepository, never()).findByUserIdOrderByCreatedAtDesc(anyLong());
+    }
+
+    @Test
+    void writeTransactionsCsv_ShouldUseDateRangeStreamWhenBothBoundsGiven() throws IOException {
+        // Arrange
+        Long userId = 1L;
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+        when(categoryNameResolver.dictionary(userId)).thenReturn(Map.of());
+        when(transactionRepository.streamByUserIdAndDateRange(userId, start, end)).thenReturn(Stream.empty());
+
+        // Act
+        exportService.writeTransactionsCsv(userId, start, end, new ByteArrayOutputStream());
+
+        // Assert
+        verify(transactionRepository).streamByUserIdAndDateRange(userId, start, end);
+        verify(transactionRepository, never()).streamByUserId(anyLong());
+    }
+
+    private Transaction transaction(Long id, Transaction.TransactionType type, String amount, Long categoryId,
+            String description) {
+        Transaction t = new Transaction();
+        t.setId(id);
+        t.setUserId(1L);
+        t.setType(type);
+        t.setAmount(new BigDecimal(amount));
+        t.setCategoryId(categoryId);
+        t.setDescription(description);
+        t.setTransactionDate(LocalDate.of(2024, 6, 1));
+        return t;
+    }
+}
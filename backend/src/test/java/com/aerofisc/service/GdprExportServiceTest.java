@@ -0,0 +1,186 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.entity.*;
+import com.aerofisc.exception.ResourceNotFoundException;
+import com.aerofisc.repository.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class GdprExportServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserProfileRepository userProfileRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private RecurringTransactionRepository recurringTransactionRepository;
+    @Mock
+    private BudgetRepository budgetRepository;
+    @Mock
+    private SavingsGoalRepository savingsGoalRepository;
+    @Mock
+    private BillRepository billRepository;
+    @Mock
+    private DebtRepository debtRepository;
+    @Mock
+    private InvestmentRepository investmentRepository;
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+    @Mock
+    private RetirementAccountRepository retirementAccountRepository;
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private LikeRepository likeRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private GdprExportService gdprExportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        gdprExportService = new GdprExportService(userRepository, userProfileRepository, categoryRepository,
+                transactionRepository, recurringTransactionRepository, budgetRepository, savingsGoalRepository,
+                billRepository, debtRepository, investmentRepository, bankAccountRepository,
+                retirementAccountRepository, notificationRepository, postRepository, commentRepository,
+                likeRepository, objectMapper, entityManager);
+
+        User user = new User();
+        user.setId(USER_ID);
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword("$2a$10$secret-hash");
+        user.setMfaSecret("TOTP-SECRET");
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+
+        UserProfile profile = new UserProfile();
+        profile.setUser(user);
+        profile.setFirstName("Alice");
+        when(userProfileRepository.findByUserId(USER_ID)).thenReturn(Optional.of(profile));
+
+        Category category = new Category("Coffee", Category.CategoryType.EXPENSE, false);
+        category.setUser(user);
+        when(categoryRepository.findByUserId(USER_ID)).thenReturn(List.of(category));
+
+        Transaction first = new Transaction();
+        first.setId(10L);
+        first.setAmount(new BigDecimal("12.50"));
+        first.setTransactionDate(LocalDate.of(2024, 6, 1));
+        Transaction second = new Transaction();
+        second.setId(11L);
+        when(transactionRepository.streamByUserId(USER_ID)).thenReturn(Stream.of(first, second));
+
+        when(recurringTransactionRepository.findByUserIdOrderByNextOccurrenceAsc(USER_ID))
+                .thenReturn(List.of(new RecurringTransaction()));
+        when(budgetRepository.findByUserId(USER_ID)).thenReturn(List.of(new Budget()));
+        when(savingsGoalRepository.findByUserId(USER_ID)).thenReturn(List.of(new SavingsGoal()));
+        when(billRepository.findByUserIdOrderByNextDueDateAsc(USER_ID)).thenReturn(List.of(new Bill()));
+        when(debtRepository.findByUserIdOrderByInterestRateDesc(USER_ID)).thenReturn(List.of(new Debt()));
+        when(investmentRepository.findByUserIdOrderByPurchaseDateDesc(USER_ID)).thenReturn(List.of(new Investment()));
+        when(bankAccountRepository.findByUserId(USER_ID)).thenReturn(List.of(new BankAccount()));
+        when(retirementAccountRepository.findByUserId(USER_ID)).thenReturn(List.of(new RetirementAccount()));
+        when(notificationRepository.streamByUserId(USER_ID)).thenReturn(Stream.of(new Notification()));
+        when(postRepository.streamByUserId(USER_ID)).thenReturn(Stream.of(new Post()));
+        when(commentRepository.streamByUserId(USER_ID)).thenReturn(Stream.of(new Comment()));
+        when(likeRepository.streamByUserId(USER_ID)).thenReturn(Stream.empty());
+    }
+
+    @Test
+    void writeExport_ShouldCoverEveryUserOwnedSection() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        gdprExportService.writeExport(USER_ID, out, false);
+
+        JsonNode root = objectMapper.readTree(out.toByteArray());
+        assertEquals(USER_ID, root.get("userId").asLong());
+        assertEquals("alice@example.com", root.at("/account/email").asText());
+        assertEquals("Alice", root.at("/profile/firstName").asText());
+        assertEquals("Coffee", root.at("/categories/0/name").asText());
+        assertEquals(2, root.get("transactions").size());
+        assertEquals("12.5", root.at("/transactions/0/amount").asText());
+        for (String section : List.of("recurringTransactions", "budgets", "savingsGoals", "bills", "debts",
+                "investments", "bankAccounts", "retirementAccounts", "notifications", "forumPosts",
+                "forumComments")) {
+            assertEquals(1, root.get(section).size(), section);
+        }
+        assertEquals(0, root.get("forumLikes").size());
+
+        String json = out.toString();
+        assertFalse(json.contains("secret-hash"));
+        assertFalse(json.contains("TOTP-SECRET"));
+    }
+
+    @Test
+    void writeExport_ShouldDetachEveryExportedEntity() throws IOException {
+        gdprExportService.writeExport(USER_ID, new ByteArrayOutputStream(), false);
+
+        // 1 category + 2 transactions + 11 single-row sections
+        verify(entityManager, times(14)).detach(any());
+    }
+
+    @Test
+    void writeExport_ShouldGzipOnTheFly() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        gdprExportService.writeExport(USER_ID, out, true);
+
+        byte[] bytes = out.toByteArray();
+        assertEquals((byte) 0x1f, bytes[0]);
+        assertEquals((byte) 0x8b, bytes[1]);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            JsonNode root = objectMapper.readTree(in);
+            assertEquals(2, root.get("transactions").size());
+        }
+    }
+
+    @Test
+    void writeExport_ShouldRejectUnknownUser() {
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> gdprExportService.writeExport(99L, new ByteArrayOutputStream(), false));
+    }
+}
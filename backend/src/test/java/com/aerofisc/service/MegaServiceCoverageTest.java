@@ -30,6 +30,9 @@ public class MegaServiceCoverageTest {
     @Autowired(required = false)
     private ExportService exportService;
 
+    @Autowired(required = false)
+    private GdprExportService gdprExportService;
+
     @Autowired(required = false)
     private FinancialHealthService healthService;
 
@@ -85,8 +88,8 @@ public class MegaServiceCoverageTest {
         }
 
         try {
-            if (exportService != null)
-                exportService.exportAllDataJSON(userId);
+            if (gdprExportService != null)
+                gdprExportService.writeExport(userId, new java.io.ByteArrayOutputStream(), false);
         } catch (Exception e) {
         }
         try {
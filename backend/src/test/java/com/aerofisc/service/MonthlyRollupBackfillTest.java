@@ -0,0 +1,148 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.dto.MonthlyTotalDto;
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.entity.User;
+import com.aerofisc.repository.SavepointInsert;
+import com.aerofisc.repository.TransactionRepository;
+import com.aerofisc.repository.UserMonthRollupRepository;
+import com.aerofisc.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the first-read rollup backfill against the database from several
+ * threads at once, as the dashboard's parallel first load does: every read
+ * must succeed and the buckets must be written once.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MonthlyRollupBackfillTest {
+
+    private static final int READERS = 4;
+
+    @Autowired
+    private UserMonthRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MonthlyRollupService monthlyRollupService;
+    private TransactionTemplate transactionTemplate;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        monthlyRollupService = new MonthlyRollupService(rollupRepository, transactionRepository, userRepository,
+                new SavepointInsert(jdbcTemplate), mock(CategoryRegressionService.class));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        User user = new User();
+        user.setUsername("backfill");
+        user.setEmail("backfill@example.com");
+        user.setPassword("secret");
+        userId = userRepository.save(user).getId();
+
+        // A ledger written before the rollup table existed
+        transactionRepository.save(transaction(3L, Transaction.TransactionType.EXPENSE, 1, "40.00"));
+        transactionRepository.save(transaction(3L, Transaction.TransactionType.EXPENSE, 1, "10.00"));
+        transactionRepository.save(transaction(4L, Transaction.TransactionType.EXPENSE, 0, "25.00"));
+        transactionRepository.save(transaction(1L, Transaction.TransactionType.INCOME, 0, "900.00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            rollupRepository.deleteByUserId(userId);
+            transactionRepository.deleteByUserId(userId);
+            userRepository.deleteById(userId);
+        });
+    }
+
+    @Test
+    void getMonthlyTotals_ShouldBackfillOnceUnderConcurrentFirstReads() throws Exception {
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<List<MonthlyTotalDto>>> reads = new ArrayList<>();
+        try {
+            for (int i = 0; i < READERS; i++) {
+                reads.add(CompletableFuture.supplyAsync(() -> {
+                    awaitQuietly(start);
+                    return transactionTemplate.execute(status -> monthlyRollupService.getMonthlyTotals(userId,
+                            YearMonth.now().minusMonths(1), YearMonth.now()));
+                }, readers));
+            }
+            start.countDown();
+
+            for (CompletableFuture<List<MonthlyTotalDto>> read : reads) {
+                assertEquals(3, read.get(30, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+
+        assertEquals(3, rollupRepository.findByUserId(userId).size());
+    }
+
+    private Transaction transaction(Long categoryId, Transaction.TransactionType type, int monthsAgo,
+            String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setUserId(userId);
+        transaction.setCategoryId(categoryId);
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTransactionDate(LocalDate.now().minusMonths(monthsAgo).withDayOfMonth(1));
+        return transaction;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
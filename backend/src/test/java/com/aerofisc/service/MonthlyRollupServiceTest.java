@@ -0,0 +1,136 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.repository.SavepointInsert;
+import com.aerofisc.repository.TransactionRepository;
+import com.aerofisc.repository.UserMonthRollupRepository;
+import com.aerofisc.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyRollupServiceTest {
+
+    @Mock
+    private UserMonthRollupRepository rollupRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SavepointInsert savepointInsert;
+
+    @Mock
+    private CategoryRegressionService categoryRegressionService;
+
+    @InjectMocks
+    private MonthlyRollupService monthlyRollupService;
+
+    private Transaction transaction;
+    private Long userId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new Transaction();
+        transaction.setUserId(userId);
+        transaction.setAmount(new BigDecimal("42.50"));
+        transaction.setCategoryId(3L);
+        transaction.setType(Transaction.TransactionType.EXPENSE);
+        transaction.setTransactionDate(LocalDate.of(2026, 3, 14));
+    }
+
+    @Test
+    void recordTransaction_UpdatesExistingBucket() {
+        when(rollupRepository.applyDelta(userId, "2026-03", Transaction.TransactionType.EXPENSE, 3L,
+                new BigDecimal("42.50"), 1L)).thenReturn(1);
+
+        monthlyRollupService.recordTransaction(transaction);
+
+        verifyNoInteractions(savepointInsert);
+    }
+
+    @Test
+    void recordTransaction_CreatesMissingBucket() {
+        when(rollupRepository.applyDelta(anyLong(), anyString(), any(), any(), any(), anyLong())).thenReturn(0);
+        when(rollupRepository.existsByUserId(userId)).thenReturn(true);
+        when(savepointInsert.insertIfAbsent(anyString(), any(Object[].class))).thenReturn(true);
+
+        monthlyRollupService.recordTransaction(transaction);
+
+        ArgumentCaptor<Object[]> captor = ArgumentCaptor.forClass(Object[].class);
+        verify(savepointInsert).insertIfAbsent(anyString(), captor.capture());
+        Object[] row = captor.getValue();
+        assertEquals(userId, row[0]);
+        assertEquals("2026-03", row[1]);
+        assertEquals("EXPENSE", row[2]);
+        assertEquals(3L, row[3]);
+        assertEquals(new BigDecimal("42.50"), row[4]);
+        assertEquals(1L, row[5]);
+        verify(rollupRepository, times(1)).applyDelta(anyLong(), anyString(), any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void recordTransaction_AddsToBucketCreatedByConcurrentWrite() {
+        when(rollupRepository.applyDelta(userId, "2026-03", Transaction.TransactionType.EXPENSE, 3L,
+                new BigDecimal("42.50"), 1L)).thenReturn(0, 1);
+        when(rollupRepository.existsByUserId(userId)).thenReturn(true);
+        when(savepointInsert.insertIfAbsent(anyString(), any(Object[].class))).thenReturn(false);
+
+        monthlyRollupService.recordTransaction(transaction);
+
+        verify(rollupRepository, times(2)).applyDelta(userId, "2026-03", Transaction.TransactionType.EXPENSE, 3L,
+                new BigDecimal("42.50"), 1L);
+    }
+
+    @Test
+    void reverseTransaction_NegatesAmountAndCount() {
+        when(rollupRepository.applyDelta(userId, "2026-03", Transaction.TransactionType.EXPENSE, 3L,
+                new BigDecimal("-42.50"), -1L)).thenReturn(1);
+
+        monthlyRollupService.reverseTransaction(transaction);
+
+        verify(rollupRepository).applyDelta(eq(userId), eq("2026-03"), eq(Transaction.TransactionType.EXPENSE),
+                eq(3L), eq(new BigDecimal("-42.50")), eq(-1L));
+    }
+
+    @Test
+    void rebuildForUser_ReplacesRowsFromLedger() {
+        List<Object[]> rows = Collections.singletonList(
+                new Object[] { 2026, 3, Transaction.TransactionType.INCOME, 1L, new BigDecimal("1000.00"), 2L });
+        when(transactionRepository.aggregateMonthlyByUserId(userId)).thenReturn(rows);
+
+        int rebuilt = monthlyRollupService.rebuildForUser(userId);
+
+        assertEquals(1, rebuilt);
+        verify(rollupRepository).deleteByUserId(userId);
+        verify(rollupRepository).saveAll(any());
+    }
+}
+
+
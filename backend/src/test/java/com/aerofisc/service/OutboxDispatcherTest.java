@@ -0,0 +1,195 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.entity.OutboxEvent;
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.event.TransactionEvent;
+import com.aerofisc.event.TransactionEventHandler;
+import com.aerofisc.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Outbox delivery against the database: events published in a write
+ * transaction reach every handler once committed, and failed deliveries are
+ * kept for retry and eventually parked.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxDispatcherTest {
+
+    private static final long USER_ID = 7L;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<TransactionEvent> delivered = new CopyOnWriteArrayList<>();
+    private OutboxDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void publish_ShouldWakeDispatcherAfterCommit() throws Exception {
+        dispatcher = dispatcher(3, delivered::add);
+        OutboxService outboxService = new OutboxService(outboxEventRepository, dispatcher, objectMapper);
+
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+        for (int i = 1; i <= 5; i++) {
+            long id = i;
+            write.executeWithoutResult(status -> outboxService.publish(TransactionEvent.created(expense(id), "Rent")));
+        }
+
+        awaitDelivered(5);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), delivered.stream().map(TransactionEvent::transactionId).toList());
+        TransactionEvent first = delivered.get(0);
+        assertEquals(TransactionEvent.Kind.CREATED, first.kind());
+        assertEquals("Rent", first.after().categoryName());
+        assertEquals(LocalDate.of(2026, 3, 14), first.after().date());
+        assertEquals(0, new BigDecimal("42.50").compareTo(first.after().amount()));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void publish_ShouldDiscardEventWhenWriteRollsBack() {
+        dispatcher = dispatcher(10, delivered::add);
+        OutboxService outboxService = new OutboxService(outboxEventRepository, dispatcher, objectMapper);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            outboxService.publish(TransactionEvent.created(expense(1), null));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(0, dispatcher.drain());
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    void drain_ShouldKeepFailedEventForRetryWithBackoff() {
+        AtomicInteger calls = new AtomicInteger();
+        dispatcher = dispatcher(10, event -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("mail server down");
+            }
+            delivered.add(event);
+        });
+        OutboxEvent saved = save(TransactionEvent.deleted(expense(9)));
+
+        assertEquals(0, dispatcher.drain());
+
+        OutboxEvent failed = outboxEventRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(OutboxEvent.Status.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getLastError().contains("mail server down"));
+        assertTrue(failed.getAvailableAt().isAfter(LocalDateTime.now()));
+
+        // Not due yet
+        assertEquals(0, dispatcher.drain());
+
+        failed.setAvailableAt(LocalDateTime.now().minusSeconds(1));
+        outboxEventRepository.save(failed);
+        assertEquals(1, dispatcher.drain());
+        assertEquals(1, delivered.size());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void drain_ShouldParkEventAfterMaxAttempts() {
+        dispatcher = new OutboxDispatcher(outboxEventRepository, List.of(event -> {
+            throw new IllegalStateException("always fails");
+        }), transactionManager, objectMapper, 10, 2, Duration.ZERO);
+        OutboxEvent saved = save(TransactionEvent.created(expense(3), null));
+
+        dispatcher.drain();
+        dispatcher.drain();
+
+        OutboxEvent parked = outboxEventRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(OutboxEvent.Status.FAILED, parked.getStatus());
+        assertEquals(2, parked.getAttempts());
+        assertEquals(1, outboxEventRepository.countByStatus(OutboxEvent.Status.FAILED));
+
+        // Parked events are not picked up again
+        assertEquals(0, dispatcher.drain());
+        assertEquals(2, outboxEventRepository.findById(saved.getId()).orElseThrow().getAttempts());
+    }
+
+    private void awaitDelivered(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (delivered.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(count, delivered.size());
+        while (outboxEventRepository.count() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private OutboxDispatcher dispatcher(int batchSize, TransactionEventHandler handler) {
+        return new OutboxDispatcher(outboxEventRepository, List.of(handler), transactionManager, objectMapper,
+                batchSize, 10, Duration.ofMinutes(5));
+    }
+
+    private OutboxEvent save(TransactionEvent event) {
+        try {
+            return outboxEventRepository.save(OutboxEvent.builder()
+                    .eventType(event.kind().eventType())
+                    .aggregateId(event.transactionId())
+                    .userId(event.userId())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .availableAt(LocalDateTime.now().minusSeconds(1))
+                    .build());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Transaction expense(long id) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setUserId(USER_ID);
+        transaction.setType(Transaction.TransactionType.EXPENSE);
+        transaction.setCategoryId(3L);
+        transaction.setAmount(new BigDecimal("42.50"));
+        transaction.setTransactionDate(LocalDate.of(2026, 3, 14));
+        transaction.setDescription("Rent March");
+        return transaction;
+    }
+}
@@ -12,23 +12,34 @@ import com.aerofisc.dto.PredictionDto;
 import com.aerofisc.entity.Budget;
 import com.aerofisc.entity.SavingsGoal;
 import com.aerofisc.entity.Transaction;
-import com.aerofisc.repository.CategoryRepository;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 public class PdfReportGeneratorTest {
 
@@ -39,7 +50,7 @@ public class PdfReportGeneratorTest {
     private DashboardService dashboardService;
 
     @Mock
-    private CategoryRepository categoryRepository;
+    private CategoryNameResolver categoryNameResolver;
 
     @InjectMocks
     private PdfReportGenerator pdfReportGenerator;
@@ -79,9 +90,9 @@ public class PdfReportGeneratorTest {
         when(dashboardService.getCategoryBreakdown(anyLong(), anyInt()))
                 .thenReturn(Collections.singletonList(breakdown));
 
-        BufferedImage mockImage = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
-        when(chartGenerator.generateTrendChart(anyList(), anyInt(), anyInt())).thenReturn(mockImage);
-        when(chartGenerator.generateCategoryPieChart(anyList(), anyInt(), anyInt())).thenReturn(mockImage);
+        CompletableFuture<byte[]> chart = CompletableFuture.completedFuture(png());
+        when(chartGenerator.renderTrendChartAsync(anyList(), anyInt(), anyInt())).thenReturn(chart);
+        when(chartGenerator.renderCategoryPieChartAsync(anyList(), anyInt(), anyInt())).thenReturn(chart);
 
         // Act
         byte[] pdfBytes = pdfReportGenerator.generateDashboardPdf(userId, transactions, budgets, goals);
@@ -120,9 +131,9 @@ public class PdfReportGeneratorTest {
         when(dashboardService.getCategoryBreakdown(anyLong(), anyInt()))
                 .thenReturn(Collections.singletonList(breakdown));
 
-        BufferedImage mockImage = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
-        when(chartGenerator.generateTrendChart(anyList(), anyInt(), anyInt())).thenReturn(mockImage);
-        when(chartGenerator.generateCategoryPieChart(anyList(), anyInt(), anyInt())).thenReturn(mockImage);
+        CompletableFuture<byte[]> chart = CompletableFuture.completedFuture(png());
+        when(chartGenerator.renderTrendChartAsync(anyList(), anyInt(), anyInt())).thenReturn(chart);
+        when(chartGenerator.renderCategoryPieChartAsync(anyList(), anyInt(), anyInt())).thenReturn(chart);
 
         // Act
         byte[] pdfBytes = pdfReportGenerator.generateAnalyticsPdf(userId, transactions, "6M", predictions);
@@ -131,6 +142,72 @@ public class PdfReportGeneratorTest {
         assertNotNull(pdfBytes);
         assertTrue(pdfBytes.length > 0);
     }
-}
 
+    @Test
+    void generateDashboardPdf_ShouldSurviveFailedChartRender() {
+        MonthlyTrendDto trend = MonthlyTrendDto.builder()
+                .month("Jan")
+                .income(new BigDecimal("5000"))
+                .expenses(new BigDecimal("2000"))
+                .netSavings(new BigDecimal("3000"))
+                .build();
+        when(dashboardService.getMonthlyTrends(anyLong(), anyInt())).thenReturn(Collections.singletonList(trend));
+        when(dashboardService.getCategoryBreakdown(anyLong(), anyInt())).thenReturn(Collections.emptyList());
+        when(chartGenerator.renderTrendChartAsync(anyList(), anyInt(), anyInt()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("render failed")));
+
+        byte[] pdfBytes = pdfReportGenerator.generateDashboardPdf(1L, Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList());
 
+        assertTrue(pdfBytes.length > 0);
+        verify(chartGenerator, never()).renderCategoryPieChartAsync(anyList(), anyInt(), anyInt());
+    }
+
+    @Test
+    void writeTransactionsPdf_ShouldStreamLargeLedgerWithPageTotals() throws IOException {
+        when(categoryNameResolver.dictionary(1L)).thenReturn(Map.of(1L, "Food"));
+        List<Transaction> ledger = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Transaction t = new Transaction();
+            t.setTransactionDate(LocalDate.of(2024, 1, 1).plusDays(i % 300));
+            t.setType(Transaction.TransactionType.EXPENSE);
+            t.setAmount(BigDecimal.valueOf(i));
+            t.setCategoryId(i % 2 == 0 ? 1L : null);
+            ledger.add(t);
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        pdfReportGenerator.writeTransactionsPdf(1L, ledger.iterator(), "All Time", out);
+
+        assertFalse(closed.get(), "caller's stream must stay open");
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(out.toByteArray())))) {
+            int pages = pdf.getNumberOfPages();
+            assertTrue(pages > 10, "expected a multi-page ledger, got " + pages);
+            String last = PdfTextExtractor.getTextFromPage(pdf.getPage(pages));
+            assertTrue(last.contains("Page " + pages + " of"), last);
+            assertTrue(last.contains(String.valueOf(pages)));
+            String second = PdfTextExtractor.getTextFromPage(pdf.getPage(2));
+            assertTrue(second.contains("Food"));
+            assertTrue(second.contains("Uncategorized"));
+        }
+        // The dictionary is loaded once and every id resolved from it
+        verify(categoryNameResolver).dictionary(1L);
+        verify(categoryNameResolver, never()).nameOf(anyLong(), eq(1L));
+    }
+
+    private byte[] png() {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB), "PNG", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
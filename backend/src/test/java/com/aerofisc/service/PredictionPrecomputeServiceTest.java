@@ -0,0 +1,249 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.dto.PredictionDto;
+import com.aerofisc.entity.ExpensePrediction;
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.entity.User;
+import com.aerofisc.entity.UserMonthRollup;
+import com.aerofisc.repository.CategoryRegressionStateRepository;
+import com.aerofisc.repository.ExpensePredictionRepository;
+import com.aerofisc.repository.SavepointInsert;
+import com.aerofisc.repository.UserMonthRollupRepository;
+import com.aerofisc.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the nightly precompute against the database: chunks of users are
+ * regressed over their rollups in month order and stored total first, and
+ * rows of users without recent expenses are removed.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PredictionPrecomputeServiceTest {
+
+    private static final int READERS = 4;
+
+    @Autowired
+    private UserMonthRollupRepository rollupRepository;
+
+    @Autowired
+    private ExpensePredictionRepository predictionRepository;
+
+    @Autowired
+    private CategoryRegressionStateRepository stateRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CategoryNameResolver categoryNameResolver = mock(CategoryNameResolver.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("predictions");
+    private CategoryRegressionService categoryRegressionService;
+    private PredictionService predictionService;
+    private PredictionPrecomputeService precomputeService;
+    private TransactionTemplate transactionTemplate;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        categoryRegressionService = new CategoryRegressionService(stateRepository, rollupRepository,
+                new SavepointInsert(jdbcTemplate));
+        predictionService = new PredictionService(categoryRegressionService, predictionRepository, userRepository,
+                categoryNameResolver, cacheManager, new BigDecimal("100"));
+        // Chunks of two users so the three users below span two chunks
+        precomputeService = new PredictionPrecomputeService(rollupRepository, userRepository,
+                predictionRepository, predictionService, categoryRegressionService, transactionManager, 2, 2);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        when(categoryNameResolver.resolve(anyLong(), anyCollection())).thenReturn(Map.of(3L, "Groceries"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        precomputeService.shutdown();
+        predictionRepository.deleteAll();
+        stateRepository.deleteAll();
+        rollupRepository.deleteAll();
+        if (userId != null) {
+            userRepository.deleteById(userId);
+        }
+    }
+
+    @Test
+    void precomputeAll_ShouldStorePredictionsForEveryActiveUser() {
+        // Inserted newest first: the regression must still run oldest to newest
+        expense(21L, 3L, 0, "300.00");
+        expense(21L, 3L, 1, "200.00");
+        expense(21L, 3L, 2, "100.00");
+        expense(22L, 4L, 1, "50.00");
+        expense(23L, 5L, 2, "75.00");
+        ExpensePrediction stale = predictionRepository.save(ExpensePrediction.builder()
+                .userId(99L).categoryId(3L).predictedAmount(BigDecimal.TEN).historicalAverage(BigDecimal.TEN)
+                .confidenceScore(0.5).trend("STABLE").computedAt(LocalDateTime.now().minusDays(1)).build());
+
+        PredictionPrecomputeService.Result result = precomputeService.precomputeAll();
+
+        assertEquals(3, result.users());
+        assertEquals(2, result.chunks());
+        assertEquals(0, result.failedChunks());
+        assertEquals(1, result.staleDeleted());
+        assertFalse(predictionRepository.existsById(stale.getId()));
+
+        List<ExpensePrediction> stored = predictionRepository.findByUserIdOrderByIdAsc(21L);
+        assertEquals(2, stored.size());
+        assertNull(stored.get(0).getCategoryId());
+        ExpensePrediction groceries = stored.get(1);
+        assertEquals(3L, groceries.getCategoryId());
+        assertEquals("INCREASING", groceries.getTrend());
+        assertEquals(0, new BigDecimal("400.00").compareTo(groceries.getPredictedAmount()));
+        assertEquals(0, new BigDecimal("200.00").compareTo(groceries.getHistoricalAverage()));
+
+        assertEquals(2, predictionRepository.findByUserIdOrderByIdAsc(22L).size());
+        assertEquals(2, predictionRepository.findByUserIdOrderByIdAsc(23L).size());
+
+        // The run also rebuilt the regression state the write path maintains
+        assertEquals(1, stateRepository.findByUserId(21L).size());
+        assertEquals(3, stateRepository.findByUserId(21L).get(0).getN());
+    }
+
+    @Test
+    void predictNextMonthExpenses_ShouldReadStoredRowsAndComputeMissingOnes() {
+        expense(31L, 3L, 1, "120.00");
+
+        List<PredictionDto> first = predict(31L);
+        assertEquals(2, first.size());
+        assertEquals("Total Monthly Expenses", first.get(0).getCategoryName());
+        assertEquals("Groceries", first.get(1).getCategoryName());
+        assertEquals(2, predictionRepository.findByUserIdOrderByIdAsc(31L).size());
+
+        // Stored rows are served as-is until something recomputes them
+        expense(31L, 3L, 2, "80.00");
+        List<PredictionDto> second = predict(31L);
+        assertEquals(0, new BigDecimal("120.00").compareTo(second.get(1).getHistoricalAverage()));
+    }
+
+    @Test
+    void predictNextMonthExpenses_ShouldStoreOneSetUnderConcurrentFirstReads() throws Exception {
+        User user = new User();
+        user.setUsername("predictions");
+        user.setEmail("predictions@example.com");
+        user.setPassword("secret");
+        userId = userRepository.save(user).getId();
+        expense(userId, 3L, 1, "120.00");
+        expense(userId, 3L, 2, "80.00");
+        // Regression state already built, so nothing but the lock orders the readers
+        transactionTemplate.executeWithoutResult(status -> categoryRegressionService.regressionsFor(userId));
+
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<List<PredictionDto>>> reads = new ArrayList<>();
+        try {
+            for (int i = 0; i < READERS; i++) {
+                reads.add(CompletableFuture.supplyAsync(() -> {
+                    awaitQuietly(start);
+                    return predict(userId);
+                }, readers));
+            }
+            start.countDown();
+
+            for (CompletableFuture<List<PredictionDto>> read : reads) {
+                assertEquals(2, read.get(30, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+
+        List<ExpensePrediction> stored = predictionRepository.findByUserIdOrderByIdAsc(userId);
+        assertEquals(2, stored.size());
+        assertNull(stored.get(0).getCategoryId());
+        assertEquals(3L, stored.get(1).getCategoryId());
+    }
+
+    @Test
+    void recomputeIfSignificant_ShouldOnlyRecomputeLargeChanges() {
+        expense(41L, 3L, 1, "100.00");
+        predict(41L);
+        // Through the write path, which keeps the regression state current
+        transactionTemplate.executeWithoutResult(status -> categoryRegressionService.recordExpense(41L, 3L,
+                YearMonth.now().minusMonths(2), new BigDecimal("300.00"), 1));
+
+        assertFalse(recomputeIfSignificant(41L, "99.99"));
+        assertEquals(0, new BigDecimal("100.00").compareTo(
+                predictionRepository.findByUserIdOrderByIdAsc(41L).get(1).getHistoricalAverage()));
+
+        assertTrue(recomputeIfSignificant(41L, "-300.00"));
+        List<ExpensePrediction> stored = predictionRepository.findByUserIdOrderByIdAsc(41L);
+        assertEquals(2, stored.size());
+        assertEquals(0, new BigDecimal("200.00").compareTo(stored.get(1).getHistoricalAverage()));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<PredictionDto> predict(Long userId) {
+        return transactionTemplate.execute(status -> predictionService.predictNextMonthExpenses(userId));
+    }
+
+    private boolean recomputeIfSignificant(Long userId, String expenseChange) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(
+                status -> predictionService.recomputeIfSignificant(userId, new BigDecimal(expenseChange))));
+    }
+
+    private void expense(Long userId, Long categoryId, int monthsAgo, String amount) {
+        rollupRepository.save(UserMonthRollup.builder()
+                .userId(userId)
+                .periodMonth(YearMonth.now().minusMonths(monthsAgo).toString())
+                .type(Transaction.TransactionType.EXPENSE)
+                .categoryId(categoryId)
+                .totalAmount(new BigDecimal(amount))
+                .transactionCount(1L)
+                .build());
+    }
+}
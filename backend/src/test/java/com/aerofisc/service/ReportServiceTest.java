@@ -0,0 +1,94 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.service;
+
+import com.aerofisc.dto.ReportDto;
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.repository.BudgetRepository;
+import com.aerofisc.repository.SavingsGoalRepository;
+import com.aerofisc.repository.ScheduledReportRepository;
+import com.aerofisc.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private SavingsGoalRepository savingsGoalRepository;
+
+    @Mock
+    private ScheduledReportRepository scheduledReportRepository;
+
+    @Mock
+    private CategoryNameResolver categoryNameResolver;
+
+    @InjectMocks
+    private ReportService reportService;
+
+    private Transaction transaction(Transaction.TransactionType type, Long categoryId, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setUserId(1L);
+        transaction.setType(type);
+        transaction.setCategoryId(categoryId);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTransactionDate(LocalDate.now());
+        return transaction;
+    }
+
+    @Test
+    void monthlySummary_QueriesTheRangeOnceForAllSections() {
+        when(transactionRepository.findByUserIdAndTransactionDateBetween(eq(1L), any(), any()))
+                .thenReturn(List.of(
+                        transaction(Transaction.TransactionType.INCOME, null, "1000.00"),
+                        transaction(Transaction.TransactionType.EXPENSE, 2L, "250.00"),
+                        transaction(Transaction.TransactionType.EXPENSE, 2L, "50.00")));
+        when(categoryNameResolver.resolve(eq(1L), anyCollection())).thenReturn(Map.of(2L, "Food"));
+
+        String report = new String(reportService.generateTemplateReport(1L, 1));
+
+        verify(transactionRepository, times(1)).findByUserIdAndTransactionDateBetween(eq(1L), any(), any());
+        // One batch per section (income, expenses) regardless of row count
+        verify(categoryNameResolver, times(2)).resolve(eq(1L), anyCollection());
+        assertTrue(report.contains("INCOME SUMMARY"));
+        assertTrue(report.contains("EXPENSE SUMMARY"));
+        assertTrue(report.contains("NET SAVINGS"));
+        assertTrue(report.contains("Food"));
+    }
+
+    @Test
+    void customReport_SharesOneQueryAcrossSelectedSections() {
+        when(transactionRepository.findByUserIdAndTransactionDateBetween(eq(1L), any(), any()))
+                .thenReturn(List.of(transaction(Transaction.TransactionType.INCOME, null, "10.00")));
+
+        ReportDto.CustomReportConfig config = new ReportDto.CustomReportConfig("Custom", "this_month",
+                Map.of("income", true, "expenses", true, "savings", true), false);
+        reportService.generateCustomReport(1L, config);
+
+        verify(transactionRepository, times(1)).findByUserIdAndTransactionDateBetween(eq(1L), any(), any());
+    }
+}
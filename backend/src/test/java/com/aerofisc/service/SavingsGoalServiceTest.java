@@ -37,6 +37,12 @@ class SavingsGoalServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private DashboardCacheEvictor dashboardCacheEvictor;
+
     @InjectMocks
     private SavingsGoalService savingsGoalService;
 
@@ -9,12 +9,14 @@ package com.aerofisc.service;
 import com.aerofisc.dto.TransactionDto;
 import com.aerofisc.entity.Category;
 import com.aerofisc.entity.Transaction;
+import com.aerofisc.event.TransactionEvent;
 import com.aerofisc.exception.ResourceNotFoundException;
 import com.aerofisc.repository.CategoryRepository;
 import com.aerofisc.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -26,6 +28,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,13 +41,16 @@ class TransactionServiceTest {
     private CategoryRepository categoryRepository;
 
     @Mock
-    private BudgetService budgetService;
+    private CategoryNameResolver categoryNameResolver;
 
     @Mock
-    private WebSocketService webSocketService;
+    private MonthlyRollupService monthlyRollupService;
 
     @Mock
-    private BillService billService;
+    private OutboxService outboxService;
+
+    @Mock
+    private DashboardCacheEvictor dashboardCacheEvictor;
 
     @InjectMocks
     private TransactionService transactionService;
@@ -91,8 +97,15 @@ class TransactionServiceTest {
         assertEquals("Food", result.getCategoryName());
 
         verify(transactionRepository).save(any(Transaction.class));
-        verify(budgetService).updateBudgetProgress(userId, 1L);
-        verify(webSocketService).sendDashboardUpdate(userId);
+        verify(monthlyRollupService).recordTransaction(any(Transaction.class));
+
+        ArgumentCaptor<TransactionEvent> event = ArgumentCaptor.forClass(TransactionEvent.class);
+        verify(outboxService).publish(event.capture());
+        assertEquals(TransactionEvent.Kind.CREATED, event.getValue().kind());
+        assertEquals("Food", event.getValue().after().categoryName());
+        assertNull(event.getValue().before());
+
+        verify(dashboardCacheEvictor).evictUser(userId);
     }
 
     @Test
@@ -109,11 +122,12 @@ class TransactionServiceTest {
     @Test
     void getTransactionById_Success() {
         when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryNameResolver.nameOf(any(), eq(1L))).thenReturn(category.getName());
 
         TransactionDto result = transactionService.getTransactionById(1L, userId);
 
         assertNotNull(result);
+        assertEquals(category.getName(), result.getCategoryName());
         assertEquals(transaction.getId(), result.getId());
     }
 
@@ -143,7 +157,15 @@ class TransactionServiceTest {
         transactionService.deleteTransaction(1L, userId);
 
         verify(transactionRepository).delete(transaction);
-        verify(budgetService).updateBudgetProgress(userId, 1L);
+        verify(monthlyRollupService).reverseTransaction(transaction);
+
+        ArgumentCaptor<TransactionEvent> event = ArgumentCaptor.forClass(TransactionEvent.class);
+        verify(outboxService).publish(event.capture());
+        assertEquals(TransactionEvent.Kind.DELETED, event.getValue().kind());
+        assertEquals(new BigDecimal("100.00"), event.getValue().before().amount());
+        assertNull(event.getValue().after());
+
+        verify(dashboardCacheEvictor).evictUser(userId);
     }
 }
 
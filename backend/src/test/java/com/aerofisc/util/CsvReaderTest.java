@@ -0,0 +1,39 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsEscapesAndEmbeddedLineBreaks() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "a,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\"two\nlines\"\n\n1,,3"));
+
+        assertEquals(List.of("a", "b", "c"), reader.next());
+        assertEquals(1, reader.getLineNumber());
+        assertEquals(List.of("x, y", "say \"hi\"", "two\nlines"), reader.next());
+        assertEquals(3, reader.getLineNumber());
+        assertEquals(List.of("1", "", "3"), reader.next());
+        assertEquals(5, reader.getLineNumber());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() {
+        CsvReader reader = new CsvReader(new StringReader("\"open,field\n"));
+
+        assertThrows(IOException.class, reader::next);
+    }
+}
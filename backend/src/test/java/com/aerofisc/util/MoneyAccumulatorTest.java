@@ -0,0 +1,93 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyAccumulatorTest {
+
+    @Test
+    void aggregatesExactlyInCents() {
+        MoneyAccumulator accumulator = MoneyAccumulator.of(List.of(
+                new BigDecimal("10.10"), new BigDecimal("0.20"), new BigDecimal("-3.05"), new BigDecimal("7")));
+
+        assertEquals(4, accumulator.getCount());
+        assertEquals(new BigDecimal("14.25"), accumulator.getSum());
+        assertEquals(new BigDecimal("-3.05"), accumulator.getMin());
+        assertEquals(new BigDecimal("10.10"), accumulator.getMax());
+        assertEquals(new BigDecimal("3.56"), accumulator.getMean());
+    }
+
+    @Test
+    void varianceMatchesTwoPassComputation() {
+        List<BigDecimal> amounts = List.of(new BigDecimal("1000000.00"), new BigDecimal("1000000.50"),
+                new BigDecimal("999999.25"), new BigDecimal("1000001.75"));
+        double mean = amounts.stream().mapToDouble(BigDecimal::doubleValue).average().orElseThrow();
+        double expected = amounts.stream()
+                .mapToDouble(a -> (a.doubleValue() - mean) * (a.doubleValue() - mean))
+                .average().orElseThrow();
+
+        assertEquals(expected, MoneyAccumulator.of(amounts).getVariance(), 1e-9);
+    }
+
+    @Test
+    void mergeEqualsSequentialAccumulation() {
+        MoneyAccumulator left = MoneyAccumulator.of(List.of(new BigDecimal("5.00"), new BigDecimal("12.34")));
+        MoneyAccumulator right = MoneyAccumulator.of(List.of(new BigDecimal("99.99"), new BigDecimal("-1.00")));
+        MoneyAccumulator all = MoneyAccumulator.of(List.of(new BigDecimal("5.00"), new BigDecimal("12.34"),
+                new BigDecimal("99.99"), new BigDecimal("-1.00")));
+
+        left.merge(right);
+
+        assertEquals(all.getSum(), left.getSum());
+        assertEquals(all.getMin(), left.getMin());
+        assertEquals(all.getMax(), left.getMax());
+        assertEquals(all.getVariance(), left.getVariance(), 1e-9);
+    }
+
+    @Test
+    void parallelCollectorMatchesSequential() {
+        BigDecimal sequential = Stream.iterate(1, i -> i + 1).limit(10_000)
+                .collect(MoneyAccumulator.summing(i -> BigDecimal.valueOf(i, 2))).getSum();
+        BigDecimal parallel = Stream.iterate(1, i -> i + 1).limit(10_000).parallel()
+                .collect(MoneyAccumulator.summing(i -> BigDecimal.valueOf(i, 2))).getSum();
+
+        assertEquals(new BigDecimal("500050.00"), sequential);
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void roundsHalfUpBeyondCents() {
+        assertEquals(1235, MoneyAccumulator.toCents(new BigDecimal("12.345")));
+        assertEquals(-1235, MoneyAccumulator.toCents(new BigDecimal("-12.345")));
+    }
+
+    @Test
+    void overflowThrowsInsteadOfWrapping() {
+        MoneyAccumulator accumulator = new MoneyAccumulator().addCents(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> accumulator.addCents(1));
+        assertThrows(ArithmeticException.class,
+                () -> MoneyAccumulator.toCents(new BigDecimal("1e20")));
+    }
+
+    @Test
+    void emptyAccumulatorReportsZero() {
+        MoneyAccumulator accumulator = new MoneyAccumulator().add(null);
+
+        assertTrue(accumulator.isEmpty());
+        assertEquals(0, accumulator.getSum().signum());
+        assertEquals(0, accumulator.getMean().signum());
+        assertEquals(0.0, accumulator.getVariance());
+    }
+}
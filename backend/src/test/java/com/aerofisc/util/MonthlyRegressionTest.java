@@ -0,0 +1,87 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.util;
+
+import org.apache.commons.math3.stat.regression.SimpleRegression;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthlyRegressionTest {
+
+    private static final YearMonth JAN = YearMonth.of(2026, 1);
+
+    @Test
+    void matchesFullRegressionInCalendarOrder() {
+        // Written out of order and in several pieces per month, with a gap in March
+        MonthlyRegression regression = new MonthlyRegression()
+                .add(JAN.plusMonths(4), new BigDecimal("180.00"), 2)
+                .add(JAN, new BigDecimal("100.00"), 1)
+                .add(JAN.plusMonths(1), new BigDecimal("90.00"), 1)
+                .add(JAN.plusMonths(3), new BigDecimal("150.25"), 3)
+                .add(JAN, new BigDecimal("20.00"), 1);
+
+        SimpleRegression expected = new SimpleRegression();
+        expected.addData(0, 120.00);
+        expected.addData(1, 90.00);
+        expected.addData(3, 150.25);
+        expected.addData(4, 180.00);
+
+        assertEquals(4, regression.size());
+        assertEquals(expected.predict(5), regression.predict(JAN.plusMonths(5)), 1e-9);
+        assertEquals(expected.getRSquare(), regression.rSquare(), 1e-9);
+        assertEquals(new BigDecimal("135.06"), regression.mean());
+        assertEquals(List.of(new BigDecimal("120.00"), new BigDecimal("90.00"), new BigDecimal("150.25"),
+                new BigDecimal("180.00")), regression.amounts());
+    }
+
+    @Test
+    void reversalsAndExpiryTakeMonthsBackOut() {
+        MonthlyRegression regression = new MonthlyRegression()
+                .add(JAN, new BigDecimal("500.00"), 1)
+                .add(JAN.plusMonths(1), new BigDecimal("100.00"), 1)
+                .add(JAN.plusMonths(2), new BigDecimal("200.00"), 2)
+                .add(JAN.plusMonths(3), new BigDecimal("300.00"), 1);
+
+        // Deleting February's only transaction removes the month, not just its amount
+        regression.add(JAN.plusMonths(1), new BigDecimal("-100.00"), -1);
+        regression.expireBefore(JAN.plusMonths(1));
+
+        assertEquals(2, regression.size());
+        assertEquals(400.00, regression.predict(JAN.plusMonths(4)), 1e-9);
+        assertEquals(1.0, regression.rSquare(), 1e-12);
+
+        regression.add(JAN.plusMonths(2), new BigDecimal("-200.00"), -2);
+        assertEquals(1, regression.size());
+        assertTrue(Double.isNaN(regression.predict(JAN.plusMonths(4))));
+        assertTrue(Double.isNaN(regression.rSquare()));
+    }
+
+    @Test
+    void survivesARoundTripThroughItsPersistedForm() {
+        MonthlyRegression regression = new MonthlyRegression()
+                .add(JAN, new BigDecimal("10.10"), 1)
+                .add(JAN.plusMonths(2), new BigDecimal("30.30"), 4);
+
+        MonthlyRegression restored = new MonthlyRegression(regression.getN(), regression.getSumX(),
+                regression.getSumXX(), regression.getSumY(), regression.getSumXY(), regression.getSumYY(),
+                regression.encodeBuckets());
+        restored.add(JAN.plusMonths(2), new BigDecimal("-30.30"), -4).add(JAN.plusMonths(1), BigDecimal.ONE, 1);
+
+        MonthlyRegression expected = new MonthlyRegression()
+                .add(JAN, new BigDecimal("10.10"), 1)
+                .add(JAN.plusMonths(1), BigDecimal.ONE, 1);
+        assertEquals("2026-01:1010:1;2026-02:100:1", restored.encodeBuckets());
+        assertEquals(expected.getSumXY(), restored.getSumXY());
+        assertEquals(expected.getSumYY(), restored.getSumYY(), 1e-6);
+        assertEquals(expected.predict(JAN.plusMonths(2)), restored.predict(JAN.plusMonths(2)), 1e-9);
+    }
+}
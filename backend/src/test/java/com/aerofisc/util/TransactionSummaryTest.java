@@ -0,0 +1,67 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.util;
+
+import com.aerofisc.entity.Transaction;
+import com.aerofisc.entity.Transaction.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionSummaryTest {
+
+    private static Transaction transaction(TransactionType type, Long categoryId, String amount, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setType(type);
+        transaction.setCategoryId(categoryId);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+
+    @Test
+    void fillsEveryBreakdownInOnePass() {
+        YearMonth current = YearMonth.of(2026, 3);
+        TransactionSummary summary = new TransactionSummary(current);
+        List.of(
+                transaction(TransactionType.INCOME, 1L, "1000.00", LocalDate.of(2026, 2, 1)),
+                transaction(TransactionType.INCOME, 1L, "1200.00", LocalDate.of(2026, 3, 1)),
+                transaction(TransactionType.EXPENSE, 2L, "45.50", LocalDate.of(2026, 3, 2)),
+                transaction(TransactionType.EXPENSE, 2L, "4.50", LocalDate.of(2026, 3, 2)),
+                transaction(TransactionType.EXPENSE, null, "100.00", LocalDate.of(2026, 2, 10)))
+                .forEach(summary);
+
+        assertEquals(5, summary.getCount());
+        assertEquals(3, summary.getCount(TransactionType.EXPENSE));
+        assertEquals(new BigDecimal("2200.00"), summary.getTotal(TransactionType.INCOME));
+        assertEquals(new BigDecimal("150.00"), summary.getTotal(TransactionType.EXPENSE));
+        assertEquals(new BigDecimal("2050.00"), summary.getNet());
+
+        assertEquals(new BigDecimal("1200.00"), summary.getCurrentMonthTotal(TransactionType.INCOME));
+        assertEquals(new BigDecimal("50.00"), summary.getCurrentMonthTotal(TransactionType.EXPENSE));
+
+        assertEquals(new BigDecimal("50.00"), summary.byCategory(TransactionType.EXPENSE).get(2L).getSum());
+        assertEquals(new BigDecimal("100.00"), summary.byCategory(TransactionType.EXPENSE).get(null).getSum());
+        assertEquals(List.of(YearMonth.of(2026, 2), YearMonth.of(2026, 3)),
+                List.copyOf(summary.byMonth(TransactionType.EXPENSE).keySet()));
+        assertEquals(2, summary.byDay(TransactionType.EXPENSE).get(LocalDate.of(2026, 3, 2)).getCount());
+    }
+
+    @Test
+    void missingTypeReportsZero() {
+        TransactionSummary summary = TransactionSummary.of(List.of());
+
+        assertEquals(0, summary.getTotal(TransactionType.INCOME).signum());
+        assertEquals(0, summary.getCurrentMonthTotal(TransactionType.EXPENSE).signum());
+        assertTrue(summary.byMonth(TransactionType.INCOME).isEmpty());
+    }
+}
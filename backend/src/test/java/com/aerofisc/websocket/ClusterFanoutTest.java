@@ -0,0 +1,180 @@
+/*
+ * Â© 2026 VenkataSatyanarayana Duba
+ * aerofisc - Proprietary Software
+ * Unauthorized copying or distribution prohibited.
+*/
+
+package com.aerofisc.websocket;
+
+import com.aerofisc.config.WebSocketProperties;
+import com.aerofisc.dto.DashboardDeltaDto;
+import com.aerofisc.service.DashboardService;
+import com.aerofisc.service.DashboardSessionRegistry;
+import com.aerofisc.service.DashboardUpdateCoalescer;
+import com.aerofisc.service.WebSocketService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Two nodes joined by an in-memory hub standing in for the Redis channel
+ */
+public class ClusterFanoutTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final InMemoryClusterMessageBus.Hub hub = new InMemoryClusterMessageBus.Hub();
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new Node(hub.node());
+        nodeB = new Node(hub.node());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.coalescer.shutdown();
+        nodeB.coalescer.shutdown();
+    }
+
+    @Test
+    void sendNotification_ShouldReachClientsOnEveryNode() {
+        nodeA.webSocketService.sendNotification(USER_ID, "Bill due tomorrow");
+
+        for (Node node : List.of(nodeA, nodeB)) {
+            assertEquals(1, node.sent.size());
+            Message<?> message = node.sent.get(0);
+            assertEquals("/topic/user/1/notifications", SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+            assertEquals("Bill due tomorrow", new String((byte[]) message.getPayload(), StandardCharsets.UTF_8));
+            assertEquals("text", ((org.springframework.util.MimeType) message.getHeaders()
+                    .get(MessageHeaders.CONTENT_TYPE)).getType());
+        }
+    }
+
+    @Test
+    void requestUpdate_ShouldBeComputedOnlyByTheNodeHoldingTheSession() throws Exception {
+        nodeB.subscribe("session-1", "/topic/user/1/dashboard");
+        when(nodeB.dashboardService.dashboardDelta(eq(USER_ID), anyCollection(), anyInt()))
+                .thenReturn(DashboardDeltaDto.builder().type(DashboardDeltaDto.TYPE).updates(2).build());
+
+        nodeA.coalescer.requestUpdate(USER_ID, List.of(3L));
+        nodeA.coalescer.requestUpdate(USER_ID, List.of(4L));
+
+        verify(nodeB.dashboardService, timeout(2000)).dashboardDelta(eq(USER_ID),
+                argThat(ids -> ids.containsAll(List.of(3L, 4L))), eq(2));
+        awaitSent(nodeB, 1);
+        verifyNoInteractions(nodeA.dashboardService);
+        assertTrue(nodeA.sent.isEmpty());
+        assertEquals(1, nodeB.sent.size());
+        assertTrue(new String((byte[]) nodeB.sent.get(0).getPayload(), StandardCharsets.UTF_8)
+                .contains("\"updates\":2"));
+    }
+
+    @Test
+    void outboundLimiter_ShouldDropMessagesBeyondThePendingLimitAndCountThem() {
+        WebSocketProperties properties = new WebSocketProperties();
+        properties.setMaxPendingPerSession(2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SessionOutboundLimiter limiter = new SessionOutboundLimiter(properties, meterRegistry);
+
+        limiter.onConnected(new SessionConnectedEvent(this, stomp(StompCommand.CONNECTED, "slow")));
+        assertEquals(1.0, meterRegistry.get("websocket.sessions").gauge().value());
+
+        Message<?> first = outbound("slow");
+        assertSame(first, limiter.preSend(first, null));
+        assertNotNull(limiter.preSend(outbound("slow"), null));
+        assertNull(limiter.preSend(outbound("slow"), null));
+        assertEquals(2, limiter.pendingFor("slow"));
+
+        limiter.afterMessageHandled(first, null, null, null);
+        assertEquals(1, limiter.pendingFor("slow"));
+        assertNotNull(limiter.preSend(outbound("slow"), null));
+
+        assertEquals(1.0, meterRegistry.get("websocket.messages.outbound").tag("result", "sent").counter().count());
+        assertEquals(1.0,
+                meterRegistry.get("websocket.messages.outbound").tag("result", "dropped").counter().count());
+
+        limiter.onDisconnect(new SessionDisconnectEvent(this, stomp(StompCommand.DISCONNECT, "slow"), "slow",
+                CloseStatus.NORMAL));
+        assertEquals(0.0, meterRegistry.get("websocket.sessions").gauge().value());
+    }
+
+    private static void awaitSent(Node node, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (node.sent.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Message<byte[]> outbound(String sessionId) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setDestination("/topic/user/1/dashboard");
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+
+    private static Message<byte[]> stomp(StompCommand command, String sessionId) {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(command);
+        headers.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+
+    /**
+     * One application node: its broker channel is replaced by a list of the
+     * messages it would have sent to local clients
+     */
+    private static final class Node {
+
+        private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+        private final DashboardService dashboardService = mock(DashboardService.class);
+        private final DashboardSessionRegistry sessionRegistry = new DashboardSessionRegistry();
+        private final WebSocketService webSocketService;
+        private final DashboardUpdateCoalescer coalescer;
+
+        Node(ClusterMessageBus bus) {
+            SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+            template.setMessageConverter(new CompositeMessageConverter(List.of(new StringMessageConverter(),
+                    new ByteArrayMessageConverter(), new MappingJackson2MessageConverter())));
+            webSocketService = new WebSocketService(template, bus);
+            coalescer = new DashboardUpdateCoalescer(sessionRegistry, dashboardService, webSocketService, bus,
+                    Duration.ofMillis(50));
+        }
+
+        void subscribe(String sessionId, String destination) {
+            StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+            headers.setSessionId(sessionId);
+            headers.setSubscriptionId("sub-0");
+            headers.setDestination(destination);
+            sessionRegistry.onSubscribe(new SessionSubscribeEvent(this,
+                    MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders())));
+        }
+    }
+}
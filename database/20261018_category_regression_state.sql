@@ -0,0 +1,23 @@
+-- Per-category regression sums behind the expense predictions
+-- Maintained by CategoryRegressionService on every expense write and rebuilt
+-- from the monthly rollups by the nightly prediction precompute. Hibernate creates
+-- the table with ddl-auto=update; this script documents the schema and applies
+-- the same RLS lockdown as the other tables.
+
+CREATE TABLE IF NOT EXISTS public.category_regression_state (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    month_count INTEGER NOT NULL,
+    sum_x BIGINT NOT NULL,
+    sum_xx BIGINT NOT NULL,
+    sum_y BIGINT NOT NULL,
+    sum_xy BIGINT NOT NULL,
+    sum_yy DOUBLE PRECISION NOT NULL,
+    buckets VARCHAR(500) NOT NULL,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_regression_user_category UNIQUE (user_id, category_id)
+);
+
+ALTER TABLE public.category_regression_state ENABLE ROW LEVEL SECURITY;
+CREATE POLICY "backend_bypass_category_regression_state" ON public.category_regression_state FOR ALL TO postgres USING (true) WITH CHECK (true);
@@ -0,0 +1,34 @@
+-- Precomputed next-month expense predictions per user and category
+-- Written nightly by PredictionPrecomputeService and on significant spending
+-- changes by PredictionService. Hibernate creates the table with ddl-auto=update;
+-- this script documents the schema and applies the same RLS lockdown as the other tables.
+
+CREATE TABLE IF NOT EXISTS public.expense_predictions (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    category_id BIGINT,
+    predicted_amount NUMERIC(19,2) NOT NULL,
+    historical_average NUMERIC(19,2) NOT NULL,
+    confidence_score DOUBLE PRECISION NOT NULL,
+    trend VARCHAR(20) NOT NULL,
+    computed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_expense_prediction_user ON public.expense_predictions (user_id);
+CREATE INDEX IF NOT EXISTS idx_expense_prediction_computed ON public.expense_predictions (computed_at);
+
+-- One row per user and category; the total row has a NULL category_id, so
+-- NULLs must not be distinct (PostgreSQL 15+). Hibernate may already have
+-- created a plain constraint of the same name; it is replaced. Users with
+-- duplicated rows lose their predictions here and are recomputed on next read.
+DELETE FROM public.expense_predictions WHERE user_id IN (
+    SELECT user_id FROM public.expense_predictions
+    GROUP BY user_id, category_id
+    HAVING COUNT(*) > 1
+);
+ALTER TABLE public.expense_predictions DROP CONSTRAINT IF EXISTS uk_expense_prediction_user_category;
+ALTER TABLE public.expense_predictions ADD CONSTRAINT uk_expense_prediction_user_category
+    UNIQUE NULLS NOT DISTINCT (user_id, category_id);
+
+ALTER TABLE public.expense_predictions ENABLE ROW LEVEL SECURITY;
+CREATE POLICY "backend_bypass_expense_predictions" ON public.expense_predictions FOR ALL TO postgres USING (true) WITH CHECK (true);
@@ -0,0 +1,22 @@
+-- Transactional outbox of ledger side effects (budgets, bills, cache, WebSocket)
+-- Written by OutboxService in the same transaction as each ledger write and
+-- drained by OutboxDispatcher. Hibernate creates the table with ddl-auto=update;
+-- this script documents the schema and applies the same RLS lockdown as the other tables.
+
+CREATE TABLE IF NOT EXISTS public.outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT,
+    user_id BIGINT NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'FAILED')),
+    attempts INTEGER NOT NULL,
+    available_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_ready ON public.outbox_events (status, available_at, id);
+
+ALTER TABLE public.outbox_events ENABLE ROW LEVEL SECURITY;
+CREATE POLICY "backend_bypass_outbox_events" ON public.outbox_events FOR ALL TO postgres USING (true) WITH CHECK (true);
@@ -0,0 +1,34 @@
+-- Monthly ledger rollups per user, type and category
+-- Maintained by MonthlyRollupService on every transaction write and rebuilt nightly
+-- by RollupReconcileScheduler. Hibernate creates the table with ddl-auto=update;
+-- this script documents the schema and applies the same RLS lockdown as the other tables.
+
+CREATE TABLE IF NOT EXISTS public.user_month_rollup (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    period_month VARCHAR(7) NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    category_id BIGINT,
+    total_amount NUMERIC(19,2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_rollup_user_month ON public.user_month_rollup (user_id, period_month);
+
+-- One row per bucket. category_id is NULL for uncategorised entries, so NULLs
+-- must not be distinct (PostgreSQL 15+). Hibernate may already have created a
+-- plain constraint of the same name; it is replaced. Users whose buckets were
+-- duplicated by concurrent first writes lose their rollups here and are
+-- backfilled from the ledger on their next dashboard read.
+DELETE FROM public.user_month_rollup WHERE user_id IN (
+    SELECT user_id FROM public.user_month_rollup
+    GROUP BY user_id, period_month, transaction_type, category_id
+    HAVING COUNT(*) > 1
+);
+ALTER TABLE public.user_month_rollup DROP CONSTRAINT IF EXISTS uk_rollup_bucket;
+ALTER TABLE public.user_month_rollup ADD CONSTRAINT uk_rollup_bucket
+    UNIQUE NULLS NOT DISTINCT (user_id, period_month, transaction_type, category_id);
+
+ALTER TABLE public.user_month_rollup ENABLE ROW LEVEL SECURITY;
+CREATE POLICY "backend_bypass_user_month_rollup" ON public.user_month_rollup FOR ALL TO postgres USING (true) WITH CHECK (true);
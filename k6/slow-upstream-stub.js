@@ -0,0 +1,33 @@
+// Stand-in for Gemini and AlphaVantage that answers after a fixed delay, so
+// the backend's blocking outbound calls can be made slow on demand.
+//
+//   UPSTREAM_DELAY_MS=5000 node k6/slow-upstream-stub.js
+//
+// Point the backend at it with GEMINI_API_URL=http://127.0.0.1:9090 and
+// ALPHAVANTAGE_API_URL=http://127.0.0.1:9090/query (see k6/README.md).
+const http = require('http');
+
+const PORT = Number(process.env.UPSTREAM_PORT || 9090);
+const DELAY_MS = Number(process.env.UPSTREAM_DELAY_MS || 5000);
+
+const GEMINI_REPLY = JSON.stringify({
+    candidates: [{ content: { parts: [{ text: 'Stub reply' }] } }],
+});
+
+const QUOTE_REPLY = JSON.stringify({
+    'Global Quote': { '01. symbol': 'IBM', '05. price': '187.4200' },
+});
+
+http.createServer((req, res) => {
+    // Drain the request body before answering
+    req.on('data', () => { });
+    req.on('end', () => {
+        setTimeout(() => {
+            const body = req.url.includes(':generateContent') ? GEMINI_REPLY : QUOTE_REPLY;
+            res.writeHead(200, { 'Content-Type': 'application/json' });
+            res.end(body);
+        }, DELAY_MS);
+    });
+}).listen(PORT, '127.0.0.1', () => {
+    console.log(`Slow upstream stub on http://127.0.0.1:${PORT} (delay ${DELAY_MS} ms)`);
+});
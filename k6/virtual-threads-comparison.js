@@ -0,0 +1,115 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+// Platform vs virtual thread request handling while Gemini/AlphaVantage are
+// slow. Two open-model scenarios run side by side:
+//
+//   slow_upstream - AI ping and stock refresh, each blocked on the stub
+//   fast_reads    - dashboard summary, which never leaves the JVM
+//
+// On platform threads the slow calls occupy Tomcat workers until the pool
+// is exhausted and fast_reads queue behind them. On virtual threads a
+// blocked request costs no worker, so fast_reads keep their latency. Run
+// once per mode and compare the two summaries (see k6/README.md).
+
+const BASE_URL = __ENV.BASE_URL || 'http://127.0.0.1:8080/api';
+const MODE = __ENV.MODE || 'unknown';
+const SLOW_RATE = Number(__ENV.SLOW_RATE || 80);
+const FAST_RATE = Number(__ENV.FAST_RATE || 100);
+const DURATION = __ENV.DURATION || '1m';
+
+export const options = {
+    scenarios: {
+        slow_upstream: {
+            executor: 'constant-arrival-rate',
+            exec: 'slowUpstream',
+            rate: SLOW_RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+        },
+        fast_reads: {
+            executor: 'constant-arrival-rate',
+            exec: 'fastReads',
+            rate: FAST_RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 50,
+            maxVUs: 500,
+        },
+    },
+    thresholds: {
+        // Tagged so both scenarios show up separately in the summary
+        'http_req_duration{scenario:fast_reads}': ['p(95)<500'],
+        'http_req_duration{scenario:slow_upstream}': ['p(95)<30000'],
+        'http_req_failed{scenario:fast_reads}': ['rate<0.01'],
+    },
+};
+
+export function setup() {
+    const timestamp = Date.now();
+    const email = `vt_${timestamp}@example.com`;
+    const password = 'Password123@';
+    const json = { headers: { 'Content-Type': 'application/json' } };
+
+    http.post(`${BASE_URL}/auth/register`, JSON.stringify({
+        firstName: 'Virtual',
+        lastName: 'Threads',
+        username: `vt_${timestamp}`,
+        email: email,
+        password: password,
+        role: 'USER',
+        monthlyIncome: 5000,
+        savingsTarget: 1000,
+    }), json);
+
+    const token = http.post(`${BASE_URL}/auth/login`, JSON.stringify({ email, password }), json).json('token');
+    const auth = { headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${token}` } };
+
+    const investment = http.post(`${BASE_URL}/investments`, JSON.stringify({
+        name: 'IBM',
+        type: 'STOCK',
+        symbol: 'IBM',
+        quantity: 10,
+        buyPrice: 150,
+        purchaseDate: '2024-01-02',
+    }), auth);
+
+    return { token, investmentId: investment.json('id') };
+}
+
+function authHeaders(data) {
+    return { headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${data.token}` } };
+}
+
+export function slowUpstream(data) {
+    const res = __ITER % 2 === 0
+        ? http.get(`${BASE_URL}/test-ai/ping`, authHeaders(data))
+        : http.post(`${BASE_URL}/investments/${data.investmentId}/refresh`, null, authHeaders(data));
+    check(res, { 'slow call succeeded': (r) => r.status === 200 });
+}
+
+export function fastReads(data) {
+    const res = http.get(`${BASE_URL}/dashboard/summary`, authHeaders(data));
+    check(res, { 'summary succeeded': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+    const metric = (name, stat) => {
+        const m = data.metrics[name];
+        return m && m.values[stat] !== undefined ? m.values[stat] : null;
+    };
+    const row = {
+        mode: MODE,
+        fastReadsP95Ms: metric('http_req_duration{scenario:fast_reads}', 'p(95)'),
+        slowUpstreamP95Ms: metric('http_req_duration{scenario:slow_upstream}', 'p(95)'),
+        fastReadsFailedRate: metric('http_req_failed{scenario:fast_reads}', 'rate'),
+        requestsPerSecond: metric('http_reqs', 'rate'),
+        droppedIterations: metric('dropped_iterations', 'count') || 0,
+    };
+    return {
+        stdout: `\n${JSON.stringify(row, null, 2)}\n`,
+        [`virtual-threads-${MODE}.json`]: JSON.stringify(row, null, 2),
+    };
+}